@@ -20,6 +20,7 @@ public @interface Cacheable {
         FIFO,       // First In First Out
         LIFO,       // Last In First Out
         TTL_BASED,  // Time To Live based
+        W_TINYLFU,  // Frequency-based admission (Window TinyLFU)
         CUSTOM      // Custom strategy
     }
     
@@ -35,13 +36,15 @@ public @interface Cacheable {
     
     /**
      * Name of the cache to use
-     * @return cache name, defaults to method or class name
+     * @return cache name, defaults to the namespace
      */
     String cacheName() default "";
     
     /**
      * Cache key expression
-     * @return SpEL expression for cache key generation
+     * Comma-separated argument references with optional properties, or quoted literals,
+     * e.g. {@code "#p0, #request.courseId, 'v2'"}; defaults to all arguments
+     * @return expression for cache key generation
      */
     String key() default "";
     
@@ -112,13 +115,16 @@ public @interface Cacheable {
     String[] tags() default {};
     
     /**
-     * Cache namespace for logical grouping
+     * Cache namespace for logical grouping; methods in one namespace share a cache
      * @return namespace name
      */
     String namespace() default "default";
     
     /**
      * Whether the cache is distributed across multiple nodes
+     * Keeps a near-cache per node in front of the shared tier set on {@code cache.CacheManager},
+     * e.g. Redis. Applies to the whole cache, so methods sharing a namespace should agree;
+     * results that are not serializable stay node-local
      * @return true for distributed cache
      */
     boolean distributed() default false;
@@ -131,12 +137,15 @@ public @interface Cacheable {
     
     /**
      * Cache warmup strategy
-     * @return warmup strategy name
+     * {@code "hot"} saves the 1000 most accessed keys on shutdown ({@code "hot:N"} for N keys),
+     * {@code "all"} saves every key; saved calls are replayed in the background at startup.
+     * Requires the default key (no key expression or generator) and serializable arguments
+     * @return warmup strategy name, empty to start cold
      */
     String warmupStrategy() default "";
     
     /**
-     * Custom cache key generator class
+     * Custom cache key generator class, implementing {@code cache.KeyGenerator}
      * @return key generator class
      */
     Class<?> keyGenerator() default Void.class;
@@ -0,0 +1,74 @@
+// File location: src/main/java/cache/CacheClock.java
+package cache;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Coarse wall clock shared by the caches for expiry checks
+ * A daemon thread refreshes the cached time every few milliseconds, so the read path
+ * compares plain longs instead of allocating a LocalDateTime per lookup
+ * Tests can install a manual time source to move expiry forward without sleeping
+ */
+public final class CacheClock {
+
+    private static final long TICK_MILLIS = 5;
+
+    private static volatile long currentMillis = System.currentTimeMillis();
+    private static volatile LongSupplier timeSource;
+
+    static {
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "CacheClock-Ticker");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(() -> currentMillis = System.currentTimeMillis(),
+            TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private CacheClock() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Gets cached epoch milliseconds (accurate to within a few milliseconds)
+     */
+    public static long millis() {
+        LongSupplier source = timeSource;
+        return source == null ? currentMillis : source.getAsLong();
+    }
+
+    /**
+     * Replaces the ticking system clock with the given time source (for tests)
+     */
+    public static void useTimeSource(LongSupplier source) {
+        timeSource = source;
+    }
+
+    /**
+     * Restores the ticking system clock
+     */
+    public static void useSystemTime() {
+        timeSource = null;
+    }
+
+    /**
+     * Gets the resolution of the cached clock in milliseconds
+     */
+    public static long getResolutionMillis() {
+        return TICK_MILLIS;
+    }
+
+    /**
+     * Converts cached epoch milliseconds to a LocalDateTime for reporting
+     */
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
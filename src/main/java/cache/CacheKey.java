@@ -0,0 +1,75 @@
+// File location: src/main/java/cache/CacheKey.java
+package cache;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Composite cache key built from a scope (typically the cached method) and its arguments
+ * Holds the argument array as-is and precomputes the hash, so building a key costs a single
+ * allocation instead of concatenating strings. Arguments must not be mutated after the key
+ * is created, as with any cache key. Keys with serializable parts can be shared between nodes;
+ * the hash is not serialized, since enum and identity hashes differ from JVM to JVM
+ */
+public final class CacheKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object scope;
+    private final Object[] params;
+    private final transient int hash;
+
+    private CacheKey(Object scope, Object[] params) {
+        this.scope = scope;
+        this.params = params;
+        this.hash = 31 * scope.hashCode() + Arrays.deepHashCode(params);
+    }
+
+    /**
+     * Creates key for the given scope and parameters (array elements are compared deeply)
+     */
+    public static CacheKey of(Object scope, Object... params) {
+        if (scope == null) {
+            throw new IllegalArgumentException("Cache key scope cannot be null");
+        }
+        return new CacheKey(scope, params != null ? params : new Object[0]);
+    }
+
+    public Object getScope() {
+        return scope;
+    }
+
+    /**
+     * Gets copy of the key parameters
+     */
+    public Object[] getParams() {
+        return params.clone();
+    }
+
+    /**
+     * Rebuilds deserialized keys so the hash is computed in this JVM
+     */
+    private Object readResolve() {
+        return new CacheKey(scope, params);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof CacheKey)) return false;
+        CacheKey other = (CacheKey) obj;
+        return hash == other.hash
+            && (scope == other.scope || scope.equals(other.scope))
+            && Arrays.deepEquals(params, other.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return scope + Arrays.deepToString(params);
+    }
+}
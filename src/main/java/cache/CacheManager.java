@@ -2,13 +2,19 @@
 package cache;
 
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Central cache management system for the campus management application
@@ -18,39 +24,64 @@ public class CacheManager {
     
     private static final CacheManager INSTANCE = new CacheManager();
     private final Map<String, CacheContainer<?>> caches;
+    private final Map<String, AtomicLong> tagClocks;
+    // Bumped before any tag clock, including tags without one yet, so a reader can tell whether
+    // some tag was invalidated since it started without knowing the tags in advance
+    private final AtomicLong tagInvalidations;
     private final ScheduledExecutorService cleanupExecutor;
     private final ReentrantReadWriteLock lock;
+    private final List<CacheListener> listeners;
+    private final String nodeId;
+    private volatile SharedCacheTier sharedTier;
+    private volatile long sharedReadsResumeAtMillis;
+    private final AtomicBoolean sharedTierDown;
     private volatile boolean isRunning;
     
-    // Cache statistics
-    private long totalHits;
-    private long totalMisses;
-    private long totalEvictions;
+    // Cache statistics; evictions of removed caches are retired here so totals never go backwards
+    private final LongAdder totalHits;
+    private final LongAdder totalMisses;
+    private final LongAdder retiredEvictions;
     
     // Default configuration
     private static final int DEFAULT_MAX_SIZE = 1000;
     private static final long DEFAULT_TTL_MINUTES = 60;
-    private static final long CLEANUP_INTERVAL_MINUTES = 5;
+    private static final long CLEANUP_INTERVAL_SECONDS = 1;
+    private static final long SHARED_READ_BACKOFF_MILLIS = 5_000;
     
     private CacheManager() {
         this.caches = new ConcurrentHashMap<>();
+        this.tagClocks = new ConcurrentHashMap<>();
+        this.tagInvalidations = new AtomicLong();
         this.cleanupExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread t = new Thread(r, "CacheManager-Cleanup");
             t.setDaemon(true);
             return t;
         });
         this.lock = new ReentrantReadWriteLock();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.nodeId = UUID.randomUUID().toString();
+        this.sharedTierDown = new AtomicBoolean();
+        this.totalHits = new LongAdder();
+        this.totalMisses = new LongAdder();
+        this.retiredEvictions = new LongAdder();
         this.isRunning = true;
         
-        // Start cleanup task
+        // Start cleanup task; advancing the timer wheels only touches due entries, so it runs often
         cleanupExecutor.scheduleAtFixedRate(this::performCleanup, 
-            CLEANUP_INTERVAL_MINUTES, CLEANUP_INTERVAL_MINUTES, TimeUnit.MINUTES);
+            CLEANUP_INTERVAL_SECONDS, CLEANUP_INTERVAL_SECONDS, TimeUnit.SECONDS);
     }
     
     public static CacheManager getInstance() {
         return INSTANCE;
     }
     
+    /**
+     * Creates a manager independent of the shared instance, e.g. one per simulated node in tests
+     */
+    public static CacheManager createStandalone() {
+        return new CacheManager();
+    }
+    
     // ==================== CACHE CONFIGURATION ====================
     
     /**
@@ -62,6 +93,8 @@ public class CacheManager {
         private CacheStrategy strategy = CacheStrategy.LRU;
         private boolean enableStatistics = true;
         private boolean autoCleanup = true;
+        private long maxOffHeapBytes = 0;
+        private boolean distributed = false;
         
         public static CacheConfig defaultConfig() {
             return new CacheConfig();
@@ -92,184 +125,885 @@ public class CacheManager {
             return this;
         }
         
+        /**
+         * Enables an off-heap tier that receives entries evicted from the heap (0 disables it)
+         * Values must be serializable; entries that are not are simply evicted
+         */
+        public CacheConfig offHeap(long maxBytes) {
+            this.maxOffHeapBytes = maxBytes;
+            return this;
+        }
+        
+        /**
+         * Backs the cache with the shared tier set through {@link CacheManager#setSharedTier}
+         * The local cache becomes a near-cache: misses fall through to the shared tier, writes go
+         * to both, and peers drop their near copies when notified. Keys and values that are not
+         * serializable stay node-local
+         */
+        public CacheConfig distributed(boolean distributed) {
+            this.distributed = distributed;
+            return this;
+        }
+        
         // Getters
         public int getMaxSize() { return maxSize; }
         public long getTtlMinutes() { return ttlMinutes; }
         public CacheStrategy getStrategy() { return strategy; }
         public boolean isStatisticsEnabled() { return enableStatistics; }
         public boolean isAutoCleanupEnabled() { return autoCleanup; }
+        public long getMaxOffHeapBytes() { return maxOffHeapBytes; }
+        public boolean isOffHeapEnabled() { return maxOffHeapBytes > 0; }
+        public boolean isDistributed() { return distributed; }
     }
     
     // ==================== CACHE CONTAINER ====================
     
     /**
      * Internal container for cache instances
+     * Entries live in a concurrent map and are also threaded onto intrusive doubly-linked
+     * lists owned by one of several lock stripes, so touch and eviction are O(1) for every strategy
+     * and writers to different stripes never contend. With an off-heap tier configured, entries
+     * evicted for capacity are spilled to it and promoted back to the heap on their next access
      */
     private static class CacheContainer<T> {
+        private static final int MAX_STRIPES = 16;
+        private static final int MIN_STRIPE_CAPACITY = 64;
+        private static final int MEMORY_SAMPLES = 32;
+        // CacheEntry fields and list/wheel links plus the ConcurrentHashMap node
+        private static final int ENTRY_OVERHEAD = 96 + MemoryEstimator.MAP_NODE;
+        
         private final String name;
         private final CacheConfig config;
-        private final Map<String, CacheEntry<T>> data;
-        private final Queue<String> accessOrder;
+        private final Map<Object, CacheEntry<T>> data;
+        private final Stripe<T>[] stripes;
+        private final int stripeMask;
+        private final boolean trackAccess;
         private final LocalDateTime createdAt;
-        private long hits;
-        private long misses;
-        private long evictions;
+        private final CacheMetrics metrics;
+        private final OffHeapStore<Object, T> offHeap;
+        private final AtomicLong peerInvalidations;
         
+        @SuppressWarnings("unchecked")
         public CacheContainer(String name, CacheConfig config) {
             this.name = name;
             this.config = config;
             this.data = new ConcurrentHashMap<>();
-            this.accessOrder = switch (config.getStrategy()) {
-                case LRU -> new LinkedList<>();
-                case FIFO -> new LinkedList<>();
-                case LIFO -> Collections.asLifoQueue(new LinkedList<>());
-                default -> new LinkedList<>();
+            this.trackAccess = switch (config.getStrategy()) {
+                case LRU, MRU, W_TINYLFU -> true;
+                default -> false;
             };
             this.createdAt = LocalDateTime.now();
+            this.metrics = new CacheMetrics(name, config.isStatisticsEnabled());
+            this.peerInvalidations = new AtomicLong();
+            this.offHeap = config.isOffHeapEnabled() ? new OffHeapStore<>(config.getMaxOffHeapBytes()) : null;
+            Consumer<CacheEntry<T>> evictionListener = offHeap != null ? this::spill : null;
+            
+            // Power-of-two stripe count; small caches keep a single stripe for exact ordering
+            int stripeCount = 1;
+            while (stripeCount < MAX_STRIPES && stripeCount * 2 * MIN_STRIPE_CAPACITY <= config.getMaxSize()) {
+                stripeCount <<= 1;
+            }
+            this.stripeMask = stripeCount - 1;
+            this.stripes = (Stripe<T>[]) new Stripe<?>[stripeCount];
+            int base = config.getMaxSize() / stripeCount;
+            int remainder = config.getMaxSize() % stripeCount;
+            for (int i = 0; i < stripeCount; i++) {
+                stripes[i] = createStripe(config.getStrategy(), base + (i < remainder ? 1 : 0), stripeCount,
+                                          evictionListener);
+            }
+        }
+        
+        private static <T> Stripe<T> createStripe(CacheStrategy strategy, int capacity, int stripeCount,
+                                                  Consumer<CacheEntry<T>> evictionListener) {
+            return switch (strategy) {
+                case W_TINYLFU -> new TinyLfuStripe<>(capacity, stripeCount, evictionListener);
+                case LIFO, MRU -> new Stripe<>(capacity, true, evictionListener);
+                default -> new Stripe<>(capacity, false, evictionListener);
+            };
+        }
+        
+        private Stripe<T> stripeFor(Object key) {
+            int h = key.hashCode();
+            h ^= (h >>> 16);
+            return stripes[h & stripeMask];
+        }
+        
+        /**
+         * Checks if the key's entry has lived past the given percentage of its TTL
+         */
+        public boolean isRefreshDue(Object key, int thresholdPercent) {
+            CacheEntry<T> entry = data.get(key);
+            return entry != null && entry.isPastLifetime(thresholdPercent);
+        }
+        
+        public T get(Object key) {
+            if (!metrics.sampleGetLatency()) {
+                return lookup(key);
+            }
+            long start = System.nanoTime();
+            try {
+                return lookup(key);
+            } finally {
+                metrics.recordGetLatency(System.nanoTime() - start);
+            }
         }
         
-        public synchronized T get(String key) {
+        private T lookup(Object key) {
             CacheEntry<T> entry = data.get(key);
             if (entry == null) {
-                misses++;
+                T promoted = offHeap != null ? promote(key) : null;
+                if (promoted != null) {
+                    metrics.recordHit();
+                    return promoted;
+                }
+                if (trackAccess) {
+                    stripeFor(key).recordMiss(key);
+                }
+                metrics.recordMiss();
                 return null;
             }
             
-            if (entry.isExpired()) {
-                data.remove(key);
-                accessOrder.remove(key);
-                misses++;
-                evictions++;
+            if (removeIfStale(key, entry)) {
+                metrics.recordMiss();
                 return null;
             }
             
             // Update access information
             entry.updateAccess();
-            if (config.getStrategy() == CacheStrategy.LRU) {
-                accessOrder.remove(key);
-                accessOrder.offer(key);
+            if (trackAccess) {
+                stripeFor(key).touch(entry);
             }
             
-            hits++;
+            metrics.recordHit();
             return entry.getValue();
         }
         
-        public synchronized void put(String key, T value) {
-            // Remove existing entry if present
-            if (data.containsKey(key)) {
-                accessOrder.remove(key);
-            } else if (data.size() >= config.getMaxSize()) {
-                // Evict based on strategy
-                evict();
+        /**
+         * Removes an expired or tag-invalidated entry, recording why
+         * @return true if the entry is stale
+         */
+        private boolean removeIfStale(Object key, CacheEntry<T> entry) {
+            EvictionCause cause = entry.isExpired() ? EvictionCause.EXPIRED 
+                : entry.isInvalidated() ? EvictionCause.INVALIDATED : null;
+            if (cause == null) {
+                return false;
             }
-            
-            CacheEntry<T> entry = new CacheEntry<>(value, config.getTtlMinutes());
-            data.put(key, entry);
-            accessOrder.offer(key);
+            if (stripeFor(key).remove(data, key, entry)) {
+                metrics.recordRemovals(cause, 1);
+            }
+            return true;
         }
         
-        public synchronized void remove(String key) {
-            if (data.remove(key) != null) {
-                accessOrder.remove(key);
+        public void put(Object key, T value, TagSnapshot tags) {
+            CacheEntry<T> entry = new CacheEntry<>(key, value, config.getTtlMinutes());
+            if (tags != null) {
+                entry.tag(tags);
+            }
+            metrics.recordPut();
+            metrics.recordRemovals(EvictionCause.SIZE, stripeFor(key).put(data, entry));
+            if (offHeap != null) {
+                // After the put, so a copy spilled by a concurrent eviction cannot outlive it
+                offHeap.invalidate(key);
             }
         }
         
-        public synchronized void clear() {
-            data.clear();
-            accessOrder.clear();
+        public void remove(Object key) {
+            CacheEntry<T> entry = data.get(key);
+            if (entry != null && stripeFor(key).remove(data, key, entry)) {
+                metrics.recordRemovals(EvictionCause.EXPLICIT, 1);
+            }
+            if (offHeap != null && offHeap.invalidate(key)) {
+                metrics.recordRemovals(EvictionCause.EXPLICIT, 1);
+            }
         }
         
-        public synchronized int size() {
-            return data.size();
+        public void clear() {
+            int removed = 0;
+            for (Stripe<T> stripe : stripes) {
+                removed += stripe.clear(data);
+            }
+            if (offHeap != null) {
+                removed += offHeap.size();
+                offHeap.clear();
+            }
+            metrics.recordRemovals(EvictionCause.EXPLICIT, removed);
         }
         
-        public synchronized boolean isEmpty() {
-            return data.isEmpty();
+        /**
+         * Drops a key another node changed
+         */
+        public void invalidate(Object key) {
+            peerInvalidations.incrementAndGet();
+            CacheEntry<T> entry = data.get(key);
+            if (entry != null && stripeFor(key).remove(data, key, entry)) {
+                metrics.recordRemovals(EvictionCause.INVALIDATED, 1);
+            }
+            if (offHeap != null && offHeap.invalidate(key)) {
+                metrics.recordRemovals(EvictionCause.INVALIDATED, 1);
+            }
         }
         
-        public synchronized boolean containsKey(String key) {
-            CacheEntry<T> entry = data.get(key);
-            if (entry == null) return false;
-            if (entry.isExpired()) {
-                data.remove(key);
-                accessOrder.remove(key);
-                evictions++;
-                return false;
+        /**
+         * Drops every entry after another node cleared the cache
+         */
+        public void invalidateAll() {
+            peerInvalidations.incrementAndGet();
+            int removed = 0;
+            for (Stripe<T> stripe : stripes) {
+                removed += stripe.clear(data);
             }
-            return true;
+            if (offHeap != null) {
+                removed += offHeap.size();
+                offHeap.clear();
+            }
+            metrics.recordRemovals(EvictionCause.INVALIDATED, removed);
+        }
+        
+        /**
+         * Gets count of invalidations received from peers, to detect one racing a near-cache fill
+         */
+        public long getPeerInvalidations() {
+            return peerInvalidations.get();
+        }
+        
+        public int size() {
+            return offHeap != null ? data.size() + offHeap.size() : data.size();
+        }
+        
+        public boolean isEmpty() {
+            return size() == 0;
         }
         
-        public synchronized Set<String> keySet() {
+        public boolean containsKey(Object key) {
+            CacheEntry<T> entry = data.get(key);
+            if (entry == null) return offHeap != null && offHeap.containsKey(key);
+            return !removeIfStale(key, entry);
+        }
+        
+        public Set<Object> keySet() {
             // Clean expired entries first
             cleanExpired();
-            return new HashSet<>(data.keySet());
+            Set<Object> keys = new HashSet<>(data.keySet());
+            if (offHeap != null) {
+                keys.addAll(offHeap.keySet());
+            }
+            return keys;
+        }
+        
+        public void cleanExpired() {
+            long now = CacheClock.millis();
+            for (Stripe<T> stripe : stripes) {
+                metrics.recordRemovals(EvictionCause.EXPIRED, stripe.cleanExpired(data, now));
+            }
+            if (offHeap != null) {
+                metrics.recordRemovals(EvictionCause.EXPIRED, offHeap.removeExpired(now));
+            }
+        }
+        
+        public CacheStats getStats() {
+            return new CacheStats(name, metrics.getHitCount(), metrics.getMissCount(), metrics.getEvictionCount(), 
+                                size(), config.getMaxSize(), createdAt);
+        }
+        
+        public CacheMetrics getMetrics() {
+            return metrics;
         }
         
-        public synchronized void cleanExpired() {
-            Iterator<Map.Entry<String, CacheEntry<T>>> it = data.entrySet().iterator();
-            while (it.hasNext()) {
-                Map.Entry<String, CacheEntry<T>> entry = it.next();
-                if (entry.getValue().isExpired()) {
-                    it.remove();
-                    accessOrder.remove(entry.getKey());
-                    evictions++;
+        public long getEvictions() {
+            return metrics.getEvictionCount();
+        }
+        
+        /**
+         * Gets the most accessed live heap entries' keys, hottest first
+         */
+        public List<Object> hotKeys(int limit) {
+            if (limit <= 0) {
+                return new ArrayList<>();
+            }
+            Comparator<CacheEntry<T>> byAccessCount = Comparator.comparingLong(CacheEntry::getAccessCount);
+            PriorityQueue<CacheEntry<T>> hottest = new PriorityQueue<>(byAccessCount);
+            for (CacheEntry<T> entry : data.values()) {
+                if (entry.isExpired() || entry.isInvalidated()) {
+                    continue;
+                }
+                if (hottest.size() < limit) {
+                    hottest.offer(entry);
+                } else if (entry.getAccessCount() > hottest.peek().getAccessCount()) {
+                    hottest.poll();
+                    hottest.offer(entry);
                 }
             }
+            List<CacheEntry<T>> sorted = new ArrayList<>(hottest);
+            sorted.sort(byAccessCount.reversed());
+            List<Object> keys = new ArrayList<>(sorted.size());
+            for (CacheEntry<T> entry : sorted) {
+                keys.add(entry.key);
+            }
+            return keys;
         }
         
-        private void evict() {
-            if (!accessOrder.isEmpty()) {
-                String keyToEvict = accessOrder.poll();
-                data.remove(keyToEvict);
-                evictions++;
+        /**
+         * Estimates retained heap from a sample of entries, plus the off-heap slabs allocated
+         */
+        public long getEstimatedMemoryUsage() {
+            int count = data.size();
+            long sampledBytes = 0;
+            int sampled = 0;
+            Iterator<CacheEntry<T>> iterator = data.values().iterator();
+            while (sampled < MEMORY_SAMPLES && iterator.hasNext()) {
+                CacheEntry<T> entry = iterator.next();
+                sampledBytes += ENTRY_OVERHEAD + MemoryEstimator.estimate(entry.key) 
+                    + MemoryEstimator.estimate(entry.value);
+                sampled++;
             }
+            long heapBytes = sampled > 0 ? sampledBytes * count / sampled : 0;
+            return heapBytes + getOffHeapBytes();
         }
         
-        public CacheStats getStats() {
-            return new CacheStats(name, hits, misses, evictions, data.size(), 
-                                config.getMaxSize(), createdAt);
+        public int getOffHeapSize() {
+            return offHeap != null ? offHeap.size() : 0;
+        }
+        
+        public long getOffHeapBytes() {
+            return offHeap != null ? offHeap.getAllocatedBytes() : 0;
+        }
+        
+        public long getPromotions() {
+            return metrics.getPromotionCount();
+        }
+        
+        /**
+         * Writes an entry evicted from the heap to the off-heap tier
+         * Called with the evicting stripe's lock held, so a concurrent put or remove of the
+         * same key is ordered after the spill and can invalidate it
+         */
+        private void spill(CacheEntry<T> victim) {
+            // Tag versions live on the heap, so tagged entries are evicted rather than spilled
+            if (!victim.isExpired() && !victim.isTagged()
+                    && offHeap.put(victim.key, victim.value, victim.hasExpiry() ? victim.getExpirationMillis() : 0)) {
+                metrics.recordSpill();
+            }
+        }
+        
+        /**
+         * Moves an off-heap entry back to the heap, keeping its original expiry
+         */
+        private T promote(Object key) {
+            long expirationMillis = offHeap.getExpirationMillis(key);
+            if (expirationMillis < 0) {
+                return null;
+            }
+            T value = offHeap.remove(key);
+            if (value == null) {
+                return null;
+            }
+            CacheEntry<T> entry = new CacheEntry<>(key, value, CacheClock.millis(), expirationMillis);
+            entry.updateAccess();
+            int evicted = stripeFor(key).putIfAbsent(data, entry);
+            if (evicted < 0) {
+                // A concurrent put won; its value is newer than the spilled one
+                CacheEntry<T> current = data.get(key);
+                return current != null ? current.getValue() : null;
+            }
+            metrics.recordRemovals(EvictionCause.SIZE, evicted);
+            metrics.recordPromotion();
+            return value;
+        }
+    }
+    
+    // ==================== EVICTION STRIPES ====================
+    
+    /**
+     * Intrusive doubly-linked list of cache entries, most recent at the head
+     */
+    private static class EntryList<T> {
+        private final CacheEntry<T> head;
+        private final CacheEntry<T> tail;
+        private int size;
+        
+        EntryList() {
+            this.head = new CacheEntry<>(null, null, 0);
+            this.tail = new CacheEntry<>(null, null, 0);
+            head.next = tail;
+            tail.prev = head;
+        }
+        
+        void addToHead(CacheEntry<T> entry) {
+            entry.owner = this;
+            entry.prev = head;
+            entry.next = head.next;
+            head.next.prev = entry;
+            head.next = entry;
+            size++;
+        }
+        
+        void unlink(CacheEntry<T> entry) {
+            entry.prev.next = entry.next;
+            entry.next.prev = entry.prev;
+            entry.owner = null;
+            entry.prev = null;
+            entry.next = null;
+            size--;
+        }
+        
+        void moveToHead(CacheEntry<T> entry) {
+            if (head.next != entry) {
+                unlink(entry);
+                addToHead(entry);
+            }
+        }
+        
+        CacheEntry<T> first() {
+            return head.next != tail ? head.next : null;
+        }
+        
+        CacheEntry<T> last() {
+            return tail.prev != head ? tail.prev : null;
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        /**
+         * Unlinks every entry and drops it from the data map
+         */
+        void clear(Map<Object, CacheEntry<T>> data) {
+            CacheEntry<T> current = head.next;
+            while (current != tail) {
+                CacheEntry<T> next = current.next;
+                data.remove(current.key, current);
+                current.owner = null;
+                current.prev = null;
+                current.next = null;
+                current = next;
+            }
+            head.next = tail;
+            tail.prev = head;
+            size = 0;
+        }
+    }
+    
+    /**
+     * One lock stripe of a container: a share of the capacity plus the list ordering its entries
+     * and the timer wheel expiring them. Evicts from the tail (FIFO, LRU) or the head (LIFO, MRU)
+     * of a single list
+     */
+    private static class Stripe<T> {
+        protected final int capacity;
+        protected final ReentrantLock lock;
+        private final EntryList<T> order;
+        private final boolean evictNewest;
+        private final TimerWheel<CacheEntry<T>> timerWheel;
+        private final Consumer<CacheEntry<T>> evictionListener;
+        
+        Stripe(int capacity, boolean evictNewest, Consumer<CacheEntry<T>> evictionListener) {
+            this.capacity = capacity;
+            this.lock = new ReentrantLock();
+            this.order = new EntryList<>();
+            this.evictNewest = evictNewest;
+            this.timerWheel = new TimerWheel<>();
+            this.evictionListener = evictionListener;
+        }
+        
+        /**
+         * Inserts or replaces an entry, returning the number of entries evicted to make room
+         */
+        int put(Map<Object, CacheEntry<T>> data, CacheEntry<T> entry) {
+            lock.lock();
+            try {
+                CacheEntry<T> existing = data.put(entry.key, entry);
+                if (entry.hasExpiry()) {
+                    timerWheel.schedule(entry);
+                }
+                if (existing != null && existing.owner != null) {
+                    timerWheel.deschedule(existing);
+                    return replace(existing, entry);
+                }
+                return insert(data, entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        /**
+         * Inserts an entry unless its key is already mapped
+         * @return number of entries evicted to make room, or -1 if the key was present
+         */
+        int putIfAbsent(Map<Object, CacheEntry<T>> data, CacheEntry<T> entry) {
+            lock.lock();
+            try {
+                if (data.putIfAbsent(entry.key, entry) != null) {
+                    return -1;
+                }
+                if (entry.hasExpiry()) {
+                    timerWheel.schedule(entry);
+                }
+                return insert(data, entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        /**
+         * Removes the entry only if it is still the one mapped to its key
+         */
+        boolean remove(Map<Object, CacheEntry<T>> data, Object key, CacheEntry<T> entry) {
+            lock.lock();
+            try {
+                if (data.remove(key, entry)) {
+                    entry.owner.unlink(entry);
+                    timerWheel.deschedule(entry);
+                    return true;
+                }
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        void touch(CacheEntry<T> entry) {
+            lock.lock();
+            try {
+                if (entry.owner != null) {
+                    onAccess(entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        void recordMiss(Object key) {
+            // Only frequency-based stripes care about misses
+        }
+        
+        /**
+         * Advances the timer wheel, removing only the entries that have come due
+         */
+        int cleanExpired(Map<Object, CacheEntry<T>> data, long nowMillis) {
+            lock.lock();
+            try {
+                return timerWheel.advance(nowMillis, entry -> {
+                    data.remove(entry.key, entry);
+                    entry.owner.unlink(entry);
+                });
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        /**
+         * Drops every entry, returning how many there were
+         */
+        int clear(Map<Object, CacheEntry<T>> data) {
+            lock.lock();
+            try {
+                int cleared = 0;
+                for (EntryList<T> list : lists()) {
+                    cleared += list.size();
+                    list.clear(data);
+                }
+                timerWheel.clear();
+                return cleared;
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        // Hooks below are called with the lock held
+        
+        protected int insert(Map<Object, CacheEntry<T>> data, CacheEntry<T> entry) {
+            int evicted = 0;
+            if (order.size() >= capacity) {
+                CacheEntry<T> victim = evictNewest ? order.first() : order.last();
+                if (victim != null) {
+                    evict(data, victim);
+                    evicted++;
+                }
+            }
+            order.addToHead(entry);
+            return evicted;
+        }
+        
+        protected int replace(CacheEntry<T> existing, CacheEntry<T> entry) {
+            existing.owner.unlink(existing);
+            order.addToHead(entry);
+            return 0;
+        }
+        
+        protected void onAccess(CacheEntry<T> entry) {
+            order.moveToHead(entry);
+        }
+        
+        protected List<EntryList<T>> lists() {
+            return List.of(order);
+        }
+        
+        protected void evict(Map<Object, CacheEntry<T>> data, CacheEntry<T> victim) {
+            victim.owner.unlink(victim);
+            timerWheel.deschedule(victim);
+            data.remove(victim.key, victim);
+            if (evictionListener != null) {
+                evictionListener.accept(victim);
+            }
+        }
+    }
+    
+    /**
+     * W-TinyLFU stripe: new entries enter a small LRU window, and entries leaving the window
+     * are only admitted to the segmented main region (probation + protected) if the frequency
+     * sketch rates them above the main region's eviction victim. One-off scans therefore churn
+     * the window and probation segment without displacing frequently used entries
+     */
+    private static class TinyLfuStripe<T> extends Stripe<T> {
+        private static final double WINDOW_RATIO = 0.01;
+        private static final double PROTECTED_RATIO = 0.80;
+        // Sketch counters for a whole cache, divided across its stripes
+        private static final int MAX_SKETCH_SIZE = 1 << 20;
+        
+        private final EntryList<T> window;
+        private final EntryList<T> probation;
+        private final EntryList<T> protectedSegment;
+        private final int windowCapacity;
+        private final int protectedCapacity;
+        private final FrequencySketch sketch;
+        
+        TinyLfuStripe(int capacity, int stripeCount, Consumer<CacheEntry<T>> evictionListener) {
+            super(capacity, false, evictionListener);
+            this.window = new EntryList<>();
+            this.probation = new EntryList<>();
+            this.protectedSegment = new EntryList<>();
+            this.windowCapacity = Math.max(1, (int) (capacity * WINDOW_RATIO));
+            this.protectedCapacity = (int) ((capacity - windowCapacity) * PROTECTED_RATIO);
+            // Capped per cache rather than per stripe, so an unbounded cache's sketches add up to
+            // MAX_SKETCH_SIZE counters however many stripes it has
+            this.sketch = new FrequencySketch(Math.min(capacity, MAX_SKETCH_SIZE / stripeCount));
+        }
+        
+        @Override
+        void recordMiss(Object key) {
+            lock.lock();
+            try {
+                sketch.increment(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        @Override
+        protected int insert(Map<Object, CacheEntry<T>> data, CacheEntry<T> entry) {
+            sketch.increment(entry.key);
+            window.addToHead(entry);
+            
+            // Overflowing window entries become candidates on probation
+            while (window.size() > windowCapacity) {
+                CacheEntry<T> candidate = window.last();
+                window.unlink(candidate);
+                probation.addToHead(candidate);
+            }
+            
+            int evicted = 0;
+            while (window.size() + probation.size() + protectedSegment.size() > capacity) {
+                evict(data, selectVictim());
+                evicted++;
+            }
+            return evicted;
+        }
+        
+        /**
+         * Admission duel between the newest probation entry and the oldest one
+         */
+        private CacheEntry<T> selectVictim() {
+            CacheEntry<T> candidate = probation.first();
+            CacheEntry<T> victim = probation.last();
+            
+            if (candidate == null) {
+                return protectedSegment.last() != null ? protectedSegment.last() : window.last();
+            }
+            if (candidate == victim) {
+                return candidate;
+            }
+            return sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate;
+        }
+        
+        @Override
+        protected int replace(CacheEntry<T> existing, CacheEntry<T> entry) {
+            // Keep the key's current segment so an update does not reset its standing
+            EntryList<T> list = existing.owner;
+            list.unlink(existing);
+            list.addToHead(entry);
+            sketch.increment(entry.key);
+            return 0;
+        }
+        
+        @Override
+        protected void onAccess(CacheEntry<T> entry) {
+            sketch.increment(entry.key);
+            
+            if (entry.owner != probation) {
+                entry.owner.moveToHead(entry);
+                return;
+            }
+            
+            // A hit on probation promotes the entry, demoting the protected tail if full
+            probation.unlink(entry);
+            protectedSegment.addToHead(entry);
+            if (protectedSegment.size() > protectedCapacity) {
+                CacheEntry<T> demoted = protectedSegment.last();
+                protectedSegment.unlink(demoted);
+                probation.addToHead(demoted);
+            }
+        }
+        
+        @Override
+        protected List<EntryList<T>> lists() {
+            return List.of(window, probation, protectedSegment);
         }
     }
     
     // ==================== CACHE ENTRY ====================
     
     /**
-     * Individual cache entry with TTL support
+     * Individual cache entry with TTL support, doubling as a node of its stripe's lists
+     * and of its stripe's timer wheel. Times are cached-clock epoch milliseconds
      */
-    private static class CacheEntry<T> {
+    private static class CacheEntry<T> extends TimerWheel.Node {
+        private final Object key;
         private final T value;
-        private final LocalDateTime createdAt;
-        private final long ttlMinutes;
-        private LocalDateTime lastAccessed;
-        private long accessCount;
+        private final long createdAtMillis;
+        private final boolean expires;
+        private volatile long lastAccessedMillis;
+        private volatile long accessCount;
+        private AtomicLong[] tagClocks;
+        private long[] tagVersions;
+        
+        // Guarded by the owning stripe's lock
+        private EntryList<T> owner;
+        private CacheEntry<T> prev;
+        private CacheEntry<T> next;
         
-        public CacheEntry(T value, long ttlMinutes) {
+        public CacheEntry(Object key, T value, long ttlMinutes) {
+            this.key = key;
             this.value = value;
-            this.createdAt = LocalDateTime.now();
-            this.lastAccessed = this.createdAt;
-            this.ttlMinutes = ttlMinutes;
+            this.createdAtMillis = CacheClock.millis();
+            this.lastAccessedMillis = createdAtMillis;
+            this.expires = ttlMinutes > 0;
+            this.accessCount = 0;
+            if (expires) {
+                setExpirationMillis(createdAtMillis + TimeUnit.MINUTES.toMillis(ttlMinutes));
+            }
+        }
+        
+        /**
+         * Creates entry with an absolute expiry (0 = never), e.g. when promoted from off-heap
+         */
+        public CacheEntry(Object key, T value, long createdAtMillis, long expirationMillis) {
+            this.key = key;
+            this.value = value;
+            this.createdAtMillis = createdAtMillis;
+            this.lastAccessedMillis = createdAtMillis;
+            this.expires = expirationMillis > 0;
             this.accessCount = 0;
+            if (expires) {
+                setExpirationMillis(expirationMillis);
+            }
         }
         
         public T getValue() {
             return value;
         }
         
+        public boolean hasExpiry() {
+            return expires;
+        }
+        
         public boolean isExpired() {
-            if (ttlMinutes <= 0) return false;
-            return ChronoUnit.MINUTES.between(createdAt, LocalDateTime.now()) >= ttlMinutes;
+            return expires && CacheClock.millis() >= getExpirationMillis();
+        }
+        
+        /**
+         * Checks if the entry has lived past the given percentage of its TTL
+         */
+        public boolean isPastLifetime(int percent) {
+            if (!expires) {
+                return false;
+            }
+            long lifetime = getExpirationMillis() - createdAtMillis;
+            return (CacheClock.millis() - createdAtMillis) * 100 >= lifetime * percent;
+        }
+        
+        /**
+         * Records the tag versions the value was computed under; bumping any tag later invalidates the entry
+         */
+        public void tag(TagSnapshot tags) {
+            this.tagClocks = tags.clocks;
+            this.tagVersions = tags.versions;
+        }
+        
+        public boolean isTagged() {
+            return tagClocks != null;
+        }
+        
+        public boolean isInvalidated() {
+            if (tagClocks == null) {
+                return false;
+            }
+            for (int i = 0; i < tagClocks.length; i++) {
+                if (tagClocks[i].get() != tagVersions[i]) {
+                    return true;
+                }
+            }
+            return false;
         }
         
         public void updateAccess() {
-            this.lastAccessed = LocalDateTime.now();
+            this.lastAccessedMillis = CacheClock.millis();
             this.accessCount++;
         }
         
-        public LocalDateTime getCreatedAt() { return createdAt; }
-        public LocalDateTime getLastAccessed() { return lastAccessed; }
+        public LocalDateTime getCreatedAt() { return CacheClock.toLocalDateTime(createdAtMillis); }
+        public LocalDateTime getLastAccessed() { return CacheClock.toLocalDateTime(lastAccessedMillis); }
         public long getAccessCount() { return accessCount; }
     }
     
+    // ==================== TAG SNAPSHOTS ====================
+    
+    /**
+     * Versions of a set of tags captured at one point in time
+     * Take it before computing a value so an invalidation that lands while the value is being
+     * computed leaves the stored entry already invalidated instead of looking current
+     */
+    public static final class TagSnapshot {
+        private final String[] tags;
+        private final AtomicLong[] clocks;
+        private final long[] versions;
+        
+        private TagSnapshot(String[] tags, AtomicLong[] clocks) {
+            this.tags = tags;
+            this.clocks = clocks;
+            this.versions = new long[clocks.length];
+            for (int i = 0; i < clocks.length; i++) {
+                versions[i] = clocks[i].get();
+            }
+        }
+        
+        /**
+         * Checks if any tag was invalidated since the snapshot was taken
+         */
+        public boolean isStale() {
+            for (int i = 0; i < clocks.length; i++) {
+                if (clocks[i].get() != versions[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        public String[] getTags() {
+            return tags.clone();
+        }
+    }
+    
     // ==================== CACHE STATISTICS ====================
     
     /**
@@ -315,6 +1049,34 @@ public class CacheManager {
         }
     }
     
+    // ==================== CACHE LISTENER ====================
+    
+    /**
+     * Callback for caches being created and removed, e.g. to register their metrics
+     * Invoked on the calling thread after the change, outside the manager's lock
+     */
+    public interface CacheListener {
+        default void onCacheCreated(String cacheName) {
+        }
+        
+        default void onCacheRemoved(String cacheName) {
+        }
+        
+        /**
+         * Called by {@link #shutdown()} while caches still hold their entries
+         */
+        default void beforeShutdown() {
+        }
+    }
+    
+    public void addListener(CacheListener listener) {
+        listeners.add(listener);
+    }
+    
+    public void removeListener(CacheListener listener) {
+        listeners.remove(listener);
+    }
+    
     // ==================== PUBLIC API ====================
     
     /**
@@ -337,93 +1099,252 @@ public class CacheManager {
         } finally {
             lock.writeLock().unlock();
         }
+        listeners.forEach(listener -> listener.onCacheCreated(name));
+    }
+    
+    /**
+     * Creates cache unless one with the same name already exists
+     * @return true if the cache was created by this call
+     */
+    public <T> boolean createCacheIfAbsent(String name, CacheConfig config) {
+        if (caches.containsKey(name)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            if (caches.containsKey(name)) {
+                return false;
+            }
+            caches.put(name, new CacheContainer<T>(name, config));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        listeners.forEach(listener -> listener.onCacheCreated(name));
+        return true;
     }
     
     /**
      * Gets value from cache
      */
     @SuppressWarnings("unchecked")
-    public <T> T get(String cacheName, String key) {
+    public <T> T get(String cacheName, Object key) {
+        CacheContainer<T> cache;
+        T value;
         lock.readLock().lock();
         try {
-            CacheContainer<T> cache = (CacheContainer<T>) caches.get(cacheName);
+            cache = (CacheContainer<T>) caches.get(cacheName);
             if (cache == null) {
-                totalMisses++;
+                totalMisses.increment();
                 return null;
             }
-            
-            T value = cache.get(key);
-            if (value != null) {
-                totalHits++;
-            } else {
-                totalMisses++;
-            }
-            return value;
+            value = cache.get(key);
         } finally {
             lock.readLock().unlock();
         }
+        
+        // Near-cache miss on a distributed cache; the shared tier is consulted outside the lock
+        if (value == null && cache.config.isDistributed()) {
+            value = readShared(cache, key);
+        }
+        if (value != null) {
+            totalHits.increment();
+        } else {
+            totalMisses.increment();
+        }
+        return value;
+    }
+    
+    /**
+     * Gets value from cache, computing and caching it on a miss
+     * The loader runs outside the manager's lock and its duration is recorded in the cache's
+     * load-time histogram. Null results are not cached; loader exceptions propagate
+     */
+    public <T> T get(String cacheName, Object key, Function<Object, ? extends T> loader, String... tags) {
+        T value = get(cacheName, key);
+        if (value != null) {
+            return value;
+        }
+        if (!caches.containsKey(cacheName)) {
+            throw new IllegalArgumentException("Cache '" + cacheName + "' does not exist");
+        }
+        
+        TagSnapshot snapshot = snapshotTags(tags);
+        long start = System.nanoTime();
+        T loaded;
+        try {
+            loaded = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            recordLoad(cacheName, System.nanoTime() - start, false);
+            throw e;
+        }
+        recordLoad(cacheName, System.nanoTime() - start, true);
+        
+        if (loaded != null) {
+            put(cacheName, key, loaded, snapshot);
+        }
+        return loaded;
+    }
+    
+    /**
+     * Checks if a cached entry has lived past the given percentage of its TTL, so a caller
+     * doing refresh-ahead should reload it before it expires
+     */
+    public boolean isRefreshDue(String cacheName, Object key, int thresholdPercent) {
+        CacheContainer<?> cache = caches.get(cacheName);
+        return cache != null && cache.isRefreshDue(key, thresholdPercent);
+    }
+    
+    /**
+     * Records a load performed by a caller that manages its own misses, such as an interceptor
+     */
+    public void recordLoad(String cacheName, long loadNanos, boolean success) {
+        CacheContainer<?> cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.getMetrics().recordLoad(loadNanos, success);
+        }
     }
     
     /**
      * Puts value into cache
      */
+    public <T> void put(String cacheName, Object key, T value) {
+        put(cacheName, key, value, (String[]) null);
+    }
+    
+    /**
+     * Puts value into cache, tagging it for bulk invalidation with {@link #invalidateTag}
+     */
+    public <T> void put(String cacheName, Object key, T value, String... tags) {
+        put(cacheName, key, value, snapshotTags(tags));
+    }
+    
+    /**
+     * Puts a value computed after the tag snapshot was taken
+     * If one of the tags was invalidated since then the value may predate the change, so it is
+     * not stored; tagged entries only ever carry versions from before their value was computed
+     */
     @SuppressWarnings("unchecked")
-    public <T> void put(String cacheName, String key, T value) {
+    public <T> void put(String cacheName, Object key, T value, TagSnapshot tags) {
+        CacheContainer<T> cache;
         lock.readLock().lock();
         try {
-            CacheContainer<T> cache = (CacheContainer<T>) caches.get(cacheName);
+            cache = (CacheContainer<T>) caches.get(cacheName);
             if (cache == null) {
                 throw new IllegalArgumentException("Cache '" + cacheName + "' does not exist");
             }
-            cache.put(key, value);
+            if (tags != null && tags.isStale()) {
+                return;
+            }
+            cache.put(key, value, tags);
         } finally {
             lock.readLock().unlock();
         }
+        if (cache.config.isDistributed()) {
+            writeShared(cache, key, value, tags != null ? tags.tags : null);
+        }
+    }
+    
+    /**
+     * Captures the current version of each tag, to be taken before computing a value
+     * that is later stored with {@link #put(String, Object, Object, TagSnapshot)}
+     * @return the snapshot, or null when there are no tags
+     */
+    public TagSnapshot snapshotTags(String... tags) {
+        if (tags == null || tags.length == 0) {
+            return null;
+        }
+        AtomicLong[] clocks = new AtomicLong[tags.length];
+        for (int i = 0; i < tags.length; i++) {
+            clocks[i] = tagClocks.computeIfAbsent(tags[i], t -> new AtomicLong());
+        }
+        return new TagSnapshot(tags.clone(), clocks);
+    }
+    
+    /**
+     * Invalidates every entry carrying the tag, across all caches, in O(1)
+     * Each tag has a version clock that tagged entries snapshot when written; bumping the clock
+     * makes those entries read as misses, and they are removed when next looked up or evicted.
+     * With a shared tier, its tagged entries are removed and peers bump their clocks too
+     */
+    public void invalidateTag(String tag) {
+        tagInvalidations.incrementAndGet();
+        AtomicLong clock = tagClocks.get(tag);
+        if (clock != null) {
+            clock.incrementAndGet();
+        }
+        SharedCacheTier tier = sharedTier;
+        if (tier != null) {
+            try {
+                tier.invalidateTag(tag);
+                tier.publish(SharedCacheTier.Invalidation.ofTag(nodeId, tag));
+            } catch (RuntimeException e) {
+                System.err.println("Cannot invalidate tag '" + tag + "' in shared cache tier: " + e.getMessage());
+            }
+        }
     }
     
     /**
      * Removes value from cache
      */
-    public void remove(String cacheName, String key) {
+    public void remove(String cacheName, Object key) {
+        CacheContainer<?> cache;
         lock.readLock().lock();
         try {
-            CacheContainer<?> cache = caches.get(cacheName);
+            cache = caches.get(cacheName);
             if (cache != null) {
                 cache.remove(key);
             }
         } finally {
             lock.readLock().unlock();
         }
+        if (cache != null && cache.config.isDistributed()) {
+            writeShared(cache, key, null, null);
+        }
     }
     
     /**
      * Clears all entries from cache
      */
     public void clear(String cacheName) {
+        CacheContainer<?> cache;
         lock.readLock().lock();
         try {
-            CacheContainer<?> cache = caches.get(cacheName);
+            cache = caches.get(cacheName);
             if (cache != null) {
                 cache.clear();
             }
         } finally {
             lock.readLock().unlock();
         }
+        SharedCacheTier tier = sharedTier;
+        if (tier != null && cache != null && cache.config.isDistributed()) {
+            try {
+                tier.clear(cacheName);
+                tier.publish(SharedCacheTier.Invalidation.ofCache(nodeId, cacheName));
+            } catch (RuntimeException e) {
+                System.err.println("Cannot clear '" + cacheName + "' in shared cache tier: " + e.getMessage());
+            }
+        }
     }
     
     /**
      * Removes cache entirely
      */
     public void removeCache(String cacheName) {
+        CacheContainer<?> cache;
         lock.writeLock().lock();
         try {
-            CacheContainer<?> cache = caches.remove(cacheName);
+            cache = caches.remove(cacheName);
             if (cache != null) {
                 cache.clear();
+                retiredEvictions.add(cache.getEvictions());
             }
         } finally {
             lock.writeLock().unlock();
         }
+        if (cache != null) {
+            listeners.forEach(listener -> listener.onCacheRemoved(cacheName));
+        }
     }
     
     /**
@@ -438,10 +1359,23 @@ public class CacheManager {
         }
     }
     
+    /**
+     * Gets the eviction strategy a cache was created with, or null if there is no such cache
+     */
+    public CacheStrategy getStrategy(String cacheName) {
+        lock.readLock().lock();
+        try {
+            CacheContainer<?> cache = caches.get(cacheName);
+            return cache != null ? cache.config.getStrategy() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
     /**
      * Checks if key exists in cache
      */
-    public boolean containsKey(String cacheName, String key) {
+    public boolean containsKey(String cacheName, Object key) {
         lock.readLock().lock();
         try {
             CacheContainer<?> cache = caches.get(cacheName);
@@ -478,8 +1412,10 @@ public class CacheManager {
     
     /**
      * Gets all keys from cache
+     * Keys are Objects rather than Strings because @Cacheable methods store composite
+     * {@link CacheKey}s and key generators may return any type
      */
-    public Set<String> getKeys(String cacheName) {
+    public Set<Object> getKeys(String cacheName) {
         lock.readLock().lock();
         try {
             CacheContainer<?> cache = caches.get(cacheName);
@@ -489,6 +1425,159 @@ public class CacheManager {
         }
     }
     
+    /**
+     * Gets keys of the most frequently read entries, hottest first
+     * Only heap entries are considered; spilled entries are cold by definition
+     */
+    public List<Object> getHotKeys(String cacheName, int limit) {
+        lock.readLock().lock();
+        try {
+            CacheContainer<?> cache = caches.get(cacheName);
+            return cache != null ? cache.hotKeys(limit) : new ArrayList<>();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // ==================== SHARED TIER ====================
+    
+    /**
+     * Sets the tier shared with other nodes by caches configured as distributed, e.g. Redis
+     * Set once at startup; this manager subscribes to the tier's invalidation messages
+     */
+    public void setSharedTier(SharedCacheTier tier) {
+        this.sharedTier = tier;
+        if (tier != null) {
+            tier.subscribe(this::onInvalidation);
+        }
+    }
+    
+    public SharedCacheTier getSharedTier() {
+        return sharedTier;
+    }
+    
+    /**
+     * Looks up a near-cache miss in the shared tier, filling the near-cache on a hit
+     * Shared tier failures degrade to a miss so callers fall back to computing the value.
+     * After a failure reads skip the tier for a few seconds, so an outage does not make every
+     * miss wait for a timeout; writes keep going through so no invalidation is dropped
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T readShared(CacheContainer<T> cache, Object key) {
+        SharedCacheTier tier = sharedTier;
+        if (tier == null || CacheClock.millis() < sharedReadsResumeAtMillis) {
+            return null;
+        }
+        byte[] keyBytes = SharedEntryCodec.serializeKey(key);
+        if (keyBytes == null) {
+            return null;
+        }
+        // Taken before the read: the entry's tags are only known once it is decoded
+        long invalidationsBefore = cache.getPeerInvalidations();
+        long tagInvalidationsBefore = tagInvalidations.get();
+        byte[] payload;
+        try {
+            payload = tier.get(cache.name, SharedEntryCodec.sharedKey(keyBytes));
+        } catch (RuntimeException e) {
+            sharedTierFailed("read", cache.name, e);
+            return null;
+        }
+        sharedTierRecovered();
+        cache.getMetrics().recordSharedLookup(payload != null);
+        if (payload == null) {
+            return null;
+        }
+        SharedEntryCodec.Entry entry;
+        try {
+            entry = SharedEntryCodec.decode(payload);
+        } catch (RuntimeException e) {
+            System.err.println("Ignoring unreadable shared cache entry in '" + cache.name + "': " + e.getMessage());
+            return null;
+        }
+        
+        T value = (T) entry.value;
+        // The snapshot only holds the tag versions from before the read if no tag was invalidated
+        // since; otherwise, like a peer invalidation that arrived meanwhile, it may concern this
+        // very value, so don't keep it
+        TagSnapshot tags = snapshotTags(entry.tags);
+        boolean tagsUnchanged = tags == null || tagInvalidations.get() == tagInvalidationsBefore;
+        if (cache.getPeerInvalidations() == invalidationsBefore && tagsUnchanged) {
+            cache.put(key, value, tags);
+        }
+        return value;
+    }
+    
+    /**
+     * Writes a value (null to remove) through to the shared tier and tells peers to drop their copy
+     */
+    private void writeShared(CacheContainer<?> cache, Object key, Object value, String[] tags) {
+        SharedCacheTier tier = sharedTier;
+        byte[] keyBytes = tier != null ? SharedEntryCodec.serializeKey(key) : null;
+        if (keyBytes == null) {
+            return;
+        }
+        try {
+            String sharedKey = SharedEntryCodec.sharedKey(keyBytes);
+            byte[] payload = value != null ? SharedEntryCodec.encode(value, tags) : null;
+            if (payload != null) {
+                long ttlMillis = Math.max(0, TimeUnit.MINUTES.toMillis(cache.config.getTtlMinutes()));
+                tier.put(cache.name, sharedKey, payload, ttlMillis, tags);
+            } else {
+                // Removed, or a value only this node can hold; either way peers must not serve the old one
+                tier.remove(cache.name, sharedKey);
+            }
+            tier.publish(SharedCacheTier.Invalidation.ofKey(nodeId, cache.name, keyBytes));
+            sharedTierRecovered();
+        } catch (RuntimeException e) {
+            sharedTierFailed("write", cache.name, e);
+        }
+    }
+    
+    /**
+     * Pauses shared reads after a failure, reporting only the first failure of an outage
+     */
+    private void sharedTierFailed(String operation, String cacheName, RuntimeException e) {
+        sharedReadsResumeAtMillis = CacheClock.millis() + SHARED_READ_BACKOFF_MILLIS;
+        if (sharedTierDown.compareAndSet(false, true)) {
+            System.err.println("Shared cache tier " + operation + " failed for '" + cacheName + 
+                             "', serving near-caches only until it recovers: " + e.getMessage());
+        }
+    }
+    
+    private void sharedTierRecovered() {
+        if (sharedTierDown.get() && sharedTierDown.compareAndSet(true, false)) {
+            System.out.println("Shared cache tier recovered");
+        }
+    }
+    
+    private void onInvalidation(SharedCacheTier.Invalidation invalidation) {
+        if (nodeId.equals(invalidation.getOrigin())) {
+            return;
+        }
+        switch (invalidation.getType()) {
+            case TAG -> {
+                tagInvalidations.incrementAndGet();
+                AtomicLong clock = tagClocks.get(invalidation.getName());
+                if (clock != null) {
+                    clock.incrementAndGet();
+                }
+            }
+            case CACHE -> {
+                CacheContainer<?> cache = caches.get(invalidation.getName());
+                if (cache != null) {
+                    cache.invalidateAll();
+                }
+            }
+            case KEY -> {
+                CacheContainer<?> cache = caches.get(invalidation.getName());
+                Object key = cache != null ? SharedEntryCodec.deserializeKey(invalidation.getKey()) : null;
+                if (key != null) {
+                    cache.invalidate(key);
+                }
+            }
+        }
+    }
+    
     // ==================== STATISTICS ====================
     
     /**
@@ -504,6 +1593,15 @@ public class CacheManager {
         }
     }
     
+    /**
+     * Gets live metrics for specific cache, including latency histograms and eviction causes
+     * @return metrics, or null if the cache does not exist
+     */
+    public CacheMetrics getCacheMetrics(String cacheName) {
+        CacheContainer<?> cache = caches.get(cacheName);
+        return cache != null ? cache.getMetrics() : null;
+    }
+    
     /**
      * Gets global cache statistics
      */
@@ -511,15 +1609,24 @@ public class CacheManager {
         lock.readLock().lock();
         try {
             Map<String, Object> stats = new HashMap<>();
+            long hits = totalHits.sum();
+            long misses = totalMisses.sum();
+            long evictions = retiredEvictions.sum() 
+                + caches.values().stream().mapToLong(CacheContainer::getEvictions).sum();
             stats.put("totalCaches", caches.size());
-            stats.put("totalHits", totalHits);
-            stats.put("totalMisses", totalMisses);
-            stats.put("totalEvictions", totalEvictions);
-            stats.put("globalHitRatio", (totalHits + totalMisses) > 0 ? 
-                     (double) totalHits / (totalHits + totalMisses) : 0.0);
+            stats.put("sharedTierEnabled", sharedTier != null);
+            stats.put("totalHits", hits);
+            stats.put("totalMisses", misses);
+            stats.put("totalEvictions", evictions);
+            stats.put("globalHitRatio", (hits + misses) > 0 ? (double) hits / (hits + misses) : 0.0);
+            stats.put("estimatedMemoryBytes", caches.values().stream()
+                .mapToLong(CacheContainer::getEstimatedMemoryUsage).sum());
             
             int totalEntries = caches.values().stream().mapToInt(CacheContainer::size).sum();
             stats.put("totalEntries", totalEntries);
+            stats.put("offHeapEntries", caches.values().stream().mapToInt(CacheContainer::getOffHeapSize).sum());
+            stats.put("offHeapBytes", caches.values().stream().mapToLong(CacheContainer::getOffHeapBytes).sum());
+            stats.put("offHeapPromotions", caches.values().stream().mapToLong(CacheContainer::getPromotions).sum());
             
             return stats;
         } finally {
@@ -553,7 +1660,6 @@ public class CacheManager {
         try {
             for (CacheContainer<?> cache : caches.values()) {
                 cache.cleanExpired();
-                totalEvictions += cache.evictions;
             }
         } finally {
             lock.readLock().unlock();
@@ -573,15 +1679,26 @@ public class CacheManager {
     }
     
     /**
-     * Gets memory usage estimation
+     * Gets memory usage estimation across all caches, in bytes
+     * Sampled per cache, so cost is independent of cache size
      */
     public long getEstimatedMemoryUsage() {
         lock.readLock().lock();
         try {
-            // Rough estimation based on number of entries
-            // This is a simplified calculation
-            long totalEntries = caches.values().stream().mapToLong(CacheContainer::size).sum();
-            return totalEntries * 100; // Assume ~100 bytes per entry on average
+            return caches.values().stream().mapToLong(CacheContainer::getEstimatedMemoryUsage).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Gets memory usage estimation for specific cache, in bytes
+     */
+    public long getEstimatedMemoryUsage(String cacheName) {
+        lock.readLock().lock();
+        try {
+            CacheContainer<?> cache = caches.get(cacheName);
+            return cache != null ? cache.getEstimatedMemoryUsage() : 0;
         } finally {
             lock.readLock().unlock();
         }
@@ -591,6 +1708,13 @@ public class CacheManager {
      * Shuts down the cache manager
      */
     public void shutdown() {
+        for (CacheListener listener : listeners) {
+            try {
+                listener.beforeShutdown();
+            } catch (RuntimeException e) {
+                System.err.println("Cache listener failed on shutdown: " + e.getMessage());
+            }
+        }
         isRunning = false;
         cleanupExecutor.shutdown();
         try {
@@ -646,6 +1770,22 @@ public class CacheManager {
             .strategy(CacheStrategy.FIFO));
     }
     
+    /**
+     * Creates cache for generated reports
+     * Only the most recent reports stay on the heap; older ones spill to off-heap slabs.
+     * Reports are shared between nodes when a shared tier is configured.
+     * Safe to call from every service instance; only the first call creates the cache
+     * @return true if the cache was created by this call
+     */
+    public boolean createReportCache() {
+        return createCacheIfAbsent("reports", CacheConfig.defaultConfig()
+            .maxSize(50)
+            .ttl(240)
+            .strategy(CacheStrategy.LRU)
+            .offHeap(256L * 1024 * 1024)
+            .distributed(true));
+    }
+    
     /**
      * Creates cache for session data
      */
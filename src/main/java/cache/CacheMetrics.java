@@ -0,0 +1,171 @@
+// File location: src/main/java/cache/CacheMetrics.java
+package cache;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live metrics of a single cache
+ * Counters are striped LongAdders, so recording from many threads never contends on one
+ * memory location; reads sum the stripes and are therefore only eventually consistent.
+ * Latency histograms are recorded only when statistics are enabled for the cache. Get latency
+ * is sampled: one lookup in GET_SAMPLE_RATE is timed and recorded with that weight, so the
+ * hit path rarely pays for the clock reads or touches the shared histogram buckets
+ */
+public class CacheMetrics {
+
+    public static final int GET_SAMPLE_RATE = 16;
+
+    private final String cacheName;
+    private final boolean latencyEnabled;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder puts;
+    private final LongAdder loadSuccesses;
+    private final LongAdder loadFailures;
+    private final LongAdder spills;
+    private final LongAdder promotions;
+    private final LongAdder sharedHits;
+    private final LongAdder sharedMisses;
+    private final LongAdder[] removals;
+    private final LatencyHistogram getLatency;
+    private final LatencyHistogram loadLatency;
+
+    public CacheMetrics(String cacheName, boolean latencyEnabled) {
+        this.cacheName = cacheName;
+        this.latencyEnabled = latencyEnabled;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.puts = new LongAdder();
+        this.loadSuccesses = new LongAdder();
+        this.loadFailures = new LongAdder();
+        this.spills = new LongAdder();
+        this.promotions = new LongAdder();
+        this.sharedHits = new LongAdder();
+        this.sharedMisses = new LongAdder();
+        this.removals = new LongAdder[EvictionCause.values().length];
+        for (int i = 0; i < removals.length; i++) {
+            removals[i] = new LongAdder();
+        }
+        this.getLatency = new LatencyHistogram();
+        this.loadLatency = new LatencyHistogram();
+    }
+
+    // ==================== RECORDING ====================
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordPut() {
+        puts.increment();
+    }
+
+    public void recordRemovals(EvictionCause cause, long count) {
+        if (count > 0) {
+            removals[cause.ordinal()].add(count);
+        }
+    }
+
+    public void recordSpill() {
+        spills.increment();
+    }
+
+    public void recordPromotion() {
+        promotions.increment();
+    }
+
+    /**
+     * Records a near-cache miss answered, or not, by the shared tier
+     */
+    public void recordSharedLookup(boolean hit) {
+        (hit ? sharedHits : sharedMisses).increment();
+    }
+
+    /**
+     * Decides whether the current lookup should be timed
+     */
+    public boolean sampleGetLatency() {
+        return latencyEnabled && ThreadLocalRandom.current().nextInt(GET_SAMPLE_RATE) == 0;
+    }
+
+    /**
+     * Records the latency of a lookup chosen by {@link #sampleGetLatency()}
+     */
+    public void recordGetLatency(long nanos) {
+        if (latencyEnabled) {
+            getLatency.record(nanos, GET_SAMPLE_RATE);
+        }
+    }
+
+    /**
+     * Records the time taken to compute a value after a miss
+     */
+    public void recordLoad(long nanos, boolean success) {
+        (success ? loadSuccesses : loadFailures).increment();
+        if (latencyEnabled) {
+            loadLatency.record(nanos);
+        }
+    }
+
+    // ==================== READING ====================
+
+    public String getCacheName() { return cacheName; }
+    public boolean isLatencyEnabled() { return latencyEnabled; }
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getPutCount() { return puts.sum(); }
+    public long getLoadSuccessCount() { return loadSuccesses.sum(); }
+    public long getLoadFailureCount() { return loadFailures.sum(); }
+    public long getSpillCount() { return spills.sum(); }
+    public long getPromotionCount() { return promotions.sum(); }
+    public long getSharedHitCount() { return sharedHits.sum(); }
+    public long getSharedMissCount() { return sharedMisses.sum(); }
+    public LatencyHistogram getGetLatency() { return getLatency; }
+    public LatencyHistogram getLoadLatency() { return loadLatency; }
+
+    public long getRemovalCount(EvictionCause cause) {
+        return removals[cause.ordinal()].sum();
+    }
+
+    /**
+     * Gets number of entries the cache removed on its own, excluding explicit removals
+     */
+    public long getEvictionCount() {
+        long total = 0;
+        for (EvictionCause cause : EvictionCause.values()) {
+            if (cause.isEviction()) {
+                total += removals[cause.ordinal()].sum();
+            }
+        }
+        return total;
+    }
+
+    public Map<EvictionCause, Long> getRemovalsByCause() {
+        Map<EvictionCause, Long> byCause = new EnumMap<>(EvictionCause.class);
+        for (EvictionCause cause : EvictionCause.values()) {
+            byCause.put(cause, removals[cause.ordinal()].sum());
+        }
+        return byCause;
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total > 0 ? (double) hitCount / total : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheMetrics{name='%s', hits=%d, misses=%d, puts=%d, loads=%d, " +
+                           "loadFailures=%d, removals=%s, get=%s, load=%s}",
+                           cacheName, getHitCount(), getMissCount(), getPutCount(), getLoadSuccessCount(),
+                           getLoadFailureCount(), getRemovalsByCause(), getLatency.snapshot(), loadLatency.snapshot());
+    }
+}
@@ -1,6 +1,8 @@
 // File location: src/main/java/cache/CacheStrategy.java
 package cache;
 
+import annotations.Cacheable;
+
 /**
  * Enumeration defining various cache eviction strategies
  * Used to determine which entries to remove when cache reaches capacity
@@ -221,6 +223,33 @@ public enum CacheStrategy {
         public int getComplexity() {
             return 2; // O(1) to O(n) depending on implementation
         }
+    },
+    
+    /**
+     * Window TinyLFU (W-TinyLFU) - Admits entries to the main cache by estimated frequency
+     * Small LRU window for recency plus a segmented main region guarded by a count-min sketch
+     */
+    W_TINYLFU("Window TinyLFU") {
+        @Override
+        public String getDescription() {
+            return "Admits new entries only if their estimated access frequency beats the eviction victim. " +
+                   "Resists scan pollution while still favouring recently used entries.";
+        }
+        
+        @Override
+        public boolean isTimeBasedEviction() {
+            return false;
+        }
+        
+        @Override
+        public boolean requiresAccessTracking() {
+            return true;
+        }
+        
+        @Override
+        public int getComplexity() {
+            return 3; // O(1) but with sketch and segment bookkeeping
+        }
     };
     
     private final String displayName;
@@ -263,7 +292,7 @@ public enum CacheStrategy {
      */
     public boolean isSuitableForHighFrequency() {
         return switch (this) {
-            case LRU, FIFO, RANDOM -> true;
+            case LRU, FIFO, RANDOM, W_TINYLFU -> true;
             case LFU, MFU, TTL_BASED -> false;
             case LIFO, MRU -> true; // Depends on use case
         };
@@ -274,7 +303,7 @@ public enum CacheStrategy {
      */
     public boolean isSuitableForPredictableAccess() {
         return switch (this) {
-            case LRU, LFU -> true;
+            case LRU, LFU, W_TINYLFU -> true;
             case MRU, MFU -> false; // Depends on specific pattern
             case FIFO, LIFO, RANDOM, TTL_BASED -> false;
         };
@@ -308,6 +337,9 @@ public enum CacheStrategy {
                           
             case TTL_BASED -> "Time-sensitive data, session management, API response caching, " +
                              "data with natural expiration times.";
+                             
+            case W_TINYLFU -> "Entity caches with a stable hot set that are periodically swept by " +
+                             "batch jobs or reports, where one-off scans must not evict popular entries.";
         };
     }
     
@@ -339,6 +371,9 @@ public enum CacheStrategy {
                           
             case TTL_BASED -> "O(1) to O(n) depending on cleanup strategy. " +
                              "Excellent for time-sensitive data, requires time tracking.";
+                             
+            case W_TINYLFU -> "O(1) access and admission with a fixed-size frequency sketch. " +
+                             "Near-optimal hit rates for skewed workloads mixed with scans.";
         };
     }
     
@@ -349,7 +384,7 @@ public enum CacheStrategy {
         return switch (this) {
             case FIFO, LIFO, RANDOM -> 1; // Minimal overhead
             case LRU, MRU, TTL_BASED -> 2; // Moderate overhead
-            case LFU, MFU -> 3; // Higher overhead due to frequency tracking
+            case LFU, MFU, W_TINYLFU -> 3; // Higher overhead due to frequency tracking
         };
     }
     
@@ -394,10 +429,19 @@ public enum CacheStrategy {
             case "MFU", "MOST_FREQUENTLY_USED" -> MFU;
             case "RANDOM", "RR", "RANDOM_REPLACEMENT" -> RANDOM;
             case "TTL", "TTL_BASED", "TIME_TO_LIVE" -> TTL_BASED;
+            case "W_TINYLFU", "TINYLFU", "WINDOW_TINYLFU" -> W_TINYLFU;
             default -> throw new IllegalArgumentException("Unknown cache strategy: " + name);
         };
     }
     
+    /**
+     * Maps the strategy chosen on a @Cacheable method to the eviction strategy of its cache
+     * CUSTOM has no built-in eviction and falls back to LRU
+     */
+    public static CacheStrategy fromAnnotation(Cacheable.Strategy strategy) {
+        return strategy == null || strategy == Cacheable.Strategy.CUSTOM ? LRU : fromString(strategy.name());
+    }
+    
     /**
      * Gets all available strategies with descriptions
      */
@@ -0,0 +1,350 @@
+// File location: src/main/java/cache/CacheWarmer.java
+package cache;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Warm-up engine that carries the hottest cache keys across restarts
+ * Cached methods register themselves with a warm-up strategy and a loader that recomputes
+ * and caches one result. On shutdown the engine writes, per cache, the arguments of the most
+ * accessed entries to a compact gzip file; when a method registers after the next start, the
+ * saved arguments for it are replayed in the background on a small bounded pool, hottest first,
+ * so startup and readiness are never blocked on warm-up
+ */
+public class CacheWarmer implements CacheManager.CacheListener {
+
+    private static final CacheWarmer INSTANCE = new CacheWarmer(CacheManager.getInstance(),
+        Paths.get(System.getProperty("smartcampus.cache.warmup.dir", "cache-warmup")),
+        Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private static final int FILE_MAGIC = 0x43574D31; // "CWM1"
+    private static final String FILE_SUFFIX = ".warmup";
+    private static final int DEFAULT_HOT_KEYS = 1000;
+    // Saved arguments go through the shared tier's class allowlist, with tighter size limits
+    private static final ObjectInputFilter SNAPSHOT_FILTER = ObjectInputFilter.merge(SharedEntryCodec.FILTER,
+        ObjectInputFilter.Config.createFilter("maxdepth=20;maxrefs=10000;maxbytes=1048576"));
+
+    private final CacheManager cacheManager;
+    private final Path directory;
+    private final ExecutorService executor;
+    private final Map<String, Registration> registrations;
+    private final Map<String, Map<String, List<Object[]>>> pendingSnapshots;
+    private final Queue<CompletableFuture<Void>> warmups;
+    private final AtomicBoolean snapshotTaken;
+    private final LongAdder warmedKeys;
+    private final LongAdder failedKeys;
+
+    /**
+     * Creates an engine writing snapshots to the given directory and warming with the given parallelism
+     * Hooks into the cache manager's shutdown and the JVM's, whichever comes first
+     */
+    public CacheWarmer(CacheManager cacheManager, Path directory, int parallelism) {
+        this.cacheManager = cacheManager;
+        this.directory = directory;
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(parallelism, parallelism, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), r -> {
+                Thread t = new Thread(r, "CacheWarmer-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+        this.registrations = new ConcurrentHashMap<>();
+        this.pendingSnapshots = new ConcurrentHashMap<>();
+        this.warmups = new ConcurrentLinkedQueue<>();
+        this.snapshotTaken = new AtomicBoolean();
+        this.warmedKeys = new LongAdder();
+        this.failedKeys = new LongAdder();
+
+        cacheManager.addListener(this);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::snapshotOnShutdown, "CacheWarmer-Snapshot"));
+    }
+
+    public static CacheWarmer getInstance() {
+        return INSTANCE;
+    }
+
+    // ==================== STRATEGY ====================
+
+    /**
+     * Parsed {@code warmupStrategy}: {@code "hot"} (1000 most accessed keys), {@code "hot:N"},
+     * or {@code "all"}; empty disables warm-up
+     */
+    public static final class Strategy {
+        private final int keyLimit;
+
+        private Strategy(int keyLimit) {
+            this.keyLimit = keyLimit;
+        }
+
+        public static Strategy parse(String spec) {
+            if (spec == null || spec.isBlank()) {
+                return null;
+            }
+            String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":", 2);
+            switch (parts[0]) {
+                case "all":
+                    return new Strategy(Integer.MAX_VALUE);
+                case "hot":
+                    try {
+                        int limit = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : DEFAULT_HOT_KEYS;
+                        if (limit > 0) {
+                            return new Strategy(limit);
+                        }
+                    } catch (NumberFormatException e) {
+                        // Fall through to the error below
+                    }
+                    break;
+                default:
+                    break;
+            }
+            throw new IllegalArgumentException("Unknown cache warmup strategy '" + spec +
+                                             "', expected 'hot', 'hot:<keys>' or 'all'");
+        }
+
+        public int getKeyLimit() {
+            return keyLimit;
+        }
+    }
+
+    /**
+     * Recomputes and caches the result for one set of method arguments
+     */
+    @FunctionalInterface
+    public interface Loader {
+        void load(Object[] params) throws Exception;
+    }
+
+    private static final class Registration {
+        final String cacheName;
+        final String scope;
+        final Strategy strategy;
+        final Loader loader;
+
+        Registration(String cacheName, String scope, Strategy strategy, Loader loader) {
+            this.cacheName = cacheName;
+            this.scope = scope;
+            this.strategy = strategy;
+            this.loader = loader;
+        }
+    }
+
+    // ==================== REGISTRATION AND WARM-UP ====================
+
+    /**
+     * Registers a cached method and starts warming it from the last snapshot, if any
+     * Entries for the method are {@link CacheKey}s built from the scope and all its arguments
+     * @param cacheName Cache holding the method's results
+     * @param scope Key scope identifying the method
+     * @param warmupStrategy Strategy spec, see {@link Strategy#parse}
+     * @param loader Recomputes one result
+     * @return number of keys queued for warm-up
+     */
+    public int register(String cacheName, String scope, String warmupStrategy, Loader loader) {
+        Strategy strategy = Strategy.parse(warmupStrategy);
+        if (strategy == null) {
+            return 0;
+        }
+        Registration registration = new Registration(cacheName, scope, strategy, loader);
+        registrations.put(scope, registration);
+
+        Map<String, List<Object[]>> snapshot = pendingSnapshots.computeIfAbsent(cacheName, this::readSnapshot);
+        List<Object[]> saved = snapshot.remove(scope);
+        if (saved == null || executor.isShutdown()) {
+            return 0;
+        }
+        int queued = Math.min(saved.size(), strategy.getKeyLimit());
+        for (Object[] params : saved.subList(0, queued)) {
+            warmups.add(CompletableFuture.runAsync(() -> warm(registration, params), executor));
+        }
+        return queued;
+    }
+
+    private void warm(Registration registration, Object[] params) {
+        try {
+            if (!cacheManager.containsKey(registration.cacheName, CacheKey.of(registration.scope, params))) {
+                registration.loader.load(params);
+            }
+            warmedKeys.increment();
+        } catch (Exception e) {
+            failedKeys.increment();
+            System.err.println("Cache warm-up failed for " + registration.scope + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits for all queued warm-ups, e.g. from a readiness check that wants a warm node
+     * @return true if warm-up finished within the timeout
+     */
+    public boolean awaitWarmup(long timeout, TimeUnit unit) throws InterruptedException {
+        CompletableFuture<?>[] pending = warmups.toArray(new CompletableFuture<?>[0]);
+        try {
+            CompletableFuture.allOf(pending).get(timeout, unit);
+            warmups.removeIf(CompletableFuture::isDone);
+            return true;
+        } catch (ExecutionException e) {
+            // Failures are counted per key and never complete a warm-up exceptionally
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    public boolean isWarming() {
+        return warmups.stream().anyMatch(future -> !future.isDone());
+    }
+
+    public long getWarmedKeys() {
+        return warmedKeys.sum();
+    }
+
+    public long getFailedKeys() {
+        return failedKeys.sum();
+    }
+
+    // ==================== SNAPSHOTS ====================
+
+    /**
+     * Writes the hottest keys of every registered method to the snapshot directory
+     * @return number of keys written
+     */
+    public int snapshot() {
+        Map<String, List<Registration>> byCache = new HashMap<>();
+        for (Registration registration : registrations.values()) {
+            byCache.computeIfAbsent(registration.cacheName, name -> new ArrayList<>()).add(registration);
+        }
+        int written = 0;
+        for (Map.Entry<String, List<Registration>> entry : byCache.entrySet()) {
+            try {
+                written += writeSnapshot(entry.getKey(), entry.getValue());
+            } catch (IOException e) {
+                System.err.println("Cannot write cache snapshot for '" + entry.getKey() + "': " + e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    @Override
+    public void beforeShutdown() {
+        snapshotOnShutdown();
+    }
+
+    private void snapshotOnShutdown() {
+        if (snapshotTaken.compareAndSet(false, true)) {
+            executor.shutdownNow();
+            snapshot();
+        }
+    }
+
+    private int writeSnapshot(String cacheName, List<Registration> cacheRegistrations) throws IOException {
+        Map<Object, Registration> byScope = new HashMap<>();
+        int limit = 0;
+        for (Registration registration : cacheRegistrations) {
+            byScope.put(registration.scope, registration);
+            limit = (int) Math.min(Integer.MAX_VALUE, (long) limit + registration.strategy.getKeyLimit());
+        }
+
+        // Hottest keys across the cache, capped per method by its own strategy
+        Map<Object, Integer> perScope = new HashMap<>();
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(records);
+        int count = 0;
+        for (Object key : cacheManager.getHotKeys(cacheName, limit)) {
+            if (!(key instanceof CacheKey)) {
+                continue;
+            }
+            CacheKey cacheKey = (CacheKey) key;
+            Registration registration = byScope.get(cacheKey.getScope());
+            if (registration == null
+                    || perScope.merge(registration.scope, 1, Integer::sum) > registration.strategy.getKeyLimit()) {
+                continue;
+            }
+            byte[] params = serialize(cacheKey.getParams());
+            if (params == null) {
+                continue;
+            }
+            out.writeUTF(registration.scope);
+            out.writeInt(params.length);
+            out.write(params);
+            count++;
+        }
+        out.flush();
+
+        Files.createDirectories(directory);
+        Path file = snapshotFile(cacheName);
+        Path temp = Files.createTempFile(directory, cacheName.replaceAll("[^A-Za-z0-9_-]", "_"), ".tmp");
+        try (DataOutputStream fileOut = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp))))) {
+            fileOut.writeInt(FILE_MAGIC);
+            fileOut.writeInt(count);
+            records.writeTo(fileOut);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * Reads a cache's snapshot into saved arguments per scope, hottest first
+     * A missing or unreadable snapshot simply means a cold start
+     */
+    private Map<String, List<Object[]>> readSnapshot(String cacheName) {
+        Map<String, List<Object[]>> byScope = new ConcurrentHashMap<>();
+        Path file = snapshotFile(cacheName);
+        if (!Files.isRegularFile(file)) {
+            return byScope;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("not a cache snapshot");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String scope = in.readUTF();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                Object[] params = deserialize(bytes);
+                if (params != null) {
+                    byScope.computeIfAbsent(scope, s -> new ArrayList<>()).add(params);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Ignoring cache snapshot " + file + ": " + e.getMessage());
+        }
+        return byScope;
+    }
+
+    private Path snapshotFile(String cacheName) {
+        return directory.resolve(cacheName.replaceAll("[^A-Za-z0-9_-]", "_") + FILE_SUFFIX);
+    }
+
+    private static byte[] serialize(Object[] params) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(params);
+        } catch (IOException e) {
+            // Arguments that cannot be serialized are simply not warmed
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object[] deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.setObjectInputFilter(SNAPSHOT_FILTER);
+            return (Object[]) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // Classes changed between releases; skip the entry
+            return null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+// File location: src/main/java/cache/CompressedSerializer.java
+package cache;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Serializer that deflates the bytes produced by another serializer
+ * Trades CPU on writes and hits for a smaller footprint of large, repetitive values such as
+ * result lists and reports. Compression level favours speed
+ */
+public class CompressedSerializer<V> implements OffHeapStore.Serializer<V> {
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final OffHeapStore.Serializer<V> delegate;
+    private final int level;
+
+    public CompressedSerializer(OffHeapStore.Serializer<V> delegate) {
+        this(delegate, Deflater.BEST_SPEED);
+    }
+
+    public CompressedSerializer(OffHeapStore.Serializer<V> delegate, int level) {
+        this.delegate = delegate;
+        this.level = level;
+    }
+
+    @Override
+    public byte[] serialize(V value) {
+        byte[] raw = delegate.serialize(value);
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public V deserialize(byte[] bytes) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed cache value");
+                }
+                out.write(buffer, 0, count);
+            }
+            return delegate.deserialize(out.toByteArray());
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed cache value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
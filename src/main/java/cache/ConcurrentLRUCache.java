@@ -0,0 +1,606 @@
+// File location: src/main/java/cache/ConcurrentLRUCache.java
+package cache;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent LRU (Least Recently Used) cache with the same public API as {@link LRUCache}
+ * The key space is split across independently locked segments. Reads never take a lock:
+ * they record the access in a lossy per-segment buffer which is replayed onto the segment's
+ * LRU list by whichever thread next holds that segment's lock
+ */
+public class ConcurrentLRUCache<K, V> {
+
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    private static final int READ_BUFFER_SIZE = 64;
+    private static final int DRAIN_MASK = 31;
+
+    private final int capacity;
+    private final long ttlMillis;
+    private final long ttlNanos;
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+
+    // Statistics
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LocalDateTime createdAt;
+
+    /**
+     * Cache node, linked into its segment's LRU list while present in the segment map
+     */
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile long accessNanos;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+            this.accessNanos = System.nanoTime();
+        }
+
+        boolean isExpired(long ttlNanos, long now) {
+            return ttlNanos > 0 && (now - accessNanos) > ttlNanos;
+        }
+
+        boolean isLinked() {
+            return prev != null;
+        }
+    }
+
+    /**
+     * Independently locked shard of the cache holding its own map and LRU list
+     */
+    private static final class Segment<K, V> {
+        final int capacity;
+        final long ttlNanos;
+        final LongAdder evictions;
+        final Map<K, Node<K, V>> map;
+        final ReentrantLock lock;
+        final Node<K, V> head;
+        final Node<K, V> tail;
+        final AtomicReferenceArray<Node<K, V>> readBuffer;
+
+        Segment(int capacity, long ttlNanos, LongAdder evictions) {
+            this.capacity = capacity;
+            this.ttlNanos = ttlNanos;
+            this.evictions = evictions;
+            this.map = new ConcurrentHashMap<>();
+            this.lock = new ReentrantLock();
+            this.head = new Node<>(null, null);
+            this.tail = new Node<>(null, null);
+            this.readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+            head.next = tail;
+            tail.prev = head;
+        }
+
+        /**
+         * Records a read without blocking; the entry is dropped if its random slot is still occupied
+         */
+        void recordRead(Node<K, V> node) {
+            int probe = ThreadLocalRandom.current().nextInt();
+            readBuffer.compareAndSet(probe & (READ_BUFFER_SIZE - 1), null, node);
+
+            if ((probe >>> 26 & DRAIN_MASK) == 0 && lock.tryLock()) {
+                try {
+                    drainReadBuffer();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        // Must hold lock
+        void drainReadBuffer() {
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                if (readBuffer.get(i) == null) {
+                    continue;
+                }
+                Node<K, V> node = readBuffer.getAndSet(i, null);
+                // A node removed since its read was recorded must not be linked back in
+                if (node != null && node.isLinked() && map.get(node.key) == node) {
+                    moveToHead(node);
+                }
+            }
+        }
+
+        V put(K key, V value, boolean onlyIfAbsent) {
+            lock.lock();
+            try {
+                drainReadBuffer();
+                Node<K, V> existing = map.get(key);
+
+                if (existing != null) {
+                    if (onlyIfAbsent && !existing.isExpired(ttlNanos, System.nanoTime())) {
+                        existing.accessNanos = System.nanoTime();
+                        moveToHead(existing);
+                        return existing.value;
+                    }
+
+                    V oldValue = existing.value;
+                    existing.value = value;
+                    existing.accessNanos = System.nanoTime();
+                    moveToHead(existing);
+                    return onlyIfAbsent ? null : oldValue;
+                }
+
+                if (map.size() >= capacity) {
+                    Node<K, V> last = tail.prev;
+                    if (last != head) {
+                        unlink(last);
+                        map.remove(last.key);
+                        evictions.increment();
+                    }
+                }
+
+                Node<K, V> newNode = new Node<>(key, value);
+                map.put(key, newNode);
+                addToHead(newNode);
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Node<K, V> remove(K key) {
+            lock.lock();
+            try {
+                Node<K, V> node = map.remove(key);
+                if (node != null) {
+                    unlink(node);
+                }
+                return node;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Removes the node only if it is still the one mapped to its key
+         */
+        boolean removeExpired(Node<K, V> node) {
+            lock.lock();
+            try {
+                if (map.remove(node.key, node)) {
+                    unlink(node);
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int cleanExpired(long now) {
+            lock.lock();
+            try {
+                int removed = 0;
+                Node<K, V> current = head.next;
+                while (current != tail) {
+                    Node<K, V> next = current.next;
+                    if (current.isExpired(ttlNanos, now)) {
+                        map.remove(current.key);
+                        unlink(current);
+                        evictions.increment();
+                        removed++;
+                    }
+                    current = next;
+                }
+                return removed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                    readBuffer.set(i, null);
+                }
+                map.clear();
+                Node<K, V> current = head.next;
+                while (current != tail) {
+                    Node<K, V> next = current.next;
+                    current.prev = null;
+                    current.next = null;
+                    current = next;
+                }
+                head.next = tail;
+                tail.prev = head;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void collectLive(List<Node<K, V>> out, long now) {
+            lock.lock();
+            try {
+                drainReadBuffer();
+                for (Node<K, V> current = head.next; current != tail; current = current.next) {
+                    if (!current.isExpired(ttlNanos, now)) {
+                        out.add(current);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // ==================== DOUBLY LINKED LIST OPERATIONS ====================
+
+        private void addToHead(Node<K, V> node) {
+            node.prev = head;
+            node.next = head.next;
+            head.next.prev = node;
+            head.next = node;
+        }
+
+        private void unlink(Node<K, V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+
+        private void moveToHead(Node<K, V> node) {
+            if (head.next != node) {
+                unlink(node);
+                addToHead(node);
+            }
+        }
+    }
+
+    // ==================== CONSTRUCTORS ====================
+
+    /**
+     * Creates concurrent LRU cache with specified capacity (no TTL)
+     */
+    public ConcurrentLRUCache(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * Creates concurrent LRU cache with capacity and TTL
+     * @param capacity Maximum number of entries
+     * @param ttlMillis Time-to-live in milliseconds (0 for no expiration)
+     */
+    public ConcurrentLRUCache(int capacity, long ttlMillis) {
+        this(capacity, ttlMillis, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Creates concurrent LRU cache with capacity, TTL and number of segments
+     * @param capacity Maximum number of entries
+     * @param ttlMillis Time-to-live in milliseconds (0 for no expiration)
+     * @param concurrencyLevel Expected number of concurrently writing threads
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentLRUCache(int capacity, long ttlMillis, int concurrencyLevel) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be positive");
+        }
+
+        this.capacity = capacity;
+        this.ttlMillis = ttlMillis;
+        this.ttlNanos = ttlMillis > 0 ? ttlMillis * 1_000_000L : 0;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.createdAt = LocalDateTime.now();
+
+        // Power-of-two segment count, never more segments than entries
+        int segmentCount = 1;
+        while (segmentCount < concurrencyLevel && segmentCount * 2 <= capacity) {
+            segmentCount <<= 1;
+        }
+        this.segmentMask = segmentCount - 1;
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+
+        // Spread capacity so the segment capacities add up to exactly the total
+        int base = capacity / segmentCount;
+        int remainder = capacity % segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(base + (i < remainder ? 1 : 0), ttlNanos, evictions);
+        }
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & segmentMask];
+    }
+
+    // ==================== MAIN OPERATIONS ====================
+
+    /**
+     * Gets value by key without blocking other readers
+     */
+    public V get(K key) {
+        if (key == null) return null;
+
+        Segment<K, V> segment = segmentFor(key);
+        Node<K, V> node = segment.map.get(key);
+
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+
+        long now = System.nanoTime();
+        if (node.isExpired(ttlNanos, now)) {
+            segment.removeExpired(node);
+            misses.increment();
+            return null;
+        }
+
+        node.accessNanos = now;
+        segment.recordRead(node);
+        hits.increment();
+        return node.value;
+    }
+
+    /**
+     * Puts key-value pair
+     */
+    public V put(K key, V value) {
+        if (key == null) return null;
+        return segmentFor(key).put(key, value, false);
+    }
+
+    /**
+     * Puts value if key is absent
+     */
+    public V putIfAbsent(K key, V value) {
+        if (key == null) return null;
+        return segmentFor(key).put(key, value, true);
+    }
+
+    /**
+     * Removes key from cache
+     */
+    public V remove(K key) {
+        if (key == null) return null;
+
+        Node<K, V> node = segmentFor(key).remove(key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Checks if key exists (without updating access order)
+     */
+    public boolean containsKey(K key) {
+        if (key == null) return false;
+
+        Segment<K, V> segment = segmentFor(key);
+        Node<K, V> node = segment.map.get(key);
+        if (node == null) return false;
+
+        if (node.isExpired(ttlNanos, System.nanoTime())) {
+            segment.removeExpired(node);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets current size
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.map.size();
+        }
+        return size;
+    }
+
+    /**
+     * Checks if cache is empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Clears all entries
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    // ==================== UTILITY METHODS ====================
+
+    /**
+     * Gets all keys in access order (most recent first)
+     * Segments are merged by last access time, so this is a point-in-time approximation
+     */
+    public List<K> getKeysInAccessOrder() {
+        List<Node<K, V>> nodes = new ArrayList<>();
+        long now = System.nanoTime();
+        for (Segment<K, V> segment : segments) {
+            segment.collectLive(nodes, now);
+        }
+
+        nodes.sort((a, b) -> Long.compare(b.accessNanos, a.accessNanos));
+
+        List<K> keys = new ArrayList<>(nodes.size());
+        for (Node<K, V> node : nodes) {
+            keys.add(node.key);
+        }
+        return keys;
+    }
+
+    /**
+     * Gets all keys
+     */
+    public Set<K> keySet() {
+        cleanExpired();
+        Set<K> keys = new HashSet<>();
+        for (Segment<K, V> segment : segments) {
+            keys.addAll(segment.map.keySet());
+        }
+        return keys;
+    }
+
+    /**
+     * Gets all values
+     */
+    public Collection<V> values() {
+        cleanExpired();
+        List<V> values = new ArrayList<>();
+        for (Segment<K, V> segment : segments) {
+            for (Node<K, V> node : segment.map.values()) {
+                values.add(node.value);
+            }
+        }
+        return values;
+    }
+
+    // ==================== EXPIRATION MANAGEMENT ====================
+
+    /**
+     * Removes all expired entries
+     */
+    public int cleanExpired() {
+        if (ttlNanos <= 0) return 0;
+
+        long now = System.nanoTime();
+        int removed = 0;
+        for (Segment<K, V> segment : segments) {
+            removed += segment.cleanExpired(now);
+        }
+        return removed;
+    }
+
+    /**
+     * Gets remaining TTL for key (in milliseconds)
+     */
+    public long getRemainingTTL(K key) {
+        if (key == null || ttlMillis <= 0) return -1;
+
+        Node<K, V> node = segmentFor(key).map.get(key);
+        if (node == null) return -1;
+
+        long elapsedMillis = (System.nanoTime() - node.accessNanos) / 1_000_000L;
+        return Math.max(0, ttlMillis - elapsedMillis);
+    }
+
+    /**
+     * Refreshes TTL for key
+     */
+    public boolean refreshTTL(K key) {
+        if (key == null) return false;
+
+        Node<K, V> node = segmentFor(key).map.get(key);
+        long now = System.nanoTime();
+        if (node != null && !node.isExpired(ttlNanos, now)) {
+            node.accessNanos = now;
+            return true;
+        }
+        return false;
+    }
+
+    // ==================== STATISTICS ====================
+
+    /**
+     * Gets cache statistics
+     */
+    public LRUCache.CacheStats getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long evictionCount = evictions.sum();
+        int currentSize = size();
+        double hitRatio = (hitCount + missCount) > 0 ? (double) hitCount / (hitCount + missCount) : 0.0;
+
+        return new LRUCache.CacheStats() {
+            @Override
+            public long getHits() { return hitCount; }
+
+            @Override
+            public long getMisses() { return missCount; }
+
+            @Override
+            public long getEvictions() { return evictionCount; }
+
+            @Override
+            public double getHitRatio() { return hitRatio; }
+
+            @Override
+            public int getCurrentSize() { return currentSize; }
+
+            @Override
+            public int getMaxSize() { return capacity; }
+
+            @Override
+            public LocalDateTime getCreatedAt() { return createdAt; }
+
+            @Override
+            public String toString() {
+                return String.format("ConcurrentLRUCacheStats{hits=%d, misses=%d, evictions=%d, " +
+                                   "currentSize=%d, maxSize=%d, hitRatio=%.2f%%}",
+                                   hitCount, missCount, evictionCount, currentSize, capacity, hitRatio * 100);
+            }
+        };
+    }
+
+    /**
+     * Resets statistics
+     */
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    // ==================== CONFIGURATION ====================
+
+    /**
+     * Gets maximum capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets TTL in milliseconds
+     */
+    public long getTTL() {
+        return ttlMillis;
+    }
+
+    /**
+     * Checks if TTL is enabled
+     */
+    public boolean isTTLEnabled() {
+        return ttlMillis > 0;
+    }
+
+    /**
+     * Gets number of independently locked segments
+     */
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConcurrentLRUCache{capacity=%d, size=%d, segments=%d, ttl=%d, hits=%d, misses=%d}",
+                           capacity, size(), segments.length, ttlMillis, hits.sum(), misses.sum());
+    }
+}
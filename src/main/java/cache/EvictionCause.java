@@ -0,0 +1,29 @@
+// File location: src/main/java/cache/EvictionCause.java
+package cache;
+
+/**
+ * Reason an entry left a cache
+ */
+public enum EvictionCause {
+    SIZE("Evicted to stay within the size limit"),
+    EXPIRED("Time to live elapsed"),
+    INVALIDATED("Tag invalidated"),
+    EXPLICIT("Removed or cleared by the application");
+
+    private final String description;
+
+    EvictionCause(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Checks if the removal was decided by the cache rather than requested by the application
+     */
+    public boolean isEviction() {
+        return this != EXPLICIT;
+    }
+}
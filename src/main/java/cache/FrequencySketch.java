@@ -0,0 +1,114 @@
+// File location: src/main/java/cache/FrequencySketch.java
+package cache;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch estimating how often keys have been accessed recently
+ * Used by the W-TinyLFU admission policy to decide whether a new entry is worth
+ * more than the entry it would displace. Each key maps to four 4-bit counters,
+ * and all counters are halved periodically so old popularity fades away.
+ * Not thread-safe; callers must guard access externally
+ */
+public class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAX_FREQUENCY = 15;
+    private static final int SAMPLE_FACTOR = 10;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Creates sketch sized for a cache holding the given number of entries
+     * @param maximumSize Expected maximum number of cached entries
+     */
+    public FrequencySketch(int maximumSize) {
+        int size = Math.max(maximumSize, 1);
+        int tableSize = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = SAMPLE_FACTOR * size;
+    }
+
+    /**
+     * Gets estimated access frequency of key (0-15)
+     */
+    public int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access of key, aging all counters once the sample period is reached
+     */
+    public void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Clears all counters
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        additions = 0;
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Halves every counter, correcting the addition count for the truncated odd counters
+     */
+    private void reset() {
+        int oddCounters = 0;
+        for (int i = 0; i < table.length; i++) {
+            oddCounters += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions = (additions >>> 1) - (oddCounters >>> 2);
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += (h >>> 32);
+        return ((int) h) & tableMask;
+    }
+
+    private static int spread(int hashCode) {
+        int x = hashCode * 0x31848bab;
+        return x ^ (x >>> 14);
+    }
+}
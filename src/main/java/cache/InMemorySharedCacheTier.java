@@ -0,0 +1,154 @@
+// File location: src/main/java/cache/InMemorySharedCacheTier.java
+package cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for Redis as a shared cache tier
+ * Several cache managers handed the same instance behave like nodes sharing one Redis: values
+ * honour their TTL, tags index keys like Redis sets, and published invalidations reach every
+ * subscriber. Replacing or removing an entry takes it out of its tags' sets, as the Redis tier
+ * does. Unlike Redis, messages are delivered synchronously on the publishing thread.
+ * Intended for tests and single-machine development
+ */
+public class InMemorySharedCacheTier implements SharedCacheTier {
+
+    private final Map<String, Stored> entries;
+    private final Map<String, Set<String>> tagIndex;
+    private final List<Consumer<Invalidation>> subscribers;
+
+    private static final class Stored {
+        final byte[] value;
+        final long expiresAtMillis;
+        final String[] tags;
+
+        Stored(byte[] value, long expiresAtMillis, String[] tags) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+            this.tags = tags;
+        }
+
+        boolean isExpired() {
+            return expiresAtMillis > 0 && CacheClock.millis() >= expiresAtMillis;
+        }
+    }
+
+    public InMemorySharedCacheTier() {
+        this.entries = new ConcurrentHashMap<>();
+        this.tagIndex = new ConcurrentHashMap<>();
+        this.subscribers = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public byte[] get(String cacheName, String key) {
+        String entryKey = entryKey(cacheName, key);
+        Stored stored = entries.get(entryKey);
+        if (stored == null) {
+            return null;
+        }
+        if (stored.isExpired()) {
+            if (entries.remove(entryKey, stored)) {
+                unindex(entryKey, stored);
+            }
+            return null;
+        }
+        return stored.value.clone();
+    }
+
+    @Override
+    public void put(String cacheName, String key, byte[] value, long ttlMillis, String[] tags) {
+        String entryKey = entryKey(cacheName, key);
+        Stored stored = new Stored(value.clone(), ttlMillis > 0 ? CacheClock.millis() + ttlMillis : 0,
+            tags != null ? tags.clone() : null);
+        unindex(entryKey, entries.put(entryKey, stored));
+        if (stored.tags != null) {
+            for (String tag : stored.tags) {
+                // Inside compute, so a concurrent unindex cannot drop the set while we add to it
+                tagIndex.compute(tag, (t, keys) -> {
+                    Set<String> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                    indexed.add(entryKey);
+                    return indexed;
+                });
+            }
+        }
+    }
+
+    @Override
+    public void remove(String cacheName, String key) {
+        String entryKey = entryKey(cacheName, key);
+        unindex(entryKey, entries.remove(entryKey));
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        String prefix = cacheName + ':';
+        for (String entryKey : entries.keySet()) {
+            if (entryKey.startsWith(prefix)) {
+                unindex(entryKey, entries.remove(entryKey));
+            }
+        }
+    }
+
+    @Override
+    public void invalidateTag(String tag) {
+        Set<String> keys = tagIndex.remove(tag);
+        if (keys != null) {
+            keys.forEach(entries::remove);
+        }
+    }
+
+    @Override
+    public void publish(Invalidation invalidation) {
+        // Round-trip through the wire format, as a Redis channel would
+        Invalidation received = Invalidation.decode(invalidation.encode());
+        for (Consumer<Invalidation> subscriber : subscribers) {
+            subscriber.accept(received);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> listener) {
+        subscribers.add(listener);
+    }
+
+    @Override
+    public void close() {
+        subscribers.clear();
+    }
+
+    /**
+     * Gets number of stored entries, including expired ones not yet read
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets number of entries indexed under the tag
+     */
+    public int taggedSize(String tag) {
+        Set<String> keys = tagIndex.get(tag);
+        return keys != null ? keys.size() : 0;
+    }
+
+    private void unindex(String entryKey, Stored stored) {
+        if (stored == null || stored.tags == null) {
+            return;
+        }
+        for (String tag : stored.tags) {
+            tagIndex.computeIfPresent(tag, (t, keys) -> {
+                keys.remove(entryKey);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private static String entryKey(String cacheName, String key) {
+        return cacheName + ':' + key;
+    }
+}
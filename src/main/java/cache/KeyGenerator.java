@@ -0,0 +1,22 @@
+// File location: src/main/java/cache/KeyGenerator.java
+package cache;
+
+import java.lang.reflect.Method;
+
+/**
+ * Strategy for deriving the cache key of a method invocation
+ * Implementations are referenced from {@code @Cacheable(keyGenerator = ...)} and must have a
+ * public no-argument constructor; one instance is shared by all invocations of the method
+ */
+@FunctionalInterface
+public interface KeyGenerator {
+
+    /**
+     * Generates cache key for an invocation
+     * @param target Object the method is invoked on
+     * @param method Invoked method
+     * @param params Invocation arguments (never null)
+     * @return key with proper equals and hashCode
+     */
+    Object generate(Object target, Method method, Object... params);
+}
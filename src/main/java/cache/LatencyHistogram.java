@@ -0,0 +1,186 @@
+// File location: src/main/java/cache/LatencyHistogram.java
+package cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets
+ * Each power of two is split into 16 linear sub-buckets, so any recorded value is reported
+ * within about 6% of its true value while the whole range up to Long.MAX_VALUE nanoseconds
+ * fits in under a thousand counters. Recording is a single atomic increment
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount;
+    private final LongAdder totalNanos;
+    private final LongAccumulator maxNanos;
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new LongAdder();
+        this.totalNanos = new LongAdder();
+        this.maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Records one measurement in nanoseconds (negative values count as 0)
+     */
+    public void record(long nanos) {
+        record(nanos, 1);
+    }
+
+    /**
+     * Records a sampled measurement standing for weight measurements of the same value
+     */
+    public void record(long nanos, int weight) {
+        long value = Math.max(nanos, 0);
+        counts.addAndGet(indexOf(value), weight);
+        totalCount.add(weight);
+        totalNanos.add(value * weight);
+        maxNanos.accumulate(value);
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public double getMeanNanos() {
+        long count = totalCount.sum();
+        return count > 0 ? (double) totalNanos.sum() / count : 0.0;
+    }
+
+    /**
+     * Gets value below which the given percentage of measurements fall
+     * @param percentile Percentile between 0 and 100
+     * @return upper bound of the matching bucket in nanoseconds, or 0 if empty
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        return valueAtPercentile(snapshot, count, percentile);
+    }
+
+    /**
+     * Takes a consistent-enough snapshot of the common summary values
+     */
+    public Snapshot snapshot() {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        return new Snapshot(count, getMeanNanos(), getMaxNanos(),
+            valueAtPercentile(snapshot, count, 50),
+            valueAtPercentile(snapshot, count, 90),
+            valueAtPercentile(snapshot, count, 99),
+            valueAtPercentile(snapshot, count, 99.9));
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    // ==================== BUCKETING ====================
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    private long valueAtPercentile(long[] snapshot, long count, double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(count * Math.min(Math.max(percentile, 0), 100) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return Math.min(upperBoundOf(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    // ==================== SNAPSHOT ====================
+
+    /**
+     * Summary of a histogram at one point in time
+     */
+    public static class Snapshot {
+        private final long count;
+        private final double meanNanos;
+        private final long maxNanos;
+        private final long p50Nanos;
+        private final long p90Nanos;
+        private final long p99Nanos;
+        private final long p999Nanos;
+
+        public Snapshot(long count, double meanNanos, long maxNanos,
+                        long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos) {
+            this.count = count;
+            this.meanNanos = meanNanos;
+            this.maxNanos = maxNanos;
+            this.p50Nanos = p50Nanos;
+            this.p90Nanos = p90Nanos;
+            this.p99Nanos = p99Nanos;
+            this.p999Nanos = p999Nanos;
+        }
+
+        // Getters
+        public long getCount() { return count; }
+        public double getMeanNanos() { return meanNanos; }
+        public long getMaxNanos() { return maxNanos; }
+        public long getP50Nanos() { return p50Nanos; }
+        public long getP90Nanos() { return p90Nanos; }
+        public long getP99Nanos() { return p99Nanos; }
+        public long getP999Nanos() { return p999Nanos; }
+
+        @Override
+        public String toString() {
+            return String.format("Latency{count=%d, mean=%.1fus, p50=%.1fus, p99=%.1fus, max=%.1fus}",
+                count, meanNanos / 1_000.0, p50Nanos / 1_000.0, p99Nanos / 1_000.0,
+                maxNanos / (double) TimeUnit.MICROSECONDS.toNanos(1));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+// File location: src/main/java/cache/MemoryEstimator.java
+package cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Rough retained-size estimates for cached keys and values
+ * Assumes a 64-bit JVM with compressed references. Common JDK types are sized from their
+ * contents; collections and maps are sized from a few sampled elements; anything else counts
+ * as a small object. Good enough for dashboards and capacity planning, not for accounting
+ */
+final class MemoryEstimator {
+
+    static final int OBJECT_HEADER = 16;
+    static final int REFERENCE = 4;
+    static final int MAP_NODE = 32;
+
+    private static final int MAX_DEPTH = 3;
+    private static final int ELEMENT_SAMPLES = 8;
+    private static final int DEFAULT_OBJECT = 64;
+
+    private MemoryEstimator() {
+    }
+
+    static long estimate(Object value) {
+        return estimate(value, 0);
+    }
+
+    private static long estimate(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String s) {
+            // String header and hash plus the backing array, Latin-1 assumed
+            return OBJECT_HEADER + 8 + align(OBJECT_HEADER + s.length());
+        }
+        if (value instanceof Integer || value instanceof Float || value instanceof Short
+                || value instanceof Byte || value instanceof Character || value instanceof Boolean) {
+            return OBJECT_HEADER;
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return OBJECT_HEADER + 8;
+        }
+        if (value instanceof Enum<?>) {
+            // Shared constants retain nothing per entry
+            return 0;
+        }
+        if (value instanceof byte[] bytes) {
+            return align(OBJECT_HEADER + bytes.length);
+        }
+        if (value instanceof char[] chars) {
+            return align(OBJECT_HEADER + 2L * chars.length);
+        }
+        if (value instanceof int[] ints) {
+            return align(OBJECT_HEADER + 4L * ints.length);
+        }
+        if (value instanceof long[] longs) {
+            return align(OBJECT_HEADER + 8L * longs.length);
+        }
+        if (depth >= MAX_DEPTH) {
+            return DEFAULT_OBJECT;
+        }
+        if (value instanceof Object[] array) {
+            return align(OBJECT_HEADER + (long) REFERENCE * array.length)
+                + sampled(Arrays.asList(array).iterator(), array.length, depth);
+        }
+        if (value instanceof Collection<?> collection) {
+            return OBJECT_HEADER + align(OBJECT_HEADER + (long) REFERENCE * collection.size())
+                + sampled(collection.iterator(), collection.size(), depth);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return OBJECT_HEADER + align(OBJECT_HEADER + (long) REFERENCE * map.size())
+                + (long) MAP_NODE * map.size()
+                + sampled(map.keySet().iterator(), map.size(), depth)
+                + sampled(map.values().iterator(), map.size(), depth);
+        }
+        return DEFAULT_OBJECT;
+    }
+
+    /**
+     * Sizes the first few elements and extrapolates to the whole collection
+     */
+    private static long sampled(Iterator<?> iterator, int size, int depth) {
+        if (size == 0) {
+            return 0;
+        }
+        long total = 0;
+        int sampled = 0;
+        while (sampled < ELEMENT_SAMPLES && iterator.hasNext()) {
+            total += estimate(iterator.next(), depth + 1);
+            sampled++;
+        }
+        return sampled > 0 ? total * size / sampled : 0;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
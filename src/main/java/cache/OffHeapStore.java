@@ -0,0 +1,447 @@
+// File location: src/main/java/cache/OffHeapStore.java
+package cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Second cache tier keeping serialized values outside the Java heap
+ * Values are written into fixed-size pages carved from direct ByteBuffer slabs, while an
+ * on-heap index in least-recently-used order maps each key to its pages. Slabs are allocated
+ * lazily up to the configured byte budget; when the budget is exhausted the least recently
+ * used entries are dropped to make room. Thread-safe
+ */
+public class OffHeapStore<K, V> {
+
+    public static final int DEFAULT_PAGE_SIZE = 4096;
+    private static final int PAGES_PER_SLAB = 256;
+
+    private final long maxBytes;
+    private final int pageSize;
+    private final int maxPages;
+    private final Serializer<V> serializer;
+    private final ReentrantLock lock;
+
+    // Guarded by lock
+    private final List<ByteBuffer> slabs;
+    private final LinkedHashMap<K, Location> index;
+    private int[] freePages;
+    private int freeCount;
+    private int carvedPages;
+    private long storedBytes;
+    private long evictions;
+
+    /**
+     * Converts values to and from the bytes kept off-heap
+     */
+    public interface Serializer<V> {
+        byte[] serialize(V value);
+        V deserialize(byte[] bytes);
+    }
+
+    /**
+     * Pages holding one serialized value, with the value's expiry (0 = never)
+     */
+    private static final class Location {
+        final int[] pages;
+        final int length;
+        final long expirationMillis;
+
+        Location(int[] pages, int length, long expirationMillis) {
+            this.pages = pages;
+            this.length = length;
+            this.expirationMillis = expirationMillis;
+        }
+
+        boolean isExpired(long nowMillis) {
+            return expirationMillis > 0 && nowMillis >= expirationMillis;
+        }
+    }
+
+    public OffHeapStore(long maxBytes) {
+        this(maxBytes, DEFAULT_PAGE_SIZE, javaSerializer());
+    }
+
+    public OffHeapStore(long maxBytes, int pageSize, Serializer<V> serializer) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Max off-heap bytes must be positive");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        this.maxBytes = maxBytes;
+        this.pageSize = pageSize;
+        this.maxPages = (int) Math.min(Integer.MAX_VALUE, maxBytes / pageSize);
+        this.serializer = serializer;
+        this.lock = new ReentrantLock();
+        this.slabs = new ArrayList<>();
+        this.index = new LinkedHashMap<>(16, 0.75f, true);
+        this.freePages = new int[16];
+    }
+
+    // ==================== STORE OPERATIONS ====================
+
+    /**
+     * Stores value, replacing any previous value for key
+     * Serialization happens before the lock is taken
+     * @param expirationMillis Epoch milliseconds at which the value expires, or 0 for never
+     * @return true if stored, false if the value cannot be serialized or exceeds the budget
+     */
+    public boolean put(K key, V value, long expirationMillis) {
+        byte[] bytes;
+        try {
+            bytes = serializer.serialize(value);
+        } catch (RuntimeException e) {
+            invalidate(key);
+            return false;
+        }
+
+        int pagesNeeded = Math.max(1, (bytes.length + pageSize - 1) / pageSize);
+        lock.lock();
+        try {
+            release(index.remove(key));
+            if (pagesNeeded > maxPages || !reserve(pagesNeeded)) {
+                return false;
+            }
+
+            int[] pages = new int[pagesNeeded];
+            for (int i = 0; i < pagesNeeded; i++) {
+                pages[i] = allocatePage();
+                int offset = i * pageSize;
+                slabFor(pages[i]).put(offsetOf(pages[i]), bytes, offset, Math.min(pageSize, bytes.length - offset));
+            }
+            index.put(key, new Location(pages, bytes.length, expirationMillis));
+            storedBytes += bytes.length;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets value, marking it as most recently used
+     * @return value, or null if absent or expired
+     */
+    public V get(K key) {
+        byte[] bytes;
+        lock.lock();
+        try {
+            Location location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            if (location.isExpired(CacheClock.millis())) {
+                release(index.remove(key));
+                return null;
+            }
+            bytes = read(location);
+        } finally {
+            lock.unlock();
+        }
+        return serializer.deserialize(bytes);
+    }
+
+    /**
+     * Removes value and returns it, freeing its pages
+     * Used to promote an entry back to the on-heap tier
+     * @return value, or null if absent or expired
+     */
+    public V remove(K key) {
+        byte[] bytes;
+        lock.lock();
+        try {
+            Location location = index.remove(key);
+            if (location == null) {
+                return null;
+            }
+            bytes = location.isExpired(CacheClock.millis()) ? null : read(location);
+            release(location);
+        } finally {
+            lock.unlock();
+        }
+        return bytes != null ? serializer.deserialize(bytes) : null;
+    }
+
+    /**
+     * Removes value without reading it back
+     * @return true if a value was removed
+     */
+    public boolean invalidate(K key) {
+        lock.lock();
+        try {
+            Location location = index.remove(key);
+            release(location);
+            return location != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets expiry of stored value without deserializing it
+     * @return epoch milliseconds, 0 if the value never expires, or -1 if absent
+     */
+    public long getExpirationMillis(K key) {
+        lock.lock();
+        try {
+            Location location = index.get(key);
+            return location != null ? location.expirationMillis : -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean containsKey(K key) {
+        lock.lock();
+        try {
+            Location location = index.get(key);
+            if (location == null) {
+                return false;
+            }
+            if (location.isExpired(CacheClock.millis())) {
+                release(index.remove(key));
+                return false;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops expired values
+     * @return number of values removed
+     */
+    public int removeExpired(long nowMillis) {
+        lock.lock();
+        try {
+            int removed = 0;
+            Iterator<Location> iterator = index.values().iterator();
+            while (iterator.hasNext()) {
+                Location location = iterator.next();
+                if (location.isExpired(nowMillis)) {
+                    iterator.remove();
+                    release(location);
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all values and releases the slabs to the garbage collector
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            index.clear();
+            slabs.clear();
+            freeCount = 0;
+            carvedPages = 0;
+            storedBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ==================== INFORMATION ====================
+
+    public Set<K> keySet() {
+        lock.lock();
+        try {
+            return new HashSet<>(index.keySet());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Gets total serialized bytes of the stored values
+     */
+    public long getStoredBytes() {
+        lock.lock();
+        try {
+            return storedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets off-heap bytes reserved by the allocated slabs
+     */
+    public long getAllocatedBytes() {
+        lock.lock();
+        try {
+            long allocated = 0;
+            for (ByteBuffer slab : slabs) {
+                allocated += slab.capacity();
+            }
+            return allocated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Gets number of values dropped to stay within the byte budget
+     */
+    public long getEvictions() {
+        lock.lock();
+        try {
+            return evictions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ==================== PAGE ALLOCATION ====================
+
+    /**
+     * Makes sure enough pages are free or can still be carved, evicting LRU values if needed
+     */
+    private boolean reserve(int pagesNeeded) {
+        Iterator<Location> eldest = index.values().iterator();
+        while (freeCount + (maxPages - carvedPages) < pagesNeeded) {
+            if (!eldest.hasNext()) {
+                return false;
+            }
+            Location victim = eldest.next();
+            eldest.remove();
+            release(victim);
+            evictions++;
+        }
+        return true;
+    }
+
+    private int allocatePage() {
+        if (freeCount > 0) {
+            return freePages[--freeCount];
+        }
+        int page = carvedPages++;
+        if (page / PAGES_PER_SLAB == slabs.size()) {
+            int pagesInSlab = Math.min(PAGES_PER_SLAB, maxPages - page);
+            slabs.add(ByteBuffer.allocateDirect(pagesInSlab * pageSize));
+        }
+        return page;
+    }
+
+    private void release(Location location) {
+        if (location == null) {
+            return;
+        }
+        if (freeCount + location.pages.length > freePages.length) {
+            int capacity = Math.max(freePages.length * 2, freeCount + location.pages.length);
+            freePages = Arrays.copyOf(freePages, capacity);
+        }
+        for (int page : location.pages) {
+            freePages[freeCount++] = page;
+        }
+        storedBytes -= location.length;
+    }
+
+    private byte[] read(Location location) {
+        byte[] bytes = new byte[location.length];
+        for (int i = 0; i < location.pages.length; i++) {
+            int offset = i * pageSize;
+            int page = location.pages[i];
+            slabFor(page).get(offsetOf(page), bytes, offset, Math.min(pageSize, location.length - offset));
+        }
+        return bytes;
+    }
+
+    private ByteBuffer slabFor(int page) {
+        return slabs.get(page / PAGES_PER_SLAB);
+    }
+
+    private int offsetOf(int page) {
+        return (page % PAGES_PER_SLAB) * pageSize;
+    }
+
+    // ==================== SERIALIZATION ====================
+
+    /**
+     * Serializer using Java object serialization; values must be {@link Serializable}
+     */
+    public static <V> Serializer<V> javaSerializer() {
+        return javaSerializer(null);
+    }
+
+    /**
+     * Java serialization that only reads classes accepted by the filter
+     * @param filter Filter applied to every class in the stream, or null for none
+     */
+    public static <V> Serializer<V> javaSerializer(ObjectInputFilter filter) {
+        return new Serializer<V>() {
+            @Override
+            public byte[] serialize(V value) {
+                if (!(value instanceof Serializable)) {
+                    throw new IllegalArgumentException("Value is not serializable: " +
+                        (value != null ? value.getClass().getName() : "null"));
+                }
+                try (ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                     ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+                    out.writeObject(value);
+                    out.flush();
+                    return buffer.toByteArray();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to serialize cache value", e);
+                }
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V deserialize(byte[] bytes) {
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    if (filter != null) {
+                        in.setObjectInputFilter(filter);
+                    }
+                    return (V) in.readObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to deserialize cache value", e);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("Failed to deserialize cache value", e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,118 @@
+// File location: src/main/java/cache/SharedCacheTier.java
+package cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Consumer;
+
+/**
+ * Cache tier shared by every application node, such as Redis
+ * Distributed caches keep a local near-cache per node and write through to this tier; nodes
+ * announce changes on its pub/sub channel so peers drop their stale near copies. Keys are
+ * opaque strings derived from the cache key, values opaque byte payloads
+ */
+public interface SharedCacheTier extends AutoCloseable {
+
+    /**
+     * Java serializer for values that may come back from the shared tier, e.g. compressed
+     * results; it only reads the classes the tier's own payloads are allowed to contain
+     */
+    static <V> OffHeapStore.Serializer<V> payloadSerializer() {
+        return OffHeapStore.javaSerializer(SharedEntryCodec.FILTER);
+    }
+
+    /**
+     * Gets payload stored under the key
+     * @return payload, or null if absent or expired
+     */
+    byte[] get(String cacheName, String key);
+
+    /**
+     * Stores payload, indexing it under each tag for {@link #invalidateTag}
+     * @param ttlMillis Time to live, 0 for none
+     */
+    void put(String cacheName, String key, byte[] value, long ttlMillis, String[] tags);
+
+    void remove(String cacheName, String key);
+
+    void clear(String cacheName);
+
+    /**
+     * Removes every entry stored with the tag, across caches
+     */
+    void invalidateTag(String tag);
+
+    /**
+     * Broadcasts an invalidation to all subscribed nodes, including the sender
+     */
+    void publish(Invalidation invalidation);
+
+    void subscribe(Consumer<Invalidation> listener);
+
+    @Override
+    void close();
+
+    // ==================== INVALIDATION MESSAGE ====================
+
+    /**
+     * Pub/sub message telling near-caches to drop a key, a whole cache or a tag
+     */
+    final class Invalidation {
+
+        public enum Type { KEY, CACHE, TAG }
+
+        private final String origin;
+        private final Type type;
+        private final String name;
+        private final byte[] key;
+
+        private Invalidation(String origin, Type type, String name, byte[] key) {
+            this.origin = origin;
+            this.type = type;
+            this.name = name;
+            this.key = key;
+        }
+
+        /**
+         * Invalidates one key of a cache; the key is the serialized cache key
+         */
+        public static Invalidation ofKey(String origin, String cacheName, byte[] key) {
+            return new Invalidation(origin, Type.KEY, cacheName, key);
+        }
+
+        public static Invalidation ofCache(String origin, String cacheName) {
+            return new Invalidation(origin, Type.CACHE, cacheName, null);
+        }
+
+        public static Invalidation ofTag(String origin, String tag) {
+            return new Invalidation(origin, Type.TAG, tag, null);
+        }
+
+        // Getters
+        public String getOrigin() { return origin; }
+        public Type getType() { return type; }
+        /** Cache name, or the tag for TAG messages */
+        public String getName() { return name; }
+        public byte[] getKey() { return key; }
+
+        /**
+         * Encodes message as a single line of text for transports such as Redis channels
+         */
+        public String encode() {
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            return origin + ' ' + type + ' ' + encoder.encodeToString(name.getBytes(StandardCharsets.UTF_8)) +
+                   ' ' + (key != null ? encoder.encodeToString(key) : "-");
+        }
+
+        public static Invalidation decode(String message) {
+            String[] parts = message.split(" ");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed cache invalidation message");
+            }
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            return new Invalidation(parts[0], Type.valueOf(parts[1]),
+                new String(decoder.decode(parts[2]), StandardCharsets.UTF_8),
+                "-".equals(parts[3]) ? null : decoder.decode(parts[3]));
+        }
+    }
+}
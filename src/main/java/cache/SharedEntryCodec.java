@@ -0,0 +1,124 @@
+// File location: src/main/java/cache/SharedEntryCodec.java
+package cache;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Wire format of entries in the shared cache tier
+ * Keys are Java-serialized and hashed to a fixed-length string so any serializable key maps
+ * to the same shared key on every node; payloads carry the entry's tags ahead of the value.
+ * Anything read back from the tier was written by another process, so keys and values are
+ * deserialized through {@link #FILTER}, which rejects classes outside the application's
+ * model and the JDK collection, time and number types before they are instantiated
+ */
+final class SharedEntryCodec {
+
+    /**
+     * System property with extra filter patterns, e.g. {@code "dto.**"}, checked before the defaults
+     */
+    static final String FILTER_PROPERTY = "smartcampus.cache.shared.serialFilter";
+    static final String ALLOWED_CLASSES =
+        "java.lang.*;java.util.*;java.time.*;java.math.*;cache.*;models.*;interfaces.*;reflection.*";
+    static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+        "maxdepth=32;maxrefs=1000000;maxarray=100000000;" + extraPatterns() + ALLOWED_CLASSES + ";!*");
+
+    private static final OffHeapStore.Serializer<Object> VALUES = OffHeapStore.javaSerializer(FILTER);
+    private static final String[] NO_TAGS = new String[0];
+
+    private SharedEntryCodec() {
+    }
+
+    private static String extraPatterns() {
+        String extra = System.getProperty(FILTER_PROPERTY, "").trim();
+        return extra.isEmpty() || extra.endsWith(";") ? extra : extra + ";";
+    }
+
+    /**
+     * Decoded payload
+     */
+    static final class Entry {
+        final String[] tags;
+        final Object value;
+
+        Entry(String[] tags, Object value) {
+            this.tags = tags;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Serializes a cache key
+     * @return bytes, or null if the key is not serializable and must stay node-local
+     */
+    static byte[] serializeKey(Object key) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(key);
+        } catch (IOException e) {
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    static Object deserializeKey(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.setObjectInputFilter(FILTER);
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Derives the shared-tier key: URL-safe SHA-256 of the serialized cache key
+     */
+    static String sharedKey(byte[] keyBytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(keyBytes);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Encodes value and tags
+     * @return payload, or null if the value is not serializable
+     */
+    static byte[] encode(Object value, String[] tags) {
+        byte[] valueBytes;
+        try {
+            valueBytes = VALUES.serialize(value);
+        } catch (RuntimeException e) {
+            // Not serializable, or holds something that is not
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(valueBytes.length + 32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            String[] entryTags = tags != null ? tags : NO_TAGS;
+            out.writeShort(entryTags.length);
+            for (String tag : entryTags) {
+                out.writeUTF(tag);
+            }
+            out.write(valueBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Entry decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            String[] tags = new String[in.readUnsignedShort()];
+            for (int i = 0; i < tags.length; i++) {
+                tags[i] = in.readUTF();
+            }
+            return new Entry(tags, VALUES.deserialize(in.readAllBytes()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+// File location: src/main/java/cache/TimerWheel.java
+package cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for expiring cache entries in amortized O(1)
+ * Entries are hashed into buckets by expiration time across wheels of growing span
+ * (about 1 second, 1 minute, 1 hour, 1.5 days and an overflow bucket). Advancing the
+ * wheel only visits buckets whose time has passed; entries that are not yet due cascade
+ * into a finer wheel. Not thread-safe; callers must guard access externally
+ */
+public class TimerWheel<E extends TimerWheel.Node> {
+
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    private static final long[] SPANS = {
+        1L << 10,   // 1.02 seconds
+        1L << 16,   // 1.09 minutes
+        1L << 22,   // 1.17 hours
+        1L << 27,   // 1.55 days
+        1L << 29    // 6.21 days
+    };
+    private static final int[] SHIFTS = {10, 16, 22, 27, 29};
+
+    private final Node[][] wheel;
+    private long currentMillis;
+    private int size;
+
+    /**
+     * Element that can be scheduled on a timer wheel
+     */
+    public abstract static class Node {
+        long expirationMillis;
+        Node previousInWheel;
+        Node nextInWheel;
+
+        /**
+         * Gets epoch milliseconds at which this node expires
+         */
+        public long getExpirationMillis() {
+            return expirationMillis;
+        }
+
+        protected void setExpirationMillis(long expirationMillis) {
+            this.expirationMillis = expirationMillis;
+        }
+
+        /**
+         * Checks if this node is currently scheduled on a wheel
+         */
+        public boolean isScheduled() {
+            return nextInWheel != null;
+        }
+    }
+
+    /**
+     * Bucket sentinel of a circular doubly-linked list
+     */
+    private static final class Sentinel extends Node {
+        Sentinel() {
+            previousInWheel = this;
+            nextInWheel = this;
+        }
+    }
+
+    public TimerWheel() {
+        this(CacheClock.millis());
+    }
+
+    public TimerWheel(long currentMillis) {
+        this.currentMillis = currentMillis;
+        this.wheel = new Node[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new Node[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                wheel[i][j] = new Sentinel();
+            }
+        }
+    }
+
+    // ==================== SCHEDULING ====================
+
+    /**
+     * Schedules node to expire at its expiration time
+     */
+    public void schedule(E node) {
+        Node sentinel = findBucket(node.expirationMillis);
+        link(sentinel, node);
+        size++;
+    }
+
+    /**
+     * Moves node to the bucket matching its (updated) expiration time
+     */
+    public void reschedule(E node) {
+        if (node.isScheduled()) {
+            unlink(node);
+            size--;
+        }
+        schedule(node);
+    }
+
+    /**
+     * Removes node from the wheel if scheduled
+     */
+    public void deschedule(E node) {
+        if (node.isScheduled()) {
+            unlink(node);
+            size--;
+        }
+    }
+
+    /**
+     * Advances the wheel to the given time, handing every due node to the callback
+     * @return number of nodes expired
+     */
+    @SuppressWarnings("unchecked")
+    public int advance(long nowMillis, Consumer<E> onExpired) {
+        long previousMillis = currentMillis;
+        currentMillis = nowMillis;
+        int expired = 0;
+
+        for (int i = 0; i < SHIFTS.length; i++) {
+            long previousTicks = previousMillis >>> SHIFTS[i];
+            long currentTicks = nowMillis >>> SHIFTS[i];
+            if (currentTicks - previousTicks <= 0) {
+                break;
+            }
+            expired += expire(i, previousTicks, currentTicks - previousTicks, (Consumer<Node>) onExpired);
+        }
+        return expired;
+    }
+
+    /**
+     * Removes all nodes without expiring them
+     */
+    public void clear() {
+        for (Node[] buckets : wheel) {
+            for (Node sentinel : buckets) {
+                Node node = sentinel.nextInWheel;
+                while (node != sentinel) {
+                    Node next = node.nextInWheel;
+                    node.previousInWheel = null;
+                    node.nextInWheel = null;
+                    node = next;
+                }
+                sentinel.previousInWheel = sentinel;
+                sentinel.nextInWheel = sentinel;
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * Gets number of scheduled nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    // ==================== INTERNALS ====================
+
+    private int expire(int index, long previousTicks, long delta, Consumer<Node> onExpired) {
+        Node[] buckets = wheel[index];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(delta + 1, buckets.length);
+        int start = (int) (previousTicks & mask);
+        int expired = 0;
+
+        for (int i = start; i < start + steps; i++) {
+            Node sentinel = buckets[i & mask];
+            Node node = sentinel.nextInWheel;
+            sentinel.previousInWheel = sentinel;
+            sentinel.nextInWheel = sentinel;
+
+            while (node != sentinel) {
+                Node next = node.nextInWheel;
+                node.previousInWheel = null;
+                node.nextInWheel = null;
+                size--;
+
+                if (node.expirationMillis - currentMillis <= 0) {
+                    onExpired.accept(node);
+                    expired++;
+                } else {
+                    // Not yet due: cascade into the wheel matching the remaining time
+                    link(findBucket(node.expirationMillis), node);
+                    size++;
+                }
+                node = next;
+            }
+        }
+        return expired;
+    }
+
+    private Node findBucket(long expirationMillis) {
+        // Overdue nodes go into the current bucket so the next tick picks them up
+        long time = Math.max(expirationMillis, currentMillis);
+        long duration = time - currentMillis;
+        int length = wheel.length - 1;
+        for (int i = 0; i < length; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = time >>> SHIFTS[i];
+                int index = (int) (ticks & (wheel[i].length - 1));
+                return wheel[i][index];
+            }
+        }
+        return wheel[length][0];
+    }
+
+    private static void link(Node sentinel, Node node) {
+        node.previousInWheel = sentinel.previousInWheel;
+        node.nextInWheel = sentinel;
+        sentinel.previousInWheel.nextInWheel = node;
+        sentinel.previousInWheel = node;
+    }
+
+    private static void unlink(Node node) {
+        node.previousInWheel.nextInWheel = node.nextInWheel;
+        node.nextInWheel.previousInWheel = node.previousInWheel;
+        node.previousInWheel = null;
+        node.nextInWheel = null;
+    }
+}
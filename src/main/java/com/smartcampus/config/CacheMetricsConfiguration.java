@@ -0,0 +1,176 @@
+// Location: src/main/java/com/smartcampus/config/CacheMetricsConfiguration.java
+package com.smartcampus.config;
+
+import cache.CacheManager;
+import cache.CacheMetrics;
+import cache.EvictionCause;
+import cache.LatencyHistogram;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache Metrics Configuration
+ *
+ * Exports the metrics of every cache held by the application's {@link CacheManager}
+ * through Micrometer, so they appear on the Actuator metrics and Prometheus endpoints.
+ * Meters are tagged with the cache name and follow Micrometer's cache naming
+ * (cache.gets, cache.puts, cache.evictions, cache.size), extended with removal causes,
+ * load and get latency percentiles, and an estimate of the memory each cache retains.
+ * Caches created or removed after startup are bound and unbound as that happens.
+ *
+ * @author SmartCampus Development Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Configuration
+public class CacheMetricsConfiguration {
+
+    @Bean
+    public MeterBinder campusCacheMetrics() {
+        return new CampusCacheMeterBinder(CacheManager.getInstance());
+    }
+
+    /**
+     * Binds per-cache meters to every registry it is given.
+     */
+    static class CampusCacheMeterBinder implements MeterBinder, CacheManager.CacheListener {
+
+        private static final String CACHE_TAG = "cache";
+        private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+        private final CacheManager cacheManager;
+        private final List<MeterRegistry> registries = new CopyOnWriteArrayList<>();
+
+        CampusCacheMeterBinder(CacheManager cacheManager) {
+            this.cacheManager = cacheManager;
+            cacheManager.addListener(this);
+        }
+
+        @Override
+        public void bindTo(MeterRegistry registry) {
+            registries.add(registry);
+            // Registering an existing meter id is a no-op, so racing with onCacheCreated is harmless
+            cacheManager.getCacheNames().forEach(name -> bindCache(registry, name));
+        }
+
+        @Override
+        public void onCacheCreated(String cacheName) {
+            registries.forEach(registry -> bindCache(registry, cacheName));
+        }
+
+        @Override
+        public void onCacheRemoved(String cacheName) {
+            registries.forEach(registry -> registry.getMeters().stream()
+                .filter(meter -> isCacheMeter(meter, cacheName))
+                .forEach(registry::remove));
+        }
+
+        private void bindCache(MeterRegistry registry, String cacheName) {
+            CacheMetrics metrics = cacheManager.getCacheMetrics(cacheName);
+            if (metrics == null) {
+                return;
+            }
+            Tags tags = Tags.of(CACHE_TAG, cacheName);
+
+            FunctionCounter.builder("cache.gets", metrics, CacheMetrics::getHitCount)
+                .tags(tags).tag("result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value.")
+                .register(registry);
+            FunctionCounter.builder("cache.gets", metrics, CacheMetrics::getMissCount)
+                .tags(tags).tag("result", "miss")
+                .description("The number of times cache lookup methods have not returned a value.")
+                .register(registry);
+            FunctionCounter.builder("cache.puts", metrics, CacheMetrics::getPutCount)
+                .tags(tags)
+                .description("The number of entries added to the cache.")
+                .register(registry);
+            FunctionCounter.builder("cache.evictions", metrics, CacheMetrics::getEvictionCount)
+                .tags(tags)
+                .description("The number of entries the cache removed on its own.")
+                .register(registry);
+            for (EvictionCause cause : EvictionCause.values()) {
+                FunctionCounter.builder("cache.removals", metrics, m -> m.getRemovalCount(cause))
+                    .tags(tags).tag("cause", cause.name().toLowerCase(Locale.ROOT))
+                    .description(cause.getDescription())
+                    .register(registry);
+            }
+            FunctionCounter.builder("cache.offheap.spills", metrics, CacheMetrics::getSpillCount)
+                .tags(tags)
+                .description("The number of entries moved from the heap to the off-heap tier.")
+                .register(registry);
+            FunctionCounter.builder("cache.offheap.promotions", metrics, CacheMetrics::getPromotionCount)
+                .tags(tags)
+                .description("The number of entries moved back from the off-heap tier to the heap.")
+                .register(registry);
+
+            FunctionCounter.builder("cache.shared.gets", metrics, CacheMetrics::getSharedHitCount)
+                .tags(tags).tag("result", "hit")
+                .description("Near-cache misses answered by the shared tier.")
+                .register(registry);
+            FunctionCounter.builder("cache.shared.gets", metrics, CacheMetrics::getSharedMissCount)
+                .tags(tags).tag("result", "miss")
+                .description("Near-cache misses the shared tier could not answer either.")
+                .register(registry);
+
+            Gauge.builder("cache.size", cacheManager, manager -> manager.size(cacheName))
+                .tags(tags)
+                .description("The number of entries in the cache, across both tiers.")
+                .register(registry);
+            Gauge.builder("cache.memory.estimate", cacheManager, manager -> manager.getEstimatedMemoryUsage(cacheName))
+                .tags(tags)
+                .baseUnit("bytes")
+                .description("Estimated memory retained by the cache, sampled on the heap plus allocated off-heap slabs.")
+                .register(registry);
+
+            FunctionCounter.builder("cache.load", metrics, CacheMetrics::getLoadSuccessCount)
+                .tags(tags).tag("result", "success")
+                .description("The number of values computed after a miss.")
+                .register(registry);
+            FunctionCounter.builder("cache.load", metrics, CacheMetrics::getLoadFailureCount)
+                .tags(tags).tag("result", "failure")
+                .description("The number of loads that threw instead of returning a value.")
+                .register(registry);
+
+            if (metrics.isLatencyEnabled()) {
+                bindLatency(registry, "cache.load.duration", metrics.getLoadLatency(), tags,
+                    "Time spent computing values after a miss.");
+                bindLatency(registry, "cache.get.latency", metrics.getGetLatency(), tags,
+                    "Time spent looking up a value, hit or miss.");
+            }
+        }
+
+        private void bindLatency(MeterRegistry registry, String name, LatencyHistogram histogram,
+                                 Tags tags, String description) {
+            FunctionTimer.builder(name, histogram, LatencyHistogram::getCount,
+                    LatencyHistogram::getTotalNanos, TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .description(description)
+                .register(registry);
+            for (double percentile : PERCENTILES) {
+                Gauge.builder(name + ".percentile", histogram,
+                        h -> h.getValueAtPercentile(percentile * 100) / 1_000_000_000.0)
+                    .tags(tags).tag("phi", String.valueOf(percentile))
+                    .baseUnit("seconds")
+                    .description(description)
+                    .register(registry);
+            }
+        }
+
+        private static boolean isCacheMeter(Meter meter, String cacheName) {
+            return meter.getId().getName().startsWith("cache.")
+                && cacheName.equals(meter.getId().getTag(CACHE_TAG));
+        }
+    }
+}
@@ -0,0 +1,254 @@
+// Location: src/main/java/com/smartcampus/config/RedisSharedCacheTier.java
+package com.smartcampus.config;
+
+import cache.SharedCacheTier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Redis Shared Cache Tier
+ *
+ * Stores distributed cache entries in Redis under {@code {<prefix>}<cache>:<key>} with the
+ * cache's TTL, indexes tagged entries in one Redis set per tag, and carries near-cache
+ * invalidations over a pub/sub channel. Messages are received on the listener container's
+ * thread and applied to the local {@link cache.CacheManager} by the subscriber.
+ *
+ * Each tagged entry also records its tag sets under {@code <entry key>#tags}, so replacing
+ * or removing the entry takes it out of those sets again. Tag sets never expire before the
+ * longest-lived entry they index. Writes that touch several keys run as Lua scripts so a
+ * concurrent writer never sees an entry without its index.
+ *
+ * The prefix is wrapped in a Redis Cluster hash tag, so every key of the tier maps to the
+ * same slot and the scripts stay valid on a cluster. Scripts only touch keys passed in
+ * {@code KEYS}; tag invalidation therefore reads the affected keys first and lets the script
+ * skip entries whose tags changed in between, retrying until the tag set is empty.
+ *
+ * @author SmartCampus Development Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class RedisSharedCacheTier implements SharedCacheTier {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisSharedCacheTier.class);
+    private static final int DELETE_BATCH_SIZE = 500;
+    private static final String TAGS_SUFFIX = "#tags";
+    private static final int INVALIDATE_TAG_ATTEMPTS = 5;
+
+    // KEYS: entry, its tag list, tag sets; ARGV: value, ttl millis (0 = none)
+    private static final RedisScript<Long> PUT_SCRIPT = RedisScript.of(
+        "for _, tag in ipairs(redis.call('SMEMBERS', KEYS[2])) do redis.call('SREM', tag, KEYS[1]) end\n" +
+        "redis.call('DEL', KEYS[2])\n" +
+        "local ttl = tonumber(ARGV[2])\n" +
+        "if ttl > 0 then redis.call('SET', KEYS[1], ARGV[1], 'PX', ttl) else redis.call('SET', KEYS[1], ARGV[1]) end\n" +
+        "for i = 3, #KEYS do\n" +
+        "  local existed = redis.call('EXISTS', KEYS[i])\n" +
+        "  redis.call('SADD', KEYS[i], KEYS[1])\n" +
+        "  redis.call('SADD', KEYS[2], KEYS[i])\n" +
+        "  if ttl <= 0 then redis.call('PERSIST', KEYS[i])\n" +
+        "  else\n" +
+        "    local current = redis.call('PTTL', KEYS[i])\n" +
+        "    if existed == 0 or (current >= 0 and current < ttl) then redis.call('PEXPIRE', KEYS[i], ttl) end\n" +
+        "  end\n" +
+        "end\n" +
+        "if ttl > 0 and #KEYS > 2 then redis.call('PEXPIRE', KEYS[2], ttl) end\n" +
+        "return #KEYS - 2", Long.class);
+
+    // KEYS: entry, its tag list
+    private static final RedisScript<Long> REMOVE_SCRIPT = RedisScript.of(
+        "for _, tag in ipairs(redis.call('SMEMBERS', KEYS[2])) do redis.call('SREM', tag, KEYS[1]) end\n" +
+        "return redis.call('DEL', KEYS[1], KEYS[2])", Long.class);
+
+    // KEYS: tag set, (entry, its tag list) pairs, their other tag sets; ARGV: number of entries.
+    // Entries no longer in the set are left alone, and entries listing an undeclared tag set are
+    // left for the next attempt. Returns the entries still in the set.
+    private static final RedisScript<Long> INVALIDATE_TAG_SCRIPT = RedisScript.of(
+        "local n = tonumber(ARGV[1])\n" +
+        "local declared = {}\n" +
+        "for i = 2 * n + 2, #KEYS do declared[KEYS[i]] = true end\n" +
+        "for i = 0, n - 1 do\n" +
+        "  local entry, tags = KEYS[2 + 2 * i], KEYS[3 + 2 * i]\n" +
+        "  if redis.call('SISMEMBER', KEYS[1], entry) == 1 then\n" +
+        "    local others, complete = {}, true\n" +
+        "    for _, tag in ipairs(redis.call('SMEMBERS', tags)) do\n" +
+        "      if tag ~= KEYS[1] then\n" +
+        "        if declared[tag] then others[#others + 1] = tag else complete = false end\n" +
+        "      end\n" +
+        "    end\n" +
+        "    if complete then\n" +
+        "      for _, tag in ipairs(others) do redis.call('SREM', tag, entry) end\n" +
+        "      redis.call('DEL', entry, tags)\n" +
+        "      redis.call('SREM', KEYS[1], entry)\n" +
+        "    end\n" +
+        "  end\n" +
+        "end\n" +
+        "local remaining = redis.call('SCARD', KEYS[1])\n" +
+        "if remaining == 0 then redis.call('DEL', KEYS[1]) end\n" +
+        "return remaining", Long.class);
+
+    private final RedisTemplate<String, byte[]> template;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String keyPrefix;
+    private final ChannelTopic channel;
+
+    public RedisSharedCacheTier(RedisConnectionFactory connectionFactory, String keyPrefix, String channel) {
+        // One hash tag for the whole tier so multi-key scripts never span cluster slots
+        this.keyPrefix = "{" + keyPrefix + "}";
+        this.channel = new ChannelTopic(channel);
+
+        this.template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+
+        this.listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.afterPropertiesSet();
+    }
+
+    @Override
+    public byte[] get(String cacheName, String key) {
+        return template.opsForValue().get(entryKey(cacheName, key));
+    }
+
+    @Override
+    public void put(String cacheName, String key, byte[] value, long ttlMillis, String[] tags) {
+        String entryKey = entryKey(cacheName, key);
+        List<String> keys = new ArrayList<>(2 + (tags != null ? tags.length : 0));
+        keys.add(entryKey);
+        keys.add(entryKey + TAGS_SUFFIX);
+        if (tags != null) {
+            for (String tag : tags) {
+                keys.add(tagKey(tag));
+            }
+        }
+        byte[] ttl = Long.toString(Math.max(0, ttlMillis)).getBytes(StandardCharsets.UTF_8);
+        template.execute(PUT_SCRIPT, keys, value, ttl);
+    }
+
+    @Override
+    public void remove(String cacheName, String key) {
+        String entryKey = entryKey(cacheName, key);
+        template.execute(REMOVE_SCRIPT, List.of(entryKey, entryKey + TAGS_SUFFIX));
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        ScanOptions options = ScanOptions.scanOptions()
+            .match(keyPrefix + cacheName + ":*")
+            .count(DELETE_BATCH_SIZE)
+            .build();
+        List<String> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+        try (Cursor<String> cursor = template.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                if (key.endsWith(TAGS_SUFFIX)) {
+                    // Tagged entry: also take it out of its tag sets
+                    String entryKey = key.substring(0, key.length() - TAGS_SUFFIX.length());
+                    template.execute(REMOVE_SCRIPT, List.of(entryKey, key));
+                    continue;
+                }
+                batch.add(key);
+                if (batch.size() == DELETE_BATCH_SIZE) {
+                    template.delete(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            template.delete(batch);
+        }
+    }
+
+    @Override
+    public void invalidateTag(String tag) {
+        String tagKey = tagKey(tag);
+        for (int attempt = 0; attempt < INVALIDATE_TAG_ATTEMPTS; attempt++) {
+            // Read the keys the script will touch; it re-checks them atomically
+            List<String> keys = new ArrayList<>();
+            keys.add(tagKey);
+            Set<String> otherTags = new LinkedHashSet<>();
+            for (String entryKey : members(tagKey)) {
+                keys.add(entryKey);
+                keys.add(entryKey + TAGS_SUFFIX);
+                otherTags.addAll(members(entryKey + TAGS_SUFFIX));
+            }
+            int entries = (keys.size() - 1) / 2;
+            otherTags.remove(tagKey);
+            keys.addAll(otherTags);
+            byte[] count = Integer.toString(entries).getBytes(StandardCharsets.UTF_8);
+            Long remaining = template.execute(INVALIDATE_TAG_SCRIPT, keys, count);
+            if (remaining == null || remaining == 0) {
+                return;
+            }
+        }
+        logger.warn("Tag {} still indexes entries after {} invalidation attempts", tag, INVALIDATE_TAG_ATTEMPTS);
+    }
+
+    @Override
+    public void publish(Invalidation invalidation) {
+        template.convertAndSend(channel.getTopic(), invalidation.encode().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                listener.accept(Invalidation.decode(new String(message.getBody(), StandardCharsets.UTF_8)));
+            } catch (RuntimeException e) {
+                logger.warn("Ignoring cache invalidation message: {}", e.getMessage());
+            }
+        }, channel);
+        if (!listenerContainer.isRunning()) {
+            try {
+                listenerContainer.start();
+            } catch (RuntimeException e) {
+                // Redis being down must not stop the node; near-caches then rely on their TTL
+                logger.warn("Cannot subscribe to cache invalidations on {}: {}", channel.getTopic(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            listenerContainer.destroy();
+        } catch (Exception e) {
+            logger.warn("Failed to stop cache invalidation listener: {}", e.getMessage());
+        }
+    }
+
+    private Set<String> members(String setKey) {
+        Set<byte[]> members = template.opsForSet().members(setKey);
+        Set<String> decoded = new LinkedHashSet<>();
+        if (members != null) {
+            for (byte[] member : members) {
+                decoded.add(new String(member, StandardCharsets.UTF_8));
+            }
+        }
+        return decoded;
+    }
+
+    private String entryKey(String cacheName, String key) {
+        return keyPrefix + cacheName + ':' + key;
+    }
+
+    private String tagKey(String tag) {
+        return keyPrefix + "tag:" + tag;
+    }
+}
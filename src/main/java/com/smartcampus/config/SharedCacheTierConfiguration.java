@@ -0,0 +1,37 @@
+// Location: src/main/java/com/smartcampus/config/SharedCacheTierConfiguration.java
+package com.smartcampus.config;
+
+import cache.CacheManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+/**
+ * Shared Cache Tier Configuration
+ *
+ * Connects the application's {@link CacheManager} to Redis so that caches configured as
+ * distributed (for example {@code @Cacheable(distributed = true)} and the report cache)
+ * are shared by all nodes, each keeping a local near-cache. Off unless
+ * {@code smartcampus.cache.shared-tier.enabled=true}, which the {@code cluster} profile sets;
+ * without it every cache stays node-local.
+ *
+ * @author SmartCampus Development Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "smartcampus.cache.shared-tier", name = "enabled", havingValue = "true")
+public class SharedCacheTierConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public RedisSharedCacheTier redisSharedCacheTier(
+            RedisConnectionFactory connectionFactory,
+            @Value("${smartcampus.cache.shared-tier.key-prefix:smartcampus:shared:}") String keyPrefix,
+            @Value("${smartcampus.cache.shared-tier.channel:smartcampus:cache-invalidation}") String channel) {
+        RedisSharedCacheTier tier = new RedisSharedCacheTier(connectionFactory, keyPrefix, channel);
+        CacheManager.getInstance().setSharedTier(tier);
+        return tier;
+    }
+}
@@ -0,0 +1,26 @@
+// File: src/main/java/interfaces/EntityChangeListener.java
+package interfaces;
+
+/**
+ * EntityChangeListener interface for observing the entities a service adds, updates and removes.
+ * Listeners are called synchronously after the change has been applied, so derived structures
+ * such as search indexes can apply a delta instead of being rebuilt from scratch.
+ *
+ * @param <T> The type of entity observed
+ */
+public interface EntityChangeListener<T> {
+    
+    /**
+     * Called after an entity has been added or updated.
+     *
+     * @param entity The entity as now stored
+     */
+    void onEntitySaved(T entity);
+    
+    /**
+     * Called after an entity has been removed.
+     *
+     * @param entity The entity that was removed
+     */
+    void onEntityRemoved(T entity);
+}
@@ -1,6 +1,7 @@
 // File: src/main/java/interfaces/Reportable.java
 package interfaces;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -187,8 +188,11 @@ public interface Reportable {
     
     /**
      * Inner class representing report data.
+     * Serializable so cached reports can be kept in the off-heap cache tier.
      */
-    class ReportData {
+    class ReportData implements Serializable {
+        private static final long serialVersionUID = 1L;
+        
         private final String reportId;
         private final ReportType reportType;
         private final String title;
@@ -261,6 +261,7 @@ public interface Repository<T, ID> {
     
     /**
      * Inner class representing a page of results.
+     * Offset pages carry a page number; cursor (keyset) pages carry the cursor of the next page instead.
      */
     class Page<T> {
         private final List<T> content;
@@ -272,6 +273,7 @@ public interface Repository<T, ID> {
         private final boolean last;
         private final boolean hasNext;
         private final boolean hasPrevious;
+        private final String nextCursor;
         
         public Page(List<T> content, int page, int size, long totalElements) {
             this.content = content;
@@ -283,6 +285,29 @@ public interface Repository<T, ID> {
             this.last = page >= totalPages - 1;
             this.hasNext = page < totalPages - 1;
             this.hasPrevious = page > 0;
+            this.nextCursor = null;
+        }
+        
+        /**
+         * Create a cursor page. The page number is not tracked and reported as -1.
+         * 
+         * @param content The entities on this page
+         * @param first Whether this is the first page
+         * @param size Requested page size
+         * @param totalElements Total number of entities
+         * @param nextCursor Opaque cursor of the following page, null on the last page
+         */
+        public Page(List<T> content, boolean first, int size, long totalElements, String nextCursor) {
+            this.content = content;
+            this.page = -1;
+            this.size = size;
+            this.totalElements = totalElements;
+            this.totalPages = (int) Math.ceil((double) totalElements / size);
+            this.first = first;
+            this.last = nextCursor == null;
+            this.hasNext = nextCursor != null;
+            this.hasPrevious = !first;
+            this.nextCursor = nextCursor;
         }
         
         // Getters
@@ -295,6 +320,7 @@ public interface Repository<T, ID> {
         public boolean isLast() { return last; }
         public boolean hasNext() { return hasNext; }
         public boolean hasPrevious() { return hasPrevious; }
+        public String getNextCursor() { return nextCursor; }
         public int getNumberOfElements() { return content.size(); }
         public boolean isEmpty() { return content.isEmpty(); }
         
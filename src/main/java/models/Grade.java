@@ -488,6 +488,10 @@ public class Grade {
         return lastModified;
     }
     
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+    
     public String getGradedBy() {
         return gradedBy;
     }
@@ -66,19 +66,10 @@ public class EventManager {
     
     /**
      * Subscribe to events with a simple consumer function
+     * The same consumer instance unsubscribes it again
      */
     public <T extends Event> void subscribe(Class<T> eventType, Consumer<T> consumer) {
-        subscribe(eventType, new EventListener<T>() {
-            @Override
-            public void handleEvent(T event) {
-                consumer.accept(event);
-            }
-            
-            @Override
-            public Class<T> getEventType() {
-                return eventType;
-            }
-        });
+        subscribe(eventType, new ConsumerEventListener<>(eventType, consumer));
     }
     
     /**
@@ -102,6 +93,13 @@ public class EventManager {
         }
     }
     
+    /**
+     * Unsubscribe a consumer function subscribed with subscribe(Class, Consumer)
+     */
+    public <T extends Event> void unsubscribe(Class<T> eventType, Consumer<T> consumer) {
+        unsubscribe(eventType, new ConsumerEventListener<>(eventType, consumer));
+    }
+    
     /**
      * Publish an event to all subscribers
      */
@@ -362,6 +360,39 @@ public class EventManager {
         }
     }
     
+    private static class ConsumerEventListener<T extends Event> implements EventListener<T> {
+        private final Class<T> eventType;
+        private final Consumer<T> consumer;
+        
+        public ConsumerEventListener(Class<T> eventType, Consumer<T> consumer) {
+            this.eventType = eventType;
+            this.consumer = consumer;
+        }
+        
+        @Override
+        public void handleEvent(T event) {
+            consumer.accept(event);
+        }
+        
+        @Override
+        public Class<T> getEventType() {
+            return eventType;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            ConsumerEventListener<?> that = (ConsumerEventListener<?>) obj;
+            return Objects.equals(consumer, that.consumer);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(consumer);
+        }
+    }
+    
     public static class EventExecution {
         private final Event event;
         private final EventListener<?> listener;
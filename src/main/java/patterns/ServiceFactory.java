@@ -96,7 +96,7 @@ public abstract class ServiceFactory {
         private final ProfessorRepository professorRepository = new ProfessorRepository();
         private final CourseRepository courseRepository = new CourseRepository();
         private final DepartmentRepository departmentRepository = new DepartmentRepository();
-        private final EnrollmentRepository enrollmentRepository = new EnrollmentRepository();
+        private final EnrollmentRepository enrollmentRepository = new EnrollmentRepository(courseRepository);
         
         @Override
         public AuthService createAuthService() {
@@ -158,7 +158,7 @@ public abstract class ServiceFactory {
         private final ProfessorRepository professorRepository = new ProfessorRepository();
         private final CourseRepository courseRepository = new CourseRepository();
         private final DepartmentRepository departmentRepository = new DepartmentRepository();
-        private final EnrollmentRepository enrollmentRepository = new EnrollmentRepository();
+        private final EnrollmentRepository enrollmentRepository = new EnrollmentRepository(courseRepository);
         
         // Concurrent processors
         private final EnrollmentProcessor enrollmentProcessor = new EnrollmentProcessor(
@@ -233,7 +233,7 @@ public abstract class ServiceFactory {
         private final ProfessorRepository professorRepository = new ProfessorRepository();
         private final CourseRepository courseRepository = new CourseRepository();
         private final DepartmentRepository departmentRepository = new DepartmentRepository();
-        private final EnrollmentRepository enrollmentRepository = new EnrollmentRepository();
+        private final EnrollmentRepository enrollmentRepository = new EnrollmentRepository(courseRepository);
         
         // Cache managers
         private final Map<String, Object> serviceCache = new ConcurrentHashMap<>();
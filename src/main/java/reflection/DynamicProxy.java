@@ -2,10 +2,20 @@
 package reflection;
 
 import annotations.*;
+import cache.CacheKey;
+import cache.CacheManager;
+import cache.CacheStrategy;
+import cache.CacheWarmer;
+import cache.CompressedSerializer;
+import cache.KeyGenerator;
+import cache.OffHeapStore;
+import cache.SharedCacheTier;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Dynamic proxy implementation using Java's Proxy API
@@ -146,7 +156,16 @@ public class DynamicProxy {
         }
         
         private void initializeInterceptors() {
-            // Interceptors are created lazily per method
+            // Interceptors are created lazily per method, except for cached methods that warm up
+            // at startup and so must register before their first call
+            for (Class<?> interfaceClass : getAllInterfaces(target.getClass())) {
+                for (Method method : interfaceClass.getMethods()) {
+                    Cacheable cacheable = findAnnotation(method, Cacheable.class);
+                    if (cacheable != null && !cacheable.warmupStrategy().isEmpty()) {
+                        interceptors.computeIfAbsent(method, this::createInterceptor);
+                    }
+                }
+            }
         }
         
         private MethodInterceptor createInterceptor(Method method) {
@@ -165,8 +184,27 @@ public class DynamicProxy {
         }
         
         private void addCacheInterceptor(Method method, InterceptorChain chain) {
-            if (method.isAnnotationPresent(Cacheable.class)) {
-                chain.addLast(new CacheInterceptor(method.getAnnotation(Cacheable.class)));
+            Cacheable cacheable = findAnnotation(method, Cacheable.class);
+            if (cacheable != null) {
+                CacheInterceptor interceptor = new CacheInterceptor(method, cacheable);
+                chain.addLast(interceptor);
+                interceptor.registerWarmup(target, method);
+            }
+        }
+        
+        /**
+         * Finds annotation on the interface method, falling back to the target's implementation
+         */
+        private <A extends Annotation> A findAnnotation(Method method, Class<A> annotationType) {
+            A annotation = method.getAnnotation(annotationType);
+            if (annotation != null) {
+                return annotation;
+            }
+            try {
+                return target.getClass().getMethod(method.getName(), method.getParameterTypes())
+                    .getAnnotation(annotationType);
+            } catch (NoSuchMethodException e) {
+                return null;
             }
         }
         
@@ -356,54 +394,350 @@ public class DynamicProxy {
     
     /**
      * Cache interceptor for @Cacheable methods
+     * Results live in the CacheManager cache named by cacheName, or by namespace when no name is
+     * given, created on first use from maxEntries, ttl and strategy. Keys come from the
+     * keyGenerator, else the key expression, else all arguments, and are scoped to the method
+     * so methods sharing a namespace never collide. Entries carry the annotation's tags for
+     * bulk invalidation through {@link CacheManager#invalidateTag}. A hit on an entry past
+     * refreshThreshold percent of its ttl reloads it, on the caller's thread or, with
+     * asyncRefresh, in the background while the current value is returned
      */
     private static class CacheInterceptor implements MethodInterceptor {
+        private static final Object[] NO_ARGUMENTS = new Object[0];
+        
         private final Cacheable cacheableAnnotation;
+        private final CacheManager cacheManager;
+        private final String cacheName;
+        private final CacheManager.CacheConfig cacheConfig;
+        private final String scope;
+        private final KeyGenerator keyGenerator;
+        private final CacheKeyExpression keyExpression;
+        private final OffHeapStore.Serializer<Object> compressor;
+        private final boolean refreshAhead;
+        private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+        
+        /**
+         * Marker stored for null results when cacheNullValues is enabled
+         */
+        private enum NullValue { INSTANCE }
         
-        public CacheInterceptor(Cacheable cacheableAnnotation) {
+        public CacheInterceptor(Method method, Cacheable cacheableAnnotation) {
             this.cacheableAnnotation = cacheableAnnotation;
+            this.cacheManager = CacheManager.getInstance();
+            this.cacheName = cacheableAnnotation.cacheName().isEmpty() 
+                ? cacheableAnnotation.namespace() : cacheableAnnotation.cacheName();
+            this.cacheConfig = CacheManager.CacheConfig.defaultConfig()
+                .maxSize(cacheableAnnotation.maxEntries() > 0 ? cacheableAnnotation.maxEntries() : Integer.MAX_VALUE)
+                .ttl(cacheableAnnotation.ttl())
+                .strategy(CacheStrategy.fromAnnotation(cacheableAnnotation.strategy()))
+                .enableStatistics(cacheableAnnotation.enableStats())
+                .distributed(cacheableAnnotation.distributed());
+            // One String instance per method, so key comparisons usually hit the identity check
+            this.scope = method.toGenericString();
+            this.keyGenerator = createKeyGenerator(cacheableAnnotation.keyGenerator());
+            this.keyExpression = cacheableAnnotation.key().isEmpty() 
+                ? null : CacheKeyExpression.parse(cacheableAnnotation.key(), method);
+            // Compressed bytes of a distributed cache may have been written by another node
+            this.compressor = !cacheableAnnotation.compress() ? null : new CompressedSerializer<>(
+                cacheableAnnotation.distributed() ? SharedCacheTier.payloadSerializer() : OffHeapStore.javaSerializer());
+            this.refreshAhead = cacheableAnnotation.ttl() > 0 
+                && cacheableAnnotation.refreshThreshold() > 0 && cacheableAnnotation.refreshThreshold() < 100;
+            
+            cacheManager.createCacheIfAbsent(cacheName, cacheConfig);
         }
         
         @Override
         public Object intercept(InvocationContext context) throws Throwable {
+            Object[] arguments = context.getArguments() != null ? context.getArguments() : NO_ARGUMENTS;
+            
             // Generate cache key
-            String cacheKey = generateCacheKey(context);
+            Object cacheKey = generateCacheKey(context.getTarget(), context.getMethod(), arguments);
             
             // Try to get from cache
             Object cachedResult = getFromCache(cacheKey);
             if (cachedResult != null) {
-                return cachedResult;
+                if (refreshAhead && cacheManager.isRefreshDue(cacheName, cacheKey, cacheableAnnotation.refreshThreshold())
+                        && refreshing.add(cacheKey)) {
+                    return refresh(context.getTarget(), context.getMethod(), arguments, cacheKey, cachedResult);
+                }
+                return cachedResult == NullValue.INSTANCE ? null : cachedResult;
             }
             
             // Proceed with method execution
-            Object result = context.getMethod().invoke(context.getTarget(), context.getArguments());
+            return load(context.getTarget(), context.getMethod(), context.getArguments(), cacheKey);
+        }
+        
+        /**
+         * Registers the method with the warm-up engine when the annotation asks for it
+         * Warm-up replays saved arguments, so it requires keys built from all arguments
+         */
+        void registerWarmup(Object target, Method method) {
+            String warmupStrategy = cacheableAnnotation.warmupStrategy();
+            if (warmupStrategy.isEmpty()) {
+                return;
+            }
+            if (keyGenerator != null || keyExpression != null) {
+                System.err.println("Ignoring warmupStrategy on " + scope + 
+                                 ": warm-up needs keys built from all arguments");
+                return;
+            }
+            try {
+                CacheWarmer.getInstance().register(cacheName, scope, warmupStrategy, 
+                    params -> load(target, method, params, generateCacheKey(target, method, params)));
+            } catch (IllegalArgumentException e) {
+                throw new ProxyCreationException("Invalid @Cacheable on " + scope + ": " + e.getMessage(), e);
+            }
+        }
+        
+        /**
+         * Reloads an entry ahead of expiry; a failed reload keeps serving the current value
+         */
+        private Object refresh(Object target, Method method, Object[] arguments, Object cacheKey, Object cachedResult) {
+            Object current = cachedResult == NullValue.INSTANCE ? null : cachedResult;
+            Runnable reload = () -> {
+                try {
+                    load(target, method, arguments, cacheKey);
+                } catch (Exception e) {
+                    System.err.println("Failed to refresh cache '" + cacheName + "' for " + scope + ": " + e.getMessage());
+                } finally {
+                    refreshing.remove(cacheKey);
+                }
+            };
+            
+            if (!cacheableAnnotation.asyncRefresh()) {
+                reload.run();
+                Object refreshed = getFromCache(cacheKey);
+                return refreshed == null || refreshed == NullValue.INSTANCE ? current : refreshed;
+            }
+            try {
+                ForkJoinPool.commonPool().execute(reload);
+            } catch (RejectedExecutionException e) {
+                refreshing.remove(cacheKey);
+            }
+            return current;
+        }
+        
+        /**
+         * Invokes the method, timing it as a cache load, and caches the result
+         * Tag versions are captured before the call, so an invalidation during it is not lost
+         */
+        private Object load(Object target, Method method, Object[] arguments, Object cacheKey) throws Exception {
+            CacheManager.TagSnapshot tags = cacheManager.snapshotTags(cacheableAnnotation.tags());
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = method.invoke(target, arguments);
+            } catch (Exception e) {
+                cacheManager.recordLoad(cacheName, System.nanoTime() - start, false);
+                throw e;
+            }
+            cacheManager.recordLoad(cacheName, System.nanoTime() - start, true);
             
             // Store in cache
-            putInCache(cacheKey, result);
+            if (result != null || cacheableAnnotation.cacheNullValues()) {
+                putInCache(cacheKey, result, tags);
+            }
             
             return result;
         }
         
-        private String generateCacheKey(InvocationContext context) {
-            StringBuilder keyBuilder = new StringBuilder();
-            keyBuilder.append(context.getMethod().getName());
-            
-            if (context.getArguments() != null) {
-                for (Object arg : context.getArguments()) {
-                    keyBuilder.append("_").append(arg != null ? arg.hashCode() : "null");
+        private Object generateCacheKey(Object target, Method method, Object[] arguments) {
+            if (keyGenerator != null) {
+                return keyGenerator.generate(target, method, arguments);
+            }
+            if (keyExpression != null) {
+                return CacheKey.of(scope, keyExpression.evaluate(arguments));
+            }
+            return CacheKey.of(scope, arguments);
+        }
+        
+        private Object getFromCache(Object key) {
+            Object stored = cacheManager.get(cacheName, key);
+            if (stored == null || stored == NullValue.INSTANCE || compressor == null) {
+                return stored;
+            }
+            return compressor.deserialize((byte[]) stored);
+        }
+        
+        private void putInCache(Object key, Object value, CacheManager.TagSnapshot tags) {
+            Object stored = value;
+            if (value == null) {
+                stored = NullValue.INSTANCE;
+            } else if (compressor != null) {
+                try {
+                    stored = compressor.serialize(value);
+                } catch (RuntimeException e) {
+                    System.err.println("Cannot compress result for cache '" + cacheName + "': " + e.getMessage());
+                    return;
                 }
             }
+            // Recreate the cache if it was removed since the interceptor was built
+            cacheManager.createCacheIfAbsent(cacheName, cacheConfig);
+            cacheManager.put(cacheName, key, stored, tags);
+        }
+        
+        private static KeyGenerator createKeyGenerator(Class<?> generatorClass) {
+            if (generatorClass == Void.class) {
+                return null;
+            }
+            if (!KeyGenerator.class.isAssignableFrom(generatorClass)) {
+                throw new ProxyCreationException("Key generator " + generatorClass.getName() + 
+                                               " must implement " + KeyGenerator.class.getName());
+            }
+            try {
+                return (KeyGenerator) generatorClass.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new ProxyCreationException("Cannot instantiate key generator " + generatorClass.getName(), e);
+            }
+        }
+    }
+    
+    /**
+     * Parsed @Cacheable key expression
+     * A comma-separated list of terms, each an argument reference followed by optional property
+     * accessors, or a quoted literal: {@code #p0}, {@code #a1.courseId}, {@code #studentId},
+     * {@code 'summary'}. Argument names require compiling with -parameters; positional
+     * references always work. Accessors resolve to getX(), isX() or x() and are cached per class
+     */
+    private static class CacheKeyExpression {
+        private final Term[] terms;
+        
+        private CacheKeyExpression(Term[] terms) {
+            this.terms = terms;
+        }
+        
+        private static final class Term {
+            final int argumentIndex;
+            final Object literal;
+            final String[] properties;
+            final List<Map<Class<?>, Method>> accessors;
             
-            return keyBuilder.toString();
+            Term(int argumentIndex, Object literal, String[] properties) {
+                this.argumentIndex = argumentIndex;
+                this.literal = literal;
+                this.properties = properties;
+                this.accessors = new ArrayList<>(properties.length);
+                for (int i = 0; i < properties.length; i++) {
+                    accessors.add(new ConcurrentHashMap<>());
+                }
+            }
+        }
+        
+        static CacheKeyExpression parse(String expression, Method method) {
+            List<Term> terms = new ArrayList<>();
+            for (String part : splitTerms(expression)) {
+                String term = part.trim();
+                if (term.length() >= 2 && term.startsWith("'") && term.endsWith("'")) {
+                    terms.add(new Term(-1, term.substring(1, term.length() - 1), new String[0]));
+                    continue;
+                }
+                if (!term.startsWith("#") || term.length() < 2) {
+                    throw new ProxyCreationException("Invalid cache key term '" + term + "' in: " + expression);
+                }
+                String[] path = term.substring(1).split("\\.");
+                int index = resolveArgument(path[0], method);
+                if (index < 0) {
+                    throw new ProxyCreationException("Unknown argument '" + path[0] + "' in cache key: " + expression);
+                }
+                terms.add(new Term(index, null, Arrays.copyOfRange(path, 1, path.length)));
+            }
+            return new CacheKeyExpression(terms.toArray(new Term[0]));
         }
         
-        private Object getFromCache(String key) {
-            // Placeholder - would integrate with actual cache implementation
+        Object[] evaluate(Object[] arguments) {
+            Object[] values = new Object[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                Term term = terms[i];
+                Object value = term.argumentIndex >= 0 ? arguments[term.argumentIndex] : term.literal;
+                for (int j = 0; j < term.properties.length && value != null; j++) {
+                    value = readProperty(term, j, value);
+                }
+                values[i] = value;
+            }
+            return values;
+        }
+        
+        private static Object readProperty(Term term, int position, Object value) {
+            Method accessor = term.accessors.get(position)
+                .computeIfAbsent(value.getClass(), type -> findAccessor(type, term.properties[position]));
+            try {
+                return accessor.invoke(value);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read cache key property '" + 
+                                              term.properties[position] + "'", e);
+            }
+        }
+        
+        private static Method findAccessor(Class<?> type, String property) {
+            String suffix = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+            for (String name : new String[]{"get" + suffix, "is" + suffix, property}) {
+                Method accessor = findPublicMethod(type, name);
+                if (accessor != null) {
+                    return accessor;
+                }
+            }
+            throw new IllegalArgumentException("No accessor for property '" + property + "' on " + type.getName());
+        }
+        
+        /**
+         * Finds a no-argument method declared by a public type, so that values of private
+         * implementation classes (e.g. immutable collections) can still be read
+         */
+        private static Method findPublicMethod(Class<?> type, String name) {
+            Deque<Class<?>> pending = new ArrayDeque<>();
+            pending.add(type);
+            while (!pending.isEmpty()) {
+                Class<?> current = pending.poll();
+                if (Modifier.isPublic(current.getModifiers())) {
+                    try {
+                        return current.getMethod(name);
+                    } catch (NoSuchMethodException e) {
+                        // Not declared on this type
+                    }
+                }
+                if (current.getSuperclass() != null) {
+                    pending.add(current.getSuperclass());
+                }
+                pending.addAll(Arrays.asList(current.getInterfaces()));
+            }
             return null;
         }
         
-        private void putInCache(String key, Object value) {
-            // Placeholder - would integrate with actual cache implementation
+        private static int resolveArgument(String reference, Method method) {
+            int count = method.getParameterCount();
+            for (String prefix : new String[]{"p", "a", "arg"}) {
+                if (reference.startsWith(prefix) && reference.length() > prefix.length()
+                        && reference.substring(prefix.length()).chars().allMatch(Character::isDigit)) {
+                    int index = Integer.parseInt(reference.substring(prefix.length()));
+                    return index < count ? index : -1;
+                }
+            }
+            java.lang.reflect.Parameter[] parameters = method.getParameters();
+            for (int i = 0; i < parameters.length; i++) {
+                if (parameters[i].isNamePresent() && parameters[i].getName().equals(reference)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        
+        private static List<String> splitTerms(String expression) {
+            List<String> parts = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (char c : expression.toCharArray()) {
+                if (c == '\'') {
+                    quoted = !quoted;
+                }
+                if (c == ',' && !quoted) {
+                    parts.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            parts.add(current.toString());
+            return parts;
         }
     }
     
@@ -4,21 +4,42 @@ package repositories;
 
 import interfaces.Repository;
 import interfaces.CrudOperations;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Generic base repository implementation providing common CRUD operations
  * Uses concurrent collections for thread safety
+ * Subclasses may register secondary hash indexes so equality finders avoid full scans,
+ * and sorted range indexes so range finders and cursor pages cost O(log n + k)
+ * findAll shares one immutable snapshot among readers until the next write
+ * Count views keep per-key counters up to date on every write, so group counts read in O(1)
+ * With write-behind enabled, saves and deletes return at memory speed and reach the database in batches
  * @param <T> The entity type
  * @param <ID> The ID type
  */
 public abstract class BaseRepository<T, ID> implements Repository<T, ID>, CrudOperations<T, ID> {
     
+    // Write only through save and the delete methods, which keep indexes and snapshots in step
     protected final Map<ID, T> storage = new ConcurrentHashMap<>();
     
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot<T> snapshot;
+    
+    private static final String ID_ORDER_INDEX = "_id";
+    
+    private final Map<String, SecondaryIndex> indexes = new ConcurrentHashMap<>();
+    private volatile boolean idOrderIndexed;
+    
+    private volatile WriteBehindWriter<T, ID> writeBehind;
+    
     @Override
     public T save(T entity) {
         if (entity == null) {
@@ -31,7 +52,34 @@ public abstract class BaseRepository<T, ID> implements Repository<T, ID>, CrudOp
             setId(entity, id);
         }
         
-        storage.put(id, entity);
+        WriteBehindWriter<T, ID> writer = writeBehind;
+        byte[] change = null;
+        if (writer != null) {
+            writer.awaitCapacity();
+            // Serialized before memory changes, so a change the journal cannot hold leaves it unchanged
+            change = writer.encode(id, entity);
+        }
+        long[] changeSequence = new long[1];
+        if (indexes.isEmpty() && writer == null) {
+            storage.put(id, entity);
+        } else {
+            // Indexes and the write-behind sequence are updated under the map's per-key lock
+            // so concurrent saves of one id cannot interleave; the journal is written after it
+            try {
+                storage.compute(id, (key, previous) -> {
+                    if (writer != null) {
+                        changeSequence[0] = writer.nextSequence();
+                    }
+                    indexes.values().forEach(index -> index.update(key, entity));
+                    return entity;
+                });
+            } finally {
+                if (changeSequence[0] != 0) {
+                    writer.markDirty(id, changeSequence[0], change);
+                }
+            }
+        }
+        version.incrementAndGet();
         return entity;
     }
     
@@ -40,14 +88,27 @@ public abstract class BaseRepository<T, ID> implements Repository<T, ID>, CrudOp
         return Optional.ofNullable(storage.get(id));
     }
     
+    /**
+     * Find all entities as an unmodifiable list
+     * The list is a snapshot shared by every caller until the next write, rebuilt lazily on the
+     * first read after it; it may already include writes that raced with the rebuild
+     */
     @Override
     public List<T> findAll() {
-        return new ArrayList<>(storage.values());
+        Snapshot<T> current = snapshot;
+        long currentVersion = version.get();
+        if (current != null && current.version == currentVersion) {
+            return current.entities;
+        }
+        // Writers bump the version after touching storage, so this copy holds every write up to it
+        List<T> entities = Collections.unmodifiableList(new ArrayList<>(storage.values()));
+        snapshot = new Snapshot<>(currentVersion, entities);
+        return entities;
     }
     
     @Override
     public void deleteById(ID id) {
-        storage.remove(id);
+        removeById(id);
     }
     
     @Override
@@ -55,7 +116,7 @@ public abstract class BaseRepository<T, ID> implements Repository<T, ID>, CrudOp
         if (entity != null) {
             ID id = extractId(entity);
             if (id != null) {
-                storage.remove(id);
+                removeById(id);
             }
         }
     }
@@ -72,7 +133,13 @@ public abstract class BaseRepository<T, ID> implements Repository<T, ID>, CrudOp
     
     @Override
     public void deleteAll() {
-        storage.clear();
+        if (indexes.isEmpty() && writeBehind == null) {
+            storage.clear();
+        } else {
+            // Per-id removal keeps indexes and counters exact when saves race with the clear
+            storage.keySet().forEach(this::removeById);
+        }
+        version.incrementAndGet();
     }
     
     // Additional utility methods
@@ -103,7 +170,482 @@ public abstract class BaseRepository<T, ID> implements Repository<T, ID>, CrudOp
                 .map(Map.Entry::getKey)
                 .collect(Collectors.toList());
         
-        idsToDelete.forEach(storage::remove);
+        idsToDelete.forEach(this::removeById);
+    }
+    
+    private void removeById(ID id) {
+        if (id == null) {
+            return;
+        }
+        WriteBehindWriter<T, ID> writer = writeBehind;
+        if (writer != null) {
+            writer.awaitCapacity();
+            byte[] change = writer.encode(id, null);
+            long[] changeSequence = new long[1];
+            // compute also runs for absent ids, so a delete of a row only the database holds is written too
+            try {
+                storage.compute(id, (key, previous) -> {
+                    changeSequence[0] = writer.nextSequence();
+                    if (previous != null) {
+                        indexes.values().forEach(index -> index.update(key, null));
+                    }
+                    return null;
+                });
+            } finally {
+                if (changeSequence[0] != 0) {
+                    writer.markDirty(id, changeSequence[0], change);
+                }
+            }
+            version.incrementAndGet();
+            return;
+        }
+        if (indexes.isEmpty()) {
+            storage.remove(id);
+        } else {
+            storage.computeIfPresent(id, (key, previous) -> {
+                indexes.values().forEach(index -> index.update(key, null));
+                return null;
+            });
+        }
+        version.incrementAndGet();
+    }
+    
+    // Secondary indexes
+    
+    /**
+     * Register a secondary hash index over the key the extractor derives from each entity
+     * Entities with a null key are not indexed; existing entities are indexed immediately
+     * Changes to an indexed field become visible to the index when the entity is saved again;
+     * until then the entity is missing from lookups on both its old and its new key
+     */
+    protected final void addIndex(String indexName, Function<? super T, ?> keyExtractor) {
+        registerIndex(indexName, new HashIndex(keyExtractor));
+    }
+    
+    /**
+     * Register a sorted range index over the naturally ordered key the extractor derives
+     * Supports findByRange as well as the equality finders
+     * Extract immutable keys (e.g. Date#getTime rather than the Date itself)
+     */
+    protected final void addRangeIndex(String indexName, Function<? super T, ? extends Comparable<?>> keyExtractor) {
+        registerIndex(indexName, new RangeIndex(keyExtractor));
+    }
+    
+    private void registerIndex(String indexName, SecondaryIndex index) {
+        if (indexes.putIfAbsent(indexName, index) != null) {
+            throw new IllegalStateException("Index already registered: " + indexName);
+        }
+        storage.forEach((id, entity) -> storage.computeIfPresent(id, (key, current) -> {
+            index.update(key, current);
+            return current;
+        }));
+    }
+    
+    /**
+     * Register a materialized count view: the number of entities per derived key,
+     * adjusted on every save and delete instead of recomputed by a group-by
+     * Keys derived through another entity (e.g. an enrollment's course department) are
+     * re-read only when this repository's entity is saved again
+     */
+    protected final void addCountView(String viewName, Function<? super T, ?> keyExtractor) {
+        registerIndex(viewName, new CountView(keyExtractor));
+    }
+    
+    /**
+     * Live read-only view of a count view's counters; keys whose count drops to zero disappear
+     */
+    protected final <K> Map<K, Long> getCountView(String viewName) {
+        SecondaryIndex index = getIndex(viewName);
+        if (!(index instanceof BaseRepository.CountView)) {
+            throw new IllegalArgumentException("Not a count view: " + viewName);
+        }
+        @SuppressWarnings("unchecked")
+        Map<K, Long> counts = (Map<K, Long>) ((CountView) index).readOnly;
+        return counts;
+    }
+    
+    /**
+     * Find entities whose indexed key equals the given key
+     */
+    protected final List<T> findByIndex(String indexName, Object key) {
+        SecondaryIndex index = getIndex(indexName);
+        if (key == null) {
+            return new ArrayList<>();
+        }
+        return index.lookup(key).collect(Collectors.toList());
+    }
+    
+    /**
+     * Find entities whose indexed key equals any of the given keys
+     */
+    protected final List<T> findByIndex(String indexName, Collection<?> keys) {
+        SecondaryIndex index = getIndex(indexName);
+        return keys.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .flatMap(index::lookup)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Find any one entity whose indexed key equals the given key
+     */
+    protected final Optional<T> findFirstByIndex(String indexName, Object key) {
+        SecondaryIndex index = getIndex(indexName);
+        if (key == null) {
+            return Optional.empty();
+        }
+        return index.lookup(key).findFirst();
+    }
+    
+    /**
+     * Find entities whose range-indexed key lies between the bounds, inclusive, in key order
+     * A null bound leaves that side of the range open
+     */
+    protected final List<T> findByRange(String indexName, Object from, Object to) {
+        return findByRange(indexName, from, true, to, true);
+    }
+    
+    /**
+     * Find entities whose range-indexed key lies between the bounds, in key order
+     * A null bound leaves that side of the range open
+     */
+    protected final List<T> findByRange(String indexName, Object from, boolean fromInclusive,
+                                         Object to, boolean toInclusive) {
+        SecondaryIndex index = getIndex(indexName);
+        if (!(index instanceof BaseRepository.RangeIndex)) {
+            throw new IllegalArgumentException("Index does not support range queries: " + indexName);
+        }
+        return ((RangeIndex) index).range(from, fromInclusive, to, toInclusive)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Find the page of entities following the cursor, in key order of a range index
+     * Pass a null cursor for the first page, then the previous page's next cursor;
+     * a cursor stays valid when its entity is later changed or deleted
+     */
+    protected final Repository.Page<T> findAfter(String indexName, String cursor, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        SecondaryIndex index = getIndex(indexName);
+        if (!(index instanceof BaseRepository.RangeIndex)) {
+            throw new IllegalArgumentException("Index does not support cursor pages: " + indexName);
+        }
+        RangeEntry<ID> after = cursor != null ? decodeCursor(indexName, cursor) : null;
+        return ((RangeIndex) index).page(indexName, after, size);
+    }
+    
+    /**
+     * Count entities per distinct indexed key
+     */
+    protected final <K> Map<K, Long> countByIndex(String indexName) {
+        @SuppressWarnings("unchecked")
+        Map<K, Long> counts = (Map<K, Long>) getIndex(indexName).counts();
+        return counts;
+    }
+    
+    private SecondaryIndex getIndex(String indexName) {
+        SecondaryIndex index = indexes.get(indexName);
+        if (index == null) {
+            throw new IllegalArgumentException("No index registered: " + indexName);
+        }
+        return index;
+    }
+    
+    /**
+     * Index from a derived key to the ids of the entities carrying it
+     * The reverse map remembers each id's indexed key, so re-saving a mutated entity moves it
+     */
+    private abstract class SecondaryIndex {
+        private final Function<? super T, ?> keyExtractor;
+        private final Map<ID, Object> keyById = new ConcurrentHashMap<>();
+        
+        SecondaryIndex(Function<? super T, ?> keyExtractor) {
+            this.keyExtractor = keyExtractor;
+        }
+        
+        // Called with the storage lock for id held; entity is null on removal
+        void update(ID id, T entity) {
+            Object newKey = entity != null ? keyExtractor.apply(entity) : null;
+            Object oldKey = newKey != null ? keyById.put(id, newKey) : keyById.remove(id);
+            if (Objects.equals(oldKey, newKey)) {
+                return;
+            }
+            if (oldKey != null) {
+                unlink(oldKey, id);
+            }
+            if (newKey != null) {
+                link(newKey, id);
+            }
+        }
+        
+        // Null when the id was deleted, or re-keyed by a concurrent save, since the index was read
+        T resolve(Object key, ID id) {
+            T entity = storage.get(id);
+            return entity != null && Objects.equals(keyExtractor.apply(entity), key) ? entity : null;
+        }
+        
+        abstract void link(Object key, ID id);
+        abstract void unlink(Object key, ID id);
+        abstract Stream<T> lookup(Object key);
+        abstract Map<Object, Long> counts();
+        abstract int distinctKeys();
+    }
+    
+    /**
+     * Hash index holding one id set per key
+     */
+    private final class HashIndex extends SecondaryIndex {
+        private final Map<Object, Set<ID>> idsByKey = new ConcurrentHashMap<>();
+        
+        HashIndex(Function<? super T, ?> keyExtractor) {
+            super(keyExtractor);
+        }
+        
+        // compute holds the bin lock, so a set is never emptied and dropped while another id joins it
+        @Override
+        void link(Object key, ID id) {
+            idsByKey.compute(key, (k, ids) -> {
+                Set<ID> target = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                target.add(id);
+                return target;
+            });
+        }
+        
+        @Override
+        void unlink(Object key, ID id) {
+            idsByKey.computeIfPresent(key, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        
+        @Override
+        Stream<T> lookup(Object key) {
+            Set<ID> ids = idsByKey.get(key);
+            if (ids == null) {
+                return Stream.empty();
+            }
+            return ids.stream()
+                    .map(id -> resolve(key, id))
+                    .filter(Objects::nonNull);
+        }
+        
+        @Override
+        Map<Object, Long> counts() {
+            Map<Object, Long> counts = new HashMap<>();
+            idsByKey.forEach((key, ids) -> counts.put(key, (long) ids.size()));
+            return counts;
+        }
+        
+        @Override
+        int distinctKeys() {
+            return idsByKey.size();
+        }
+
+    }
+    
+    /**
+     * Counter per key, without the ids, for dashboards that only need group sizes
+     */
+    private final class CountView extends SecondaryIndex {
+        private final Map<Object, Long> counts = new ConcurrentHashMap<>();
+        private final Map<Object, Long> readOnly = Collections.unmodifiableMap(counts);
+        
+        CountView(Function<? super T, ?> keyExtractor) {
+            super(keyExtractor);
+        }
+        
+        @Override
+        void link(Object key, ID id) {
+            counts.merge(key, 1L, Long::sum);
+        }
+        
+        @Override
+        void unlink(Object key, ID id) {
+            counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        }
+        
+        @Override
+        Stream<T> lookup(Object key) {
+            throw new IllegalArgumentException("Count views do not support lookups");
+        }
+        
+        @Override
+        Map<Object, Long> counts() {
+            return new HashMap<>(counts);
+        }
+        
+        @Override
+        int distinctKeys() {
+            return counts.size();
+        }
+
+    }
+    
+    /**
+     * Sorted index of (key, sequence) entries in a concurrent skip list
+     * Each entity owns its own entry, so linking and unlinking are single lock-free set operations;
+     * the sequence number orders entries sharing a key and lets range bounds sit before or after them
+     */
+    private final class RangeIndex extends SecondaryIndex {
+        private final NavigableSet<RangeEntry<ID>> entries = new ConcurrentSkipListSet<>();
+        private final Map<ID, RangeEntry<ID>> entryById = new ConcurrentHashMap<>();
+        private final AtomicLong sequence = new AtomicLong();
+        
+        RangeIndex(Function<? super T, ?> keyExtractor) {
+            super(keyExtractor);
+        }
+        
+        @Override
+        void link(Object key, ID id) {
+            RangeEntry<ID> entry = new RangeEntry<>(key, sequence.incrementAndGet(), id);
+            entryById.put(id, entry);
+            entries.add(entry);
+        }
+        
+        @Override
+        void unlink(Object key, ID id) {
+            RangeEntry<ID> entry = entryById.remove(id);
+            if (entry != null) {
+                entries.remove(entry);
+            }
+        }
+        
+        @Override
+        Stream<T> lookup(Object key) {
+            return range(key, true, key, true);
+        }
+        
+        Repository.Page<T> page(String indexName, RangeEntry<ID> after, int size) {
+            NavigableSet<RangeEntry<ID>> tail = after != null ? entries.tailSet(after, false) : entries;
+            List<T> content = new ArrayList<>(size);
+            RangeEntry<ID> last = null;
+            boolean more = false;
+            for (RangeEntry<ID> entry : tail) {
+                T entity = resolve(entry.key, entry.id);
+                if (entity == null) {
+                    continue;
+                }
+                if (content.size() == size) {
+                    more = true;
+                    break;
+                }
+                content.add(entity);
+                last = entry;
+            }
+            String nextCursor = more ? encodeCursor(indexName, last) : null;
+            return new Repository.Page<>(content, after == null, size, count(), nextCursor);
+        }
+        
+        Stream<T> range(Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+            NavigableSet<RangeEntry<ID>> range = entries;
+            RangeEntry<ID> lower = from != null ? RangeEntry.bound(from, !fromInclusive) : null;
+            RangeEntry<ID> upper = to != null ? RangeEntry.bound(to, toInclusive) : null;
+            if (lower != null && upper != null) {
+                if (lower.compareTo(upper) > 0) {
+                    return Stream.empty();
+                }
+                range = range.subSet(lower, false, upper, false);
+            } else if (lower != null) {
+                range = range.tailSet(lower, false);
+            } else if (upper != null) {
+                range = range.headSet(upper, false);
+            }
+            return range.stream()
+                    .map(entry -> resolve(entry.key, entry.id))
+                    .filter(Objects::nonNull);
+        }
+        
+        @Override
+        Map<Object, Long> counts() {
+            Map<Object, Long> counts = new LinkedHashMap<>();
+            entries.forEach(entry -> counts.merge(entry.key, 1L, Long::sum));
+            return counts;
+        }
+        
+        @Override
+        int distinctKeys() {
+            return (int) entries.stream().map(entry -> entry.key).distinct().count();
+        }
+
+    }
+    
+    private static final class RangeEntry<ID> implements Comparable<RangeEntry<ID>> {
+        private final Object key;
+        private final long sequence;
+        private final ID id;
+        
+        RangeEntry(Object key, long sequence, ID id) {
+            this.key = key;
+            this.sequence = sequence;
+            this.id = id;
+        }
+        
+        // Sentinel sorting before (or after) every real entry with the given key
+        static <ID> RangeEntry<ID> bound(Object key, boolean afterKey) {
+            return new RangeEntry<>(key, afterKey ? Long.MAX_VALUE : Long.MIN_VALUE, null);
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public int compareTo(RangeEntry<ID> other) {
+            int order = ((Comparable<Object>) key).compareTo(other.key);
+            return order != 0 ? order : Long.compare(sequence, other.sequence);
+        }
+    }
+    
+    private static final class Snapshot<T> {
+        private final long version;
+        private final List<T> entities;
+        
+        Snapshot(long version, List<T> entities) {
+            this.version = version;
+            this.entities = entities;
+        }
+    }
+    
+    // Cursors are opaque to callers: base64url of index name, sequence and a type-tagged key
+    private static String encodeCursor(String indexName, RangeEntry<?> entry) {
+        String tag;
+        if (entry.key instanceof String) {
+            tag = "S";
+        } else if (entry.key instanceof Integer) {
+            tag = "I";
+        } else if (entry.key instanceof Long) {
+            tag = "L";
+        } else if (entry.key instanceof Double) {
+            tag = "D";
+        } else {
+            throw new IllegalStateException("Cursor pages are not supported for keys of type "
+                    + entry.key.getClass().getName());
+        }
+        String token = indexName + '\n' + entry.sequence + '\n' + tag + '\n' + entry.key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static <ID> RangeEntry<ID> decodeCursor(String indexName, String cursor) {
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = token.split("\n", 4);
+            if (parts.length != 4 || !parts[0].equals(indexName)) {
+                throw new IllegalArgumentException("Cursor does not belong to index " + indexName);
+            }
+            long sequence = Long.parseLong(parts[1]);
+            Object key;
+            switch (parts[2]) {
+                case "S": key = parts[3]; break;
+                case "I": key = Integer.valueOf(parts[3]); break;
+                case "L": key = Long.valueOf(parts[3]); break;
+                case "D": key = Double.valueOf(parts[3]); break;
+                default: throw new IllegalArgumentException("Unknown cursor key type: " + parts[2]);
+            }
+            return new RangeEntry<>(key, sequence, null);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
     }
     
     // Abstract methods to be implemented by concrete repositories
@@ -111,7 +653,42 @@ public abstract class BaseRepository<T, ID> implements Repository<T, ID>, CrudOp
     protected abstract void setId(T entity, ID id);
     protected abstract ID generateId();
     
+    // Write-behind support
+    
+    /**
+     * Persist every later save and delete through the writer, which writes them in the background
+     * The writer's journal is replayed into its sink first; enable before the repository takes writes
+     */
+    protected void enableWriteBehind(WriteBehindWriter<T, ID> writer) {
+        synchronized (indexes) {
+            if (writeBehind != null) {
+                throw new IllegalStateException("Write-behind is already enabled");
+            }
+            writer.start(storage::get);
+            writeBehind = writer;
+        }
+    }
+    
     // Pagination support
+    
+    /**
+     * Find the page of entities following the cursor, in id order
+     * Each page costs O(log n + size) however deep it is, unlike findWithPagination
+     * The id-order index is built on first use; ids must be strings or numbers
+     */
+    public Repository.Page<T> findAfter(String cursor, int size) {
+        if (!idOrderIndexed) {
+            // Serialize the first build so no caller pages through a half-filled index
+            synchronized (indexes) {
+                if (!idOrderIndexed) {
+                    registerIndex(ID_ORDER_INDEX, new RangeIndex(this::extractId));
+                    idOrderIndexed = true;
+                }
+            }
+        }
+        return findAfter(ID_ORDER_INDEX, cursor, size);
+    }
+    
     public List<T> findWithPagination(int page, int size) {
         return storage.values()
                 .stream()
@@ -139,7 +716,7 @@ public abstract class BaseRepository<T, ID> implements Repository<T, ID>, CrudOp
     }
     
     public void deleteByIds(Collection<ID> ids) {
-        ids.forEach(storage::remove);
+        ids.forEach(this::removeById);
     }
     
     // Statistics
@@ -147,6 +724,14 @@ public abstract class BaseRepository<T, ID> implements Repository<T, ID>, CrudOp
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalEntities", count());
         stats.put("repositoryClass", this.getClass().getSimpleName());
+        Map<String, Integer> indexKeys = new TreeMap<>();
+        indexes.forEach((name, index) -> indexKeys.put(name, index.distinctKeys()));
+        stats.put("indexedDistinctKeys", indexKeys);
+        WriteBehindWriter<T, ID> writer = writeBehind;
+        if (writer != null) {
+            stats.put("writeBehindPending", writer.getPendingCount());
+            stats.put("writeBehindWritten", writer.getWrittenCount());
+        }
         stats.put("lastModified", new Date());
         return stats;
     }
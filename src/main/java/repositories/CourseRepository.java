@@ -15,8 +15,26 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class CourseRepository extends BaseRepository<Course, String> {
     
+    private static final String BY_DEPARTMENT = "department";
+    private static final String BY_PROFESSOR = "professor";
+    private static final String BY_CREDITS = "credits";
+    private static final String BY_CAPACITY = "capacity";
+    private static final String BY_SEMESTER = "semester";
+    private static final String BY_ACADEMIC_YEAR = "academicYear";
+    
     private final AtomicLong idGenerator = new AtomicLong(1);
     
+    public CourseRepository() {
+        addIndex(BY_DEPARTMENT, Course::getDepartment);
+        addIndex(BY_PROFESSOR, Course::getProfessor);
+        addRangeIndex(BY_CREDITS, Course::getCredits);
+        addRangeIndex(BY_CAPACITY, Course::getCapacity);
+        addIndex(BY_SEMESTER, course -> 
+            course.getSemester() != null ? course.getSemester().toLowerCase(Locale.ROOT) : null
+        );
+        addIndex(BY_ACADEMIC_YEAR, Course::getAcademicYear);
+    }
+    
     @Override
     protected String extractId(Course course) {
         return course.getCourseCode();
@@ -38,10 +56,7 @@ public class CourseRepository extends BaseRepository<Course, String> {
      * Find courses by department
      */
     public List<Course> findByDepartment(Department department) {
-        return findByPredicate(course -> 
-            course.getDepartment() != null && 
-            course.getDepartment().equals(department)
-        );
+        return findByIndex(BY_DEPARTMENT, department);
     }
     
     /**
@@ -55,29 +70,21 @@ public class CourseRepository extends BaseRepository<Course, String> {
      * Find courses by professor
      */
     public List<Course> findByProfessor(Professor professor) {
-        return findByPredicate(course -> 
-            course.getProfessor() != null && 
-            course.getProfessor().equals(professor)
-        );
+        return findByIndex(BY_PROFESSOR, professor);
     }
     
     /**
      * Find courses by credits
      */
     public List<Course> findByCredits(int credits) {
-        return findByPredicate(course -> 
-            course.getCredits() == credits
-        );
+        return findByIndex(BY_CREDITS, credits);
     }
     
     /**
      * Find courses by credit range
      */
     public List<Course> findByCreditRange(int minCredits, int maxCredits) {
-        return findByPredicate(course -> {
-            int credits = course.getCredits();
-            return credits >= minCredits && credits <= maxCredits;
-        });
+        return findByRange(BY_CREDITS, minCredits, maxCredits);
     }
     
     /**
@@ -104,28 +111,21 @@ public class CourseRepository extends BaseRepository<Course, String> {
      * Find courses by semester
      */
     public List<Course> findBySemester(String semester) {
-        return findByPredicate(course -> 
-            course.getSemester().equalsIgnoreCase(semester)
-        );
+        return findByIndex(BY_SEMESTER, semester != null ? semester.toLowerCase(Locale.ROOT) : null);
     }
     
     /**
      * Find courses by academic year
      */
     public List<Course> findByAcademicYear(String academicYear) {
-        return findByPredicate(course -> 
-            course.getAcademicYear().equals(academicYear)
-        );
+        return findByIndex(BY_ACADEMIC_YEAR, academicYear);
     }
     
     /**
      * Find courses by capacity range
      */
     public List<Course> findByCapacityRange(int minCapacity, int maxCapacity) {
-        return findByPredicate(course -> {
-            int capacity = course.getCapacity();
-            return capacity >= minCapacity && capacity <= maxCapacity;
-        });
+        return findByRange(BY_CAPACITY, minCapacity, maxCapacity);
     }
     
     /**
@@ -185,12 +185,7 @@ public class CourseRepository extends BaseRepository<Course, String> {
      * Get course count by department
      */
     public Map<Department, Long> getCourseCountByDepartment() {
-        return findAll().stream()
-                .filter(course -> course.getDepartment() != null)
-                .collect(Collectors.groupingBy(
-                    Course::getDepartment,
-                    Collectors.counting()
-                ));
+        return countByIndex(BY_DEPARTMENT);
     }
     
     /**
@@ -13,8 +13,18 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class DepartmentRepository extends BaseRepository<Department, String> {
     
+    private static final String BY_NAME = "name";
+    private static final String BY_ESTABLISHED_YEAR = "establishedYear";
+    
     private final AtomicLong idGenerator = new AtomicLong(1);
     
+    public DepartmentRepository() {
+        addIndex(BY_NAME, department -> 
+            department.getName() != null ? department.getName().toLowerCase(Locale.ROOT) : null
+        );
+        addRangeIndex(BY_ESTABLISHED_YEAR, Department::getEstablishedYear);
+    }
+    
     @Override
     protected String extractId(Department department) {
         return department.getDepartmentCode();
@@ -53,9 +63,7 @@ public class DepartmentRepository extends BaseRepository<Department, String> {
      * Find department by exact name
      */
     public Optional<Department> findByName(String name) {
-        return findFirstByPredicate(department -> 
-            department.getName().equalsIgnoreCase(name)
-        );
+        return findFirstByIndex(BY_NAME, name != null ? name.toLowerCase(Locale.ROOT) : null);
     }
     
     /**
@@ -82,37 +90,28 @@ public class DepartmentRepository extends BaseRepository<Department, String> {
      * Find departments by establishment year
      */
     public List<Department> findByEstablishmentYear(int year) {
-        return findByPredicate(department -> 
-            department.getEstablishedYear() == year
-        );
+        return findByIndex(BY_ESTABLISHED_YEAR, year);
     }
     
     /**
      * Find departments established after a certain year
      */
     public List<Department> findEstablishedAfter(int year) {
-        return findByPredicate(department -> 
-            department.getEstablishedYear() > year
-        );
+        return findByRange(BY_ESTABLISHED_YEAR, year, false, null, false);
     }
     
     /**
      * Find departments established before a certain year
      */
     public List<Department> findEstablishedBefore(int year) {
-        return findByPredicate(department -> 
-            department.getEstablishedYear() < year
-        );
+        return findByRange(BY_ESTABLISHED_YEAR, null, false, year, false);
     }
     
     /**
      * Find departments within establishment year range
      */
     public List<Department> findByEstablishmentYearRange(int startYear, int endYear) {
-        return findByPredicate(department -> {
-            int year = department.getEstablishedYear();
-            return year >= startYear && year <= endYear;
-        });
+        return findByRange(BY_ESTABLISHED_YEAR, startYear, endYear);
     }
     
     /**
@@ -203,9 +202,7 @@ public class DepartmentRepository extends BaseRepository<Department, String> {
         int currentYear = Calendar.getInstance().get(Calendar.YEAR);
         int cutoffYear = currentYear - years;
         
-        return findByPredicate(department -> 
-            department.getEstablishedYear() > cutoffYear
-        );
+        return findByRange(BY_ESTABLISHED_YEAR, cutoffYear, false, null, false);
     }
     
     /**
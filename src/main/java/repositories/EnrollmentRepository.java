@@ -16,7 +16,34 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class EnrollmentRepository extends BaseRepository<Enrollment, Long> {
     
+    private static final String BY_ENROLLMENT_DATE = "enrollmentDate";
+    private static final String BY_SEMESTER = "semester";
+    private static final String COUNT_BY_COURSE = "countByCourse";
+    private static final String COUNT_BY_STUDENT = "countByStudent";
+    private static final String COUNT_BY_SEMESTER = "countBySemester";
+    
     private final AtomicLong idGenerator = new AtomicLong(1);
+    private final CourseRepository courseRepository;
+    
+    public EnrollmentRepository() {
+        this(null);
+    }
+    
+    /**
+     * @param courseRepository source of current course records when resolving departments, may be null
+     */
+    public EnrollmentRepository(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+        addRangeIndex(BY_ENROLLMENT_DATE, enrollment -> 
+            enrollment.getEnrollmentDate() != null ? enrollment.getEnrollmentDate().getTime() : null
+        );
+        addIndex(BY_SEMESTER, Enrollment::getSemester);
+        
+        // Dashboard aggregates, maintained on every save and delete
+        addCountView(COUNT_BY_COURSE, Enrollment::getCourse);
+        addCountView(COUNT_BY_STUDENT, Enrollment::getStudent);
+        addCountView(COUNT_BY_SEMESTER, Enrollment::getSemester);
+    }
     
     @Override
     protected Long extractId(Enrollment enrollment) {
@@ -72,11 +99,7 @@ public class EnrollmentRepository extends BaseRepository<Enrollment, Long> {
      * Find enrollments by enrollment date range
      */
     public List<Enrollment> findByEnrollmentDateBetween(Date startDate, Date endDate) {
-        return findByPredicate(enrollment -> {
-            Date enrollmentDate = enrollment.getEnrollmentDate();
-            return enrollmentDate.compareTo(startDate) >= 0 && 
-                   enrollmentDate.compareTo(endDate) <= 0;
-        });
+        return findByRange(BY_ENROLLMENT_DATE, startDate.getTime(), endDate.getTime());
     }
     
     /**
@@ -116,9 +139,7 @@ public class EnrollmentRepository extends BaseRepository<Enrollment, Long> {
         cal.add(Calendar.DAY_OF_YEAR, -days);
         Date cutoffDate = cal.getTime();
         
-        return findByPredicate(enrollment -> 
-            enrollment.getEnrollmentDate().after(cutoffDate)
-        );
+        return findByRange(BY_ENROLLMENT_DATE, cutoffDate.getTime(), false, null, false);
     }
     
     /**
@@ -170,8 +191,22 @@ public class EnrollmentRepository extends BaseRepository<Enrollment, Long> {
      * Group enrollments by semester
      */
     public Map<String, List<Enrollment>> groupBySemester() {
-        return findAll().stream()
-                .collect(Collectors.groupingBy(Enrollment::getSemester));
+        Map<String, Long> semesters = getCountView(COUNT_BY_SEMESTER);
+        Map<String, List<Enrollment>> groups = new HashMap<>();
+        for (String semester : semesters.keySet()) {
+            List<Enrollment> enrollments = findByIndex(BY_SEMESTER, semester);
+            if (!enrollments.isEmpty()) {
+                groups.put(semester, enrollments);
+            }
+        }
+        return groups;
+    }
+    
+    /**
+     * Get enrollment count by semester
+     */
+    public Map<String, Long> getEnrollmentCountBySemester() {
+        return getCountView(COUNT_BY_SEMESTER);
     }
     
     /**
@@ -195,39 +230,41 @@ public class EnrollmentRepository extends BaseRepository<Enrollment, Long> {
     
     /**
      * Get enrollment count by course
+     * Live read-only view, maintained incrementally
      */
     public Map<Course, Long> getEnrollmentCountByCourse() {
-        return findAll().stream()
-                .filter(enrollment -> enrollment.getCourse() != null)
-                .collect(Collectors.groupingBy(
-                    Enrollment::getCourse,
-                    Collectors.counting()
-                ));
+        return getCountView(COUNT_BY_COURSE);
     }
     
     /**
      * Get enrollment count by department
+     * Rolled up from the per-course view on each call, so a course that moves
+     * to another department is counted under its current one
      */
     public Map<Department, Long> getEnrollmentCountByDepartment() {
-        return findAll().stream()
-                .filter(enrollment -> enrollment.getCourse() != null &&
-                                    enrollment.getCourse().getDepartment() != null)
-                .collect(Collectors.groupingBy(
-                    enrollment -> enrollment.getCourse().getDepartment(),
-                    Collectors.counting()
-                ));
+        Map<Department, Long> counts = new HashMap<>();
+        getEnrollmentCountByCourse().forEach((course, count) -> {
+            Department department = resolveDepartment(course);
+            if (department != null) {
+                counts.merge(department, count, Long::sum);
+            }
+        });
+        return counts;
+    }
+    
+    private Department resolveDepartment(Course course) {
+        Course current = courseRepository != null
+                ? courseRepository.findByCourseCode(course.getCourseCode()).orElse(course)
+                : course;
+        return current.getDepartment();
     }
     
     /**
      * Get student course count (number of courses per student)
+     * Live read-only view, maintained incrementally
      */
     public Map<Student, Long> getStudentCourseCount() {
-        return findAll().stream()
-                .filter(enrollment -> enrollment.getStudent() != null)
-                .collect(Collectors.groupingBy(
-                    Enrollment::getStudent,
-                    Collectors.counting()
-                ));
+        return getCountView(COUNT_BY_STUDENT);
     }
     
     /**
@@ -267,17 +304,9 @@ public class EnrollmentRepository extends BaseRepository<Enrollment, Long> {
      * Get enrollment statistics
      */
     public Map<String, Object> getEnrollmentStatistics() {
-        List<Enrollment> enrollments = findAll();
-        
-        long totalEnrollments = enrollments.size();
-        long uniqueStudents = enrollments.stream()
-                .map(Enrollment::getStudent)
-                .distinct()
-                .count();
-        long uniqueCourses = enrollments.stream()
-                .map(Enrollment::getCourse)
-                .distinct()
-                .count();
+        long totalEnrollments = count();
+        long uniqueStudents = getStudentCourseCount().size();
+        long uniqueCourses = getEnrollmentCountByCourse().size();
         
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalEnrollments", totalEnrollments);
@@ -0,0 +1,70 @@
+// File location: src/main/java/repositories/JdbcCourseRepository.java
+
+package repositories;
+
+import io.DatabaseManager;
+import models.Course;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * JDBC repository for courses, stored in the courses table keyed by course code
+ * capacity holds the maximum enrollment and enrolled_students the number of enrolled students,
+ * which is written but not read back since the table does not list who they are
+ */
+public class JdbcCourseRepository extends JdbcRepository<Course, String> {
+    
+    public JdbcCourseRepository() {
+        this(DatabaseManager.getInstance());
+    }
+    
+    public JdbcCourseRepository(DatabaseManager databaseManager) {
+        super(databaseManager, "courses", "course_code",
+              Arrays.asList("name", "description", "credits", "department_code", "professor_id",
+                            "semester", "academic_year", "capacity", "enrolled_students"), false);
+    }
+    
+    @Override
+    protected String extractId(Course course) {
+        return course.getCourseCode();
+    }
+    
+    @Override
+    protected void setId(Course course, String id) {
+        course.setCourseCode(id);
+    }
+    
+    @Override
+    protected void bindColumns(PreparedStatement stmt, Course course, int firstIndex) throws SQLException {
+        int index = firstIndex;
+        stmt.setString(index++, course.getCourseName());
+        stmt.setString(index++, course.getDescription());
+        stmt.setInt(index++, course.getCredits());
+        stmt.setString(index++, course.getDepartmentId());
+        stmt.setString(index++, course.getProfessorId());
+        stmt.setString(index++, course.getSemester());
+        stmt.setString(index++, String.valueOf(course.getYear()));
+        stmt.setInt(index++, course.getMaxEnrollment());
+        stmt.setInt(index, course.getEnrolledStudentIds().size());
+    }
+    
+    @Override
+    protected Course mapRow(ResultSet rs) throws SQLException {
+        String courseCode = rs.getString("course_code");
+        Course course = new Course(courseCode, courseCode, rs.getString("name"), rs.getString("description"),
+                                   rs.getInt("credits"), rs.getString("department_code"));
+        course.setProfessorId(rs.getString("professor_id"));
+        course.setSemester(rs.getString("semester"));
+        String academicYear = rs.getString("academic_year");
+        if (academicYear != null) {
+            course.setYear(Integer.parseInt(academicYear.trim()));
+        }
+        int capacity = rs.getInt("capacity");
+        if (capacity > 0) {
+            course.setMaxEnrollment(capacity);
+        }
+        return course;
+    }
+}
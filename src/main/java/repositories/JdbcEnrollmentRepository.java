@@ -0,0 +1,83 @@
+// File location: src/main/java/repositories/JdbcEnrollmentRepository.java
+
+package repositories;
+
+import io.DatabaseManager;
+import models.Enrollment;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * JDBC repository for enrollments, stored in the enrollments table
+ * The database numbers enrollments: an enrollment whose id is not a number is inserted
+ * as a new row and takes the generated id; enrollment_date keeps the date only
+ */
+public class JdbcEnrollmentRepository extends JdbcRepository<Enrollment, Long> {
+    
+    public JdbcEnrollmentRepository() {
+        this(DatabaseManager.getInstance());
+    }
+    
+    public JdbcEnrollmentRepository(DatabaseManager databaseManager) {
+        super(databaseManager, "enrollments", "enrollment_id",
+              Arrays.asList("student_id", "course_code", "enrollment_date", "semester", "academic_year"), true);
+    }
+    
+    @Override
+    protected Long extractId(Enrollment enrollment) {
+        return parseGeneratedId(enrollment.getEnrollmentId());
+    }
+    
+    @Override
+    protected void setId(Enrollment enrollment, Long id) {
+        enrollment.setEnrollmentId(String.valueOf(id));
+    }
+    
+    @Override
+    protected Long mapGeneratedKey(ResultSet keys) throws SQLException {
+        return keys.getLong(1);
+    }
+    
+    @Override
+    protected void bindColumns(PreparedStatement stmt, Enrollment enrollment, int firstIndex) throws SQLException {
+        int index = firstIndex;
+        stmt.setString(index++, enrollment.getStudentId());
+        stmt.setString(index++, enrollment.getCourseId());
+        stmt.setDate(index++, enrollment.getEnrollmentDate() != null
+                ? Date.valueOf(enrollment.getEnrollmentDate().toLocalDate()) : null);
+        stmt.setString(index++, enrollment.getSemester());
+        stmt.setString(index, String.valueOf(enrollment.getYear()));
+    }
+    
+    @Override
+    protected Enrollment mapRow(ResultSet rs) throws SQLException {
+        String academicYear = rs.getString("academic_year");
+        Enrollment enrollment = new Enrollment(
+            String.valueOf(rs.getLong("enrollment_id")),
+            rs.getString("student_id"),
+            rs.getString("course_code"),
+            rs.getString("semester"),
+            academicYear != null ? Integer.parseInt(academicYear.trim()) : 0
+        );
+        Date enrollmentDate = rs.getDate("enrollment_date");
+        enrollment.setEnrollmentDate(enrollmentDate != null ? enrollmentDate.toLocalDate().atStartOfDay() : null);
+        return enrollment;
+    }
+    
+    /**
+     * Read an id assigned by the database, or null for ids made up by the model's factories
+     */
+    static Long parseGeneratedId(String id) {
+        if (id == null || id.isEmpty() || !id.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
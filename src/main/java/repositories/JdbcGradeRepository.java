@@ -0,0 +1,84 @@
+// File location: src/main/java/repositories/JdbcGradeRepository.java
+
+package repositories;
+
+import io.DatabaseManager;
+import models.Grade;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+/**
+ * JDBC repository for grades, stored in the grades table
+ * Ids are generated as for enrollments; numeric_grade holds the percentage, which reads
+ * back as points out of 100 so the letter grade is derived again, and comments hold the feedback
+ */
+public class JdbcGradeRepository extends JdbcRepository<Grade, Long> {
+    
+    public JdbcGradeRepository() {
+        this(DatabaseManager.getInstance());
+    }
+    
+    public JdbcGradeRepository(DatabaseManager databaseManager) {
+        super(databaseManager, "grades", "grade_id",
+              Arrays.asList("student_id", "course_code", "numeric_grade", "letter_grade", "semester",
+                            "academic_year", "graded_date", "comments"), true);
+    }
+    
+    @Override
+    protected Long extractId(Grade grade) {
+        return JdbcEnrollmentRepository.parseGeneratedId(grade.getGradeId());
+    }
+    
+    @Override
+    protected void setId(Grade grade, Long id) {
+        grade.setGradeId(String.valueOf(id));
+    }
+    
+    @Override
+    protected Long mapGeneratedKey(ResultSet keys) throws SQLException {
+        return keys.getLong(1);
+    }
+    
+    @Override
+    protected void bindColumns(PreparedStatement stmt, Grade grade, int firstIndex) throws SQLException {
+        int index = firstIndex;
+        stmt.setString(index++, grade.getStudentId());
+        stmt.setString(index++, grade.getCourseId());
+        if (grade.getPointsEarned() >= 0) {
+            stmt.setDouble(index++, grade.getPercentage());
+        } else {
+            stmt.setNull(index++, Types.DECIMAL);
+        }
+        stmt.setString(index++, grade.getLetterGrade());
+        stmt.setString(index++, grade.getSemester());
+        stmt.setString(index++, String.valueOf(grade.getYear()));
+        stmt.setDate(index++, grade.getDateGraded() != null ? Date.valueOf(grade.getDateGraded().toLocalDate()) : null);
+        stmt.setString(index, grade.getFeedback());
+    }
+    
+    @Override
+    protected Grade mapRow(ResultSet rs) throws SQLException {
+        Grade grade = new Grade();
+        grade.setGradeId(String.valueOf(rs.getLong("grade_id")));
+        grade.setStudentId(rs.getString("student_id"));
+        grade.setCourseId(rs.getString("course_code"));
+        double numericGrade = rs.getDouble("numeric_grade");
+        if (!rs.wasNull()) {
+            grade.setPointsPossible(100.0);
+            grade.setPointsEarned(numericGrade);
+        }
+        grade.setSemester(rs.getString("semester"));
+        String academicYear = rs.getString("academic_year");
+        if (academicYear != null) {
+            grade.setYear(Integer.parseInt(academicYear.trim()));
+        }
+        Date gradedDate = rs.getDate("graded_date");
+        grade.setDateGraded(gradedDate != null ? gradedDate.toLocalDate().atStartOfDay() : null);
+        grade.setFeedback(rs.getString("comments"));
+        return grade;
+    }
+}
@@ -0,0 +1,589 @@
+// File location: src/main/java/repositories/JdbcRepository.java
+
+package repositories;
+
+import interfaces.Repository;
+import io.DatabaseManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Generic JDBC repository over one table of the schema created by DatabaseManager
+ * The JDBC counterpart of BaseRepository: rows live in the database, not in memory
+ * saveAll sends its rows as JDBC batches inside one transaction
+ * findByIds and deleteAllById read and delete many rows per statement with chunked IN lists
+ * Statements are prepared once per operation and reused across its batches and chunks
+ * Joins the caller's transaction when DatabaseManager has one open on this thread
+ * @param <T> The entity type
+ * @param <ID> The ID type
+ */
+public abstract class JdbcRepository<T, ID> implements Repository<T, ID> {
+    
+    // Rows per executeBatch call and ids per IN list
+    protected static final int BATCH_SIZE = 500;
+    protected static final int IN_CHUNK_SIZE = 500;
+    
+    protected final DatabaseManager databaseManager;
+    
+    private final String tableName;
+    private final String idColumn;
+    private final int columnCount;
+    private final boolean generatedIds;
+    
+    private final String selectSql;
+    private final String insertSql;
+    private final String insertGeneratedSql;
+    private final String updateSql;
+    
+    /**
+     * @param tableName Table holding the entities
+     * @param idColumn Primary key column
+     * @param columns Remaining columns, in the order bindColumns sets them
+     * @param generatedIds Whether the database assigns ids to entities saved without one
+     */
+    protected JdbcRepository(DatabaseManager databaseManager, String tableName, String idColumn,
+                             List<String> columns, boolean generatedIds) {
+        this.databaseManager = databaseManager;
+        this.tableName = tableName;
+        this.idColumn = idColumn;
+        this.columnCount = columns.size();
+        this.generatedIds = generatedIds;
+        
+        String columnList = String.join(", ", columns);
+        this.selectSql = "SELECT " + idColumn + ", " + columnList + " FROM " + tableName;
+        this.insertSql = "INSERT INTO " + tableName + " (" + idColumn + ", " + columnList + ") VALUES ("
+                + placeholders(columns.size() + 1) + ")";
+        this.insertGeneratedSql = "INSERT INTO " + tableName + " (" + columnList + ") VALUES ("
+                + placeholders(columns.size()) + ")";
+        this.updateSql = "UPDATE " + tableName + " SET "
+                + columns.stream().map(column -> column + " = ?").collect(Collectors.joining(", "))
+                + " WHERE " + idColumn + " = ?";
+    }
+    
+    // Abstract methods to be implemented by concrete repositories
+    protected abstract ID extractId(T entity);
+    protected abstract void setId(T entity, ID id);
+    protected abstract T mapRow(ResultSet rs) throws SQLException;
+    
+    /**
+     * Set the non-id columns of the entity, in constructor order, starting at firstIndex
+     */
+    protected abstract void bindColumns(PreparedStatement stmt, T entity, int firstIndex) throws SQLException;
+    
+    /**
+     * Read a generated key; only called when the repository was created with generatedIds
+     */
+    protected ID mapGeneratedKey(ResultSet keys) throws SQLException {
+        throw new IllegalStateException(tableName + " does not generate ids");
+    }
+    
+    // ==================== WRITES ====================
+    
+    @Override
+    public T save(T entity) throws RepositoryException {
+        return saveAll(Collections.singletonList(entity)).get(0);
+    }
+    
+    /**
+     * Save the entities in one transaction
+     * Entities with an id are updated in one batch and the ids no row matched are inserted in
+     * a second; entities without one are inserted in a third and receive their generated ids
+     * A driver reporting SUCCESS_NO_INFO for an update is taken to have found the row
+     */
+    @Override
+    public List<T> saveAll(List<T> entities) throws RepositoryException {
+        if (entities == null || entities.contains(null)) {
+            throw new IllegalArgumentException("Entity cannot be null");
+        }
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // A later copy of an id wins, as it would in a map
+        Map<ID, T> keyed = new LinkedHashMap<>();
+        List<T> unkeyed = new ArrayList<>();
+        for (T entity : entities) {
+            ID id = extractId(entity);
+            if (id != null) {
+                keyed.put(id, entity);
+            } else if (generatedIds) {
+                unkeyed.add(entity);
+            } else {
+                throw new IllegalArgumentException("Entity id cannot be null for table " + tableName);
+            }
+        }
+        
+        try {
+            inTransaction(conn -> {
+                try (StatementCache statements = new StatementCache(conn)) {
+                    if (!keyed.isEmpty()) {
+                        List<T> updates = new ArrayList<>(keyed.values());
+                        List<T> missing = new ArrayList<>();
+                        int[] counts = executeBatches(statements.prepare(updateSql), updates, this::bindUpdate);
+                        for (int i = 0; i < counts.length; i++) {
+                            if (counts[i] == 0) {
+                                missing.add(updates.get(i));
+                            }
+                        }
+                        if (!missing.isEmpty()) {
+                            executeBatches(statements.prepare(insertSql), missing, this::bindInsert);
+                        }
+                    }
+                    if (!unkeyed.isEmpty()) {
+                        insertGenerated(statements.prepare(insertGeneratedSql, Statement.RETURN_GENERATED_KEYS), unkeyed);
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new RepositoryException("saveAll", tableName, e.getMessage(), e);
+        }
+        return new ArrayList<>(entities);
+    }
+    
+    @Override
+    public T update(T entity) throws RepositoryException {
+        return updateAll(Collections.singletonList(entity)).get(0);
+    }
+    
+    /**
+     * Update the entities in one batch, rolling back every update if any of them is missing
+     */
+    @Override
+    public List<T> updateAll(List<T> entities) throws RepositoryException {
+        if (entities == null || entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+        for (T entity : entities) {
+            if (entity == null || extractId(entity) == null) {
+                throw new IllegalArgumentException("Entity to update must have an id");
+            }
+        }
+        
+        try {
+            inTransaction(conn -> {
+                try (StatementCache statements = new StatementCache(conn)) {
+                    int[] counts = executeBatches(statements.prepare(updateSql), entities, this::bindUpdate);
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] == 0) {
+                            throw new SQLException("No row in " + tableName + " for id " + extractId(entities.get(i)));
+                        }
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new RepositoryException("updateAll", tableName, e.getMessage(), e);
+        }
+        return new ArrayList<>(entities);
+    }
+    
+    @Override
+    public void deleteById(ID id) throws RepositoryException {
+        try {
+            executeUpdate("DELETE FROM " + tableName + " WHERE " + idColumn + " = ?", id);
+        } catch (SQLException e) {
+            throw new RepositoryException("deleteById", id, e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public void delete(T entity) throws RepositoryException {
+        if (entity == null) {
+            throw new IllegalArgumentException("Entity cannot be null");
+        }
+        deleteById(extractId(entity));
+    }
+    
+    @Override
+    public void deleteAllById(List<ID> ids) throws RepositoryException {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        List<ID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        try {
+            inTransaction(conn -> {
+                try (StatementCache statements = new StatementCache(conn)) {
+                    for (int from = 0; from < distinct.size(); from += IN_CHUNK_SIZE) {
+                        List<ID> chunk = distinct.subList(from, Math.min(from + IN_CHUNK_SIZE, distinct.size()));
+                        PreparedStatement stmt = statements.prepare(
+                                "DELETE FROM " + tableName + " WHERE " + idColumn + " IN (" + placeholders(chunk.size()) + ")");
+                        bindIds(stmt, chunk);
+                        stmt.executeUpdate();
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new RepositoryException("deleteAllById", tableName, e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public void deleteAll(List<T> entities) throws RepositoryException {
+        if (entities == null || entities.isEmpty()) {
+            return;
+        }
+        deleteAllById(entities.stream().map(this::extractId).filter(Objects::nonNull).collect(Collectors.toList()));
+    }
+    
+    @Override
+    public void deleteAll() throws RepositoryException {
+        try {
+            executeUpdate("DELETE FROM " + tableName);
+        } catch (SQLException e) {
+            throw new RepositoryException("deleteAll", tableName, e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public int deleteByPredicate(Predicate<T> predicate) throws RepositoryException {
+        List<ID> ids = findByPredicate(predicate).stream().map(this::extractId).collect(Collectors.toList());
+        deleteAllById(ids);
+        return ids.size();
+    }
+    
+    // ==================== READS ====================
+    
+    @Override
+    public Optional<T> findById(ID id) throws RepositoryException {
+        if (id == null) {
+            return Optional.empty();
+        }
+        try {
+            return queryRows(selectSql + " WHERE " + idColumn + " = ?", id).stream().findFirst();
+        } catch (SQLException e) {
+            throw new RepositoryException("findById", id, e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public boolean existsById(ID id) throws RepositoryException {
+        if (id == null) {
+            return false;
+        }
+        try {
+            return queryCount("SELECT COUNT(*) FROM " + tableName + " WHERE " + idColumn + " = ?", id) > 0;
+        } catch (SQLException e) {
+            throw new RepositoryException("existsById", id, e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public List<T> findAll() throws RepositoryException {
+        try {
+            return queryRows(selectSql + " ORDER BY " + idColumn);
+        } catch (SQLException e) {
+            throw new RepositoryException("findAll", tableName, e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Find the entities with the given ids, keyed by id; ids without a row are left out
+     * Reads IN_CHUNK_SIZE rows per query instead of one query per id
+     */
+    public Map<ID, T> findByIds(Collection<ID> ids) throws RepositoryException {
+        Map<ID, T> found = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return found;
+        }
+        List<ID> distinct = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        try {
+            withConnection(conn -> {
+                try (StatementCache statements = new StatementCache(conn)) {
+                    for (int from = 0; from < distinct.size(); from += IN_CHUNK_SIZE) {
+                        List<ID> chunk = distinct.subList(from, Math.min(from + IN_CHUNK_SIZE, distinct.size()));
+                        PreparedStatement stmt = statements.prepare(
+                                selectSql + " WHERE " + idColumn + " IN (" + placeholders(chunk.size()) + ")");
+                        bindIds(stmt, chunk);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                T entity = mapRow(rs);
+                                found.put(extractId(entity), entity);
+                            }
+                        }
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new RepositoryException("findByIds", tableName, e.getMessage(), e);
+        }
+        return found;
+    }
+    
+    /**
+     * Find the entities with the given ids, in the order of the ids
+     */
+    @Override
+    public List<T> findAllById(List<ID> ids) throws RepositoryException {
+        Map<ID, T> found = findByIds(ids);
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<T> findByPredicate(Predicate<T> predicate) throws RepositoryException {
+        return findAll().stream()
+                .filter(predicate)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public Optional<T> findFirstByPredicate(Predicate<T> predicate) throws RepositoryException {
+        return findAll().stream()
+                .filter(predicate)
+                .findFirst();
+    }
+    
+    @Override
+    public long count() throws RepositoryException {
+        try {
+            return queryCount("SELECT COUNT(*) FROM " + tableName);
+        } catch (SQLException e) {
+            throw new RepositoryException("count", tableName, e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public long countByPredicate(Predicate<T> predicate) throws RepositoryException {
+        return findAll().stream()
+                .filter(predicate)
+                .count();
+    }
+    
+    /**
+     * Find one page of entities in id order, letting the database skip the earlier rows
+     */
+    @Override
+    public Page<T> findAll(int page, int size) throws RepositoryException {
+        try {
+            List<T> content = queryRows(selectSql + " ORDER BY " + idColumn + " LIMIT ? OFFSET ?",
+                    size, (long) page * size);
+            return new Page<>(content, page, size, count());
+        } catch (SQLException e) {
+            throw new RepositoryException("findAll", tableName, e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public Page<T> findByPredicate(Predicate<T> predicate, int page, int size) throws RepositoryException {
+        List<T> matches = findByPredicate(predicate);
+        int from = (int) Math.min((long) page * size, matches.size());
+        int to = Math.min(from + size, matches.size());
+        return new Page<>(new ArrayList<>(matches.subList(from, to)), page, size, matches.size());
+    }
+    
+    @Override
+    public T refresh(T entity) throws RepositoryException {
+        ID id = extractId(entity);
+        return findById(id)
+                .orElseThrow(() -> new RepositoryException("refresh", id, "No row in " + tableName));
+    }
+    
+    /**
+     * Writes reach the database before their method returns, so there is nothing to flush
+     */
+    @Override
+    public void flush() {
+    }
+    
+    // ==================== JDBC HELPERS ====================
+    
+    // DatabaseManager's query helpers close the connection they use, which would end a caller's
+    // transaction, so single statements go through withConnection as well
+    
+    private List<T> queryRows(String sql, Object... parameters) throws SQLException {
+        return withConnection(conn -> {
+            List<T> rows = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                bindParameters(stmt, parameters);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(mapRow(rs));
+                    }
+                }
+            }
+            return rows;
+        });
+    }
+    
+    private long queryCount(String sql, Object... parameters) throws SQLException {
+        return withConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                bindParameters(stmt, parameters);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? rs.getLong(1) : 0L;
+                }
+            }
+        });
+    }
+    
+    private int executeUpdate(String sql, Object... parameters) throws SQLException {
+        return withConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                bindParameters(stmt, parameters);
+                return stmt.executeUpdate();
+            }
+        });
+    }
+    
+    private static void bindParameters(PreparedStatement stmt, Object[] parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            stmt.setObject(i + 1, parameters[i]);
+        }
+    }
+    
+    private void bindInsert(PreparedStatement stmt, T entity) throws SQLException {
+        stmt.setObject(1, extractId(entity));
+        bindColumns(stmt, entity, 2);
+    }
+    
+    private void bindUpdate(PreparedStatement stmt, T entity) throws SQLException {
+        bindColumns(stmt, entity, 1);
+        stmt.setObject(columnCount + 1, extractId(entity));
+    }
+    
+    private void bindIds(PreparedStatement stmt, List<ID> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            stmt.setObject(i + 1, ids.get(i));
+        }
+    }
+    
+    /**
+     * Add every entity to the statement's batch, executing it every BATCH_SIZE rows
+     * Returns the update count of each entity, in order
+     */
+    private int[] executeBatches(PreparedStatement stmt, List<T> entities, Binder<T> binder) throws SQLException {
+        int[] counts = new int[entities.size()];
+        int pending = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            binder.bind(stmt, entities.get(i));
+            stmt.addBatch();
+            if (++pending == BATCH_SIZE || i == entities.size() - 1) {
+                int[] batchCounts = stmt.executeBatch();
+                System.arraycopy(batchCounts, 0, counts, i + 1 - pending, pending);
+                pending = 0;
+            }
+        }
+        return counts;
+    }
+    
+    private void insertGenerated(PreparedStatement stmt, List<T> entities) throws SQLException {
+        for (int from = 0; from < entities.size(); from += BATCH_SIZE) {
+            List<T> batch = entities.subList(from, Math.min(from + BATCH_SIZE, entities.size()));
+            for (T entity : batch) {
+                bindColumns(stmt, entity, 1);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                for (T entity : batch) {
+                    if (!keys.next()) {
+                        throw new SQLException("Driver returned fewer generated keys than rows for " + tableName);
+                    }
+                    setId(entity, mapGeneratedKey(keys));
+                }
+            }
+        }
+    }
+    
+    private <R> R withConnection(ConnectionWork<R> work) throws SQLException {
+        Connection conn = databaseManager.getConnection();
+        try {
+            return work.apply(conn);
+        } finally {
+            databaseManager.releaseConnection(conn);
+        }
+    }
+    
+    private <R> R inTransaction(ConnectionWork<R> work) throws SQLException {
+        if (databaseManager.isInTransaction()) {
+            // The caller commits or rolls back
+            return withConnection(work);
+        }
+        Connection conn = databaseManager.getConnection();
+        boolean autoCommit = conn.getAutoCommit();
+        try {
+            conn.setAutoCommit(false);
+            R result = work.apply(conn);
+            conn.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+            conn.close();
+        }
+    }
+    
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+    
+    @FunctionalInterface
+    private interface ConnectionWork<R> {
+        R apply(Connection conn) throws SQLException;
+    }
+    
+    @FunctionalInterface
+    private interface Binder<T> {
+        void bind(PreparedStatement stmt, T entity) throws SQLException;
+    }
+    
+    /**
+     * Statements prepared on one connection for the length of one operation
+     * Preparing a SQL string again returns the statement already prepared for it
+     */
+    private static class StatementCache implements AutoCloseable {
+        private final Connection conn;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+        
+        StatementCache(Connection conn) {
+            this.conn = conn;
+        }
+        
+        PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement stmt = statements.get(sql);
+            if (stmt == null) {
+                stmt = conn.prepareStatement(sql);
+                statements.put(sql, stmt);
+            }
+            return stmt;
+        }
+        
+        PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+            PreparedStatement stmt = statements.get(sql);
+            if (stmt == null) {
+                stmt = conn.prepareStatement(sql, autoGeneratedKeys);
+                statements.put(sql, stmt);
+            }
+            return stmt;
+        }
+        
+        @Override
+        public void close() throws SQLException {
+            SQLException failure = null;
+            for (PreparedStatement stmt : statements.values()) {
+                try {
+                    stmt.close();
+                } catch (SQLException e) {
+                    failure = e;
+                }
+            }
+            statements.clear();
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
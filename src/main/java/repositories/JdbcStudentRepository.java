@@ -0,0 +1,68 @@
+// File location: src/main/java/repositories/JdbcStudentRepository.java
+
+package repositories;
+
+import io.DatabaseManager;
+import models.Student;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * JDBC repository for students, stored in the students table
+ * Only the columns of the table round-trip; name holds the full name, split at its last space on reads
+ * A single-word name loads as a first name with no last name set, and is written back unchanged
+ */
+public class JdbcStudentRepository extends JdbcRepository<Student, String> {
+    
+    public JdbcStudentRepository() {
+        this(DatabaseManager.getInstance());
+    }
+    
+    public JdbcStudentRepository(DatabaseManager databaseManager) {
+        super(databaseManager, "students", "id",
+              Arrays.asList("name", "email", "department_code", "enrollment_date"), false);
+    }
+    
+    @Override
+    protected String extractId(Student student) {
+        return student.getUserId();
+    }
+    
+    @Override
+    protected void setId(Student student, String id) {
+        student.setUserId(id);
+    }
+    
+    @Override
+    protected void bindColumns(PreparedStatement stmt, Student student, int firstIndex) throws SQLException {
+        int index = firstIndex;
+        stmt.setString(index++, student.getLastName() != null ? student.getFullName() : student.getFirstName());
+        stmt.setString(index++, student.getEmail());
+        stmt.setString(index++, student.getDepartmentId());
+        stmt.setDate(index, student.getEnrollmentDate() != null ? Date.valueOf(student.getEnrollmentDate()) : null);
+    }
+    
+    @Override
+    protected Student mapRow(ResultSet rs) throws SQLException {
+        String name = rs.getString("name").trim();
+        int split = name.lastIndexOf(' ');
+        
+        Student student = new Student();
+        student.setUserId(rs.getString("id"));
+        if (split < 0) {
+            // Someone known by a single name has no last name to set
+            student.setFirstName(name);
+        } else {
+            student.setFirstName(name.substring(0, split));
+            student.setLastName(name.substring(split + 1));
+        }
+        student.setEmail(rs.getString("email"));
+        student.setDepartmentId(rs.getString("department_code"));
+        Date enrollmentDate = rs.getDate("enrollment_date");
+        student.setEnrollmentDate(enrollmentDate != null ? enrollmentDate.toLocalDate() : null);
+        return student;
+    }
+}
@@ -14,8 +14,18 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class ProfessorRepository extends BaseRepository<Professor, String> {
     
+    private static final String BY_DEPARTMENT = "department";
+    private static final String BY_EMAIL = "email";
+    private static final String BY_EXPERIENCE = "experience";
+    
     private final AtomicLong idGenerator = new AtomicLong(1);
     
+    public ProfessorRepository() {
+        addIndex(BY_DEPARTMENT, Professor::getDepartment);
+        addIndex(BY_EMAIL, Professor::getEmail);
+        addRangeIndex(BY_EXPERIENCE, Professor::getYearsOfExperience);
+    }
+    
     @Override
     protected String extractId(Professor professor) {
         return professor.getId();
@@ -37,19 +47,14 @@ public class ProfessorRepository extends BaseRepository<Professor, String> {
      * Find professors by department
      */
     public List<Professor> findByDepartment(Department department) {
-        return findByPredicate(professor -> 
-            professor.getDepartment() != null && 
-            professor.getDepartment().equals(department)
-        );
+        return findByIndex(BY_DEPARTMENT, department);
     }
     
     /**
      * Find professor by email
      */
     public Optional<Professor> findByEmail(String email) {
-        return findFirstByPredicate(professor -> 
-            email.equals(professor.getEmail())
-        );
+        return findFirstByIndex(BY_EMAIL, email);
     }
     
     /**
@@ -76,19 +81,14 @@ public class ProfessorRepository extends BaseRepository<Professor, String> {
      * Find professors by minimum years of experience
      */
     public List<Professor> findByMinExperience(int minYears) {
-        return findByPredicate(professor -> 
-            professor.getYearsOfExperience() >= minYears
-        );
+        return findByRange(BY_EXPERIENCE, minYears, null);
     }
     
     /**
      * Find professors within experience range
      */
     public List<Professor> findByExperienceRange(int minYears, int maxYears) {
-        return findByPredicate(professor -> {
-            int experience = professor.getYearsOfExperience();
-            return experience >= minYears && experience <= maxYears;
-        });
+        return findByRange(BY_EXPERIENCE, minYears, maxYears);
     }
     
     /**
@@ -105,18 +105,14 @@ public class ProfessorRepository extends BaseRepository<Professor, String> {
      * Find senior professors (experience > threshold)
      */
     public List<Professor> findSeniorProfessors(int experienceThreshold) {
-        return findByPredicate(professor -> 
-            professor.getYearsOfExperience() > experienceThreshold
-        );
+        return findByRange(BY_EXPERIENCE, experienceThreshold, false, null, false);
     }
     
     /**
      * Find junior professors (experience <= threshold)
      */
     public List<Professor> findJuniorProfessors(int experienceThreshold) {
-        return findByPredicate(professor -> 
-            professor.getYearsOfExperience() <= experienceThreshold
-        );
+        return findByRange(BY_EXPERIENCE, null, experienceThreshold);
     }
     
     /**
@@ -140,12 +136,7 @@ public class ProfessorRepository extends BaseRepository<Professor, String> {
      * Get professor count by department
      */
     public Map<Department, Long> getProfessorCountByDepartment() {
-        return findAll().stream()
-                .filter(professor -> professor.getDepartment() != null)
-                .collect(Collectors.groupingBy(
-                    Professor::getDepartment,
-                    Collectors.counting()
-                ));
+        return countByIndex(BY_DEPARTMENT);
     }
     
     /**
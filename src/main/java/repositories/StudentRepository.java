@@ -14,8 +14,29 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class StudentRepository extends BaseRepository<Student, String> {
     
+    private static final String BY_DEPARTMENT = "department";
+    private static final String BY_EMAIL = "email";
+    private static final String BY_ENROLLMENT_YEAR = "enrollmentYear";
+    private static final String BY_ENROLLMENT_DATE = "enrollmentDate";
+    
     private final AtomicLong idGenerator = new AtomicLong(1);
     
+    public StudentRepository() {
+        addIndex(BY_DEPARTMENT, Student::getDepartment);
+        addIndex(BY_EMAIL, Student::getEmail);
+        addIndex(BY_ENROLLMENT_YEAR, student -> {
+            if (student.getEnrollmentDate() == null) {
+                return null;
+            }
+            Calendar cal = Calendar.getInstance();
+            cal.setTime(student.getEnrollmentDate());
+            return cal.get(Calendar.YEAR);
+        });
+        addRangeIndex(BY_ENROLLMENT_DATE, student -> 
+            student.getEnrollmentDate() != null ? student.getEnrollmentDate().getTime() : null
+        );
+    }
+    
     @Override
     protected String extractId(Student student) {
         return student.getId();
@@ -38,19 +59,14 @@ public class StudentRepository extends BaseRepository<Student, String> {
      * Find students by department
      */
     public List<Student> findByDepartment(Department department) {
-        return findByPredicate(student -> 
-            student.getDepartment() != null && 
-            student.getDepartment().equals(department)
-        );
+        return findByIndex(BY_DEPARTMENT, department);
     }
     
     /**
      * Find students by email
      */
     public Optional<Student> findByEmail(String email) {
-        return findFirstByPredicate(student -> 
-            email.equals(student.getEmail())
-        );
+        return findFirstByIndex(BY_EMAIL, email);
     }
     
     /**
@@ -67,33 +83,21 @@ public class StudentRepository extends BaseRepository<Student, String> {
      * Find students by enrollment year
      */
     public List<Student> findByEnrollmentYear(int year) {
-        return findByPredicate(student -> {
-            Calendar cal = Calendar.getInstance();
-            cal.setTime(student.getEnrollmentDate());
-            return cal.get(Calendar.YEAR) == year;
-        });
+        return findByIndex(BY_ENROLLMENT_YEAR, year);
     }
     
     /**
      * Find students enrolled between dates
      */
     public List<Student> findByEnrollmentDateBetween(Date startDate, Date endDate) {
-        return findByPredicate(student -> {
-            Date enrollmentDate = student.getEnrollmentDate();
-            return enrollmentDate.compareTo(startDate) >= 0 && 
-                   enrollmentDate.compareTo(endDate) <= 0;
-        });
+        return findByRange(BY_ENROLLMENT_DATE, startDate.getTime(), endDate.getTime());
     }
     
     /**
      * Find students by multiple departments
      */
     public List<Student> findByDepartments(List<Department> departments) {
-        Set<Department> deptSet = new HashSet<>(departments);
-        return findByPredicate(student -> 
-            student.getDepartment() != null && 
-            deptSet.contains(student.getDepartment())
-        );
+        return findByIndex(BY_DEPARTMENT, departments);
     }
     
     /**
@@ -104,9 +108,7 @@ public class StudentRepository extends BaseRepository<Student, String> {
         cal.add(Calendar.MONTH, -6); // Active within last 6 months
         Date sixMonthsAgo = cal.getTime();
         
-        return findByPredicate(student -> 
-            student.getEnrollmentDate().after(sixMonthsAgo)
-        );
+        return findByRange(BY_ENROLLMENT_DATE, sixMonthsAgo.getTime(), false, null, false);
     }
     
     /**
@@ -122,12 +124,7 @@ public class StudentRepository extends BaseRepository<Student, String> {
      * Get students statistics by department
      */
     public Map<Department, Long> getStudentCountByDepartment() {
-        return findAll().stream()
-                .filter(student -> student.getDepartment() != null)
-                .collect(Collectors.groupingBy(
-                    Student::getDepartment,
-                    Collectors.counting()
-                ));
+        return countByIndex(BY_DEPARTMENT);
     }
     
     /**
@@ -143,15 +140,7 @@ public class StudentRepository extends BaseRepository<Student, String> {
      * Get enrollment statistics by year
      */
     public Map<Integer, Long> getEnrollmentStatsByYear() {
-        return findAll().stream()
-                .collect(Collectors.groupingBy(
-                    student -> {
-                        Calendar cal = Calendar.getInstance();
-                        cal.setTime(student.getEnrollmentDate());
-                        return cal.get(Calendar.YEAR);
-                    },
-                    Collectors.counting()
-                ));
+        return countByIndex(BY_ENROLLMENT_YEAR);
     }
     
     /**
@@ -165,9 +154,7 @@ public class StudentRepository extends BaseRepository<Student, String> {
         cal.set(currentYear, Calendar.AUGUST, 1);
         Date academicYearStart = cal.getTime();
         
-        return findByPredicate(student -> 
-            student.getEnrollmentDate().after(academicYearStart)
-        );
+        return findByRange(BY_ENROLLMENT_DATE, academicYearStart.getTime(), false, null, false);
     }
     
     /**
@@ -210,8 +197,6 @@ public class StudentRepository extends BaseRepository<Student, String> {
         cal.add(Calendar.DAY_OF_YEAR, -days);
         Date cutoffDate = cal.getTime();
         
-        return findByPredicate(student -> 
-            student.getEnrollmentDate().after(cutoffDate)
-        );
+        return findByRange(BY_ENROLLMENT_DATE, cutoffDate.getTime(), false, null, false);
     }
 }
\ No newline at end of file
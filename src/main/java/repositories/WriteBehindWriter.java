@@ -0,0 +1,838 @@
+// File location: src/main/java/repositories/WriteBehindWriter.java
+
+package repositories;
+
+import interfaces.Repository;
+import io.DatabaseManager;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Write-behind persistence for a BaseRepository
+ * Repository writes serialize the change before touching memory, take a sequence under the id's
+ * lock, then queue the journal record, mark their id dirty and return;
+ * a background flusher writes the current value of each dirty id to the sink in batches,
+ * so any number of writes to one id between flushes cost a single row write
+ * Writers block while capacity ids are waiting, which bounds memory and the journal
+ * The journal is replayed into the sink when the writer starts, so journaled changes are not
+ * lost in a crash; it is emptied whenever the flusher catches up
+ * A background journal thread appends queued records in groups, so no writer waits on the file;
+ * records reach the OS shortly after their write returns and the disk once per flush cycle, and
+ * syncJournal waits for both when a caller needs its changes durable
+ * @param <T> The entity type
+ * @param <ID> The ID type
+ */
+public class WriteBehindWriter<T, ID> implements AutoCloseable {
+    
+    private static final byte OP_SAVE = 1;
+    private static final byte OP_DELETE = 2;
+    
+    private final Sink<T, ID> sink;
+    private final JournalCodec<T, ID> codec;
+    private final Path journalPath;
+    private final Config config;
+    private final AtomicLong sequence = new AtomicLong();
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition caughtUp = lock.newCondition();
+    private final Condition recordsQueued = lock.newCondition();
+    // Guards the journal file; taken after lock when both are held
+    private final ReentrantLock journalLock = new ReentrantLock();
+    
+    // Dirty ids with the sequence of their latest change, oldest first; guarded by lock
+    private final LinkedHashMap<ID, Long> dirty = new LinkedHashMap<>();
+    // Journal records waiting for the journal thread; guarded by lock
+    private List<Record> queued = new ArrayList<>();
+    // Changes sequenced but not yet in the journal file; the journal is kept whole while any are; guarded by lock
+    private int journaling;
+    private boolean flushing;
+    private boolean flushRequested;
+    private boolean closed;
+    
+    private Function<ID, T> currentValue;
+    private FileOutputStream journalFile;
+    private DataOutputStream journal;
+    private long journalBytes;
+    private Thread journalWriter;
+    private Thread flusher;
+    private Thread shutdownHook;
+    
+    private long writtenCount;
+    private long failedFlushCount;
+    private long recoveredCount;
+    
+    /**
+     * Where flushed changes go
+     */
+    @FunctionalInterface
+    public interface Sink<T, ID> {
+        void write(List<T> saves, List<ID> deletes) throws Exception;
+        
+        /**
+         * Writes each flush batch through a JDBC repository in one DatabaseManager transaction
+         */
+        static <T, ID> Sink<T, ID> jdbc(JdbcRepository<T, ID> repository, DatabaseManager databaseManager) {
+            return (saves, deletes) -> databaseManager.executeInTransaction(() -> {
+                try {
+                    if (!deletes.isEmpty()) {
+                        repository.deleteAllById(deletes);
+                    }
+                    if (!saves.isEmpty()) {
+                        repository.saveAll(saves);
+                    }
+                } catch (Repository.RepositoryException e) {
+                    throw new SQLException(e.getMessage(), e);
+                }
+                return null;
+            });
+        }
+    }
+    
+    /**
+     * Converts ids and entities to and from journal bytes
+     */
+    public interface JournalCodec<T, ID> {
+        void writeId(DataOutput out, ID id) throws IOException;
+        ID readId(DataInput in) throws IOException;
+        void writeEntity(DataOutput out, T entity) throws IOException;
+        T readEntity(DataInput in) throws IOException;
+        
+        /**
+         * Codec for serializable ids and entities
+         */
+        static <T, ID> JournalCodec<T, ID> javaSerialization() {
+            return new JournalCodec<T, ID>() {
+                @Override
+                public void writeId(DataOutput out, ID id) throws IOException {
+                    writeObject(out, id);
+                }
+                
+                @Override
+                @SuppressWarnings("unchecked")
+                public ID readId(DataInput in) throws IOException {
+                    return (ID) readObject(in);
+                }
+                
+                @Override
+                public void writeEntity(DataOutput out, T entity) throws IOException {
+                    writeObject(out, entity);
+                }
+                
+                @Override
+                @SuppressWarnings("unchecked")
+                public T readEntity(DataInput in) throws IOException {
+                    return (T) readObject(in);
+                }
+                
+                private void writeObject(DataOutput out, Object value) throws IOException {
+                    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                    try (ObjectOutputStream objects = new ObjectOutputStream(buffer)) {
+                        objects.writeObject(value);
+                    }
+                    out.writeInt(buffer.size());
+                    out.write(buffer.toByteArray());
+                }
+                
+                private Object readObject(DataInput in) throws IOException {
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                        return objects.readObject();
+                    } catch (ClassNotFoundException e) {
+                        throw new IOException("Unknown class in journal", e);
+                    }
+                }
+            };
+        }
+    }
+    
+    /**
+     * Write-behind settings
+     */
+    public static class Config {
+        private int capacity = 10_000;
+        private int batchSize = 500;
+        private long flushIntervalMillis = 200;
+        private long maxBlockMillis = 30_000;
+        private long retryBackoffMillis = 1_000;
+        private long shutdownTimeoutMillis = 30_000;
+        private long compactJournalBytes = 64L * 1024 * 1024;
+        
+        public static Config defaultConfig() {
+            return new Config();
+        }
+        
+        /** Most dirty ids held before writers block */
+        public Config capacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Capacity must be positive");
+            }
+            this.capacity = capacity;
+            return this;
+        }
+        
+        /** Most ids written per sink call */
+        public Config batchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("Batch size must be positive");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+        
+        /** Longest a change waits for its batch to fill */
+        public Config flushInterval(long millis) {
+            this.flushIntervalMillis = millis;
+            return this;
+        }
+        
+        /** Longest a writer blocks on a full queue before failing */
+        public Config maxBlock(long millis) {
+            this.maxBlockMillis = millis;
+            return this;
+        }
+        
+        /** Pause after a failed sink call before retrying */
+        public Config retryBackoff(long millis) {
+            this.retryBackoffMillis = millis;
+            return this;
+        }
+        
+        /** Longest close waits for the last changes to be written */
+        public Config shutdownTimeout(long millis) {
+            this.shutdownTimeoutMillis = millis;
+            return this;
+        }
+        
+        /** Journal size above which it is rewritten with only the dirty ids */
+        public Config compactJournalBytes(long bytes) {
+            this.compactJournalBytes = bytes;
+            return this;
+        }
+    }
+    
+    public WriteBehindWriter(Sink<T, ID> sink, JournalCodec<T, ID> codec, Path journalPath) {
+        this(sink, codec, journalPath, Config.defaultConfig());
+    }
+    
+    public WriteBehindWriter(Sink<T, ID> sink, JournalCodec<T, ID> codec, Path journalPath, Config config) {
+        this.sink = sink;
+        this.codec = codec;
+        this.journalPath = journalPath;
+        this.config = config;
+    }
+    
+    // ==================== LIFECYCLE ====================
+    
+    /**
+     * Replay the journal into the sink, then start flushing
+     * Called by BaseRepository.enableWriteBehind
+     * @param currentValue Reads the repository's value for an id, null once deleted
+     */
+    synchronized void start(Function<ID, T> currentValue) {
+        if (flusher != null) {
+            throw new IllegalStateException("Write-behind writer is already started");
+        }
+        this.currentValue = currentValue;
+        try {
+            recoverJournal();
+            openJournal(false);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot recover write-behind journal " + journalPath, e);
+        }
+        
+        journalWriter = new Thread(this::runJournalWriter, "WriteBehindJournal-" + journalPath.getFileName());
+        journalWriter.setDaemon(true);
+        journalWriter.start();
+        
+        flusher = new Thread(this::runFlusher, "WriteBehindFlusher-" + journalPath.getFileName());
+        flusher.setDaemon(true);
+        flusher.start();
+        
+        shutdownHook = new Thread(this::close, "WriteBehindShutdown-" + journalPath.getFileName());
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+    
+    /**
+     * Write every pending change and stop the flusher
+     * Changes still unwritten after the shutdown timeout stay in the journal for the next start
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+            recordsQueued.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.shutdownTimeoutMillis);
+        for (Thread thread : new Thread[] {flusher, journalWriter}) {
+            if (thread != null) {
+                try {
+                    thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                thread.interrupt();
+            }
+        }
+        lock.lock();
+        journalLock.lock();
+        try {
+            closeJournal();
+        } finally {
+            journalLock.unlock();
+            lock.unlock();
+        }
+        if (shutdownHook != null && Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // The JVM is already shutting down and will run the hook, which finds us closed
+            }
+        }
+    }
+    
+    // ==================== WRITES ====================
+    
+    /**
+     * Block while the queue is full
+     * Called before the repository changes, so a writer that times out leaves nothing half-done
+     */
+    void awaitCapacity() {
+        lock.lock();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(config.maxBlockMillis);
+            while (dirty.size() >= config.capacity && !closed) {
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Write-behind queue full: " + dirty.size() + " ids pending");
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            ensureOpen();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the write-behind queue", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Serialize a change before the repository applies it, outside any lock
+     * If this throws, the repository must not change
+     * @param entity The saved entity, or null for a delete
+     */
+    byte[] encode(ID id, T entity) {
+        try {
+            return encodeChange(id, entity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write write-behind journal " + journalPath, e);
+        }
+    }
+    
+    /**
+     * Sequence a change; called under the repository's per-id lock, so sequences order the writes
+     * of one id, and does no I/O
+     * Every successful call must be followed by markDirty, whether or not the change was applied
+     */
+    long nextSequence() {
+        lock.lock();
+        try {
+            ensureOpen();
+            journaling++;
+            return sequence.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Queue a sequenced change's journal record and mark its id dirty once the repository holds
+     * its new value, so the flusher never reads the value from before the change; never fails,
+     * a change arriving after close is still journaled for the next start
+     * @param change The change as returned by encode
+     */
+    void markDirty(ID id, long changeSequence, byte[] change) {
+        lock.lock();
+        try {
+            queued.add(new Record(changeSequence, change));
+            recordsQueued.signal();
+            dirty.merge(id, changeSequence, Math::max);
+            if (dirty.size() >= config.batchSize) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Wait until every change made so far is in the journal and on disk
+     * @return false if the timeout passed first
+     */
+    public boolean syncJournal(long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = unit.toNanos(timeout);
+            while (journaling > 0) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = caughtUp.awaitNanos(remaining);
+            }
+            ensureOpen();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            syncJournalFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot sync write-behind journal " + journalPath, e);
+        }
+        return true;
+    }
+    
+    /**
+     * Wait until every change made so far has been written
+     * @return false if the timeout passed first
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = unit.toNanos(timeout);
+            flushRequested = true;
+            notEmpty.signal();
+            while (!dirty.isEmpty() || flushing || journaling > 0) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = caughtUp.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // ==================== JOURNAL WRITER ====================
+    
+    /**
+     * Append queued records in groups, holding only the journal lock while writing; runs until
+     * closed with every sequenced change journaled
+     */
+    private void runJournalWriter() {
+        while (true) {
+            List<Record> records;
+            lock.lock();
+            try {
+                while (queued.isEmpty()) {
+                    if (closed && journaling == 0) {
+                        return;
+                    }
+                    recordsQueued.await();
+                }
+                records = queued;
+                queued = new ArrayList<>();
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            
+            journalLock.lock();
+            try {
+                for (Record record : records) {
+                    appendRecord(record.sequence, record.change);
+                }
+                journal.flush();
+            } catch (IOException | RuntimeException e) {
+                // The changes are still dirty and reach the sink; only their crash protection is lost
+                System.err.println("Cannot write write-behind journal " + journalPath + ": " + e.getMessage());
+            } finally {
+                journalLock.unlock();
+            }
+            
+            lock.lock();
+            try {
+                journaling -= records.size();
+                if (journaling == 0) {
+                    if (dirty.isEmpty() && !flushing) {
+                        trimJournal();
+                    }
+                    caughtUp.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    // ==================== FLUSHER ====================
+    
+    private void runFlusher() {
+        while (true) {
+            Map<ID, Long> batch;
+            lock.lock();
+            try {
+                batch = awaitBatch();
+                if (batch == null) {
+                    return;
+                }
+                flushing = true;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            
+            boolean written = writeBatch(batch);
+            if (written) {
+                try {
+                    syncJournalFile();
+                } catch (IOException e) {
+                    System.err.println("Cannot sync write-behind journal " + journalPath + ": " + e.getMessage());
+                }
+            }
+            
+            lock.lock();
+            try {
+                flushing = false;
+                if (written) {
+                    writtenCount += batch.size();
+                    trimJournal();
+                } else {
+                    failedFlushCount++;
+                    // Put the ids back unless they were dirtied again meanwhile
+                    batch.forEach((id, seq) -> dirty.merge(id, seq, Math::max));
+                }
+                notFull.signalAll();
+                if (dirty.isEmpty()) {
+                    flushRequested = false;
+                    caughtUp.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+            
+            if (!written) {
+                try {
+                    Thread.sleep(config.retryBackoffMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Wait for a full batch, the flush interval, a flush request or close, then take up to
+     * batchSize dirty ids; returns null once closed with nothing left to write
+     */
+    private Map<ID, Long> awaitBatch() throws InterruptedException {
+        while (dirty.isEmpty()) {
+            if (closed) {
+                return null;
+            }
+            notEmpty.await();
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(config.flushIntervalMillis);
+        while (dirty.size() < config.batchSize && !closed && !flushRequested && remaining > 0) {
+            remaining = notEmpty.awaitNanos(remaining);
+        }
+        
+        Map<ID, Long> batch = new LinkedHashMap<>();
+        Iterator<Map.Entry<ID, Long>> entries = dirty.entrySet().iterator();
+        while (entries.hasNext() && batch.size() < config.batchSize) {
+            Map.Entry<ID, Long> entry = entries.next();
+            batch.put(entry.getKey(), entry.getValue());
+            entries.remove();
+        }
+        return batch;
+    }
+    
+    /**
+     * Write the current value of each id; read after the ids left the dirty set, so a change
+     * racing with this batch is either included or dirties its id again
+     */
+    private boolean writeBatch(Map<ID, Long> batch) {
+        List<T> saves = new ArrayList<>();
+        List<ID> deletes = new ArrayList<>();
+        for (ID id : batch.keySet()) {
+            T entity = currentValue.apply(id);
+            if (entity != null) {
+                saves.add(entity);
+            } else {
+                deletes.add(id);
+            }
+        }
+        try {
+            sink.write(saves, deletes);
+            return true;
+        } catch (Exception e) {
+            System.err.println("Write-behind flush of " + batch.size() + " ids failed: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Bring the journal records written so far to disk, holding only the journal lock
+     */
+    private void syncJournalFile() throws IOException {
+        journalLock.lock();
+        try {
+            if (journal != null) {
+                journal.flush();
+                journalFile.getFD().sync();
+            }
+        } finally {
+            journalLock.unlock();
+        }
+    }
+    
+    /**
+     * Called under the lock after a batch is written or the journal catches up: every journal record is written once no id is dirty or waiting for
+     * the journal, so the journal can be emptied; otherwise it is rewritten once it grows too
+     * large, unless a sequenced change not yet in the journal would be left out
+     */
+    private void trimJournal() {
+        if (journaling > 0) {
+            return;
+        }
+        journalLock.lock();
+        try {
+            if (journal == null) {
+                return;
+            }
+            if (dirty.isEmpty()) {
+                openJournal(true);
+            } else if (journalBytes > config.compactJournalBytes) {
+                compactJournal();
+            }
+        } catch (IOException e) {
+            System.err.println("Cannot trim write-behind journal " + journalPath + ": " + e.getMessage());
+        } finally {
+            journalLock.unlock();
+        }
+    }
+    
+    // ==================== JOURNAL ====================
+    
+    /**
+     * A sequenced change waiting for the journal thread
+     */
+    private static final class Record {
+        final long sequence;
+        final byte[] change;
+        
+        Record(long sequence, byte[] change) {
+            this.sequence = sequence;
+            this.change = change;
+        }
+    }
+    
+    /**
+     * Record: length, CRC32 of the payload, then sequence, operation, id and entity
+     * A record torn by a crash fails its length or CRC check and ends the replay
+     */
+    private void appendRecord(long changeSequence, byte[] change) throws IOException {
+        journalBytes += writeRecord(journal, changeSequence, change);
+    }
+    
+    private static int writeRecord(DataOutputStream out, long changeSequence, byte[] change) throws IOException {
+        byte[] sequenceBytes = new byte[8];
+        for (int i = 0; i < 8; i++) {
+            sequenceBytes[i] = (byte) (changeSequence >>> (56 - 8 * i));
+        }
+        CRC32 crc = new CRC32();
+        crc.update(sequenceBytes);
+        crc.update(change);
+        out.writeInt(8 + change.length);
+        out.writeInt((int) crc.getValue());
+        out.write(sequenceBytes);
+        out.write(change);
+        return 16 + change.length;
+    }
+    
+    /**
+     * Operation, id and entity of a change; the record's payload after its sequence
+     */
+    private byte[] encodeChange(ID id, T entity) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeByte(entity != null ? OP_SAVE : OP_DELETE);
+        codec.writeId(out, id);
+        if (entity != null) {
+            codec.writeEntity(out, entity);
+        }
+        out.flush();
+        return buffer.toByteArray();
+    }
+    
+    private void openJournal(boolean truncate) throws IOException {
+        closeJournal();
+        Path parent = journalPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        journalFile = new FileOutputStream(journalPath.toFile(), !truncate);
+        journal = new DataOutputStream(new BufferedOutputStream(journalFile));
+        journalBytes = journalFile.getChannel().size();
+    }
+    
+    private void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.flush();
+                journalFile.getFD().sync();
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Cannot close write-behind journal " + journalPath + ": " + e.getMessage());
+            }
+            journal = null;
+            journalFile = null;
+        }
+    }
+    
+    /**
+     * Rewrite the journal with one record per dirty id and swap it in; called under both locks
+     */
+    private void compactJournal() throws IOException {
+        Path compacted = journalPath.resolveSibling(journalPath.getFileName() + ".compact");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(compacted)))) {
+            for (Map.Entry<ID, Long> entry : dirty.entrySet()) {
+                writeRecord(out, entry.getValue(), encodeChange(entry.getKey(), currentValue.apply(entry.getKey())));
+            }
+        }
+        closeJournal();
+        Files.move(compacted, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        openJournal(false);
+    }
+    
+    /**
+     * Write the latest journaled change of every id to the sink, then empty the journal
+     */
+    private void recoverJournal() throws Exception {
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+        Map<ID, Long> sequences = new LinkedHashMap<>();
+        Map<ID, T> latest = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalPath)))) {
+            while (true) {
+                int length;
+                int checksum;
+                byte[] payload;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length < 0) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    break;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                long changeSequence = record.readLong();
+                byte op = record.readByte();
+                ID id = codec.readId(record);
+                T entity = op == OP_SAVE ? codec.readEntity(record) : null;
+                Long previous = sequences.get(id);
+                if (previous == null || previous < changeSequence) {
+                    sequences.put(id, changeSequence);
+                    latest.put(id, entity);
+                }
+                sequence.accumulateAndGet(changeSequence, Math::max);
+            }
+        }
+        
+        List<ID> ids = new ArrayList<>(sequences.keySet());
+        for (int from = 0; from < ids.size(); from += config.batchSize) {
+            List<T> saves = new ArrayList<>();
+            List<ID> deletes = new ArrayList<>();
+            for (ID id : ids.subList(from, Math.min(from + config.batchSize, ids.size()))) {
+                T entity = latest.get(id);
+                if (entity != null) {
+                    saves.add(entity);
+                } else {
+                    deletes.add(id);
+                }
+            }
+            sink.write(saves, deletes);
+        }
+        recoveredCount = ids.size();
+        Files.delete(journalPath);
+    }
+    
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Write-behind writer is closed");
+        }
+        if (journal == null) {
+            throw new IllegalStateException("Write-behind writer is not started");
+        }
+    }
+    
+    // ==================== STATISTICS ====================
+    
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return dirty.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public long getWrittenCount() {
+        lock.lock();
+        try {
+            return writtenCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public long getFailedFlushCount() {
+        lock.lock();
+        try {
+            return failedFlushCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Changes replayed from the journal when the writer started
+     */
+    public long getRecoveredCount() {
+        return recoveredCount;
+    }
+}
@@ -8,7 +8,10 @@ import models.Enrollment;
 import models.Student;
 import models.Professor;
 import interfaces.Searchable;
+import annotations.Cacheable;
+import cache.CacheManager;
 import interfaces.Reportable;
+import interfaces.EntityChangeListener;
 import interfaces.Enrollable;
 import utils.ValidationUtil;
 
@@ -36,8 +39,13 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class CourseService implements Searchable<Course>, Reportable, Enrollable {
     
+    // Namespace and tag of the @Cacheable lookups, invalidated whenever courses change.
+    // Cached results are shared between callers, so list results are unmodifiable
+    static final String CACHE_NAMESPACE = "course_queries";
+    
     // Instance fields
     private final Map<String, Course> courses;
+    private final EntityChangeListeners<Course> changeListeners;
     private final Map<String, List<Enrollment>> courseEnrollments; // courseId -> enrollments
     private final Map<String, String> courseInstructors; // courseId -> professorId
     private final Map<String, List<String>> coursePrerequisites; // courseId -> prerequisite courseIds
@@ -74,6 +82,7 @@ public class CourseService implements Searchable<Course>, Reportable, Enrollable
      */
     public CourseService() {
         this.courses = new ConcurrentHashMap<>();
+        this.changeListeners = new EntityChangeListeners<>();
         this.courseEnrollments = new ConcurrentHashMap<>();
         this.courseInstructors = new ConcurrentHashMap<>();
         this.coursePrerequisites = new ConcurrentHashMap<>();
@@ -102,6 +111,7 @@ public class CourseService implements Searchable<Course>, Reportable, Enrollable
                     enrollmentCounts.put(c.getCourseId(), 0);
                     waitlistCounts.put(c.getCourseId(), 0);
                     invalidateStatisticsCache();
+                    changeListeners.notifySaved(c);
                     return true;
                 })
                 .orElse(false);
@@ -119,6 +129,7 @@ public class CourseService implements Searchable<Course>, Reportable, Enrollable
                 .map(c -> {
                     courses.put(c.getCourseId(), c);
                     invalidateStatisticsCache();
+                    changeListeners.notifySaved(c);
                     return true;
                 })
                 .orElse(false);
@@ -141,6 +152,7 @@ public class CourseService implements Searchable<Course>, Reportable, Enrollable
                     enrollmentCounts.remove(courseId);
                     waitlistCounts.remove(courseId);
                     invalidateStatisticsCache();
+                    changeListeners.notifyRemoved(removedCourse);
                     return true;
                 })
                 .orElse(false);
@@ -678,6 +690,7 @@ public class CourseService implements Searchable<Course>, Reportable, Enrollable
     // Searchable interface implementation using functional approach
     
     @Override
+    @Cacheable(namespace = CACHE_NAMESPACE, tags = CACHE_NAMESPACE, ttl = 10, maxEntries = 500, distributed = true)
     public List<Course> search(String keyword) {
         String lowerKeyword = keyword.toLowerCase();
         Predicate<Course> matchesKeyword = course -> 
@@ -688,7 +701,7 @@ public class CourseService implements Searchable<Course>, Reportable, Enrollable
         
         return courses.values().stream()
                 .filter(matchesKeyword)
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
     }
     
     @Override
@@ -759,6 +772,7 @@ public class CourseService implements Searchable<Course>, Reportable, Enrollable
     }
     
     @Override
+    @Cacheable(namespace = CACHE_NAMESPACE, tags = CACHE_NAMESPACE, ttl = 10, maxEntries = 500, distributed = true)
     public List<String> getSearchSuggestions(String partialInput, int maxSuggestions) {
         return courses.values().stream()
                 .flatMap(course -> Arrays.stream(new String[]{
@@ -771,7 +785,7 @@ public class CourseService implements Searchable<Course>, Reportable, Enrollable
                 .filter(field -> field.toLowerCase().contains(partialInput.toLowerCase()))
                 .distinct()
                 .limit(maxSuggestions)
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
     }
     
     @Override
@@ -792,6 +806,7 @@ public class CourseService implements Searchable<Course>, Reportable, Enrollable
     }
     
     @Override
+    @Cacheable(namespace = CACHE_NAMESPACE, tags = CACHE_NAMESPACE, ttl = 10, maxEntries = 500, distributed = true)
     public long countSearchResults(String keyword) {
         return search(keyword).size();
     }
@@ -1067,10 +1082,29 @@ public class CourseService implements Searchable<Course>, Reportable, Enrollable
                LocalDateTime.now().minusMinutes(5).isBefore(lastStatisticsUpdate);
     }
     
+    /**
+     * Add a listener for the courses this service adds, updates and removes.
+     * 
+     * @param listener The change listener
+     */
+    public void addChangeListener(EntityChangeListener<Course> listener) {
+        changeListeners.add(listener);
+    }
+    
+    /**
+     * Remove a change listener.
+     * 
+     * @param listener The change listener
+     */
+    public void removeChangeListener(EntityChangeListener<Course> listener) {
+        changeListeners.remove(listener);
+    }
+    
     /**
      * Invalidate statistics cache.
      */
     private void invalidateStatisticsCache() {
         lastStatisticsUpdate = null;
+        CacheManager.getInstance().invalidateTag(CACHE_NAMESPACE);
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import models.Professor;
 import models.Course;
 import interfaces.Searchable;
 import interfaces.Reportable;
+import interfaces.EntityChangeListener;
 import utils.ValidationUtil;
 
 import java.time.LocalDateTime;
@@ -32,6 +33,7 @@ public class DepartmentService implements Searchable<Department>, Reportable {
     
     // Instance fields
     private final Map<String, Department> departments;
+    private final EntityChangeListeners<Department> changeListeners;
     private final Map<String, List<String>> departmentStudents; // departmentId -> studentIds
     private final Map<String, List<String>> departmentProfessors; // departmentId -> professorIds
     private final Map<String, List<String>> departmentCourses; // departmentId -> courseIds
@@ -46,6 +48,7 @@ public class DepartmentService implements Searchable<Department>, Reportable {
      */
     public DepartmentService() {
         this.departments = new ConcurrentHashMap<>();
+        this.changeListeners = new EntityChangeListeners<>();
         this.departmentStudents = new ConcurrentHashMap<>();
         this.departmentProfessors = new ConcurrentHashMap<>();
         this.departmentCourses = new ConcurrentHashMap<>();
@@ -77,6 +80,7 @@ public class DepartmentService implements Searchable<Department>, Reportable {
         departmentCourses.put(department.getDepartmentId(), new ArrayList<>());
         departmentBudgets.put(department.getDepartmentId(), createDefaultBudget());
         invalidateStatisticsCache();
+        changeListeners.notifySaved(department);
         
         return true;
     }
@@ -94,6 +98,7 @@ public class DepartmentService implements Searchable<Department>, Reportable {
         
         departments.put(department.getDepartmentId(), department);
         invalidateStatisticsCache();
+        changeListeners.notifySaved(department);
         return true;
     }
     
@@ -115,6 +120,7 @@ public class DepartmentService implements Searchable<Department>, Reportable {
             departmentCourses.remove(departmentId);
             departmentBudgets.remove(departmentId);
             invalidateStatisticsCache();
+            changeListeners.notifyRemoved(removed);
             return true;
         }
         return false;
@@ -1044,6 +1050,24 @@ public class DepartmentService implements Searchable<Department>, Reportable {
                LocalDateTime.now().minusMinutes(5).isBefore(lastStatisticsUpdate);
     }
     
+    /**
+     * Add a listener for the departments this service adds, updates and removes.
+     * 
+     * @param listener The change listener
+     */
+    public void addChangeListener(EntityChangeListener<Department> listener) {
+        changeListeners.add(listener);
+    }
+    
+    /**
+     * Remove a change listener.
+     * 
+     * @param listener The change listener
+     */
+    public void removeChangeListener(EntityChangeListener<Department> listener) {
+        changeListeners.remove(listener);
+    }
+    
     /**
      * Invalidate statistics cache.
      */
@@ -9,11 +9,15 @@ import models.Course;
 import interfaces.Enrollable;
 import interfaces.Searchable;
 import interfaces.Reportable;
+import utils.IdDictionary;
+import utils.IntAdjacency;
 import utils.ValidationUtil;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import java.util.function.Predicate;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -29,14 +33,20 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Thread-safe operations
  * - Enrollment workflow management
  * - Statistical analysis of enrollment data
+ * 
+ * The student, course and waitlist indices hold enrollment IDs as int codes from the service's
+ * own IdDictionary instances, in one int array per student or course, rather than lists of strings.
  */
 public class EnrollmentService implements Enrollable, Searchable<Enrollment>, Reportable {
     
     // Instance fields
     private final Map<String, Enrollment> enrollments;
-    private final Map<String, List<String>> studentEnrollments; // studentId -> enrollmentIds
-    private final Map<String, List<String>> courseEnrollments; // courseId -> enrollmentIds
-    private final Map<String, List<String>> waitlists; // courseId -> enrollmentIds
+    private final IdDictionary studentCodes;
+    private final IdDictionary courseCodes;
+    private final IdDictionary enrollmentCodes;
+    private final IntAdjacency studentEnrollments; // student code -> enrollment codes
+    private final IntAdjacency courseEnrollments; // course code -> enrollment codes
+    private final IntAdjacency waitlists; // course code -> enrollment codes, in waitlist order
     private final Map<String, Integer> courseLimits; // courseId -> enrollment limit
     private final Map<String, Set<String>> prerequisites; // courseId -> prerequisite courseIds
     
@@ -54,9 +64,12 @@ public class EnrollmentService implements Enrollable, Searchable<Enrollment>, Re
      */
     public EnrollmentService() {
         this.enrollments = new ConcurrentHashMap<>();
-        this.studentEnrollments = new ConcurrentHashMap<>();
-        this.courseEnrollments = new ConcurrentHashMap<>();
-        this.waitlists = new ConcurrentHashMap<>();
+        this.studentCodes = new IdDictionary("students");
+        this.courseCodes = new IdDictionary("courses");
+        this.enrollmentCodes = new IdDictionary("enrollments");
+        this.studentEnrollments = new IntAdjacency();
+        this.courseEnrollments = new IntAdjacency();
+        this.waitlists = new IntAdjacency();
         this.courseLimits = new ConcurrentHashMap<>();
         this.prerequisites = new ConcurrentHashMap<>();
         this.cachedStatistics = new HashMap<>();
@@ -85,8 +98,9 @@ public class EnrollmentService implements Enrollable, Searchable<Enrollment>, Re
         enrollments.put(enrollment.getEnrollmentId(), enrollment);
         
         // Update indices
-        studentEnrollments.computeIfAbsent(studentId, k -> new ArrayList<>()).add(enrollment.getEnrollmentId());
-        courseEnrollments.computeIfAbsent(courseId, k -> new ArrayList<>()).add(enrollment.getEnrollmentId());
+        int enrollmentCode = enrollmentCodes.intern(enrollment.getEnrollmentId());
+        studentEnrollments.add(studentCodes.intern(studentId), enrollmentCode);
+        courseEnrollments.add(courseCodes.intern(courseId), enrollmentCode);
         
         invalidateStatisticsCache();
         return true;
@@ -99,10 +113,8 @@ public class EnrollmentService implements Enrollable, Searchable<Enrollment>, Re
                     enrollment.dropEnrollment(reason);
                     
                     // Remove from course enrollments
-                    List<String> courseEnrollmentIds = courseEnrollments.get(courseId);
-                    if (courseEnrollmentIds != null) {
-                        courseEnrollmentIds.remove(enrollment.getEnrollmentId());
-                    }
+                    courseEnrollments.remove(courseCodes.code(courseId),
+                                             enrollmentCodes.code(enrollment.getEnrollmentId()));
                     
                     // Process waitlist
                     processWaitlist(courseId, 1);
@@ -126,8 +138,7 @@ public class EnrollmentService implements Enrollable, Searchable<Enrollment>, Re
         }
         
         // Check waitlist capacity
-        List<String> waitlistIds = waitlists.getOrDefault(courseId, new ArrayList<>());
-        if (waitlistIds.size() >= maxWaitlistSize) {
+        if (getCurrentWaitlistCount(courseId) >= maxWaitlistSize) {
             return false;
         }
         
@@ -139,8 +150,9 @@ public class EnrollmentService implements Enrollable, Searchable<Enrollment>, Re
         enrollments.put(enrollment.getEnrollmentId(), enrollment);
         
         // Update indices
-        studentEnrollments.computeIfAbsent(studentId, k -> new ArrayList<>()).add(enrollment.getEnrollmentId());
-        waitlists.computeIfAbsent(courseId, k -> new ArrayList<>()).add(enrollment.getEnrollmentId());
+        int enrollmentCode = enrollmentCodes.intern(enrollment.getEnrollmentId());
+        studentEnrollments.add(studentCodes.intern(studentId), enrollmentCode);
+        waitlists.add(courseCodes.intern(courseId), enrollmentCode);
         
         invalidateStatisticsCache();
         return true;
@@ -153,10 +165,8 @@ public class EnrollmentService implements Enrollable, Searchable<Enrollment>, Re
                     enrollment.dropEnrollment("Removed from waitlist");
                     
                     // Remove from waitlist
-                    List<String> waitlistIds = waitlists.get(courseId);
-                    if (waitlistIds != null) {
-                        waitlistIds.remove(enrollment.getEnrollmentId());
-                    }
+                    waitlists.remove(courseCodes.code(courseId),
+                                     enrollmentCodes.code(enrollment.getEnrollmentId()));
                     
                     invalidateStatisticsCache();
                     return true;
@@ -166,25 +176,23 @@ public class EnrollmentService implements Enrollable, Searchable<Enrollment>, Re
     
     @Override
     public int processWaitlist(String courseId, int numberOfStudents) {
-        List<String> waitlistIds = waitlists.getOrDefault(courseId, new ArrayList<>());
-        if (waitlistIds.isEmpty()) {
+        int courseCode = courseCodes.code(courseId);
+        int[] waitlistCodes = waitlists.toArray(courseCode);
+        if (waitlistCodes.length == 0) {
             return 0;
         }
         
         int enrolled = 0;
-        Iterator<String> iterator = waitlistIds.iterator();
-        
-        while (iterator.hasNext() && enrolled < numberOfStudents) {
-            String enrollmentId = iterator.next();
-            Enrollment enrollment = enrollments.get(enrollmentId);
+        for (int i = 0; i < waitlistCodes.length && enrolled < numberOfStudents; i++) {
+            Enrollment enrollment = enrollments.get(enrollmentCodes.id(waitlistCodes[i]));
             
             if (enrollment != null && hasAvailableSpots(courseId)) {
                 // Move from waitlist to enrolled
                 enrollment.enrollFromWaitlist();
                 
                 // Update indices
-                iterator.remove(); // Remove from waitlist
-                courseEnrollments.computeIfAbsent(courseId, k -> new ArrayList<>()).add(enrollmentId);
+                waitlists.remove(courseCode, waitlistCodes[i]);
+                courseEnrollments.add(courseCode, waitlistCodes[i]);
                 
                 enrolled++;
             }
@@ -209,17 +217,13 @@ public class EnrollmentService implements Enrollable, Searchable<Enrollment>, Re
     
     @Override
     public List<Enrollment> getStudentEnrollments(String studentId) {
-        return studentEnrollments.getOrDefault(studentId, new ArrayList<>()).stream()
-                .map(enrollments::get)
-                .filter(Objects::nonNull)
+        return resolveEnrollments(studentEnrollments.stream(studentCodes.code(studentId)))
                 .collect(Collectors.toList());
     }
     
     @Override
     public List<Enrollment> getCourseEnrollments(String courseId) {
-        return courseEnrollments.getOrDefault(courseId, new ArrayList<>()).stream()
-                .map(enrollments::get)
-                .filter(Objects::nonNull)
+        return resolveEnrollments(courseEnrollments.stream(courseCodes.code(courseId)))
                 .filter(enrollment -> enrollment.getStatus() == EnrollmentStatus.ENROLLED)
                 .collect(Collectors.toList());
     }
@@ -231,7 +235,7 @@ public class EnrollmentService implements Enrollable, Searchable<Enrollment>, Re
     
     @Override
     public int getCurrentWaitlistCount(String courseId) {
-        return waitlists.getOrDefault(courseId, new ArrayList<>()).size();
+        return waitlists.degree(courseCodes.code(courseId));
     }
     
     @Override
@@ -493,9 +497,9 @@ public class EnrollmentService implements Enrollable, Searchable<Enrollment>, Re
      * @return List of student IDs who have reached maximum enrollment limit
      */
     public List<String> getStudentsWithMaxEnrollments() {
-        return studentEnrollments.entrySet().stream()
-                .filter(entry -> getActiveEnrollmentCount(entry.getKey()) >= maxEnrollmentsPerStudent)
-                .map(Map.Entry::getKey)
+        return studentEnrollments.keys()
+                .mapToObj(studentCodes::id)
+                .filter(studentId -> getActiveEnrollmentCount(studentId) >= maxEnrollmentsPerStudent)
                 .collect(Collectors.toList());
     }
     
@@ -805,17 +809,23 @@ public class EnrollmentService implements Enrollable, Searchable<Enrollment>, Re
                 .findFirst();
     }
     
+    /**
+     * Look up the enrollments behind a stream of enrollment codes.
+     */
+    private Stream<Enrollment> resolveEnrollments(IntStream codes) {
+        return codes
+                .mapToObj(enrollmentCodes::id)
+                .map(enrollments::get)
+                .filter(Objects::nonNull);
+    }
+    
     /**
      * Get all course enrollments (including dropped, completed, etc.).
      */
     private List<Enrollment> getAllCourseEnrollments(String courseId) {
-        List<String> allEnrollmentIds = new ArrayList<>();
-        allEnrollmentIds.addAll(courseEnrollments.getOrDefault(courseId, new ArrayList<>()));
-        allEnrollmentIds.addAll(waitlists.getOrDefault(courseId, new ArrayList<>()));
+        int courseCode = courseCodes.code(courseId);
         
-        return allEnrollmentIds.stream()
-                .map(enrollments::get)
-                .filter(Objects::nonNull)
+        return resolveEnrollments(IntStream.concat(courseEnrollments.stream(courseCode), waitlists.stream(courseCode)))
                 .filter(enrollment -> courseId.equals(enrollment.getCourseId()))
                 .collect(Collectors.toList());
     }
@@ -852,9 +862,7 @@ public class EnrollmentService implements Enrollable, Searchable<Enrollment>, Re
      * Get total waitlist count across all courses.
      */
     private int getTotalWaitlistCount() {
-        return waitlists.values().stream()
-                .mapToInt(List::size)
-                .sum();
+        return (int) waitlists.edgeCount();
     }
     
     /**
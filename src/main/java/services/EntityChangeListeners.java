@@ -0,0 +1,54 @@
+// File: src/main/java/services/EntityChangeListeners.java
+package services;
+
+import interfaces.EntityChangeListener;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The change listeners registered on one service, shared by the services that report the
+ * entities they add, update and remove.
+ * A listener that throws is reported and skipped, so it cannot fail the change or keep the
+ * other listeners from being notified.
+ *
+ * @param <T> The type of entity observed
+ */
+final class EntityChangeListeners<T> {
+    
+    private final Set<EntityChangeListener<T>> listeners = ConcurrentHashMap.newKeySet();
+    
+    void add(EntityChangeListener<T> listener) {
+        listeners.add(listener);
+    }
+    
+    void remove(EntityChangeListener<T> listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Notify the listeners of an added or updated entity.
+     */
+    void notifySaved(T entity) {
+        listeners.forEach(listener -> {
+            try {
+                listener.onEntitySaved(entity);
+            } catch (Exception e) {
+                System.err.println("Error notifying change listener: " + e.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * Notify the listeners of a removed entity.
+     */
+    void notifyRemoved(T entity) {
+        listeners.forEach(listener -> {
+            try {
+                listener.onEntityRemoved(entity);
+            } catch (Exception e) {
+                System.err.println("Error notifying change listener: " + e.getMessage());
+            }
+        });
+    }
+}
@@ -6,6 +6,8 @@ import models.Grade.GradeComponent;
 import models.Grade.GradeStatus;
 import models.Enrollment;
 import interfaces.Searchable;
+import annotations.Cacheable;
+import cache.CacheManager;
 import interfaces.Reportable;
 import utils.ValidationUtil;
 
@@ -14,6 +16,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.function.Predicate;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -28,14 +31,20 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Interface implementations
  * - Thread-safe operations
  * - Performance optimization with caching
+ * 
+ * Grades are kept in a columnar GradeStore rather than as Grade objects, so large numbers of
+ * assignment grades cost a few primitive array slots each. Aggregates such as averages, GPAs and
+ * distributions read the columns directly; methods returning grades hand out copies, and a
+ * change to a returned grade takes effect once it is passed to updateGrade.
  */
 public class GradeService implements Searchable<Grade>, Reportable {
     
+    // Namespace and tag of the @Cacheable lookups, invalidated whenever grades change.
+    // Cached results are shared between callers, so list results are unmodifiable
+    static final String CACHE_NAMESPACE = "grades";
+    
     // Instance fields
-    private final Map<String, Grade> grades;
-    private final Map<String, List<String>> studentGrades; // studentId -> gradeIds
-    private final Map<String, List<String>> courseGrades; // courseId -> gradeIds
-    private final Map<String, List<String>> enrollmentGrades; // enrollmentId -> gradeIds
+    private final GradeStore gradeStore; // grades by ID, student, course and enrollment
     private final Map<String, Double> calculatedGPAs; // studentId -> GPA
     private final Map<String, Map<GradeComponent, Double>> gradeWeights; // courseId -> component weights
     
@@ -51,10 +60,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * Constructor initializing the service.
      */
     public GradeService() {
-        this.grades = new ConcurrentHashMap<>();
-        this.studentGrades = new ConcurrentHashMap<>();
-        this.courseGrades = new ConcurrentHashMap<>();
-        this.enrollmentGrades = new ConcurrentHashMap<>();
+        this.gradeStore = new GradeStore();
         this.calculatedGPAs = new ConcurrentHashMap<>();
         this.gradeWeights = new ConcurrentHashMap<>();
         this.gradeScale = initializeGradeScale();
@@ -75,17 +81,8 @@ public class GradeService implements Searchable<Grade>, Reportable {
             return false;
         }
         
-        if (grades.containsKey(grade.getGradeId())) {
-            return false; // Grade already exists
-        }
-        
-        grades.put(grade.getGradeId(), grade);
-        
-        // Update indices
-        studentGrades.computeIfAbsent(grade.getStudentId(), k -> new ArrayList<>()).add(grade.getGradeId());
-        courseGrades.computeIfAbsent(grade.getCourseId(), k -> new ArrayList<>()).add(grade.getGradeId());
-        if (grade.getEnrollmentId() != null) {
-            enrollmentGrades.computeIfAbsent(grade.getEnrollmentId(), k -> new ArrayList<>()).add(grade.getGradeId());
+        if (!gradeStore.insert(grade)) {
+            return false; // Grade already exists, or has no student or course
         }
         
         // Invalidate cached GPA
@@ -102,16 +99,18 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return true if grade was updated successfully, false otherwise
      */
     public boolean updateGrade(Grade grade) {
-        if (grade == null || !grades.containsKey(grade.getGradeId())) {
+        if (grade == null) {
             return false;
         }
         
-        Grade existingGrade = grades.get(grade.getGradeId());
-        grades.put(grade.getGradeId(), grade);
+        String previousStudentId = gradeStore.replace(grade);
+        if (previousStudentId == null) {
+            return false;
+        }
         
         // Invalidate cached GPA if student changed
-        calculatedGPAs.remove(existingGrade.getStudentId());
-        if (!existingGrade.getStudentId().equals(grade.getStudentId())) {
+        calculatedGPAs.remove(previousStudentId);
+        if (!previousStudentId.equals(grade.getStudentId())) {
             calculatedGPAs.remove(grade.getStudentId());
         }
         
@@ -130,28 +129,10 @@ public class GradeService implements Searchable<Grade>, Reportable {
             return false;
         }
         
-        Grade removed = grades.remove(gradeId);
-        if (removed != null) {
-            // Update indices
-            List<String> studentGradeIds = studentGrades.get(removed.getStudentId());
-            if (studentGradeIds != null) {
-                studentGradeIds.remove(gradeId);
-            }
-            
-            List<String> courseGradeIds = courseGrades.get(removed.getCourseId());
-            if (courseGradeIds != null) {
-                courseGradeIds.remove(gradeId);
-            }
-            
-            if (removed.getEnrollmentId() != null) {
-                List<String> enrollmentGradeIds = enrollmentGrades.get(removed.getEnrollmentId());
-                if (enrollmentGradeIds != null) {
-                    enrollmentGradeIds.remove(gradeId);
-                }
-            }
-            
+        String studentId = gradeStore.remove(gradeId);
+        if (studentId != null) {
             // Invalidate cached GPA
-            calculatedGPAs.remove(removed.getStudentId());
+            calculatedGPAs.remove(studentId);
             invalidateStatisticsCache();
             return true;
         }
@@ -162,10 +143,10 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * Get grade by ID.
      * 
      * @param gradeId The grade ID
-     * @return Optional containing the grade if found
+     * @return Optional containing a copy of the grade if found
      */
     public Optional<Grade> getGradeById(String gradeId) {
-        return Optional.ofNullable(grades.get(gradeId));
+        return Optional.ofNullable(gradeStore.get(gradeId));
     }
     
     /**
@@ -174,7 +155,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return List of all grades
      */
     public List<Grade> getAllGrades() {
-        return new ArrayList<>(grades.values());
+        return gradeStore.select(row -> true);
     }
     
     // Grade assignment and modification operations
@@ -217,10 +198,12 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return true if grade was updated successfully
      */
     public boolean updateGradePoints(String gradeId, double pointsEarned, String gradedBy, String feedback) {
-        return getGradeById(gradeId)
-                .map(grade -> {
+        return Optional.ofNullable(gradeStore.modify(gradeId, grade -> {
                     grade.gradeAssignment(pointsEarned, gradedBy, feedback);
-                    calculatedGPAs.remove(grade.getStudentId());
+                    return grade.getStudentId();
+                }))
+                .map(studentId -> {
+                    calculatedGPAs.remove(studentId);
                     invalidateStatisticsCache();
                     return true;
                 })
@@ -234,8 +217,8 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return true if submission was successful
      */
     public boolean submitAssignment(String gradeId) {
-        return getGradeById(gradeId)
-                .map(grade -> grade.submitAssignment())
+        return Optional.ofNullable(gradeStore.modify(gradeId, grade -> grade.submitAssignment()))
+                .map(this::invalidateSearchCacheIfChanged)
                 .orElse(false);
     }
     
@@ -246,8 +229,8 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return true if return was successful
      */
     public boolean returnGradedAssignment(String gradeId) {
-        return getGradeById(gradeId)
-                .map(grade -> grade.returnToStudent())
+        return Optional.ofNullable(gradeStore.modify(gradeId, grade -> grade.returnToStudent()))
+                .map(this::invalidateSearchCacheIfChanged)
                 .orElse(false);
     }
     
@@ -259,8 +242,8 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return true if excuse was successful
      */
     public boolean excuseAssignment(String gradeId, String reason) {
-        return getGradeById(gradeId)
-                .map(grade -> grade.excuseAssignment(reason))
+        return Optional.ofNullable(gradeStore.modify(gradeId, grade -> grade.excuseAssignment(reason)))
+                .map(this::invalidateSearchCacheIfChanged)
                 .orElse(false);
     }
     
@@ -273,9 +256,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return List of grades for the student
      */
     public List<Grade> getStudentGrades(String studentId) {
-        return studentGrades.getOrDefault(studentId, new ArrayList<>()).stream()
-                .map(grades::get)
-                .filter(Objects::nonNull)
+        return gradeStore.select(GradeStore.BY_STUDENT, studentId, row -> true).stream()
                 .sorted(Comparator.comparing(Grade::getDateAssigned))
                 .collect(Collectors.toList());
     }
@@ -287,9 +268,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return List of grades for the course
      */
     public List<Grade> getCourseGrades(String courseId) {
-        return courseGrades.getOrDefault(courseId, new ArrayList<>()).stream()
-                .map(grades::get)
-                .filter(Objects::nonNull)
+        return gradeStore.select(GradeStore.BY_COURSE, courseId, row -> true).stream()
                 .sorted(Comparator.comparing(Grade::getStudentId)
                        .thenComparing(Grade::getAssignmentName))
                 .collect(Collectors.toList());
@@ -302,9 +281,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return List of grades with the specified status
      */
     public List<Grade> getGradesByStatus(GradeStatus status) {
-        return grades.values().stream()
-                .filter(grade -> grade.getStatus() == status)
-                .collect(Collectors.toList());
+        return gradeStore.select(row -> gradeStore.status(row) == status);
     }
     
     /**
@@ -314,9 +291,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return List of grades of the specified component type
      */
     public List<Grade> getGradesByComponent(GradeComponent component) {
-        return grades.values().stream()
-                .filter(grade -> grade.getComponent() == component)
-                .collect(Collectors.toList());
+        return gradeStore.select(row -> gradeStore.component(row) == component);
     }
     
     /**
@@ -325,9 +300,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return List of grades below passing threshold
      */
     public List<Grade> getFailingGrades() {
-        return grades.values().stream()
-                .filter(grade -> grade.getPercentage() >= 0 && grade.getPercentage() < passingGrade)
-                .collect(Collectors.toList());
+        return gradeStore.select(this::isFailing);
     }
     
     /**
@@ -337,8 +310,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return List of grades above the threshold
      */
     public List<Grade> getHighPerformingGrades(double threshold) {
-        return grades.values().stream()
-                .filter(grade -> grade.getPercentage() >= threshold)
+        return gradeStore.select(row -> gradeStore.percentage(row) >= threshold).stream()
                 .sorted(Comparator.comparingDouble(Grade::getPercentage).reversed())
                 .collect(Collectors.toList());
     }
@@ -349,9 +321,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return List of grades for overdue assignments
      */
     public List<Grade> getOverdueAssignments() {
-        return grades.values().stream()
-                .filter(Grade::isOverdue)
-                .collect(Collectors.toList());
+        return gradeStore.select(gradeStore.overdueAt(LocalDateTime.now()));
     }
     
     /**
@@ -360,10 +330,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return List of grades that need to be graded
      */
     public List<Grade> getGradesPendingReview() {
-        return grades.values().stream()
-                .filter(grade -> grade.getStatus() == GradeStatus.SUBMITTED || 
-                               grade.getStatus() == GradeStatus.LATE)
-                .collect(Collectors.toList());
+        return gradeStore.select(this::isPendingReview);
     }
     
     // GPA and statistical calculations using Stream API
@@ -385,11 +352,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return The average grade percentage for the course
      */
     public OptionalDouble calculateCourseAverage(String courseId) {
-        return getCourseGrades(courseId).stream()
-                .filter(grade -> grade.getPercentage() >= 0)
-                .filter(Grade::countsTowardFinalGrade)
-                .mapToDouble(Grade::getPercentage)
-                .average();
+        return gradeStore.percentages(GradeStore.BY_COURSE, courseId, this::isCounted).average();
     }
     
     /**
@@ -400,24 +363,30 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return The weighted course grade
      */
     public OptionalDouble calculateWeightedCourseGrade(String studentId, String courseId) {
-        List<Grade> studentCourseGrades = getStudentGrades(studentId).stream()
-                .filter(grade -> courseId.equals(grade.getCourseId()))
-                .filter(Grade::countsTowardFinalGrade)
-                .collect(Collectors.toList());
+        // Sum percentages per component over the student's counted grades in the course
+        double[] componentSums = new double[GradeComponent.values().length];
+        int[] componentCounts = new int[componentSums.length];
+        gradeStore.forEach(GradeStore.BY_STUDENT, studentId, row -> {
+            GradeComponent component = gradeStore.component(row);
+            if (component != null && courseId.equals(gradeStore.courseId(row)) && gradeStore.countsTowardFinalGrade(row)) {
+                componentSums[component.ordinal()] += gradeStore.percentage(row);
+                componentCounts[component.ordinal()]++;
+            }
+        });
         
-        if (studentCourseGrades.isEmpty()) {
+        Map<GradeComponent, Double> componentAverages = new EnumMap<>(GradeComponent.class);
+        for (GradeComponent component : GradeComponent.values()) {
+            if (componentCounts[component.ordinal()] > 0) {
+                componentAverages.put(component, componentSums[component.ordinal()] / componentCounts[component.ordinal()]);
+            }
+        }
+        
+        if (componentAverages.isEmpty()) {
             return OptionalDouble.empty();
         }
         
         Map<GradeComponent, Double> weights = gradeWeights.getOrDefault(courseId, getDefaultWeights());
         
-        // Group grades by component and calculate weighted average
-        Map<GradeComponent, Double> componentAverages = studentCourseGrades.stream()
-                .collect(Collectors.groupingBy(
-                    Grade::getComponent,
-                    Collectors.averagingDouble(Grade::getPercentage)
-                ));
-        
         double weightedSum = componentAverages.entrySet().stream()
                 .mapToDouble(entry -> entry.getValue() * weights.getOrDefault(entry.getKey(), 0.0))
                 .sum();
@@ -455,13 +424,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return Map of letter grades to count
      */
     public Map<String, Long> getGradeDistribution(String courseId) {
-        return getCourseGrades(courseId).stream()
-                .filter(grade -> grade.getLetterGrade() != null)
-                .filter(Grade::countsTowardFinalGrade)
-                .collect(Collectors.groupingBy(
-                    Grade::getLetterGrade,
-                    Collectors.counting()
-                ));
+        return gradeStore.letterGradeCounts(GradeStore.BY_COURSE, courseId, gradeStore::countsTowardFinalGrade);
     }
     
     /**
@@ -471,32 +434,21 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return Map containing grade statistics
      */
     public Map<String, Object> getCourseGradeStatistics(String courseId) {
-        List<Grade> courseGrades = getCourseGrades(courseId).stream()
-                .filter(grade -> grade.getPercentage() >= 0)
-                .filter(Grade::countsTowardFinalGrade)
-                .collect(Collectors.toList());
+        double[] percentages = gradeStore.percentages(GradeStore.BY_COURSE, courseId, this::isCounted).toArray();
         
-        if (courseGrades.isEmpty()) {
+        if (percentages.length == 0) {
             return Map.of();
         }
         
-        DoubleSummaryStatistics stats = courseGrades.stream()
-                .mapToDouble(Grade::getPercentage)
-                .summaryStatistics();
+        DoubleSummaryStatistics stats = Arrays.stream(percentages).summaryStatistics();
         
         Map<String, Object> statistics = new HashMap<>();
-        statistics.put("count", courseGrades.size());
+        statistics.put("count", percentages.length);
         statistics.put("average", stats.getAverage());
         statistics.put("min", stats.getMin());
         statistics.put("max", stats.getMax());
-        statistics.put("median", calculateMedian(courseGrades.stream()
-                .mapToDouble(Grade::getPercentage)
-                .boxed()
-                .collect(Collectors.toList())));
-        statistics.put("standardDeviation", calculateStandardDeviation(courseGrades.stream()
-                .mapToDouble(Grade::getPercentage)
-                .boxed()
-                .collect(Collectors.toList())));
+        statistics.put("median", calculateMedian(percentages));
+        statistics.put("standardDeviation", calculateStandardDeviation(percentages));
         statistics.put("gradeDistribution", getGradeDistribution(courseId));
         
         return statistics;
@@ -512,29 +464,22 @@ public class GradeService implements Searchable<Grade>, Reportable {
             return new HashMap<>(cachedStatistics);
         }
         
-        List<Grade> validGrades = grades.values().stream()
-                .filter(grade -> grade.getPercentage() >= 0)
-                .filter(Grade::countsTowardFinalGrade)
-                .collect(Collectors.toList());
+        DoubleSummaryStatistics gradeStats = gradeStore.percentages(this::isCounted).summaryStatistics();
         
         Map<String, Object> statistics = new HashMap<>();
         
-        if (!validGrades.isEmpty()) {
-            DoubleSummaryStatistics gradeStats = validGrades.stream()
-                    .mapToDouble(Grade::getPercentage)
-                    .summaryStatistics();
-            
-            statistics.put("totalGrades", grades.size());
-            statistics.put("validGrades", validGrades.size());
+        if (gradeStats.getCount() > 0) {
+            statistics.put("totalGrades", gradeStore.size());
+            statistics.put("validGrades", (int) gradeStats.getCount());
             statistics.put("averageGrade", gradeStats.getAverage());
             statistics.put("minGrade", gradeStats.getMin());
             statistics.put("maxGrade", gradeStats.getMax());
             statistics.put("gradesByStatus", getGradeStatisticsByStatus());
             statistics.put("gradesByComponent", getGradeStatisticsByComponent());
             statistics.put("overallGradeDistribution", getOverallGradeDistribution());
-            statistics.put("failingGradeCount", getFailingGrades().size());
-            statistics.put("overdueAssignmentCount", getOverdueAssignments().size());
-            statistics.put("pendingReviewCount", getGradesPendingReview().size());
+            statistics.put("failingGradeCount", (int) gradeStore.count(this::isFailing));
+            statistics.put("overdueAssignmentCount", (int) gradeStore.count(gradeStore.overdueAt(LocalDateTime.now())));
+            statistics.put("pendingReviewCount", (int) gradeStore.count(this::isPendingReview));
             statistics.put("completionRate", calculateCompletionRate());
         }
         
@@ -553,11 +498,14 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return Map of grade status to count
      */
     public Map<GradeStatus, Long> getGradeStatisticsByStatus() {
-        return grades.values().stream()
-                .collect(Collectors.groupingBy(
-                    Grade::getStatus,
-                    Collectors.counting()
-                ));
+        long[] counts = new long[GradeStatus.values().length];
+        gradeStore.forEach(row -> {
+            GradeStatus status = gradeStore.status(row);
+            if (status != null) {
+                counts[status.ordinal()]++;
+            }
+        });
+        return toCountMap(GradeStatus.values(), counts);
     }
     
     /**
@@ -566,11 +514,14 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return Map of grade component to count
      */
     public Map<GradeComponent, Long> getGradeStatisticsByComponent() {
-        return grades.values().stream()
-                .collect(Collectors.groupingBy(
-                    Grade::getComponent,
-                    Collectors.counting()
-                ));
+        long[] counts = new long[GradeComponent.values().length];
+        gradeStore.forEach(row -> {
+            GradeComponent component = gradeStore.component(row);
+            if (component != null) {
+                counts[component.ordinal()]++;
+            }
+        });
+        return toCountMap(GradeComponent.values(), counts);
     }
     
     /**
@@ -579,13 +530,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return Map of letter grades to count
      */
     public Map<String, Long> getOverallGradeDistribution() {
-        return grades.values().stream()
-                .filter(grade -> grade.getLetterGrade() != null)
-                .filter(Grade::countsTowardFinalGrade)
-                .collect(Collectors.groupingBy(
-                    Grade::getLetterGrade,
-                    Collectors.counting()
-                ));
+        return gradeStore.letterGradeCounts(gradeStore::countsTowardFinalGrade);
     }
     
     /**
@@ -595,19 +540,10 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return List of student IDs at risk
      */
     public List<String> getStudentsAtRisk(double threshold) {
-        return studentGrades.entrySet().stream()
-                .filter(entry -> {
-                    double averageGrade = entry.getValue().stream()
-                            .map(grades::get)
-                            .filter(Objects::nonNull)
-                            .filter(grade -> grade.getPercentage() >= 0)
-                            .filter(Grade::countsTowardFinalGrade)
-                            .mapToDouble(Grade::getPercentage)
-                            .average()
-                            .orElse(100.0);
-                    return averageGrade < threshold;
-                })
-                .map(Map.Entry::getKey)
+        return gradeStore.keys(GradeStore.BY_STUDENT).stream()
+                .filter(studentId -> gradeStore.percentages(GradeStore.BY_STUDENT, studentId, this::isCounted)
+                        .average()
+                        .orElse(100.0) < threshold)
                 .collect(Collectors.toList());
     }
     
@@ -618,7 +554,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * @return List of top N student IDs by GPA
      */
     public List<String> getTopPerformers(int n) {
-        return studentGrades.keySet().stream()
+        return gradeStore.keys(GradeStore.BY_STUDENT).stream()
                 .sorted(Comparator.comparingDouble(this::calculateStudentGPA).reversed())
                 .limit(n)
                 .collect(Collectors.toList());
@@ -627,22 +563,21 @@ public class GradeService implements Searchable<Grade>, Reportable {
     // Searchable interface implementation
     
     @Override
+    @Cacheable(namespace = CACHE_NAMESPACE, tags = CACHE_NAMESPACE, ttl = 10, maxEntries = 500, distributed = true)
     public List<Grade> search(String keyword) {
-        return grades.values().stream()
-                .filter(grade -> matchesKeyword(grade, keyword.toLowerCase()))
-                .collect(Collectors.toList());
+        return Collections.unmodifiableList(gradeStore.select(keywordFilter(keyword.toLowerCase())));
     }
     
     @Override
     public List<Grade> search(Map<String, SearchCriterion> searchCriteria) {
-        return grades.values().stream()
+        return getAllGrades().stream()
                 .filter(grade -> matchesSearchCriteria(grade, searchCriteria))
                 .collect(Collectors.toList());
     }
     
     @Override
     public List<Grade> search(Predicate<Grade> predicate) {
-        return grades.values().stream()
+        return getAllGrades().stream()
                 .filter(predicate)
                 .collect(Collectors.toList());
     }
@@ -696,8 +631,9 @@ public class GradeService implements Searchable<Grade>, Reportable {
     }
     
     @Override
+    @Cacheable(namespace = CACHE_NAMESPACE, tags = CACHE_NAMESPACE, ttl = 10, maxEntries = 500, distributed = true, compress = true)
     public List<String> getSearchSuggestions(String partialInput, int maxSuggestions) {
-        return grades.values().stream()
+        return getAllGrades().stream()
                 .flatMap(grade -> Arrays.stream(new String[]{
                     grade.getStudentId(),
                     grade.getCourseId(),
@@ -710,7 +646,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
                 .filter(field -> field.toLowerCase().contains(partialInput.toLowerCase()))
                 .distinct()
                 .limit(maxSuggestions)
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
     }
     
     @Override
@@ -731,6 +667,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
     }
     
     @Override
+    @Cacheable(namespace = CACHE_NAMESPACE, tags = CACHE_NAMESPACE, ttl = 10, maxEntries = 500, distributed = true)
     public long countSearchResults(String keyword) {
         return search(keyword).size();
     }
@@ -817,23 +754,21 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * Compute GPA for student using functional approach.
      */
     private double computeGPA(String studentId) {
-        List<Grade> studentCourseGrades = getStudentGrades(studentId);
-        
-        if (studentCourseGrades.isEmpty()) {
-            return 0.0;
-        }
+        // Sum and count percentages per course over the student's counted grades
+        Map<String, double[]> courseTotals = new HashMap<>();
+        gradeStore.forEach(GradeStore.BY_STUDENT, studentId, row -> {
+            if (gradeStore.countsTowardFinalGrade(row)) {
+                double[] totals = courseTotals.computeIfAbsent(gradeStore.courseId(row), k -> new double[2]);
+                totals[0] += gradeStore.percentage(row);
+                totals[1]++;
+            }
+        });
         
-        // Group by course and calculate course averages
-        Map<String, OptionalDouble> courseAverages = studentCourseGrades.stream()
-                .filter(Grade::countsTowardFinalGrade)
-                .collect(Collectors.groupingBy(
-                    Grade::getCourseId,
-                    Collectors.averagingDouble(Grade::getPercentage)
-                ))
-                .entrySet().stream()
+        // Calculate course averages
+        Map<String, OptionalDouble> courseAverages = courseTotals.entrySet().stream()
                 .collect(Collectors.toMap(
                     Map.Entry::getKey,
-                    entry -> OptionalDouble.of(entry.getValue())
+                    entry -> OptionalDouble.of(entry.getValue()[0] / entry.getValue()[1])
                 ));
         
         // Convert course averages to GPA points and calculate overall GPA
@@ -902,32 +837,31 @@ public class GradeService implements Searchable<Grade>, Reportable {
     }
     
     /**
-     * Calculate median from list of doubles.
+     * Calculate median from an array of doubles.
      */
-    private double calculateMedian(List<Double> values) {
-        if (values.isEmpty()) return 0.0;
+    private double calculateMedian(double[] values) {
+        if (values.length == 0) return 0.0;
         
-        List<Double> sorted = values.stream()
-                .sorted()
-                .collect(Collectors.toList());
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
         
-        int size = sorted.size();
+        int size = sorted.length;
         if (size % 2 == 0) {
-            return (sorted.get(size / 2 - 1) + sorted.get(size / 2)) / 2.0;
+            return (sorted[size / 2 - 1] + sorted[size / 2]) / 2.0;
         } else {
-            return sorted.get(size / 2);
+            return sorted[size / 2];
         }
     }
     
     /**
      * Calculate standard deviation.
      */
-    private double calculateStandardDeviation(List<Double> values) {
-        if (values.size() <= 1) return 0.0;
+    private double calculateStandardDeviation(double[] values) {
+        if (values.length <= 1) return 0.0;
         
-        double mean = values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-        double variance = values.stream()
-                .mapToDouble(value -> Math.pow(value - mean, 2))
+        double mean = Arrays.stream(values).average().orElse(0.0);
+        double variance = Arrays.stream(values)
+                .map(value -> Math.pow(value - mean, 2))
                 .average()
                 .orElse(0.0);
         
@@ -938,25 +872,70 @@ public class GradeService implements Searchable<Grade>, Reportable {
      * Calculate completion rate.
      */
     private double calculateCompletionRate() {
-        long totalGrades = grades.size();
-        long completedGrades = grades.values().stream()
-                .filter(grade -> grade.getStatus() == GradeStatus.GRADED || 
-                               grade.getStatus() == GradeStatus.RETURNED)
-                .count();
+        long totalGrades = gradeStore.size();
+        long completedGrades = gradeStore.count(row -> gradeStore.status(row) == GradeStatus.GRADED || 
+                                                      gradeStore.status(row) == GradeStatus.RETURNED);
         
         return totalGrades > 0 ? (completedGrades * 100.0) / totalGrades : 0.0;
     }
     
     /**
-     * Check if grade matches keyword.
+     * Build a row filter for grades matching a keyword.
+     * Student and course IDs are tested once per distinct ID, components and statuses once per constant.
      */
-    private boolean matchesKeyword(Grade grade, String keyword) {
-        return grade.getStudentId().toLowerCase().contains(keyword) ||
-               grade.getCourseId().toLowerCase().contains(keyword) ||
-               grade.getAssignmentName().toLowerCase().contains(keyword) ||
-               grade.getComponent().toString().toLowerCase().contains(keyword) ||
-               grade.getStatus().toString().toLowerCase().contains(keyword) ||
-               (grade.getLetterGrade() != null && grade.getLetterGrade().toLowerCase().contains(keyword));
+    private IntPredicate keywordFilter(String keyword) {
+        Predicate<String> containsKeyword = value -> value.toLowerCase().contains(keyword);
+        IntPredicate studentMatches = gradeStore.matching(GradeStore.BY_STUDENT, containsKeyword);
+        IntPredicate courseMatches = gradeStore.matching(GradeStore.BY_COURSE, containsKeyword);
+        Set<GradeComponent> matchingComponents = Arrays.stream(GradeComponent.values())
+                .filter(component -> containsKeyword.test(component.toString()))
+                .collect(Collectors.toSet());
+        Set<GradeStatus> matchingStatuses = Arrays.stream(GradeStatus.values())
+                .filter(status -> containsKeyword.test(status.toString()))
+                .collect(Collectors.toSet());
+        
+        return row -> studentMatches.test(row) ||
+                      courseMatches.test(row) ||
+                      (gradeStore.assignmentName(row) != null && containsKeyword.test(gradeStore.assignmentName(row))) ||
+                      matchingComponents.contains(gradeStore.component(row)) ||
+                      matchingStatuses.contains(gradeStore.status(row)) ||
+                      (gradeStore.letterGrade(row) != null && containsKeyword.test(gradeStore.letterGrade(row)));
+    }
+    
+    /**
+     * Check if a grade row is below the passing grade; ungraded rows count at 0%.
+     */
+    private boolean isFailing(int row) {
+        double percentage = gradeStore.percentage(row);
+        return percentage >= 0 && percentage < passingGrade;
+    }
+    
+    /**
+     * Check if a grade row has a percentage that counts toward the final grade.
+     */
+    private boolean isCounted(int row) {
+        return gradeStore.percentage(row) >= 0 && gradeStore.countsTowardFinalGrade(row);
+    }
+    
+    /**
+     * Check if a grade row is waiting to be graded.
+     */
+    private boolean isPendingReview(int row) {
+        GradeStatus status = gradeStore.status(row);
+        return status == GradeStatus.SUBMITTED || status == GradeStatus.LATE;
+    }
+    
+    /**
+     * Turn counts indexed by enum ordinal into a map of the non-zero counts.
+     */
+    private static <E extends Enum<E>> Map<E, Long> toCountMap(E[] constants, long[] counts) {
+        Map<E, Long> countMap = new HashMap<>();
+        for (E constant : constants) {
+            if (counts[constant.ordinal()] > 0) {
+                countMap.put(constant, counts[constant.ordinal()]);
+            }
+        }
+        return countMap;
     }
     
     /**
@@ -1049,7 +1028,8 @@ public class GradeService implements Searchable<Grade>, Reportable {
         List<String> columns = Arrays.asList("Grade ID", "Student ID", "Course ID", "Assignment", "Component", 
                                            "Points", "Percentage", "Letter Grade", "Status", "Date");
         
-        List<Map<String, Object>> rows = grades.values().stream()
+        List<Grade> allGrades = getAllGrades();
+        List<Map<String, Object>> rows = allGrades.stream()
                 .map(grade -> {
                     Map<String, Object> row = new HashMap<>();
                     row.put("Grade ID", grade.getGradeId());
@@ -1067,7 +1047,7 @@ public class GradeService implements Searchable<Grade>, Reportable {
                 .collect(Collectors.toList());
         
         return new ReportData(reportId, ReportType.GRADE_REPORT, "Grade Report", 
-                            columns, rows, Map.of("totalGrades", grades.size()));
+                            columns, rows, Map.of("totalGrades", allGrades.size()));
     }
     
     /**
@@ -1076,25 +1056,20 @@ public class GradeService implements Searchable<Grade>, Reportable {
     private ReportData generatePerformanceReport(String reportId, Map<String, Object> parameters) {
         List<String> columns = Arrays.asList("Student ID", "Course Count", "Average Grade", "GPA", "Status");
         
-        List<Map<String, Object>> rows = studentGrades.entrySet().stream()
-                .map(entry -> {
-                    String studentId = entry.getKey();
-                    List<Grade> studentGradeList = entry.getValue().stream()
-                            .map(grades::get)
-                            .filter(Objects::nonNull)
-                            .filter(Grade::countsTowardFinalGrade)
-                            .collect(Collectors.toList());
+        List<Map<String, Object>> rows = gradeStore.keys(GradeStore.BY_STUDENT).stream()
+                .map(studentId -> {
+                    Set<String> courseIds = new HashSet<>();
+                    gradeStore.forEach(GradeStore.BY_STUDENT, studentId, gradeRow -> {
+                        if (gradeStore.countsTowardFinalGrade(gradeRow)) {
+                            courseIds.add(gradeStore.courseId(gradeRow));
+                        }
+                    });
                     
                     Map<String, Object> row = new HashMap<>();
                     row.put("Student ID", studentId);
-                    row.put("Course Count", studentGradeList.stream()
-                            .map(Grade::getCourseId)
-                            .distinct()
-                            .count());
+                    row.put("Course Count", (long) courseIds.size());
                     
-                    double avgGrade = studentGradeList.stream()
-                            .filter(grade -> grade.getPercentage() >= 0)
-                            .mapToDouble(Grade::getPercentage)
+                    double avgGrade = gradeStore.percentages(GradeStore.BY_STUDENT, studentId, this::isCounted)
                             .average()
                             .orElse(0.0);
                     
@@ -1129,10 +1104,21 @@ public class GradeService implements Searchable<Grade>, Reportable {
                LocalDateTime.now().minusMinutes(5).isBefore(lastStatisticsUpdate);
     }
     
+    /**
+     * Invalidate cached search results after a grade status change.
+     */
+    private boolean invalidateSearchCacheIfChanged(boolean changed) {
+        if (changed) {
+            CacheManager.getInstance().invalidateTag(CACHE_NAMESPACE);
+        }
+        return changed;
+    }
+    
     /**
      * Invalidate statistics cache.
      */
     private void invalidateStatisticsCache() {
         lastStatisticsUpdate = null;
+        CacheManager.getInstance().invalidateTag(CACHE_NAMESPACE);
     }
 }
\ No newline at end of file
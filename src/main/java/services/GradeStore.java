@@ -0,0 +1,766 @@
+// File: src/main/java/services/GradeStore.java
+package services;
+
+import models.Grade;
+import models.Grade.GradeComponent;
+import models.Grade.GradeStatus;
+import utils.IdDictionary;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.DoubleStream;
+
+/**
+ * Columnar storage for the grades held by GradeService.
+ * Each grade is a row spread over primitive arrays: points and weights as doubles, dates as
+ * epoch microseconds, component and status as enum ordinals in bytes, and every repeated string
+ * as an int code into one of the store's dictionaries: one each for student, course and enrollment
+ * IDs, and one for assignment, grader and semester strings.
+ * Rows are linked per student, course and enrollment through int arrays, so the store keeps no
+ * per-grade objects at all; a Grade is only built when one is handed out.
+ *
+ * Grades going in and coming out are copies. A change made to a returned Grade is not seen by
+ * the store until it is written back with replace() or made inside modify().
+ *
+ * Row accessors such as percentage(row) may only be called from inside the callbacks of
+ * select(), forEach() and percentages(), which run under the read lock. Callbacks must not
+ * write to the store.
+ */
+final class GradeStore {
+    
+    // Keyed columns, each with its own dictionary and list of rows per key
+    static final int BY_STUDENT = 0;
+    static final int BY_COURSE = 1;
+    static final int BY_ENROLLMENT = 2;
+    
+    private static final int KEYED_COLUMNS = 3;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NONE = IdDictionary.NO_CODE;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final byte EXTRA_CREDIT = 1;
+    private static final byte DROPPED = 2;
+    
+    private static final GradeComponent[] COMPONENTS = GradeComponent.values();
+    private static final GradeStatus[] STATUSES = GradeStatus.values();
+    
+    // Letter grade cut-offs, matching Grade's own conversion
+    private static final double[] LETTER_CUTOFFS = {97, 93, 90, 87, 83, 80, 77, 73, 70, 67, 63, 60};
+    private static final String[] LETTERS = {"A+", "A", "A-", "B+", "B", "B-", "C+", "C", "C-", "D+", "D", "D-", "F"};
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // Dictionaries: one per keyed column, and one for the other repeated strings
+    private final IdDictionary[] keys = {
+        new IdDictionary("students"), new IdDictionary("courses"), new IdDictionary("enrollments")
+    };
+    private final IdDictionary labels = new IdDictionary("grade labels");
+    
+    // Columns
+    private String[] gradeIds;
+    private final int[][] keyCodes = new int[KEYED_COLUMNS][];
+    private int[] assignmentIds;
+    private int[] assignmentNames;
+    private int[] gradedBy;
+    private int[] semesters;
+    private byte[] components;
+    private byte[] statuses;
+    private byte[] flags;
+    private double[] pointsEarned;
+    private double[] pointsPossible;
+    private double[] weights;
+    private int[] attemptNumbers;
+    private int[] years;
+    private long[] dateAssigned;
+    private long[] dateDue;
+    private long[] dateSubmitted;
+    private long[] dateGraded;
+    private long[] lastModified;
+    private String[] feedback;
+    private String[] rubrics;
+    private String[] notes;
+    
+    // Doubly linked row lists per key; free rows are chained through next[BY_STUDENT]
+    private final int[][] heads = new int[KEYED_COLUMNS][];
+    private final int[][] next = new int[KEYED_COLUMNS][];
+    private final int[][] previous = new int[KEYED_COLUMNS][];
+    private int freeRow = NONE;
+    
+    private final StringIndex rowIndex = new StringIndex(row -> gradeIds[row]);
+    private int rowCount;
+    private int size;
+    
+    GradeStore() {
+        allocate(INITIAL_CAPACITY);
+        for (int column = 0; column < KEYED_COLUMNS; column++) {
+            heads[column] = new int[64];
+            Arrays.fill(heads[column], NONE);
+        }
+    }
+    
+    // ==================== WRITES ====================
+    
+    /**
+     * Add a grade as a new row.
+     *
+     * @param grade The grade, which needs an ID, a student and a course
+     * @return false if the grade is incomplete or its ID is already stored
+     */
+    boolean insert(Grade grade) {
+        if (!isStorable(grade)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            if (rowIndex.get(grade.getGradeId()) != NONE) {
+                return false;
+            }
+            int row = allocateRow();
+            gradeIds[row] = grade.getGradeId();
+            write(row, grade);
+            rowIndex.put(grade.getGradeId(), row);
+            size++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Overwrite the stored row of a grade.
+     *
+     * @param grade The new grade data
+     * @return the student ID the row had before, or null if the grade is not stored or incomplete
+     */
+    String replace(Grade grade) {
+        if (!isStorable(grade)) {
+            return null;
+        }
+        lock.writeLock().lock();
+        try {
+            int row = rowIndex.get(grade.getGradeId());
+            if (row == NONE) {
+                return null;
+            }
+            String previousStudentId = keys[BY_STUDENT].id(keyCodes[BY_STUDENT][row]);
+            write(row, grade);
+            return previousStudentId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Apply a change to a stored grade and write the result back in one step.
+     *
+     * @param gradeId The grade ID
+     * @param mutation Change applied to a copy of the grade; a copy whose ID was changed or whose
+     *                 student or course was cleared is not written back
+     * @return the mutation's result, or null if the grade is not stored
+     */
+    <R> R modify(String gradeId, Function<Grade, R> mutation) {
+        if (gradeId == null) {
+            return null;
+        }
+        lock.writeLock().lock();
+        try {
+            int row = rowIndex.get(gradeId);
+            if (row == NONE) {
+                return null;
+            }
+            Grade grade = materialize(row);
+            R result = mutation.apply(grade);
+            if (isStorable(grade) && gradeId.equals(grade.getGradeId())) {
+                write(row, grade);
+            }
+            return result;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Remove a grade.
+     *
+     * @param gradeId The grade ID
+     * @return the student ID of the removed grade, or null if it was not stored
+     */
+    String remove(String gradeId) {
+        if (gradeId == null) {
+            return null;
+        }
+        lock.writeLock().lock();
+        try {
+            int row = rowIndex.get(gradeId);
+            if (row == NONE) {
+                return null;
+            }
+            String studentId = keys[BY_STUDENT].id(keyCodes[BY_STUDENT][row]);
+            rowIndex.remove(gradeId);
+            for (int column = 0; column < KEYED_COLUMNS; column++) {
+                unlink(column, row);
+            }
+            gradeIds[row] = null;
+            feedback[row] = null;
+            rubrics[row] = null;
+            notes[row] = null;
+            next[BY_STUDENT][row] = freeRow;
+            freeRow = row;
+            size--;
+            return studentId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // ==================== READS ====================
+    
+    /**
+     * Get a copy of a stored grade.
+     */
+    Grade get(String gradeId) {
+        if (gradeId == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            int row = rowIndex.get(gradeId);
+            return row == NONE ? null : materialize(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Copy out the grades whose rows pass a filter.
+     */
+    List<Grade> select(IntPredicate filter) {
+        List<Grade> selected = new ArrayList<>();
+        forEach(row -> {
+            if (filter.test(row)) {
+                selected.add(materialize(row));
+            }
+        });
+        return selected;
+    }
+    
+    /**
+     * Copy out the grades of one student, course or enrollment whose rows pass a filter.
+     */
+    List<Grade> select(int column, String key, IntPredicate filter) {
+        List<Grade> selected = new ArrayList<>();
+        forEach(column, key, row -> {
+            if (filter.test(row)) {
+                selected.add(materialize(row));
+            }
+        });
+        return selected;
+    }
+    
+    /**
+     * Visit every row under the read lock.
+     */
+    void forEach(IntConsumer action) {
+        lock.readLock().lock();
+        try {
+            for (int row = 0; row < rowCount; row++) {
+                if (gradeIds[row] != null) {
+                    action.accept(row);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Visit the rows of one student, course or enrollment under the read lock.
+     */
+    void forEach(int column, String key, IntConsumer action) {
+        lock.readLock().lock();
+        try {
+            int code = keys[column].code(key);
+            for (int row = code == NONE ? NONE : heads[column][code]; row != NONE; row = next[column][row]) {
+                action.accept(row);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Percentages of the rows that pass a filter.
+     */
+    DoubleStream percentages(IntPredicate filter) {
+        DoubleCollector collector = new DoubleCollector();
+        forEach(row -> {
+            if (filter.test(row)) {
+                collector.add(percentage(row));
+            }
+        });
+        return collector.stream();
+    }
+    
+    /**
+     * Percentages of the rows of one student, course or enrollment that pass a filter.
+     */
+    DoubleStream percentages(int column, String key, IntPredicate filter) {
+        DoubleCollector collector = new DoubleCollector();
+        forEach(column, key, row -> {
+            if (filter.test(row)) {
+                collector.add(percentage(row));
+            }
+        });
+        return collector.stream();
+    }
+    
+    /**
+     * Count the rows that pass a filter.
+     */
+    long count(IntPredicate filter) {
+        long[] count = new long[1];
+        forEach(row -> {
+            if (filter.test(row)) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+    
+    /**
+     * Count the letter grades of the rows that pass a filter; rows without a letter are skipped.
+     */
+    Map<String, Long> letterGradeCounts(IntPredicate filter) {
+        long[] counts = new long[LETTERS.length];
+        forEach(row -> countLetter(row, filter, counts));
+        return toLetterMap(counts);
+    }
+    
+    /**
+     * Count the letter grades of one student, course or enrollment.
+     */
+    Map<String, Long> letterGradeCounts(int column, String key, IntPredicate filter) {
+        long[] counts = new long[LETTERS.length];
+        forEach(column, key, row -> countLetter(row, filter, counts));
+        return toLetterMap(counts);
+    }
+    
+    /**
+     * IDs that have at least one row in a keyed column.
+     */
+    List<String> keys(int column) {
+        lock.readLock().lock();
+        try {
+            List<String> present = new ArrayList<>();
+            for (int code = 0; code < heads[column].length; code++) {
+                if (heads[column][code] != NONE) {
+                    present.add(keys[column].id(code));
+                }
+            }
+            return present;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Row filter matching a string column against a test, evaluated once per distinct value.
+     */
+    IntPredicate matching(int column, Predicate<String> test) {
+        IdDictionary dictionary = keys[column];
+        return new IntPredicate() {
+            // 0 = not evaluated yet, 1 = match, 2 = no match
+            private byte[] results = new byte[0];
+            
+            @Override
+            public boolean test(int row) {
+                int code = keyCodes[column][row];
+                if (code >= results.length) {
+                    results = Arrays.copyOf(results, Math.max(dictionary.size(), code + 1));
+                }
+                if (results[code] == 0) {
+                    results[code] = test.test(dictionary.id(code)) ? (byte) 1 : (byte) 2;
+                }
+                return results[code] == 1;
+            }
+        };
+    }
+    
+    /**
+     * Row filter for assignments overdue at the given time.
+     */
+    IntPredicate overdueAt(LocalDateTime now) {
+        long nowMicros = encode(now);
+        return row -> dateDue[row] != NO_TIME && nowMicros > dateDue[row]
+                && (statuses[row] == GradeStatus.DRAFT.ordinal() || statuses[row] == GradeStatus.MISSING.ordinal());
+    }
+    
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // ==================== ROW ACCESSORS ====================
+    
+    String studentId(int row) {
+        return keys[BY_STUDENT].id(keyCodes[BY_STUDENT][row]);
+    }
+    
+    String courseId(int row) {
+        return keys[BY_COURSE].id(keyCodes[BY_COURSE][row]);
+    }
+    
+    String assignmentName(int row) {
+        return labels.id(assignmentNames[row]);
+    }
+    
+    GradeComponent component(int row) {
+        return components[row] == NONE ? null : COMPONENTS[components[row]];
+    }
+    
+    GradeStatus status(int row) {
+        return statuses[row] == NONE ? null : STATUSES[statuses[row]];
+    }
+    
+    /**
+     * Percentage as Grade computes it: 0 until the row has been graded.
+     */
+    double percentage(int row) {
+        return isScored(row) ? (pointsEarned[row] / pointsPossible[row]) * 100.0 : 0.0;
+    }
+    
+    /**
+     * Letter grade as Grade computes it: null until the row has been graded.
+     */
+    String letterGrade(int row) {
+        return isScored(row) ? LETTERS[letterIndex(percentage(row))] : null;
+    }
+    
+    /**
+     * Same rule as Grade.countsTowardFinalGrade().
+     */
+    boolean countsTowardFinalGrade(int row) {
+        return (flags[row] & DROPPED) == 0
+                && (statuses[row] == GradeStatus.GRADED.ordinal() || statuses[row] == GradeStatus.RETURNED.ordinal())
+                && pointsEarned[row] >= 0;
+    }
+    
+    // ==================== ROW ENCODING ====================
+    
+    /**
+     * Rebuild a Grade from its row.
+     */
+    private Grade materialize(int row) {
+        Grade grade = new Grade(gradeIds[row], keys[BY_ENROLLMENT].id(keyCodes[BY_ENROLLMENT][row]),
+                                studentId(row), courseId(row), labels.id(assignmentIds[row]),
+                                assignmentName(row), component(row), pointsEarned[row], pointsPossible[row],
+                                decode(dateDue[row]), labels.id(gradedBy[row]), labels.id(semesters[row]),
+                                years[row]);
+        grade.setStatus(status(row));
+        grade.setDateAssigned(decode(dateAssigned[row]));
+        grade.setDateSubmitted(decode(dateSubmitted[row]));
+        grade.setDateGraded(decode(dateGraded[row]));
+        grade.setFeedback(feedback[row]);
+        grade.setRubric(rubrics[row]);
+        grade.setNotes(notes[row]);
+        grade.setExtraCredit((flags[row] & EXTRA_CREDIT) != 0);
+        grade.setDropped((flags[row] & DROPPED) != 0);
+        grade.setWeight(weights[row]);
+        grade.setAttemptNumber(attemptNumbers[row]);
+        grade.setLastModified(decode(lastModified[row]));
+        return grade;
+    }
+    
+    /**
+     * Store a grade's fields in a row, moving the row between key lists if its keys changed.
+     */
+    private void write(int row, Grade grade) {
+        relink(BY_STUDENT, row, keys[BY_STUDENT].intern(grade.getStudentId()));
+        relink(BY_COURSE, row, keys[BY_COURSE].intern(grade.getCourseId()));
+        relink(BY_ENROLLMENT, row, keys[BY_ENROLLMENT].intern(grade.getEnrollmentId()));
+        assignmentIds[row] = labels.intern(grade.getAssignmentId());
+        assignmentNames[row] = labels.intern(grade.getAssignmentName());
+        gradedBy[row] = labels.intern(grade.getGradedBy());
+        semesters[row] = labels.intern(grade.getSemester());
+        components[row] = grade.getComponent() == null ? NONE : (byte) grade.getComponent().ordinal();
+        statuses[row] = grade.getStatus() == null ? NONE : (byte) grade.getStatus().ordinal();
+        flags[row] = (byte) ((grade.isExtraCredit() ? EXTRA_CREDIT : 0) | (grade.isDropped() ? DROPPED : 0));
+        pointsEarned[row] = grade.getPointsEarned();
+        pointsPossible[row] = grade.getPointsPossible();
+        weights[row] = grade.getWeight();
+        attemptNumbers[row] = grade.getAttemptNumber();
+        years[row] = grade.getYear();
+        dateAssigned[row] = encode(grade.getDateAssigned());
+        dateDue[row] = encode(grade.getDateDue());
+        dateSubmitted[row] = encode(grade.getDateSubmitted());
+        dateGraded[row] = encode(grade.getDateGraded());
+        lastModified[row] = encode(grade.getLastModified());
+        feedback[row] = grade.getFeedback();
+        rubrics[row] = grade.getRubric();
+        notes[row] = grade.getNotes();
+    }
+    
+    private static boolean isStorable(Grade grade) {
+        return grade != null && grade.getGradeId() != null
+                && grade.getStudentId() != null && grade.getCourseId() != null;
+    }
+    
+    private boolean isScored(int row) {
+        return pointsEarned[row] >= 0 && pointsPossible[row] > 0;
+    }
+    
+    private static int letterIndex(double percentage) {
+        int index = 0;
+        while (index < LETTER_CUTOFFS.length && percentage < LETTER_CUTOFFS[index]) {
+            index++;
+        }
+        return index;
+    }
+    
+    private void countLetter(int row, IntPredicate filter, long[] counts) {
+        if (isScored(row) && filter.test(row)) {
+            counts[letterIndex(percentage(row))]++;
+        }
+    }
+    
+    private static Map<String, Long> toLetterMap(long[] counts) {
+        Map<String, Long> letters = new HashMap<>();
+        for (int index = 0; index < counts.length; index++) {
+            if (counts[index] > 0) {
+                letters.put(LETTERS[index], counts[index]);
+            }
+        }
+        return letters;
+    }
+    
+    /**
+     * Dates are kept to the microsecond, which is the resolution of LocalDateTime.now()
+     */
+    private static long encode(LocalDateTime time) {
+        return time == null ? NO_TIME : time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+    
+    private static LocalDateTime decode(long micros) {
+        return micros == NO_TIME ? null : LocalDateTime.ofEpochSecond(
+            Math.floorDiv(micros, 1_000_000L), (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+    
+    // ==================== ROW LISTS ====================
+    
+    private void relink(int column, int row, int code) {
+        if (keyCodes[column][row] == code) {
+            return;
+        }
+        unlink(column, row);
+        keyCodes[column][row] = code;
+        if (code == NONE) {
+            return;
+        }
+        if (code >= heads[column].length) {
+            int oldLength = heads[column].length;
+            heads[column] = Arrays.copyOf(heads[column], Math.max(code + 1, oldLength * 2));
+            Arrays.fill(heads[column], oldLength, heads[column].length, NONE);
+        }
+        int head = heads[column][code];
+        next[column][row] = head;
+        previous[column][row] = NONE;
+        if (head != NONE) {
+            previous[column][head] = row;
+        }
+        heads[column][code] = row;
+    }
+    
+    private void unlink(int column, int row) {
+        int code = keyCodes[column][row];
+        if (code == NONE) {
+            return;
+        }
+        int before = previous[column][row];
+        int after = next[column][row];
+        if (before == NONE) {
+            heads[column][code] = after;
+        } else {
+            next[column][before] = after;
+        }
+        if (after != NONE) {
+            previous[column][after] = before;
+        }
+        keyCodes[column][row] = NONE;
+    }
+    
+    private int allocateRow() {
+        if (freeRow != NONE) {
+            int row = freeRow;
+            freeRow = next[BY_STUDENT][row];
+            return row;
+        }
+        if (rowCount == gradeIds.length) {
+            allocate(rowCount * 2);
+        }
+        int row = rowCount++;
+        for (int column = 0; column < KEYED_COLUMNS; column++) {
+            keyCodes[column][row] = NONE;
+        }
+        return row;
+    }
+    
+    /**
+     * Create or grow every column to the given number of rows.
+     */
+    private void allocate(int capacity) {
+        gradeIds = gradeIds == null ? new String[capacity] : Arrays.copyOf(gradeIds, capacity);
+        for (int column = 0; column < KEYED_COLUMNS; column++) {
+            keyCodes[column] = grow(keyCodes[column], capacity);
+            next[column] = grow(next[column], capacity);
+            previous[column] = grow(previous[column], capacity);
+        }
+        assignmentIds = grow(assignmentIds, capacity);
+        assignmentNames = grow(assignmentNames, capacity);
+        gradedBy = grow(gradedBy, capacity);
+        semesters = grow(semesters, capacity);
+        components = grow(components, capacity);
+        statuses = grow(statuses, capacity);
+        flags = grow(flags, capacity);
+        pointsEarned = grow(pointsEarned, capacity);
+        pointsPossible = grow(pointsPossible, capacity);
+        weights = grow(weights, capacity);
+        attemptNumbers = grow(attemptNumbers, capacity);
+        years = grow(years, capacity);
+        dateAssigned = grow(dateAssigned, capacity);
+        dateDue = grow(dateDue, capacity);
+        dateSubmitted = grow(dateSubmitted, capacity);
+        dateGraded = grow(dateGraded, capacity);
+        lastModified = grow(lastModified, capacity);
+        feedback = feedback == null ? new String[capacity] : Arrays.copyOf(feedback, capacity);
+        rubrics = rubrics == null ? new String[capacity] : Arrays.copyOf(rubrics, capacity);
+        notes = notes == null ? new String[capacity] : Arrays.copyOf(notes, capacity);
+    }
+    
+    private static int[] grow(int[] column, int capacity) {
+        return column == null ? new int[capacity] : Arrays.copyOf(column, capacity);
+    }
+    
+    private static long[] grow(long[] column, int capacity) {
+        return column == null ? new long[capacity] : Arrays.copyOf(column, capacity);
+    }
+    
+    private static double[] grow(double[] column, int capacity) {
+        return column == null ? new double[capacity] : Arrays.copyOf(column, capacity);
+    }
+    
+    private static byte[] grow(byte[] column, int capacity) {
+        return column == null ? new byte[capacity] : Arrays.copyOf(column, capacity);
+    }
+    
+    // ==================== SUPPORT CLASSES ====================
+    
+    /**
+     * Open-addressing hash from strings to ints with linear probing. Only the ints are kept;
+     * each one's string is looked up through the key function, so no entry objects are made.
+     * Removal shifts later entries back instead of leaving tombstones.
+     */
+    private static final class StringIndex {
+        private final IntFunction<String> keyOf;
+        private int[] slots = new int[16]; // value + 1, 0 when empty
+        private int size;
+        
+        StringIndex(IntFunction<String> keyOf) {
+            this.keyOf = keyOf;
+        }
+        
+        int get(String key) {
+            int mask = slots.length - 1;
+            for (int slot = home(key, mask); slots[slot] != 0; slot = (slot + 1) & mask) {
+                if (key.equals(keyOf.apply(slots[slot] - 1))) {
+                    return slots[slot] - 1;
+                }
+            }
+            return NONE;
+        }
+        
+        /**
+         * Add a key that is not in the index yet.
+         */
+        void put(String key, int value) {
+            if ((size + 1) * 2 > slots.length) {
+                resize();
+            }
+            place(slots, key, value);
+            size++;
+        }
+        
+        void remove(String key) {
+            int mask = slots.length - 1;
+            int slot = home(key, mask);
+            while (slots[slot] != 0 && !key.equals(keyOf.apply(slots[slot] - 1))) {
+                slot = (slot + 1) & mask;
+            }
+            if (slots[slot] == 0) {
+                return;
+            }
+            int hole = slot;
+            for (int scan = (slot + 1) & mask; slots[scan] != 0; scan = (scan + 1) & mask) {
+                int wanted = home(keyOf.apply(slots[scan] - 1), mask);
+                if (((scan - wanted) & mask) >= ((scan - hole) & mask)) {
+                    slots[hole] = slots[scan];
+                    hole = scan;
+                }
+            }
+            slots[hole] = 0;
+            size--;
+        }
+        
+        private void resize() {
+            int[] resized = new int[slots.length * 2];
+            for (int entry : slots) {
+                if (entry != 0) {
+                    place(resized, keyOf.apply(entry - 1), entry - 1);
+                }
+            }
+            slots = resized;
+        }
+        
+        private static void place(int[] table, String key, int value) {
+            int mask = table.length - 1;
+            int slot = home(key, mask);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = value + 1;
+        }
+        
+        private static int home(String key, int mask) {
+            int hash = key.hashCode();
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+    
+    /**
+     * Growable double buffer for handing column values to a DoubleStream.
+     */
+    private static final class DoubleCollector {
+        private double[] values = new double[16];
+        private int size;
+        
+        void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+        
+        DoubleStream stream() {
+            return Arrays.stream(values, 0, size);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import models.Student;
 import models.Grade;
 import interfaces.Searchable;
 import interfaces.Reportable;
+import interfaces.EntityChangeListener;
 import utils.ValidationUtil;
 
 import java.time.LocalDateTime;
@@ -34,6 +35,7 @@ public class ProfessorService implements Searchable<Professor>, Reportable {
     
     // Instance fields
     private final Map<String, Professor> professors;
+    private final EntityChangeListeners<Professor> changeListeners;
     private final Map<String, List<String>> professorCourses; // professorId -> courseIds
     private final Map<String, List<String>> professorStudents; // professorId -> studentIds
     private final Map<String, Map<String, Grade>> professorGrades; // professorId -> courseId -> grades
@@ -49,6 +51,7 @@ public class ProfessorService implements Searchable<Professor>, Reportable {
      */
     public ProfessorService() {
         this.professors = new ConcurrentHashMap<>();
+        this.changeListeners = new EntityChangeListeners<>();
         this.professorCourses = new ConcurrentHashMap<>();
         this.professorStudents = new ConcurrentHashMap<>();
         this.professorGrades = new ConcurrentHashMap<>();
@@ -82,6 +85,7 @@ public class ProfessorService implements Searchable<Professor>, Reportable {
         teachingRatings.put(professor.getProfessorId(), professor.getTeachingRating());
         researchPublications.put(professor.getProfessorId(), 0);
         invalidateStatisticsCache();
+        changeListeners.notifySaved(professor);
         
         return true;
     }
@@ -100,6 +104,7 @@ public class ProfessorService implements Searchable<Professor>, Reportable {
         professors.put(professor.getProfessorId(), professor);
         teachingRatings.put(professor.getProfessorId(), professor.getTeachingRating());
         invalidateStatisticsCache();
+        changeListeners.notifySaved(professor);
         return true;
     }
     
@@ -122,6 +127,7 @@ public class ProfessorService implements Searchable<Professor>, Reportable {
             teachingRatings.remove(professorId);
             researchPublications.remove(professorId);
             invalidateStatisticsCache();
+            changeListeners.notifyRemoved(removed);
             return true;
         }
         return false;
@@ -1034,6 +1040,24 @@ public class ProfessorService implements Searchable<Professor>, Reportable {
                LocalDateTime.now().minusMinutes(5).isBefore(lastStatisticsUpdate);
     }
     
+    /**
+     * Add a listener for the professors this service adds, updates and removes.
+     * 
+     * @param listener The change listener
+     */
+    public void addChangeListener(EntityChangeListener<Professor> listener) {
+        changeListeners.add(listener);
+    }
+    
+    /**
+     * Remove a change listener.
+     * 
+     * @param listener The change listener
+     */
+    public void removeChangeListener(EntityChangeListener<Professor> listener) {
+        changeListeners.remove(listener);
+    }
+    
     /**
      * Invalidate statistics cache.
      */
@@ -3,6 +3,7 @@ package services;
 
 import models.*;
 import interfaces.Reportable;
+import cache.CacheManager;
 import utils.ValidationUtil;
 
 import java.time.LocalDateTime;
@@ -37,7 +38,8 @@ public class ReportService implements Reportable {
     private final GradeService gradeService;
     
     // Report storage and caching
-    private final Map<String, ReportData> reportCache;
+    private static final String REPORT_CACHE = "reports";
+    private final CacheManager cacheManager;
     private final Map<String, ReportMetadata> reportHistory;
     private final Map<String, ScheduledReport> scheduledReports;
     
@@ -85,7 +87,9 @@ public class ReportService implements Reportable {
         this.enrollmentService = enrollmentService;
         this.gradeService = gradeService;
         
-        this.reportCache = new ConcurrentHashMap<>();
+        // Large reports spill out of the heap instead of being held on-heap forever
+        this.cacheManager = CacheManager.getInstance();
+        cacheManager.createReportCache();
         this.reportHistory = new ConcurrentHashMap<>();
         this.scheduledReports = new ConcurrentHashMap<>();
     }
@@ -520,7 +524,16 @@ public class ReportService implements Reportable {
     }
     
     private void cacheReport(ReportData report) {
-        reportCache.put(report.getReportId(), report);
+        cacheManager.put(REPORT_CACHE, report.getReportId(), report);
+    }
+    
+    /**
+     * Gets a previously generated report from the cache.
+     */
+    public Optional<ReportData> getCachedReport(String reportId) {
+        return Optional.ofNullable(reportId)
+                .filter(validationCheck)
+                .map(id -> cacheManager.<ReportData>get(REPORT_CACHE, id));
     }
     
     private ReportMetadata createReportMetadata(ReportData report) {
@@ -610,7 +623,7 @@ public class ReportService implements Reportable {
     public Map<String, Object> getSummaryStatistics() {
         Map<String, Object> stats = mapSupplier.get();
         stats.put("totalReports", reportHistory.size());
-        stats.put("cachedReports", reportCache.size());
+        stats.put("cachedReports", cacheManager.size(REPORT_CACHE));
         stats.put("scheduledReports", scheduledReports.size());
         stats.put("lastGenerated", reportHistory.values().stream()
                 .map(ReportMetadata::getGeneratedAt)
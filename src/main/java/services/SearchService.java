@@ -3,12 +3,19 @@ package services;
 
 import models.*;
 import interfaces.Searchable;
+import interfaces.EntityChangeListener;
+import patterns.EventManager;
 import utils.ValidationUtil;
+import utils.InvertedIndex;
+import utils.FuzzyTermDictionary;
+import utils.CompletionIndex;
 
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.function.Predicate;
 import java.util.function.Function;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CompletableFuture;
 
@@ -26,7 +33,7 @@ import java.util.concurrent.CompletableFuture;
  * - Search result ranking and relevance scoring
  * - Faceted search and filtering
  */
-public class SearchService {
+public class SearchService implements AutoCloseable {
     
     // Service dependencies
     private final StudentService studentService;
@@ -38,20 +45,65 @@ public class SearchService {
     
     // Search indices and caching
     private final Map<String, List<SearchResult<?>>> searchCache;
-    private final Map<String, Set<String>> searchIndex;
     private final Map<Class<?>, Searchable<?>> searchableServices;
     
+    // Inverted indexes over the search text of each entity type, replaced whole on rebuild
+    // and kept current in between by per-document deltas from the services' change listeners
+    private volatile InvertedIndex<Student> studentIndex;
+    private volatile InvertedIndex<Professor> professorIndex;
+    private volatile InvertedIndex<Course> courseIndex;
+    private volatile InvertedIndex<Department> departmentIndex;
+    
+    // Popularity-weighted autocomplete over names and codes, maintained alongside the inverted indexes
+    private volatile CompletionIndex<Student> studentCompletions;
+    private volatile CompletionIndex<Professor> professorCompletions;
+    private volatile CompletionIndex<Course> courseCompletions;
+    private volatile CompletionIndex<Department> departmentCompletions;
+    private final Object indexWriteLock = new Object();
+    
+    // Apply per-entity deltas to the indexes above, from service changes and domain events
+    private final IndexUpdater<Student> studentUpdater;
+    private final IndexUpdater<Professor> professorUpdater;
+    private final IndexUpdater<Course> courseUpdater;
+    private final IndexUpdater<Department> departmentUpdater;
+    
+    // Domain event handlers, kept so close() can unsubscribe them from the event manager
+    private final EventManager eventManager;
+    private final Consumer<EventManager.StudentEnrolledEvent> studentEnrolledHandler;
+    private final Consumer<EventManager.CourseCreatedEvent> courseCreatedHandler;
+    
     // Search configuration
     private final int maxSearchResults = 1000;
     private final int defaultPageSize = 20;
     private final double fuzzyMatchThreshold = 0.7;
     
+    // Faceted search filters and counts are written "facet:value"; a bare filter value is for the main facet
+    private static final char FACET_SEPARATOR = ':';
+    private static final Map<String, String> MAIN_FACETS = Map.of(
+            "students", "major",
+            "professors", "department",
+            "courses", "department",
+            "departments", "status");
+    
     /**
-     * Constructor with service dependencies.
+     * Constructor with service dependencies, keeping the indexes current with the events
+     * published on the shared EventManager.
      */
     public SearchService(StudentService studentService, ProfessorService professorService,
                         CourseService courseService, DepartmentService departmentService,
                         EnrollmentService enrollmentService, GradeService gradeService) {
+        this(studentService, professorService, courseService, departmentService,
+             enrollmentService, gradeService, EventManager.getInstance());
+    }
+    
+    /**
+     * Constructor with service dependencies and the event manager whose events keep the
+     * indexes current.
+     */
+    public SearchService(StudentService studentService, ProfessorService professorService,
+                        CourseService courseService, DepartmentService departmentService,
+                        EnrollmentService enrollmentService, GradeService gradeService,
+                        EventManager eventManager) {
         this.studentService = studentService;
         this.professorService = professorService;
         this.courseService = courseService;
@@ -60,12 +112,60 @@ public class SearchService {
         this.gradeService = gradeService;
         
         this.searchCache = new ConcurrentHashMap<>();
-        this.searchIndex = new ConcurrentHashMap<>();
         this.searchableServices = initializeSearchableServices();
         
+        this.studentUpdater = new IndexUpdater<>(() -> studentIndex, () -> studentCompletions,
+                                                 Student::getStudentId, studentService::getStudentById);
+        this.professorUpdater = new IndexUpdater<>(() -> professorIndex, () -> professorCompletions,
+                                                   Professor::getProfessorId, professorService::getProfessorById);
+        this.courseUpdater = new IndexUpdater<>(() -> courseIndex, () -> courseCompletions,
+                                                Course::getCourseId, courseService::getCourseById);
+        this.departmentUpdater = new IndexUpdater<>(() -> departmentIndex, () -> departmentCompletions,
+                                                    Department::getDepartmentId, departmentService::getDepartmentById);
+        
+        this.eventManager = eventManager;
+        this.studentEnrolledHandler = event -> {
+            studentUpdater.refresh(event.getStudent().getStudentId());
+            courseUpdater.refresh(event.getCourse().getCourseId());
+        };
+        this.courseCreatedHandler = event -> courseUpdater.refresh(event.getCourse().getCourseId());
+        
+        // Listen before building, so no change falls between the snapshot and the first delta
+        studentService.addChangeListener(studentUpdater);
+        professorService.addChangeListener(professorUpdater);
+        courseService.addChangeListener(courseUpdater);
+        departmentService.addChangeListener(departmentUpdater);
+        subscribeToEvents();
+        
         buildSearchIndex();
     }
     
+    /**
+     * Keep the search indexes current with the domain events that change what an entity
+     * is found by. Enrolled students and newly created courses are re-indexed from their
+     * services, so a search never has to wait for a full rebuild to see them, and an
+     * enrollment also raises the popularity of its course in suggestions.
+     */
+    private void subscribeToEvents() {
+        eventManager.subscribe(EventManager.StudentEnrolledEvent.class, studentEnrolledHandler);
+        eventManager.subscribe(EventManager.CourseCreatedEvent.class, courseCreatedHandler);
+    }
+    
+    /**
+     * Stop following the services and the event manager, so a search service that is no
+     * longer used is not kept alive, and kept reindexing, by the listeners it registered.
+     * The indexes keep answering searches as of the moment of closing.
+     */
+    @Override
+    public void close() {
+        eventManager.unsubscribe(EventManager.StudentEnrolledEvent.class, studentEnrolledHandler);
+        eventManager.unsubscribe(EventManager.CourseCreatedEvent.class, courseCreatedHandler);
+        studentService.removeChangeListener(studentUpdater);
+        professorService.removeChangeListener(professorUpdater);
+        courseService.removeChangeListener(courseUpdater);
+        departmentService.removeChangeListener(departmentUpdater);
+    }
+    
     // Universal search methods
     
     /**
@@ -79,19 +179,7 @@ public class SearchService {
             return new UniversalSearchResult(query, Collections.emptyMap());
         }
         
-        // Search across all entity types concurrently
-        CompletableFuture<List<Student>> studentFuture = CompletableFuture
-                .supplyAsync(() -> studentService.search(query));
-        
-        CompletableFuture<List<Professor>> professorFuture = CompletableFuture
-                .supplyAsync(() -> professorService.search(query));
-        
-        CompletableFuture<List<Course>> courseFuture = CompletableFuture
-                .supplyAsync(() -> courseService.search(query));
-        
-        CompletableFuture<List<Department>> departmentFuture = CompletableFuture
-                .supplyAsync(() -> departmentService.search(query));
-        
+        // Enrollments and grades are not indexed, so search their services concurrently
         CompletableFuture<List<Enrollment>> enrollmentFuture = CompletableFuture
                 .supplyAsync(() -> enrollmentService.search(query));
         
@@ -102,10 +190,10 @@ public class SearchService {
         Map<String, List<?>> results = new HashMap<>();
         
         try {
-            results.put("students", studentFuture.get());
-            results.put("professors", professorFuture.get());
-            results.put("courses", courseFuture.get());
-            results.put("departments", departmentFuture.get());
+            results.put("students", studentIndex.search(query, maxSearchResults));
+            results.put("professors", professorIndex.search(query, maxSearchResults));
+            results.put("courses", courseIndex.search(query, maxSearchResults));
+            results.put("departments", departmentIndex.search(query, maxSearchResults));
             results.put("enrollments", enrollmentFuture.get());
             results.put("grades", gradeFuture.get());
         } catch (Exception e) {
@@ -177,32 +265,33 @@ public class SearchService {
     }
     
     /**
-     * Perform faceted search with filters and aggregations.
+     * Perform faceted search with filters and aggregations. Students, professors, courses and
+     * departments are filtered on the bitmaps of their facet values, and each facet value is
+     * counted by intersecting its bitmap with everything the query matches rather than only the
+     * returned results. Counts are cached per query, and a query typed on from a cached one starts
+     * from its matches, until the index next changes.
      * 
      * @param query The base search query
-     * @param facets The facets to apply
-     * @return FacetedSearchResult with facet counts and filtered results
+     * @param facets Filters by entity type, each as "facet:value" such as "credits:3"; a bare
+     *               value filters the entity type's main facet, such as a student's major
+     * @return FacetedSearchResult with facet counts, keyed "facet:value", and filtered results
      */
     public FacetedSearchResult facetedSearch(String query, Map<String, Set<String>> facets) {
-        // Start with universal search
-        UniversalSearchResult baseResults = searchAll(query);
-        
-        // Apply facet filters
         Map<String, List<?>> filteredResults = new HashMap<>();
         Map<String, Map<String, Long>> facetCounts = new HashMap<>();
-        
-        for (Map.Entry<String, List<?>> entry : baseResults.getResults().entrySet()) {
-            String entityType = entry.getKey();
-            List<?> entities = entry.getValue();
-            
-            // Apply facet filters for this entity type
-            List<?> filtered = applyFacetFilters(entities, facets.getOrDefault(entityType, Collections.emptySet()));
-            filteredResults.put(entityType, filtered);
-            
-            // Calculate facet counts
-            facetCounts.put(entityType, calculateFacetCounts(entities, entityType));
+        if (query == null || query.trim().isEmpty()) {
+            return new FacetedSearchResult(query, facets, filteredResults, facetCounts);
         }
         
+        addFacetedResults("students", studentIndex, query, facets, filteredResults, facetCounts);
+        addFacetedResults("professors", professorIndex, query, facets, filteredResults, facetCounts);
+        addFacetedResults("courses", courseIndex, query, facets, filteredResults, facetCounts);
+        addFacetedResults("departments", departmentIndex, query, facets, filteredResults, facetCounts);
+        
+        // Enrollments and grades have no facets, so they are returned as their services find them
+        filteredResults.put("enrollments", enrollmentService.search(query));
+        filteredResults.put("grades", gradeService.search(query));
+        
         return new FacetedSearchResult(query, facets, filteredResults, facetCounts);
     }
     
@@ -218,13 +307,25 @@ public class SearchService {
             return Collections.emptyList();
         }
         
+        // Names, codes and department names complete from the tries, most popular first
+        Map<String, List<CompletionIndex.Completion>> completions = new LinkedHashMap<>();
+        completions.put("students", studentCompletions.complete(partialQuery, maxSuggestions));
+        completions.put("professors", professorCompletions.complete(partialQuery, maxSuggestions));
+        completions.put("courses", courseCompletions.complete(partialQuery, maxSuggestions));
+        completions.put("departments", departmentCompletions.complete(partialQuery, maxSuggestions));
+        
+        long topWeight = completions.values().stream()
+                .flatMap(List::stream)
+                .mapToLong(CompletionIndex.Completion::getWeight)
+                .max()
+                .orElse(1);
+        
         Set<SearchSuggestion> suggestions = new HashSet<>();
+        completions.forEach((entityType, typeCompletions) -> typeCompletions.forEach(completion ->
+                suggestions.add(new SearchSuggestion(completion.getPhrase(), entityType,
+                                                     (double) completion.getWeight() / topWeight))));
         
-        // Get suggestions from each service
-        suggestions.addAll(getServiceSuggestions("students", studentService, partialQuery, maxSuggestions / 6));
-        suggestions.addAll(getServiceSuggestions("professors", professorService, partialQuery, maxSuggestions / 6));
-        suggestions.addAll(getServiceSuggestions("courses", courseService, partialQuery, maxSuggestions / 6));
-        suggestions.addAll(getServiceSuggestions("departments", departmentService, partialQuery, maxSuggestions / 6));
+        // Enrollments and grades have no names to complete, so their services still suggest
         suggestions.addAll(getServiceSuggestions("enrollments", enrollmentService, partialQuery, maxSuggestions / 6));
         suggestions.addAll(getServiceSuggestions("grades", gradeService, partialQuery, maxSuggestions / 6));
         
@@ -255,33 +356,29 @@ public class SearchService {
     // Entity-specific advanced search methods
     
     private List<Student> searchStudentsAdvanced(AdvancedSearchCriteria criteria) {
-        return studentService.getAllStudents().stream()
+        return textMatches(studentIndex, studentService::getAllStudents, criteria.getQuery()).stream()
                 .filter(student -> matchesAdvancedCriteria(student, criteria))
-                .filter(student -> matchesTextQuery(student, criteria.getQuery()))
                 .limit(criteria.getMaxResults())
                 .collect(Collectors.toList());
     }
     
     private List<Professor> searchProfessorsAdvanced(AdvancedSearchCriteria criteria) {
-        return professorService.getAllProfessors().stream()
+        return textMatches(professorIndex, professorService::getAllProfessors, criteria.getQuery()).stream()
                 .filter(professor -> matchesAdvancedCriteria(professor, criteria))
-                .filter(professor -> matchesTextQuery(professor, criteria.getQuery()))
                 .limit(criteria.getMaxResults())
                 .collect(Collectors.toList());
     }
     
     private List<Course> searchCoursesAdvanced(AdvancedSearchCriteria criteria) {
-        return courseService.getAllCourses().stream()
+        return textMatches(courseIndex, courseService::getAllCourses, criteria.getQuery()).stream()
                 .filter(course -> matchesAdvancedCriteria(course, criteria))
-                .filter(course -> matchesTextQuery(course, criteria.getQuery()))
                 .limit(criteria.getMaxResults())
                 .collect(Collectors.toList());
     }
     
     private List<Department> searchDepartmentsAdvanced(AdvancedSearchCriteria criteria) {
-        return departmentService.getAllDepartments().stream()
+        return textMatches(departmentIndex, departmentService::getAllDepartments, criteria.getQuery()).stream()
                 .filter(department -> matchesAdvancedCriteria(department, criteria))
-                .filter(department -> matchesTextQuery(department, criteria.getQuery()))
                 .limit(criteria.getMaxResults())
                 .collect(Collectors.toList());
     }
@@ -305,38 +402,25 @@ public class SearchService {
     // Fuzzy search implementations
     
     private List<FuzzyMatch<Student>> fuzzySearchStudents(String query, double threshold) {
-        return studentService.getAllStudents().stream()
-                .map(student -> new FuzzyMatch<>(student, calculateSimilarity(query, getStudentSearchText(student))))
-                .filter(match -> match.getScore() >= threshold)
-                .sorted(Comparator.comparing(FuzzyMatch<Student>::getScore).reversed())
-                .limit(maxSearchResults / 4)
-                .collect(Collectors.toList());
+        return fuzzyMatches(studentIndex, query, threshold);
     }
     
     private List<FuzzyMatch<Professor>> fuzzySearchProfessors(String query, double threshold) {
-        return professorService.getAllProfessors().stream()
-                .map(professor -> new FuzzyMatch<>(professor, calculateSimilarity(query, getProfessorSearchText(professor))))
-                .filter(match -> match.getScore() >= threshold)
-                .sorted(Comparator.comparing(FuzzyMatch<Professor>::getScore).reversed())
-                .limit(maxSearchResults / 4)
-                .collect(Collectors.toList());
+        return fuzzyMatches(professorIndex, query, threshold);
     }
     
     private List<FuzzyMatch<Course>> fuzzySearchCourses(String query, double threshold) {
-        return courseService.getAllCourses().stream()
-                .map(course -> new FuzzyMatch<>(course, calculateSimilarity(query, getCourseSearchText(course))))
-                .filter(match -> match.getScore() >= threshold)
-                .sorted(Comparator.comparing(FuzzyMatch<Course>::getScore).reversed())
-                .limit(maxSearchResults / 4)
-                .collect(Collectors.toList());
+        return fuzzyMatches(courseIndex, query, threshold);
     }
     
     private List<FuzzyMatch<Department>> fuzzySearchDepartments(String query, double threshold) {
-        return departmentService.getAllDepartments().stream()
-                .map(department -> new FuzzyMatch<>(department, calculateSimilarity(query, getDepartmentSearchText(department))))
-                .filter(match -> match.getScore() >= threshold)
-                .sorted(Comparator.comparing(FuzzyMatch<Department>::getScore).reversed())
-                .limit(maxSearchResults / 4)
+        return fuzzyMatches(departmentIndex, query, threshold);
+    }
+    
+    private <T> List<FuzzyMatch<T>> fuzzyMatches(InvertedIndex<T> index, String query, double threshold) {
+        // Each query token is matched against the index's term dictionary, not the full text of every entity
+        return index.searchFuzzy(query, threshold, maxSearchResults / 4).stream()
+                .map(hit -> new FuzzyMatch<>(hit.getDocument(), hit.getScore()))
                 .collect(Collectors.toList());
     }
     
@@ -360,6 +444,16 @@ public class SearchService {
         return true;
     }
     
+    /**
+     * Entities matching a text query, best match first, or all entities when there is no query.
+     */
+    private <T> List<T> textMatches(InvertedIndex<T> index, Supplier<List<T>> allEntities, String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return allEntities.get();
+        }
+        return index.search(query, Integer.MAX_VALUE);
+    }
+    
     private boolean matchesTextQuery(Object entity, String query) {
         if (!ValidationUtil.isValidString(query)) {
             return true;
@@ -535,39 +629,111 @@ public class SearchService {
     // Search index and caching methods
     
     private void buildSearchIndex() {
-        // Build search index for faster text searching
-        // This is a simplified implementation
-        
-        // Index students
-        studentService.getAllStudents().forEach(student -> {
-            String searchText = getStudentSearchText(student);
-            indexEntity("students", student.getStudentId(), searchText);
-        });
-        
-        // Index professors
-        professorService.getAllProfessors().forEach(professor -> {
-            String searchText = getProfessorSearchText(professor);
-            indexEntity("professors", professor.getProfessorId(), searchText);
-        });
-        
-        // Index courses
-        courseService.getAllCourses().forEach(course -> {
-            String searchText = getCourseSearchText(course);
-            indexEntity("courses", course.getCourseId(), searchText);
-        });
-        
-        // Index departments
-        departmentService.getAllDepartments().forEach(department -> {
-            String searchText = getDepartmentSearchText(department);
-            indexEntity("departments", department.getDepartmentId(), searchText);
-        });
+        synchronized (indexWriteLock) {
+            // Each index is built off to the side and then published, so searches never see a partial one
+            InvertedIndex<Student> students = new InvertedIndex<>(Student::getStudentId, this::getStudentSearchText,
+                                                                  SearchService::getStudentFacets);
+            students.addAll(studentService.getAllStudents());
+        
+            InvertedIndex<Professor> professors = new InvertedIndex<>(Professor::getProfessorId, this::getProfessorSearchText,
+                                                                      SearchService::getProfessorFacets);
+            professors.addAll(professorService.getAllProfessors());
+        
+            InvertedIndex<Course> courses = new InvertedIndex<>(Course::getCourseId, this::getCourseSearchText,
+                                                                SearchService::getCourseFacets);
+            courses.addAll(courseService.getAllCourses());
+        
+            InvertedIndex<Department> departments = new InvertedIndex<>(Department::getDepartmentId, this::getDepartmentSearchText,
+                                                                        SearchService::getDepartmentFacets);
+            departments.addAll(departmentService.getAllDepartments());
+        
+            studentIndex = students;
+            professorIndex = professors;
+            courseIndex = courses;
+            departmentIndex = departments;
+            
+            CompletionIndex<Student> studentNames = new CompletionIndex<>(Student::getStudentId,
+                    student -> Arrays.asList(student.getFullName(), student.getStudentId(), student.getMajor()),
+                    student -> 1);
+            studentNames.addAll(studentService.getAllStudents());
+            
+            CompletionIndex<Professor> professorNames = new CompletionIndex<>(Professor::getProfessorId,
+                    professor -> Arrays.asList(professor.getFullName(), professor.getProfessorId()),
+                    professor -> 1);
+            professorNames.addAll(professorService.getAllProfessors());
+            
+            // Courses and departments weigh more the more students they have
+            CompletionIndex<Course> courseNames = new CompletionIndex<>(Course::getCourseId,
+                    course -> Arrays.asList(course.getCourseName(), course.getCourseCode()),
+                    course -> 1 + course.getEnrolledStudentIds().size());
+            courseNames.addAll(courseService.getAllCourses());
+            
+            CompletionIndex<Department> departmentNames = new CompletionIndex<>(Department::getDepartmentId,
+                    department -> Arrays.asList(department.getDepartmentName(), department.getDepartmentCode()),
+                    department -> 1 + department.getStudentCount());
+            departmentNames.addAll(departmentService.getAllDepartments());
+            
+            studentCompletions = studentNames;
+            professorCompletions = professorNames;
+            courseCompletions = courseNames;
+            departmentCompletions = departmentNames;
+        }
     }
     
-    private void indexEntity(String entityType, String entityId, String searchText) {
-        String[] words = searchText.toLowerCase().split("\\s+");
-        for (String word : words) {
-            String key = entityType + ":" + word;
-            searchIndex.computeIfAbsent(key, k -> new HashSet<>()).add(entityId);
+    /**
+     * Applies an entity's changes to the current indexes of its type as a per-document delta.
+     * The entity is reloaded from its service under the index write lock rather than taken from
+     * the notification, so notifications that arrive out of order still leave the indexes
+     * matching the service.
+     */
+    private class IndexUpdater<T> implements EntityChangeListener<T> {
+        private final Supplier<InvertedIndex<T>> currentIndex;
+        private final Supplier<CompletionIndex<T>> currentCompletions;
+        private final Function<T, String> idFunction;
+        private final Function<String, Optional<T>> loader;
+        
+        IndexUpdater(Supplier<InvertedIndex<T>> currentIndex, Supplier<CompletionIndex<T>> currentCompletions,
+                     Function<T, String> idFunction, Function<String, Optional<T>> loader) {
+            this.currentIndex = currentIndex;
+            this.currentCompletions = currentCompletions;
+            this.idFunction = idFunction;
+            this.loader = loader;
+        }
+        
+        @Override
+        public void onEntitySaved(T entity) {
+            refresh(idFunction.apply(entity));
+        }
+        
+        @Override
+        public void onEntityRemoved(T entity) {
+            refresh(idFunction.apply(entity));
+        }
+        
+        /**
+         * Index the entity the service now holds under an ID, or drop the ID if it holds none.
+         */
+        void refresh(String id) {
+            if (id == null) {
+                return;
+            }
+            // Deltas queue behind a rebuild and then apply to the indexes it published
+            synchronized (indexWriteLock) {
+                InvertedIndex<T> index = currentIndex.get();
+                CompletionIndex<T> completions = currentCompletions.get();
+                if (index == null || completions == null) {
+                    return;
+                }
+                Optional<T> current = loader.apply(id);
+                if (current.isPresent()) {
+                    index.put(current.get());
+                    completions.put(current.get());
+                } else {
+                    index.remove(id);
+                    completions.remove(id);
+                }
+                searchCache.clear();
+            }
         }
     }
     
@@ -592,35 +758,8 @@ public class SearchService {
         String lowerQuery = query.toLowerCase();
         String lowerText = text.toLowerCase();
         
-        // Simple similarity calculation using Levenshtein distance
-        int distance = calculateLevenshteinDistance(lowerQuery, lowerText);
-        int maxLength = Math.max(lowerQuery.length(), lowerText.length());
-        
-        return maxLength > 0 ? 1.0 - (double) distance / maxLength : 0.0;
-    }
-    
-    private int calculateLevenshteinDistance(String s1, String s2) {
-        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
-        
-        for (int i = 0; i <= s1.length(); i++) {
-            dp[i][0] = i;
-        }
-        
-        for (int j = 0; j <= s2.length(); j++) {
-            dp[0][j] = j;
-        }
-        
-        for (int i = 1; i <= s1.length(); i++) {
-            for (int j = 1; j <= s2.length(); j++) {
-                if (s1.charAt(i - 1) == s2.charAt(j - 1)) {
-                    dp[i][j] = dp[i - 1][j - 1];
-                } else {
-                    dp[i][j] = 1 + Math.min(dp[i - 1][j], Math.min(dp[i][j - 1], dp[i - 1][j - 1]));
-                }
-            }
-        }
-        
-        return dp[s1.length()][s2.length()];
+        // Levenshtein distance on two rolling rows rather than a full matrix
+        return FuzzyTermDictionary.similarity(lowerQuery, lowerText);
     }
     
     // Utility methods for search results
@@ -651,34 +790,51 @@ public class SearchService {
         return Math.min(1.0, baseScore + specificityBonus);
     }
     
-    private List<?> applyFacetFilters(List<?> entities, Set<String> facetValues) {
-        if (facetValues.isEmpty()) {
-            return entities;
-        }
-        
-        // Simple facet filtering - this would be more sophisticated in a real implementation
-        return entities.stream()
-                .filter(entity -> facetValues.contains(getEntityFacetValue(entity)))
-                .collect(Collectors.toList());
+    private <T> void addFacetedResults(String entityType, InvertedIndex<T> index, String query,
+                                       Map<String, Set<String>> facets, Map<String, List<?>> results,
+                                       Map<String, Map<String, Long>> facetCounts) {
+        Map<String, Set<String>> filters = new HashMap<>();
+        for (String filter : facets.getOrDefault(entityType, Collections.emptySet())) {
+            int separator = filter.indexOf(FACET_SEPARATOR);
+            String facet = separator < 0 ? MAIN_FACETS.get(entityType) : filter.substring(0, separator);
+            filters.computeIfAbsent(facet, key -> new HashSet<>()).add(filter.substring(separator + 1));
+        }
+        results.put(entityType, index.search(query, filters, maxSearchResults));
+        
+        Map<String, Long> counts = new TreeMap<>();
+        index.facetCounts(query).forEach((facet, values) -> values.forEach((value, count) ->
+                counts.put(facet + FACET_SEPARATOR + value, (long) count)));
+        facetCounts.put(entityType, counts);
     }
     
-    private String getEntityFacetValue(Object entity) {
-        if (entity instanceof Student) {
-            return ((Student) entity).getMajor();
-        } else if (entity instanceof Professor) {
-            return ((Professor) entity).getDepartmentId();
-        } else if (entity instanceof Course) {
-            return ((Course) entity).getDepartmentId();
-        } else if (entity instanceof Department) {
-            return ((Department) entity).getCollege();
-        }
-        return "unknown";
+    private static Map<String, String> getStudentFacets(Student student) {
+        Map<String, String> facets = new HashMap<>();
+        facets.put("department", student.getDepartmentId());
+        facets.put("major", student.getMajor());
+        facets.put("status", student.isActive() ? "active" : "inactive");
+        return facets;
+    }
+    
+    private static Map<String, String> getProfessorFacets(Professor professor) {
+        Map<String, String> facets = new HashMap<>();
+        facets.put("department", professor.getDepartmentId());
+        facets.put("status", professor.isActive() ? "active" : "inactive");
+        return facets;
+    }
+    
+    private static Map<String, String> getCourseFacets(Course course) {
+        Map<String, String> facets = new HashMap<>();
+        facets.put("department", course.getDepartmentId());
+        facets.put("credits", String.valueOf(course.getCredits()));
+        facets.put("semester", course.getSemester());
+        facets.put("status", course.getStatus() != null ? course.getStatus().name() : null);
+        return facets;
     }
     
-    private Map<String, Long> calculateFacetCounts(List<?> entities, String entityType) {
-        return entities.stream()
-                .map(this::getEntityFacetValue)
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    private static Map<String, String> getDepartmentFacets(Department department) {
+        Map<String, String> facets = new HashMap<>();
+        facets.put("status", department.isActive() ? "active" : "inactive");
+        return facets;
     }
     
     private List<SearchSuggestion> getServiceSuggestions(String entityType, Searchable<?> service, 
@@ -717,7 +873,6 @@ public class SearchService {
     
     // Rebuild search index
     public void rebuildSearchIndex() {
-        searchIndex.clear();
         buildSearchIndex();
     }
     
@@ -0,0 +1,250 @@
+// File: src/main/java/services/StudentFilterIndex.java
+package services;
+
+import models.Student;
+import models.Student.AcademicYear;
+import utils.CompressedBitmap;
+import utils.IdDictionary;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bitmap indexes over the low-cardinality student attributes filtered on by StudentService.
+ * Students are identified by their code in StudentService's student dictionary, and every attribute
+ * value keeps a CompressedBitmap of the students holding it, so multi-criteria filters become
+ * AND/OR operations on bitmaps instead of scans over every Student.
+ *
+ * Major and academic year are indexed from the Student when it is added or updated, so changes
+ * to a Student must go through StudentService.updateStudent to be seen. Enrollment statuses
+ * live on Enrollment objects that change outside the service, so only the set of students with
+ * enrollments is indexed and callers check the status of those candidates. Honors and probation
+ * follow the GPA cache of StudentService: a student's bits are set when the GPA is computed and
+ * cleared when it is invalidated, and gpaUnknown() lists the students still to be computed.
+ *
+ * Every query returns a bitmap the caller owns.
+ */
+final class StudentFilterIndex {
+    
+    static final double HONORS_GPA = 3.5;
+    static final double PROBATION_GPA = 2.0;
+    
+    private final IdDictionary students;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private final CompressedBitmap all = new CompressedBitmap();
+    private final Map<String, CompressedBitmap> majors = new HashMap<>();
+    private final Map<AcademicYear, CompressedBitmap> academicYears = new HashMap<>();
+    private final CompressedBitmap withEnrollments = new CompressedBitmap();
+    private final CompressedBitmap gpaKnown = new CompressedBitmap();
+    private final CompressedBitmap honors = new CompressedBitmap();
+    private final CompressedBitmap probation = new CompressedBitmap();
+    
+    StudentFilterIndex(IdDictionary students) {
+        this.students = students;
+    }
+    
+    // ==================== UPDATES ====================
+    
+    /**
+     * Indexes the attributes of a new or updated student, replacing any earlier ones.
+     */
+    void index(Student student) {
+        int code = students.intern(student.getStudentId());
+        lock.writeLock().lock();
+        try {
+            clearAttributes(code);
+            all.add(code);
+            majors.computeIfAbsent(student.getMajor(), major -> new CompressedBitmap()).add(code);
+            academicYears.computeIfAbsent(student.getAcademicYear(), year -> new CompressedBitmap()).add(code);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Drops a removed student from every bitmap.
+     */
+    void remove(String studentId) {
+        int code = students.code(studentId);
+        if (code == IdDictionary.NO_CODE) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            clearAttributes(code);
+            all.remove(code);
+            withEnrollments.remove(code);
+            gpaKnown.remove(code);
+            honors.remove(code);
+            probation.remove(code);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void recordEnrollment(String studentId) {
+        int code = students.intern(studentId);
+        lock.writeLock().lock();
+        try {
+            withEnrollments.add(code);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Records a computed GPA. Called from inside the GPA cache's own atomic update, so the bits
+     * change in step with the cached value.
+     */
+    void recordGPA(String studentId, double gpa) {
+        int code = students.intern(studentId);
+        lock.writeLock().lock();
+        try {
+            gpaKnown.add(code);
+            honors.set(code, gpa >= HONORS_GPA);
+            probation.set(code, gpa < PROBATION_GPA);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void forgetGPA(String studentId) {
+        int code = students.code(studentId);
+        if (code == IdDictionary.NO_CODE) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            gpaKnown.remove(code);
+            honors.remove(code);
+            probation.remove(code);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // ==================== QUERIES ====================
+    
+    CompressedBitmap all() {
+        return read(all::copy);
+    }
+    
+    /**
+     * Students whose major equals the given value, as Objects.equals would compare it.
+     */
+    CompressedBitmap major(Object major) {
+        return read(() -> copyOf(majors.get(major)));
+    }
+    
+    /**
+     * Students whose major equals the given one ignoring case.
+     */
+    CompressedBitmap majorIgnoreCase(String major) {
+        return read(() -> union(majors, key -> key != null && key.equalsIgnoreCase(major)));
+    }
+    
+    /**
+     * Students in any of the given majors, matched exactly.
+     */
+    CompressedBitmap anyMajor(Collection<String> anyOf) {
+        return read(() -> union(majors, anyOf::contains));
+    }
+    
+    /**
+     * Students whose academic year equals the given value, as Objects.equals would compare it.
+     */
+    CompressedBitmap academicYear(Object academicYear) {
+        return read(() -> copyOf(academicYears.get(academicYear)));
+    }
+    
+    /**
+     * Students in any of the given academic years.
+     */
+    CompressedBitmap anyAcademicYear(Collection<AcademicYear> anyOf) {
+        return read(() -> union(academicYears, anyOf::contains));
+    }
+    
+    CompressedBitmap withEnrollments() {
+        return read(withEnrollments::copy);
+    }
+    
+    /**
+     * Students whose GPA has not been computed since it was last invalidated.
+     */
+    CompressedBitmap gpaUnknown() {
+        return read(() -> all.andNot(gpaKnown));
+    }
+    
+    CompressedBitmap honors() {
+        return read(() -> honors.and(all));
+    }
+    
+    CompressedBitmap probation() {
+        return read(() -> probation.and(all));
+    }
+    
+    /**
+     * Approximate heap footprint of all bitmaps in bytes.
+     */
+    long sizeInBytes() {
+        return read(() -> {
+            long bytes = all.sizeInBytes() + withEnrollments.sizeInBytes() + gpaKnown.sizeInBytes()
+                       + honors.sizeInBytes() + probation.sizeInBytes();
+            for (CompressedBitmap bitmap : majors.values()) {
+                bytes += bitmap.sizeInBytes();
+            }
+            for (CompressedBitmap bitmap : academicYears.values()) {
+                bytes += bitmap.sizeInBytes();
+            }
+            return bytes;
+        });
+    }
+    
+    // ==================== HELPERS ====================
+    
+    private void clearAttributes(int code) {
+        clearValue(majors, code);
+        clearValue(academicYears, code);
+    }
+    
+    /**
+     * Removes a code from the bitmap of whichever value holds it, dropping emptied values.
+     */
+    private static <K> void clearValue(Map<K, CompressedBitmap> values, int code) {
+        for (Iterator<CompressedBitmap> it = values.values().iterator(); it.hasNext(); ) {
+            CompressedBitmap bitmap = it.next();
+            if (bitmap.remove(code)) {
+                if (bitmap.isEmpty()) {
+                    it.remove();
+                }
+                return;
+            }
+        }
+    }
+    
+    private static <K> CompressedBitmap union(Map<K, CompressedBitmap> values, Predicate<K> matching) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (Map.Entry<K, CompressedBitmap> entry : values.entrySet()) {
+            if (matching.test(entry.getKey())) {
+                result = result.or(entry.getValue());
+            }
+        }
+        return result;
+    }
+    
+    private static CompressedBitmap copyOf(CompressedBitmap bitmap) {
+        return bitmap != null ? bitmap.copy() : new CompressedBitmap();
+    }
+    
+    private <T> T read(Supplier<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -7,7 +7,11 @@ import models.Enrollment;
 import models.Grade;
 import interfaces.Searchable;
 import interfaces.Reportable;
+import interfaces.EntityChangeListener;
 import utils.ValidationUtil;
+import utils.IdDictionary;
+import utils.IntAdjacency;
+import utils.CompressedBitmap;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -33,9 +37,14 @@ public class StudentService implements Searchable<Student>, Reportable {
     
     // Instance fields
     private final Map<String, Student> students;
+    private final EntityChangeListeners<Student> changeListeners;
     private final Map<String, List<Enrollment>> studentEnrollments;
+    private final IdDictionary studentCodes;
+    private final IdDictionary courseCodes;
+    private final IntAdjacency courseStudents; // course code -> codes of students with an enrollment in it
     private final Map<String, List<Grade>> studentGrades;
     private final Map<String, Double> calculatedGPAs;
+    private final StudentFilterIndex filterIndex;
     
     // Statistics cache
     private volatile Map<String, Object> cachedStatistics;
@@ -46,9 +55,14 @@ public class StudentService implements Searchable<Student>, Reportable {
      */
     public StudentService() {
         this.students = new ConcurrentHashMap<>();
+        this.changeListeners = new EntityChangeListeners<>();
         this.studentEnrollments = new ConcurrentHashMap<>();
+        this.studentCodes = new IdDictionary("students");
+        this.courseCodes = new IdDictionary("courses");
+        this.courseStudents = new IntAdjacency();
         this.studentGrades = new ConcurrentHashMap<>();
         this.calculatedGPAs = new ConcurrentHashMap<>();
+        this.filterIndex = new StudentFilterIndex(studentCodes);
         this.cachedStatistics = new HashMap<>();
         this.lastStatisticsUpdate = LocalDateTime.now();
     }
@@ -71,9 +85,11 @@ public class StudentService implements Searchable<Student>, Reportable {
         }
         
         students.put(student.getStudentId(), student);
+        filterIndex.index(student);
         studentEnrollments.put(student.getStudentId(), new ArrayList<>());
         studentGrades.put(student.getStudentId(), new ArrayList<>());
         invalidateStatisticsCache();
+        changeListeners.notifySaved(student);
         
         return true;
     }
@@ -90,7 +106,9 @@ public class StudentService implements Searchable<Student>, Reportable {
         }
         
         students.put(student.getStudentId(), student);
+        filterIndex.index(student);
         invalidateStatisticsCache();
+        changeListeners.notifySaved(student);
         return true;
     }
     
@@ -107,10 +125,17 @@ public class StudentService implements Searchable<Student>, Reportable {
         
         Student removed = students.remove(studentId);
         if (removed != null) {
-            studentEnrollments.remove(studentId);
+            List<Enrollment> enrollments = studentEnrollments.remove(studentId);
+            if (enrollments != null) {
+                int studentCode = studentCodes.code(studentId);
+                enrollments.forEach(enrollment ->
+                    courseStudents.remove(courseCodes.code(enrollment.getCourseId()), studentCode));
+            }
             studentGrades.remove(studentId);
             calculatedGPAs.remove(studentId);
+            filterIndex.remove(studentId);
             invalidateStatisticsCache();
+            changeListeners.notifyRemoved(removed);
             return true;
         }
         return false;
@@ -144,8 +169,7 @@ public class StudentService implements Searchable<Student>, Reportable {
      * @return List of students with the specified major
      */
     public List<Student> getStudentsByMajor(String major) {
-        return students.values().stream()
-                .filter(student -> major.equalsIgnoreCase(student.getMajor()))
+        return resolveStudents(filterIndex.majorIgnoreCase(major)).stream()
                 .sorted(Comparator.comparing(Student::getLastName)
                        .thenComparing(Student::getFirstName))
                 .collect(Collectors.toList());
@@ -158,9 +182,26 @@ public class StudentService implements Searchable<Student>, Reportable {
      * @return List of students in the specified academic year
      */
     public List<Student> getStudentsByAcademicYear(AcademicYear academicYear) {
-        return students.values().stream()
-                .filter(student -> academicYear.equals(student.getAcademicYear()))
-                .collect(Collectors.toList());
+        return resolveStudents(filterIndex.academicYear(academicYear));
+    }
+    
+    /**
+     * Get students in any of the given majors and any of the given academic years, answered
+     * from the bitmap indexes. A null or empty collection places no restriction.
+     * 
+     * @param majors The majors to match exactly
+     * @param academicYears The academic years to match
+     * @return List of students matching both restrictions
+     */
+    public List<Student> getStudentsByMajorsAndYears(Collection<String> majors, Collection<AcademicYear> academicYears) {
+        CompressedBitmap matches = filterIndex.all();
+        if (majors != null && !majors.isEmpty()) {
+            matches = matches.and(filterIndex.anyMajor(majors));
+        }
+        if (academicYears != null && !academicYears.isEmpty()) {
+            matches = matches.and(filterIndex.anyAcademicYear(academicYears));
+        }
+        return resolveStudents(matches);
     }
     
     /**
@@ -196,7 +237,7 @@ public class StudentService implements Searchable<Student>, Reportable {
      * @return List of students with the specified enrollment status
      */
     public List<Student> getStudentsByEnrollmentStatus(Enrollment.EnrollmentStatus status) {
-        return students.values().stream()
+        return resolveStudents(filterIndex.withEnrollments()).stream()
                 .filter(student -> hasEnrollmentWithStatus(student.getStudentId(), status))
                 .collect(Collectors.toList());
     }
@@ -208,7 +249,11 @@ public class StudentService implements Searchable<Student>, Reportable {
      * @return List of students enrolled in the course
      */
     public List<Student> getStudentsInCourse(String courseId) {
-        return students.values().stream()
+        // Only students who ever had an enrollment in the course need their status checked
+        return courseStudents.stream(courseCodes.code(courseId))
+                .mapToObj(studentCodes::id)
+                .map(students::get)
+                .filter(Objects::nonNull)
                 .filter(student -> isEnrolledInCourse(student.getStudentId(), courseId))
                 .collect(Collectors.toList());
     }
@@ -315,7 +360,7 @@ public class StudentService implements Searchable<Student>, Reportable {
      * @return The calculated GPA
      */
     public double calculateGPA(String studentId) {
-        return calculatedGPAs.computeIfAbsent(studentId, this::computeGPA);
+        return calculatedGPAs.computeIfAbsent(studentId, this::computeAndIndexGPA);
     }
     
     /**
@@ -325,8 +370,7 @@ public class StudentService implements Searchable<Student>, Reportable {
      * @return The recalculated GPA
      */
     public double recalculateGPA(String studentId) {
-        double gpa = computeGPA(studentId);
-        calculatedGPAs.put(studentId, gpa);
+        double gpa = calculatedGPAs.compute(studentId, (id, previous) -> computeAndIndexGPA(id));
         invalidateStatisticsCache();
         return gpa;
     }
@@ -342,6 +386,11 @@ public class StudentService implements Searchable<Student>, Reportable {
         List<Enrollment> enrollments = studentEnrollments.get(studentId);
         if (enrollments != null && enrollment != null) {
             enrollments.add(enrollment);
+            filterIndex.recordEnrollment(studentId);
+            if (enrollment.getCourseId() != null) {
+                courseStudents.addIfAbsent(courseCodes.intern(enrollment.getCourseId()),
+                                           studentCodes.intern(studentId));
+            }
             invalidateGPACache(studentId);
             return true;
         }
@@ -406,29 +455,46 @@ public class StudentService implements Searchable<Student>, Reportable {
      * @return List of students matching all criteria
      */
     public List<Student> findStudentsByCriteria(Map<String, Object> criteria) {
-        return students.values().stream()
-                .filter(student -> matchesAllCriteria(student, criteria))
+        // Indexed fields narrow the candidates by bitmap intersection; the rest are checked per student
+        CompressedBitmap matches = filterIndex.all();
+        Map<String, Object> remainingCriteria = new HashMap<>();
+        for (Map.Entry<String, Object> criterion : criteria.entrySet()) {
+            switch (criterion.getKey().toLowerCase()) {
+                case "major":
+                    matches = matches.and(filterIndex.major(criterion.getValue()));
+                    break;
+                case "academicyear":
+                    matches = matches.and(filterIndex.academicYear(criterion.getValue()));
+                    break;
+                default:
+                    remainingCriteria.put(criterion.getKey(), criterion.getValue());
+            }
+        }
+        return resolveStudents(matches).stream()
+                .filter(student -> matchesAllCriteria(student, remainingCriteria))
                 .collect(Collectors.toList());
     }
     
     /**
-     * Get students with honors (GPA >= 3.5) using method reference.
+     * Get students with honors (GPA >= 3.5) from the honors bitmap.
      * 
-     * @return List of students with honors
+     * @return List of students with honors, highest GPA first
      */
     public List<Student> getHonorsStudents() {
-        return getStudentsWithGPAAbove(3.5);
+        computeMissingGPAs();
+        return resolveStudents(filterIndex.honors()).stream()
+                .sorted(Comparator.comparingDouble((Student s) -> calculateGPA(s.getStudentId())).reversed())
+                .collect(Collectors.toList());
     }
     
     /**
-     * Get students on academic probation (GPA < 2.0) using Stream API.
+     * Get students on academic probation (GPA < 2.0) from the probation bitmap.
      * 
      * @return List of students on academic probation
      */
     public List<Student> getStudentsOnProbation() {
-        return students.values().stream()
-                .filter(student -> calculateGPA(student.getStudentId()) < 2.0)
-                .collect(Collectors.toList());
+        computeMissingGPAs();
+        return resolveStudents(filterIndex.probation());
     }
     
     // Searchable interface implementation
@@ -627,6 +693,37 @@ public class StudentService implements Searchable<Student>, Reportable {
     
     // Helper methods
     
+    /**
+     * Compute GPA for a student and record it in the honors and probation bitmaps.
+     * Only called from the atomic updates of calculatedGPAs, so the bitmaps follow the cache.
+     */
+    private double computeAndIndexGPA(String studentId) {
+        double gpa = computeGPA(studentId);
+        filterIndex.recordGPA(studentId, gpa);
+        return gpa;
+    }
+    
+    /**
+     * Compute the GPAs not cached yet, so the honors and probation bitmaps cover every student.
+     */
+    private void computeMissingGPAs() {
+        filterIndex.gpaUnknown().forEach(code -> calculateGPA(studentCodes.id(code)));
+    }
+    
+    /**
+     * Resolve student codes from the filter index to the students still present.
+     */
+    private List<Student> resolveStudents(CompressedBitmap codes) {
+        List<Student> resolved = new ArrayList<>(codes.cardinality());
+        codes.forEach(code -> {
+            Student student = students.get(studentCodes.id(code));
+            if (student != null) {
+                resolved.add(student);
+            }
+        });
+        return resolved;
+    }
+    
     /**
      * Compute GPA for a student using Stream API.
      */
@@ -953,6 +1050,24 @@ public class StudentService implements Searchable<Student>, Reportable {
                LocalDateTime.now().minusMinutes(5).isBefore(lastStatisticsUpdate);
     }
     
+    /**
+     * Add a listener for the students this service adds, updates and removes.
+     * 
+     * @param listener The change listener
+     */
+    public void addChangeListener(EntityChangeListener<Student> listener) {
+        changeListeners.add(listener);
+    }
+    
+    /**
+     * Remove a change listener.
+     * 
+     * @param listener The change listener
+     */
+    public void removeChangeListener(EntityChangeListener<Student> listener) {
+        changeListeners.remove(listener);
+    }
+    
     /**
      * Invalidate statistics cache.
      */
@@ -964,7 +1079,10 @@ public class StudentService implements Searchable<Student>, Reportable {
      * Invalidate GPA cache for a student.
      */
     private void invalidateGPACache(String studentId) {
-        calculatedGPAs.remove(studentId);
+        calculatedGPAs.computeIfPresent(studentId, (id, gpa) -> {
+            filterIndex.forgetGPA(id);
+            return null;
+        });
         invalidateStatisticsCache();
     }
 }
\ No newline at end of file
@@ -1,10 +1,17 @@
 // File location: src/main/java/utils/CacheUtil.java
 package utils;
 
+import cache.CacheClock;
+import cache.TimerWheel;
 import java.time.LocalDateTime;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -23,51 +30,59 @@ public final class CacheUtil {
     
     /**
      * Represents a cached entry with expiration and metadata
+     * Times are kept as cached-clock epoch milliseconds so reads do not allocate
      */
-    public static class CacheEntry<T> {
+    public static class CacheEntry<T> extends TimerWheel.Node {
         private final T value;
-        private final LocalDateTime createdAt;
-        private final LocalDateTime expiresAt;
-        private volatile LocalDateTime lastAccessed;
+        private final long createdAtMillis;
+        private final boolean expires;
+        private volatile long lastAccessedMillis;
         private volatile long accessCount;
         private final Map<String, Object> metadata;
+        private Object cacheKey;
         
         public CacheEntry(T value, Duration ttl) {
             this.value = value;
-            this.createdAt = LocalDateTime.now();
-            this.expiresAt = ttl != null ? createdAt.plus(ttl) : null;
-            this.lastAccessed = createdAt;
+            this.createdAtMillis = CacheClock.millis();
+            this.expires = ttl != null;
+            this.lastAccessedMillis = createdAtMillis;
             this.accessCount = 0;
             this.metadata = new ConcurrentHashMap<>();
+            if (expires) {
+                setExpirationMillis(createdAtMillis + ttl.toMillis());
+            }
         }
         
         public T getValue() {
-            this.lastAccessed = LocalDateTime.now();
+            this.lastAccessedMillis = CacheClock.millis();
             this.accessCount++;
             return value;
         }
         
         public boolean isExpired() {
-            return expiresAt != null && LocalDateTime.now().isAfter(expiresAt);
+            return expires && CacheClock.millis() > getExpirationMillis();
         }
         
         public boolean isExpired(LocalDateTime now) {
-            return expiresAt != null && now.isAfter(expiresAt);
+            return expires && now.isAfter(getExpiresAt());
         }
         
         public Duration getAge() {
-            return Duration.between(createdAt, LocalDateTime.now());
+            return Duration.ofMillis(CacheClock.millis() - createdAtMillis);
         }
         
         public Duration getTimeSinceLastAccess() {
-            return Duration.between(lastAccessed, LocalDateTime.now());
+            return Duration.ofMillis(CacheClock.millis() - lastAccessedMillis);
         }
         
         // Getters
-        public LocalDateTime getCreatedAt() { return createdAt; }
-        public LocalDateTime getExpiresAt() { return expiresAt; }
-        public LocalDateTime getLastAccessed() { return lastAccessed; }
+        public LocalDateTime getCreatedAt() { return CacheClock.toLocalDateTime(createdAtMillis); }
+        public LocalDateTime getExpiresAt() { return expires ? CacheClock.toLocalDateTime(getExpirationMillis()) : null; }
+        public LocalDateTime getLastAccessed() { return CacheClock.toLocalDateTime(lastAccessedMillis); }
         public long getAccessCount() { return accessCount; }
+        public long getCreatedAtMillis() { return createdAtMillis; }
+        public long getLastAccessedMillis() { return lastAccessedMillis; }
+        public boolean hasExpiry() { return expires; }
         public Map<String, Object> getMetadata() { return new HashMap<>(metadata); }
         
         public void setMetadata(String key, Object value) {
@@ -83,22 +98,57 @@ public final class CacheUtil {
     
     /**
      * Simple in-memory cache with TTL support
+     * Expired entries are removed by a timer wheel advanced on writes and size queries.
+     * Loads through {@link #get(Object, Function)} are single-flight per key, and entries past
+     * the refresh threshold of their TTL are reloaded ahead of expiry. A loader that asks for
+     * its own key fails fast instead of waiting on itself
      */
     public static class SimpleCache<K, V> {
         private final Map<K, CacheEntry<V>> cache;
+        private final Map<K, Load<V>> inFlight;
         private final Duration defaultTtl;
         private final int maxSize;
+        private final int refreshThreshold;
+        private final boolean asyncRefresh;
+        private final Executor refreshExecutor;
         private final ReentrantReadWriteLock lock;
+        private final TimerWheel<CacheEntry<V>> timerWheel;
+        
+        /**
+         * In-flight load of one key, remembering the thread running the loader
+         */
+        private static final class Load<V> extends CompletableFuture<V> {
+            volatile Thread loader = Thread.currentThread();
+        }
         
         public SimpleCache() {
             this(1000, Duration.ofHours(1));
         }
         
         public SimpleCache(int maxSize, Duration defaultTtl) {
+            this(maxSize, defaultTtl, 0, false, ForkJoinPool.commonPool());
+        }
+        
+        /**
+         * Creates cache with refresh-ahead
+         * @param refreshThreshold Percentage of TTL after which a loader hit reloads the entry (0 disables)
+         * @param asyncRefresh Whether to reload on the executor instead of the calling thread
+         * @param refreshExecutor Executor for asynchronous reloads
+         */
+        public SimpleCache(int maxSize, Duration defaultTtl, int refreshThreshold,
+                           boolean asyncRefresh, Executor refreshExecutor) {
+            if (refreshThreshold < 0 || refreshThreshold > 100) {
+                throw new IllegalArgumentException("Refresh threshold must be between 0 and 100");
+            }
             this.cache = new ConcurrentHashMap<>();
+            this.inFlight = new ConcurrentHashMap<>();
             this.defaultTtl = defaultTtl;
             this.maxSize = maxSize;
+            this.refreshThreshold = refreshThreshold;
+            this.asyncRefresh = asyncRefresh;
+            this.refreshExecutor = refreshExecutor;
             this.lock = new ReentrantReadWriteLock();
+            this.timerWheel = new TimerWheel<>();
         }
         
         public V get(K key) {
@@ -114,28 +164,111 @@ public final class CacheUtil {
             }
         }
         
+        /**
+         * Gets value, loading it on a miss
+         * Concurrent callers missing on the same key share one in-flight load, and no lock is
+         * held while the loader runs, so a slow load only delays callers of that key
+         */
         public V get(K key, Function<K, V> loader) {
-            V value = get(key);
-            if (value != null) {
-                return value;
+            CacheEntry<V> entry = cache.get(key);
+            if (entry != null && !entry.isExpired()) {
+                if (isRefreshDue(entry)) {
+                    refreshAhead(key, loader);
+                    entry = cache.getOrDefault(key, entry);
+                }
+                return entry.getValue();
+            }
+            
+            Load<V> future = new Load<>();
+            Load<V> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                if (existing.loader == Thread.currentThread()) {
+                    throw new IllegalStateException("Recursive load of cache key: " + key);
+                }
+                return join(existing);
             }
             
-            lock.writeLock().lock();
             try {
-                // Double-check after acquiring write lock
-                CacheEntry<V> entry = cache.get(key);
+                // Another caller may have completed a load between our miss and claiming the key
+                entry = cache.get(key);
+                V value;
                 if (entry != null && !entry.isExpired()) {
-                    return entry.getValue();
+                    value = entry.getValue();
+                } else {
+                    value = loader.apply(key);
+                    if (value != null) {
+                        put(key, value);
+                    }
                 }
-                
-                // Load and cache the value
-                V loadedValue = loader.apply(key);
-                if (loadedValue != null) {
-                    put(key, loadedValue);
-                }
-                return loadedValue;
+                future.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+                throw e;
             } finally {
-                lock.writeLock().unlock();
+                inFlight.remove(key, future);
+            }
+        }
+        
+        private boolean isRefreshDue(CacheEntry<V> entry) {
+            if (refreshThreshold <= 0 || refreshThreshold >= 100 || !entry.hasExpiry()) {
+                return false;
+            }
+            long lifetime = entry.getExpirationMillis() - entry.getCreatedAtMillis();
+            long age = CacheClock.millis() - entry.getCreatedAtMillis();
+            return age * 100 >= lifetime * refreshThreshold;
+        }
+        
+        /**
+         * Reloads a still-valid entry unless a load for the key is already in flight
+         * Readers keep receiving the current value until the reload replaces it
+         */
+        private void refreshAhead(K key, Function<K, V> loader) {
+            Load<V> future = new Load<>();
+            if (inFlight.putIfAbsent(key, future) != null) {
+                return;
+            }
+            
+            Runnable reload = () -> {
+                future.loader = Thread.currentThread();
+                try {
+                    V value = loader.apply(key);
+                    if (value != null) {
+                        put(key, value);
+                    }
+                    future.complete(value);
+                } catch (RuntimeException | Error e) {
+                    // Keep serving the current value until it expires
+                    System.err.println("Failed to refresh cache for key: " + key + ", error: " + e.getMessage());
+                    future.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, future);
+                }
+            };
+            
+            if (!asyncRefresh) {
+                reload.run();
+                return;
+            }
+            try {
+                refreshExecutor.execute(reload);
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(key, future);
+                future.cancel(false);
+            }
+        }
+        
+        private V join(CompletableFuture<V> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
             }
         }
         
@@ -148,12 +281,22 @@ public final class CacheUtil {
             
             lock.writeLock().lock();
             try {
+                advanceExpiry();
+                
                 // Evict if at capacity
-                if (cache.size() >= maxSize) {
+                if (cache.size() >= maxSize && !cache.containsKey(key)) {
                     evictOldest();
                 }
                 
-                cache.put(key, new CacheEntry<>(value, ttl));
+                CacheEntry<V> entry = new CacheEntry<>(value, ttl);
+                entry.cacheKey = key;
+                CacheEntry<V> previous = cache.put(key, entry);
+                if (previous != null) {
+                    timerWheel.deschedule(previous);
+                }
+                if (entry.hasExpiry()) {
+                    timerWheel.schedule(entry);
+                }
             } finally {
                 lock.writeLock().unlock();
             }
@@ -163,7 +306,11 @@ public final class CacheUtil {
             lock.writeLock().lock();
             try {
                 CacheEntry<V> entry = cache.remove(key);
-                return entry != null ? entry.value : null;
+                if (entry == null) {
+                    return null;
+                }
+                timerWheel.deschedule(entry);
+                return entry.value;
             } finally {
                 lock.writeLock().unlock();
             }
@@ -183,19 +330,15 @@ public final class CacheUtil {
             lock.writeLock().lock();
             try {
                 cache.clear();
+                timerWheel.clear();
             } finally {
                 lock.writeLock().unlock();
             }
         }
         
         public int size() {
-            lock.readLock().lock();
-            try {
-                cleanExpired();
-                return cache.size();
-            } finally {
-                lock.readLock().unlock();
-            }
+            cleanExpired();
+            return cache.size();
         }
         
         public boolean isEmpty() {
@@ -203,19 +346,14 @@ public final class CacheUtil {
         }
         
         public Set<K> keySet() {
-            lock.readLock().lock();
-            try {
-                cleanExpired();
-                return new HashSet<>(cache.keySet());
-            } finally {
-                lock.readLock().unlock();
-            }
+            cleanExpired();
+            return new HashSet<>(cache.keySet());
         }
         
         public CacheStats getStats() {
+            cleanExpired();
             lock.readLock().lock();
             try {
-                cleanExpired();
                 long totalAccesses = cache.values().stream()
                     .mapToLong(CacheEntry::getAccessCount)
                     .sum();
@@ -232,21 +370,35 @@ public final class CacheUtil {
             }
         }
         
-        private void cleanExpired() {
-            LocalDateTime now = LocalDateTime.now();
-            cache.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+        /**
+         * Removes entries whose TTL has passed, visiting only the timer wheel buckets that are due
+         * @return number of entries removed
+         */
+        int cleanExpired() {
+            lock.writeLock().lock();
+            try {
+                return advanceExpiry();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        
+        // Must hold write lock
+        @SuppressWarnings("unchecked")
+        private int advanceExpiry() {
+            return timerWheel.advance(CacheClock.millis(), entry -> cache.remove((K) entry.cacheKey, entry));
         }
         
         private void evictOldest() {
             if (cache.isEmpty()) return;
             
             K oldestKey = cache.entrySet().stream()
-                .min(Comparator.comparing(entry -> entry.getValue().getCreatedAt()))
+                .min(Comparator.comparingLong(entry -> entry.getValue().getCreatedAtMillis()))
                 .map(Map.Entry::getKey)
                 .orElse(null);
                 
             if (oldestKey != null) {
-                cache.remove(oldestKey);
+                timerWheel.deschedule(cache.remove(oldestKey));
             }
         }
         
@@ -258,9 +410,8 @@ public final class CacheUtil {
         }
         
         private long getExpiredCount() {
-            LocalDateTime now = LocalDateTime.now();
             return cache.values().stream()
-                .mapToLong(entry -> entry.isExpired(now) ? 1 : 0)
+                .mapToLong(entry -> entry.isExpired() ? 1 : 0)
                 .sum();
         }
     }
@@ -605,15 +756,7 @@ public final class CacheUtil {
      */
     public static <K, V> int cleanExpired(SimpleCache<K, V> cache) {
         if (cache == null) return 0;
-        
-        LocalDateTime now = LocalDateTime.now();
-        List<K> expiredKeys = cache.cache.entrySet().stream()
-            .filter(entry -> entry.getValue().isExpired(now))
-            .map(Map.Entry::getKey)
-            .collect(java.util.stream.Collectors.toList());
-        
-        expiredKeys.forEach(cache::remove);
-        return expiredKeys.size();
+        return cache.cleanExpired();
     }
     
     /**
@@ -623,7 +766,7 @@ public final class CacheUtil {
         if (cache == null || count <= 0) return 0;
         
         List<K> lruKeys = cache.cache.entrySet().stream()
-            .sorted(Comparator.comparing(entry -> entry.getValue().getLastAccessed()))
+            .sorted(Comparator.comparingLong(entry -> entry.getValue().getLastAccessedMillis()))
             .limit(count)
             .map(Map.Entry::getKey)
             .collect(java.util.stream.Collectors.toList());
@@ -662,6 +805,9 @@ public final class CacheUtil {
     public static class CacheBuilder<K, V> {
         private int maxSize = 1000;
         private Duration defaultTtl = Duration.ofHours(1);
+        private int refreshThreshold = 0;
+        private boolean asyncRefresh = false;
+        private Executor refreshExecutor = ForkJoinPool.commonPool();
         
         public CacheBuilder<K, V> maxSize(int maxSize) {
             this.maxSize = maxSize;
@@ -673,8 +819,23 @@ public final class CacheUtil {
             return this;
         }
         
+        public CacheBuilder<K, V> refreshThreshold(int percent) {
+            this.refreshThreshold = percent;
+            return this;
+        }
+        
+        public CacheBuilder<K, V> asyncRefresh(boolean asyncRefresh) {
+            this.asyncRefresh = asyncRefresh;
+            return this;
+        }
+        
+        public CacheBuilder<K, V> refreshExecutor(Executor executor) {
+            this.refreshExecutor = executor;
+            return this;
+        }
+        
         public SimpleCache<K, V> build() {
-            return new SimpleCache<>(maxSize, defaultTtl);
+            return new SimpleCache<>(maxSize, defaultTtl, refreshThreshold, asyncRefresh, refreshExecutor);
         }
     }
     
@@ -0,0 +1,360 @@
+// File location: src/main/java/utils/CompletionIndex.java
+package utils;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Autocomplete over short phrases of one entity type, such as names and codes, ranked by popularity
+ * A ternary search trie is keyed by the words of each phrase from every word on, so "sci" completes
+ * both "Science Hall" and "Computer Science"; the node ending a key holds references to the phrases
+ * with that key and their weights, so a key shared by many phrases is spelled into the trie once
+ * A phrase weighs the summed popularity of the entities that have it, and each node knows the
+ * first phrase at or below it in completion order, so the top k completions of a prefix are found
+ * best first in about O(prefix length + k log k) without visiting the rest of the subtree
+ *
+ * Entities are added, changed and removed one at a time, each contributing its phrases and weight
+ */
+public final class CompletionIndex<T> {
+    
+    private final Function<T, String> idFunction;
+    private final Function<T, Collection<String>> phrasesFunction;
+    private final ToLongFunction<T> weightFunction;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Contribution> contributions = new HashMap<>();
+    private Node root;
+    
+    /**
+     * @param idFunction Identifies an entity across changes
+     * @param phrasesFunction Phrases an entity can be found by; nulls and blanks are ignored
+     * @param weightFunction Popularity of an entity, at least 1 is used
+     */
+    public CompletionIndex(Function<T, String> idFunction, Function<T, Collection<String>> phrasesFunction,
+                           ToLongFunction<T> weightFunction) {
+        this.idFunction = idFunction;
+        this.phrasesFunction = phrasesFunction;
+        this.weightFunction = weightFunction;
+    }
+    
+    // ==================== INDEXING ====================
+    
+    /**
+     * Adds the phrases of each entity
+     */
+    public void addAll(Collection<? extends T> entities) {
+        lock.writeLock().lock();
+        try {
+            entities.forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Adds an entity, or replaces what a changed one contributed with its current phrases and weight
+     */
+    public void put(T entity) {
+        lock.writeLock().lock();
+        try {
+            apply(entity);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Takes back everything an entity contributed
+     */
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Contribution previous = contributions.remove(id);
+            if (previous == null) {
+                return false;
+            }
+            adjust(previous, -previous.weight);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Number of indexed entities
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return contributions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void apply(T entity) {
+        String id = idFunction.apply(entity);
+        if (id == null) {
+            return;
+        }
+        Set<String> phrases = new LinkedHashSet<>();
+        for (String phrase : phrasesFunction.apply(entity)) {
+            if (phrase != null && !phrase.trim().isEmpty()) {
+                phrases.add(phrase.trim());
+            }
+        }
+        Contribution contribution = new Contribution(phrases, Math.max(1, weightFunction.applyAsLong(entity)));
+        Contribution previous = contributions.put(id, contribution);
+        if (previous != null) {
+            adjust(previous, -previous.weight);
+        }
+        adjust(contribution, contribution.weight);
+    }
+    
+    private void adjust(Contribution contribution, long delta) {
+        for (String phrase : contribution.phrases) {
+            List<String> words = InvertedIndex.tokenize(phrase);
+            for (int i = 0; i < words.size(); i++) {
+                root = adjust(root, String.join(" ", words.subList(i, words.size())), 0, phrase, delta);
+            }
+        }
+    }
+    
+    /**
+     * Adds delta to the weight of a phrase under a key, creating and pruning nodes as needed
+     */
+    private Node adjust(Node node, String key, int index, String phrase, long delta) {
+        char c = key.charAt(index);
+        if (node == null) {
+            if (delta <= 0) {
+                return null;
+            }
+            node = new Node(c);
+        }
+        if (c < node.c) {
+            node.lo = adjust(node.lo, key, index, phrase, delta);
+        } else if (c > node.c) {
+            node.hi = adjust(node.hi, key, index, phrase, delta);
+        } else if (index < key.length() - 1) {
+            node.eq = adjust(node.eq, key, index + 1, phrase, delta);
+        } else {
+            if (node.phrases == null) {
+                node.phrases = new HashMap<>(2);
+            }
+            if (node.phrases.merge(phrase, delta, Long::sum) <= 0) {
+                node.phrases.remove(phrase);
+            }
+            if (node.phrases.isEmpty()) {
+                node.phrases = null;
+            }
+        }
+        node.max = 0;
+        node.maxPhrase = null;
+        if (node.phrases != null) {
+            for (Map.Entry<String, Long> entry : node.phrases.entrySet()) {
+                if (ranksBefore(entry.getValue(), entry.getKey(), node.max, node.maxPhrase)) {
+                    node.max = entry.getValue();
+                    node.maxPhrase = entry.getKey();
+                }
+            }
+        }
+        for (Node child : new Node[] {node.lo, node.eq, node.hi}) {
+            if (child != null && ranksBefore(child.max, child.maxPhrase, node.max, node.maxPhrase)) {
+                node.max = child.max;
+                node.maxPhrase = child.maxPhrase;
+            }
+        }
+        return node.phrases == null && node.lo == null && node.eq == null && node.hi == null ? null : node;
+    }
+    
+    // ==================== COMPLETION ====================
+    
+    /**
+     * Phrases with a word starting with the prefix, most popular first, then alphabetically
+     *
+     * @param prefix Typed text; words are matched like InvertedIndex tokens, the last one by prefix
+     * @param limit Maximum number of completions returned
+     */
+    public List<Completion> complete(String prefix, int limit) {
+        String key = normalizePrefix(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = find(root, key);
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            
+            // Best first: a subtree is expanded only once its first phrase is the next one due;
+            // keys ending at the prefix node match too, but not its lo and hi siblings
+            PriorityQueue<Candidate> queue = new PriorityQueue<>();
+            addPhrases(queue, node);
+            if (node.eq != null) {
+                queue.add(Candidate.subtree(node.eq));
+            }
+            Map<String, Completion> completions = new LinkedHashMap<>();
+            while (!queue.isEmpty() && completions.size() < limit) {
+                Candidate candidate = queue.poll();
+                Node current = candidate.node;
+                if (current == null) {
+                    // A phrase is reached once per matching word, always at its full weight
+                    completions.putIfAbsent(candidate.phrase, new Completion(candidate.phrase, candidate.weight));
+                    continue;
+                }
+                addPhrases(queue, current);
+                for (Node child : new Node[] {current.lo, current.eq, current.hi}) {
+                    if (child != null) {
+                        queue.add(Candidate.subtree(child));
+                    }
+                }
+            }
+            return new ArrayList<>(completions.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private static void addPhrases(PriorityQueue<Candidate> queue, Node node) {
+        if (node.phrases != null) {
+            node.phrases.forEach((phrase, weight) -> queue.add(new Candidate(null, phrase, weight)));
+        }
+    }
+    
+    private static Node find(Node node, String key) {
+        int index = 0;
+        while (node != null) {
+            char c = key.charAt(index);
+            if (c < node.c) {
+                node = node.lo;
+            } else if (c > node.c) {
+                node = node.hi;
+            } else if (index == key.length() - 1) {
+                return node;
+            } else {
+                node = node.eq;
+                index++;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Tokens of the prefix joined by single spaces, keeping a trailing space once a word is finished
+     */
+    private static String normalizePrefix(String prefix) {
+        List<String> words = InvertedIndex.tokenize(prefix);
+        if (words.isEmpty()) {
+            return "";
+        }
+        String key = String.join(" ", words);
+        char last = prefix.charAt(prefix.length() - 1);
+        return Character.isLetterOrDigit(last) ? key : key + " ";
+    }
+    
+    /**
+     * Heavier first, then alphabetically; an absent phrase ranks last
+     */
+    private static boolean ranksBefore(long weight, String phrase, long otherWeight, String otherPhrase) {
+        if (weight != otherWeight) {
+            return weight > otherWeight;
+        }
+        return phrase != null && (otherPhrase == null || phrase.compareTo(otherPhrase) < 0);
+    }
+    
+    // ==================== NESTED TYPES ====================
+    
+    /**
+     * A completed phrase with its popularity
+     */
+    public static final class Completion {
+        private final String phrase;
+        private final long weight;
+        
+        Completion(String phrase, long weight) {
+            this.phrase = phrase;
+            this.weight = weight;
+        }
+        
+        public String getPhrase() { return phrase; }
+        public long getWeight() { return weight; }
+        
+        @Override
+        public String toString() {
+            return String.format("Completion{phrase='%s', weight=%d}", phrase, weight);
+        }
+    }
+    
+    /**
+     * Ternary search trie node; phrases maps the phrases whose key ends here to their weights and
+     * is null elsewhere, and max and maxPhrase describe the first phrase in completion order at
+     * this node or anywhere below
+     */
+    private static final class Node {
+        final char c;
+        Node lo;
+        Node eq;
+        Node hi;
+        Map<String, Long> phrases;
+        long max;
+        String maxPhrase;
+        
+        Node(char c) {
+            this.c = c;
+        }
+    }
+    
+    /**
+     * Phrases and weight an entity contributed, to take back when it changes
+     */
+    private static final class Contribution {
+        final Set<String> phrases;
+        final long weight;
+        
+        Contribution(Set<String> phrases, long weight) {
+            this.phrases = phrases;
+            this.weight = weight;
+        }
+    }
+    
+    /**
+     * A subtree to expand, or a phrase to emit when node is null, ordered by the first phrase
+     * it can yield
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+        final Node node;
+        final String phrase;
+        final long weight;
+        
+        Candidate(Node node, String phrase, long weight) {
+            this.node = node;
+            this.phrase = phrase;
+            this.weight = weight;
+        }
+        
+        static Candidate subtree(Node node) {
+            return new Candidate(node, node.maxPhrase, node.max);
+        }
+        
+        @Override
+        public int compareTo(Candidate other) {
+            if (ranksBefore(weight, phrase, other.weight, other.phrase)) {
+                return -1;
+            }
+            if (ranksBefore(other.weight, other.phrase, weight, phrase)) {
+                return 1;
+            }
+            // A subtree led by this very phrase holds nothing better, so the phrase may go first
+            return Boolean.compare(node != null, other.node != null);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CompletionIndex{entities=%d}", size());
+    }
+}
@@ -0,0 +1,596 @@
+// File location: src/main/java/utils/CompressedBitmap.java
+package utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Compressed bitmap of non-negative ints, such as dictionary codes, in the roaring layout
+ * Values are split into chunks of 65536 by their high 16 bits; a chunk holding up to 4096 values
+ * is a sorted char[] of the low bits, a denser chunk is a long[1024] bitmap
+ * A sparse attribute over 100k codes therefore costs about 2 bytes per member, a dense one at most
+ * 8 KB per chunk, and AND/OR/AND NOT run chunk by chunk on words or merged arrays
+ *
+ * Not thread-safe; the set operations return new bitmaps and leave their operands alone
+ */
+public final class CompressedBitmap {
+    
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    
+    // Sorted high bits of the chunks, with a char[] or long[] container for each
+    private char[] keys = new char[0];
+    private Object[] containers = new Object[0];
+    private int[] cardinalities = new int[0];
+    private int chunkCount;
+    
+    public CompressedBitmap() {
+    }
+    
+    /**
+     * Bitmap holding the given values
+     */
+    public static CompressedBitmap of(int... values) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+    
+    // ==================== UPDATES ====================
+    
+    /**
+     * Adds a value; returns false if it was already present
+     */
+    public boolean add(int value) {
+        requireValue(value);
+        char high = (char) (value >>> 16);
+        char low = (char) value;
+        int chunk = Arrays.binarySearch(keys, 0, chunkCount, high);
+        if (chunk < 0) {
+            chunk = -chunk - 1;
+            insertChunk(chunk, high, new char[4], 0);
+        }
+        Object container = containers[chunk];
+        int cardinality = cardinalities[chunk];
+        if (container instanceof long[]) {
+            long[] words = (long[]) container;
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) != 0) {
+                return false;
+            }
+            words[low >>> 6] |= bit;
+        } else {
+            char[] values = (char[]) container;
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0) {
+                return false;
+            }
+            index = -index - 1;
+            if (cardinality == ARRAY_MAX) {
+                long[] words = toWords(values, cardinality);
+                words[low >>> 6] |= 1L << low;
+                containers[chunk] = words;
+            } else {
+                if (cardinality == values.length) {
+                    values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+                    containers[chunk] = values;
+                }
+                System.arraycopy(values, index, values, index + 1, cardinality - index);
+                values[index] = low;
+            }
+        }
+        cardinalities[chunk] = cardinality + 1;
+        return true;
+    }
+    
+    /**
+     * Removes a value; returns false if it was not present
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int chunk = Arrays.binarySearch(keys, 0, chunkCount, (char) (value >>> 16));
+        if (chunk < 0) {
+            return false;
+        }
+        char low = (char) value;
+        Object container = containers[chunk];
+        int cardinality = cardinalities[chunk];
+        if (container instanceof long[]) {
+            long[] words = (long[]) container;
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                return false;
+            }
+            words[low >>> 6] &= ~bit;
+            if (cardinality - 1 <= ARRAY_MAX) {
+                containers[chunk] = toValues(words, cardinality - 1);
+            }
+        } else {
+            char[] values = (char[]) container;
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+        }
+        if (cardinality == 1) {
+            removeChunk(chunk);
+        } else {
+            cardinalities[chunk] = cardinality - 1;
+        }
+        return true;
+    }
+    
+    /**
+     * Adds or removes a value
+     */
+    public void set(int value, boolean present) {
+        if (present) {
+            add(value);
+        } else {
+            remove(value);
+        }
+    }
+    
+    // ==================== READS ====================
+    
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int chunk = Arrays.binarySearch(keys, 0, chunkCount, (char) (value >>> 16));
+        if (chunk < 0) {
+            return false;
+        }
+        char low = (char) value;
+        Object container = containers[chunk];
+        if (container instanceof long[]) {
+            return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, 0, cardinalities[chunk], low) >= 0;
+    }
+    
+    /**
+     * Number of values in the bitmap
+     */
+    public int cardinality() {
+        int total = 0;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            total += cardinalities[chunk];
+        }
+        return total;
+    }
+    
+    public boolean isEmpty() {
+        return chunkCount == 0;
+    }
+    
+    /**
+     * Visits the values in ascending order
+     */
+    public void forEach(IntConsumer action) {
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int base = keys[chunk] << 16;
+            Object container = containers[chunk];
+            if (container instanceof long[]) {
+                long[] words = (long[]) container;
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    long bits = words[word];
+                    while (bits != 0) {
+                        action.accept(base | (word << 6) | Long.numberOfTrailingZeros(bits));
+                        bits &= bits - 1;
+                    }
+                }
+            } else {
+                char[] values = (char[]) container;
+                for (int i = 0; i < cardinalities[chunk]; i++) {
+                    action.accept(base | values[i]);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Values in ascending order
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] position = {0};
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+    
+    public IntStream stream() {
+        return Arrays.stream(toArray());
+    }
+    
+    /**
+     * Approximate heap footprint of the containers in bytes
+     */
+    public long sizeInBytes() {
+        long bytes = 16L + keys.length * 2L + containers.length * 4L + cardinalities.length * 4L;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            Object container = containers[chunk];
+            bytes += 16 + (container instanceof long[] ? BITMAP_WORDS * 8L : ((char[]) container).length * 2L);
+        }
+        return bytes;
+    }
+    
+    // ==================== SET OPERATIONS ====================
+    
+    /**
+     * Values present in both bitmaps
+     */
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int left = 0;
+        int right = 0;
+        while (left < chunkCount && right < other.chunkCount) {
+            if (keys[left] < other.keys[right]) {
+                left++;
+            } else if (keys[left] > other.keys[right]) {
+                right++;
+            } else {
+                Object leftContainer = containers[left];
+                Object rightContainer = other.containers[right];
+                if (leftContainer instanceof char[] && rightContainer instanceof char[]) {
+                    result.appendValues(keys[left], intersect((char[]) leftContainer, cardinalities[left],
+                                                              (char[]) rightContainer, other.cardinalities[right]));
+                } else if (leftContainer instanceof char[]) {
+                    result.appendValues(keys[left], filter((char[]) leftContainer, cardinalities[left],
+                                                           (long[]) rightContainer));
+                } else if (rightContainer instanceof char[]) {
+                    result.appendValues(keys[left], filter((char[]) rightContainer, other.cardinalities[right],
+                                                           (long[]) leftContainer));
+                } else {
+                    long[] words = ((long[]) leftContainer).clone();
+                    long[] otherWords = (long[]) rightContainer;
+                    for (int word = 0; word < BITMAP_WORDS; word++) {
+                        words[word] &= otherWords[word];
+                    }
+                    result.appendWords(keys[left], words);
+                }
+                left++;
+                right++;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Number of values present in both bitmaps, without building their intersection
+     */
+    public int andCardinality(CompressedBitmap other) {
+        int total = 0;
+        int left = 0;
+        int right = 0;
+        while (left < chunkCount && right < other.chunkCount) {
+            if (keys[left] < other.keys[right]) {
+                left++;
+            } else if (keys[left] > other.keys[right]) {
+                right++;
+            } else {
+                Object leftContainer = containers[left];
+                Object rightContainer = other.containers[right];
+                if (leftContainer instanceof long[] && rightContainer instanceof long[]) {
+                    long[] words = (long[]) leftContainer;
+                    long[] otherWords = (long[]) rightContainer;
+                    for (int word = 0; word < BITMAP_WORDS; word++) {
+                        total += Long.bitCount(words[word] & otherWords[word]);
+                    }
+                } else if (leftContainer instanceof char[] && rightContainer instanceof char[]) {
+                    total += countBoth((char[]) leftContainer, cardinalities[left],
+                                       (char[]) rightContainer, other.cardinalities[right]);
+                } else if (leftContainer instanceof char[] && cardinalities[left] <= other.cardinalities[right]) {
+                    total += countIn((char[]) leftContainer, cardinalities[left], rightContainer, other.cardinalities[right]);
+                } else if (rightContainer instanceof char[]) {
+                    total += countIn((char[]) rightContainer, other.cardinalities[right], leftContainer, cardinalities[left]);
+                } else {
+                    total += countIn((char[]) leftContainer, cardinalities[left], rightContainer, other.cardinalities[right]);
+                }
+                left++;
+                right++;
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Values present in either bitmap
+     */
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int left = 0;
+        int right = 0;
+        while (left < chunkCount || right < other.chunkCount) {
+            if (right == other.chunkCount || (left < chunkCount && keys[left] < other.keys[right])) {
+                result.appendCopy(keys[left], containers[left], cardinalities[left]);
+                left++;
+            } else if (left == chunkCount || keys[left] > other.keys[right]) {
+                result.appendCopy(other.keys[right], other.containers[right], other.cardinalities[right]);
+                right++;
+            } else {
+                Object leftContainer = containers[left];
+                Object rightContainer = other.containers[right];
+                if (leftContainer instanceof char[] && rightContainer instanceof char[]
+                        && cardinalities[left] + other.cardinalities[right] <= ARRAY_MAX) {
+                    result.appendValues(keys[left], union((char[]) leftContainer, cardinalities[left],
+                                                          (char[]) rightContainer, other.cardinalities[right]));
+                } else {
+                    long[] words = wordsOf(leftContainer, cardinalities[left]);
+                    orInto(words, rightContainer, other.cardinalities[right]);
+                    result.appendWords(keys[left], words);
+                }
+                left++;
+                right++;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Values present in this bitmap but not in the other
+     */
+    public CompressedBitmap andNot(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int right = 0;
+        for (int left = 0; left < chunkCount; left++) {
+            while (right < other.chunkCount && other.keys[right] < keys[left]) {
+                right++;
+            }
+            if (right == other.chunkCount || other.keys[right] != keys[left]) {
+                result.appendCopy(keys[left], containers[left], cardinalities[left]);
+                continue;
+            }
+            Object leftContainer = containers[left];
+            Object rightContainer = other.containers[right];
+            if (leftContainer instanceof char[]) {
+                char[] values = (char[]) leftContainer;
+                char[] kept = new char[cardinalities[left]];
+                int size = 0;
+                for (int i = 0; i < cardinalities[left]; i++) {
+                    if (!containsLow(rightContainer, other.cardinalities[right], values[i])) {
+                        kept[size++] = values[i];
+                    }
+                }
+                result.appendValues(keys[left], Arrays.copyOf(kept, size));
+            } else {
+                long[] words = ((long[]) leftContainer).clone();
+                long[] removed = wordsOf(rightContainer, other.cardinalities[right]);
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    words[word] &= ~removed[word];
+                }
+                result.appendWords(keys[left], words);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Independent copy of this bitmap
+     */
+    public CompressedBitmap copy() {
+        CompressedBitmap copy = new CompressedBitmap();
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            copy.appendCopy(keys[chunk], containers[chunk], cardinalities[chunk]);
+        }
+        return copy;
+    }
+    
+    // ==================== CONTAINERS ====================
+    
+    private void insertChunk(int chunk, char high, Object container, int cardinality) {
+        if (chunkCount == keys.length) {
+            int capacity = Math.max(4, chunkCount * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+        System.arraycopy(keys, chunk, keys, chunk + 1, chunkCount - chunk);
+        System.arraycopy(containers, chunk, containers, chunk + 1, chunkCount - chunk);
+        System.arraycopy(cardinalities, chunk, cardinalities, chunk + 1, chunkCount - chunk);
+        keys[chunk] = high;
+        containers[chunk] = container;
+        cardinalities[chunk] = cardinality;
+        chunkCount++;
+    }
+    
+    private void removeChunk(int chunk) {
+        System.arraycopy(keys, chunk + 1, keys, chunk, chunkCount - chunk - 1);
+        System.arraycopy(containers, chunk + 1, containers, chunk, chunkCount - chunk - 1);
+        System.arraycopy(cardinalities, chunk + 1, cardinalities, chunk, chunkCount - chunk - 1);
+        chunkCount--;
+        containers[chunkCount] = null;
+    }
+    
+    /**
+     * Appends a chunk above all existing ones from exact-size sorted low bits
+     */
+    private void appendValues(char high, char[] values) {
+        if (values.length > 0) {
+            insertChunk(chunkCount, high, values, values.length);
+        }
+    }
+    
+    /**
+     * Appends a chunk above all existing ones from words it takes ownership of
+     */
+    private void appendWords(char high, long[] words) {
+        int cardinality = 0;
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        if (cardinality > ARRAY_MAX) {
+            insertChunk(chunkCount, high, words, cardinality);
+        } else {
+            appendValues(high, toValues(words, cardinality));
+        }
+    }
+    
+    private void appendCopy(char high, Object container, int cardinality) {
+        insertChunk(chunkCount, high, container instanceof long[]
+            ? ((long[]) container).clone()
+            : Arrays.copyOf((char[]) container, cardinality), cardinality);
+    }
+    
+    private static boolean containsLow(Object container, int cardinality, char low) {
+        if (container instanceof long[]) {
+            return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, 0, cardinality, low) >= 0;
+    }
+    
+    private static int countIn(char[] values, int size, Object container, int cardinality) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (containsLow(container, cardinality, values[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private static int countBoth(char[] left, int leftSize, char[] right, int rightSize) {
+        // A few values are looked up in the other array, similar sizes are merged
+        int smaller = Math.min(leftSize, rightSize);
+        int larger = Math.max(leftSize, rightSize);
+        if (smaller * (32 - Integer.numberOfLeadingZeros(larger)) < smaller + larger) {
+            return leftSize <= rightSize
+                ? countIn(left, leftSize, right, rightSize)
+                : countIn(right, rightSize, left, leftSize);
+        }
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < leftSize && j < rightSize) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+    
+    private static char[] intersect(char[] left, int leftSize, char[] right, int rightSize) {
+        char[] result = new char[Math.min(leftSize, rightSize)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < leftSize && j < rightSize) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+    
+    private static char[] union(char[] left, int leftSize, char[] right, int rightSize) {
+        char[] result = new char[leftSize + rightSize];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < leftSize || j < rightSize) {
+            if (j == rightSize || (i < leftSize && left[i] < right[j])) {
+                result[size++] = left[i++];
+            } else if (i == leftSize || left[i] > right[j]) {
+                result[size++] = right[j++];
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+    
+    private static char[] filter(char[] values, int size, long[] words) {
+        char[] result = new char[size];
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if ((words[values[i] >>> 6] & (1L << values[i])) != 0) {
+                result[kept++] = values[i];
+            }
+        }
+        return Arrays.copyOf(result, kept);
+    }
+    
+    private static long[] wordsOf(Object container, int cardinality) {
+        return container instanceof long[]
+            ? ((long[]) container).clone()
+            : toWords((char[]) container, cardinality);
+    }
+    
+    private static void orInto(long[] words, Object container, int cardinality) {
+        if (container instanceof long[]) {
+            long[] otherWords = (long[]) container;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                words[word] |= otherWords[word];
+            }
+        } else {
+            char[] values = (char[]) container;
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+        }
+    }
+    
+    private static long[] toWords(char[] values, int cardinality) {
+        long[] words = new long[BITMAP_WORDS];
+        for (int i = 0; i < cardinality; i++) {
+            words[values[i] >>> 6] |= 1L << values[i];
+        }
+        return words;
+    }
+    
+    private static char[] toValues(long[] words, int cardinality) {
+        char[] values = new char[cardinality];
+        int size = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long bits = words[word];
+            while (bits != 0) {
+                values[size++] = (char) ((word << 6) | Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return values;
+    }
+    
+    private static void requireValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Bitmap values must not be negative, got " + value);
+        }
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CompressedBitmap)) return false;
+        return Arrays.equals(toArray(), ((CompressedBitmap) o).toArray());
+    }
+    
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CompressedBitmap{cardinality=%d, chunks=%d}", cardinality(), chunkCount);
+    }
+}
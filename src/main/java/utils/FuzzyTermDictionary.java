@@ -0,0 +1,185 @@
+// File location: src/main/java/utils/FuzzyTermDictionary.java
+package utils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Term dictionary answering "which terms are within k edits of this token"
+ * Terms are indexed by their padded bigrams and by length; a lookup only considers terms holding
+ * one of the token's rarest bigrams, as every term within k edits must, and verifies them with a
+ * banded Levenshtein distance that stops as soon as the bound is exceeded
+ *
+ * Lookups never lock; writers are expected to be serialized by the owner, as InvertedIndex does
+ */
+public final class FuzzyTermDictionary {
+    
+    private static final char PAD_START = '\u0002';
+    private static final char PAD_END = '\u0003';
+    
+    private final Map<String, Set<String>> termsByGram = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<String>> termsByLength = new ConcurrentHashMap<>();
+    
+    // ==================== MAINTENANCE ====================
+    
+    /**
+     * Adds a term; adding a term twice has no effect
+     */
+    public void add(String term) {
+        if (!termsByLength.computeIfAbsent(term.length(), length -> ConcurrentHashMap.newKeySet()).add(term)) {
+            return;
+        }
+        for (String gram : grams(term)) {
+            termsByGram.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(term);
+        }
+    }
+    
+    /**
+     * Removes a term
+     */
+    public void remove(String term) {
+        if (!removeFrom(termsByLength, term.length(), term)) {
+            return;
+        }
+        for (String gram : grams(term)) {
+            removeFrom(termsByGram, gram, term);
+        }
+    }
+    
+    /**
+     * Number of terms
+     */
+    public int size() {
+        return termsByLength.values().stream().mapToInt(Set::size).sum();
+    }
+    
+    // ==================== LOOKUP ====================
+    
+    /**
+     * Terms within an edit distance of a token, each with its distance
+     */
+    public Map<String, Integer> lookup(String token, int maxDistance) {
+        int length = token.length();
+        int bound = Math.max(0, Math.min(maxDistance, Integer.MAX_VALUE - length - 1));
+        int minLength = Math.max(0, length - bound);
+        int maxLength = length + bound;
+        Map<String, Integer> matches = new HashMap<>();
+        
+        // Each edit changes at most two bigrams, so a match shares all but 2k of the token's bigrams...
+        Set<String> tokenGrams = grams(token);
+        int requiredGrams = tokenGrams.size() - 2 * bound;
+        if (requiredGrams <= 0) {
+            // Too short for the bigrams to rule anything out; check every term of a feasible length
+            termsByLength.forEach((termLength, terms) -> {
+                if (termLength >= minLength && termLength <= maxLength) {
+                    terms.forEach(term -> verify(token, term, bound, matches));
+                }
+            });
+            return matches;
+        }
+        
+        // ...so it holds at least one of any 2k + 1 of them, and only the rarest 2k + 1 lists are read
+        List<Set<String>> gramTerms = new ArrayList<>();
+        for (String gram : tokenGrams) {
+            gramTerms.add(termsByGram.getOrDefault(gram, Collections.emptySet()));
+        }
+        gramTerms.sort(Comparator.comparingInt(Set::size));
+        Set<String> candidates = new HashSet<>();
+        for (Set<String> terms : gramTerms.subList(0, tokenGrams.size() - requiredGrams + 1)) {
+            for (String term : terms) {
+                if (term.length() >= minLength && term.length() <= maxLength && candidates.add(term)) {
+                    verify(token, term, bound, matches);
+                }
+            }
+        }
+        return matches;
+    }
+    
+    private static void verify(String token, String term, int bound, Map<String, Integer> matches) {
+        int distance = distance(token, term, bound);
+        if (distance <= bound) {
+            matches.put(term, distance);
+        }
+    }
+    
+    // ==================== EDIT DISTANCE ====================
+    
+    /**
+     * Levenshtein distance, or maxDistance + 1 once it is known to exceed maxDistance
+     * Only the diagonal band of width 2 * maxDistance + 1 is computed, on two rolling rows
+     */
+    public static int distance(CharSequence a, CharSequence b, int maxDistance) {
+        int m = a.length();
+        int n = b.length();
+        int limit = Math.max(0, Math.min(maxDistance, Math.max(m, n)));
+        int exceeded = limit + 1;
+        if (Math.abs(m - n) > limit) {
+            return exceeded;
+        }
+        
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j <= limit ? j : exceeded;
+        }
+        for (int i = 1; i <= m; i++) {
+            int from = Math.max(1, i - limit);
+            int to = Math.min(n, i + limit);
+            current[from - 1] = from == 1 ? Math.min(i, exceeded) : exceeded;
+            int rowMinimum = current[from - 1];
+            char c = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                int cell = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(cell, exceeded);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (to < n) {
+                current[to + 1] = exceeded;
+            }
+            if (rowMinimum > limit) {
+                return exceeded;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[n];
+    }
+    
+    /**
+     * Similarity in [0, 1]: one minus the edit distance over the longer length
+     */
+    public static double similarity(String a, String b) {
+        int longer = Math.max(a.length(), b.length());
+        return longer > 0 ? 1.0 - (double) distance(a, b, longer) / longer : 0.0;
+    }
+    
+    // ==================== HELPER METHODS ====================
+    
+    /**
+     * Distinct bigrams of a term padded at both ends, so "ab" has "^a", "ab" and "b$"
+     */
+    private static Set<String> grams(String term) {
+        String padded = PAD_START + term + PAD_END;
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 2 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 2));
+        }
+        return grams;
+    }
+    
+    private static <K> boolean removeFrom(Map<K, Set<String>> index, K key, String term) {
+        boolean[] removed = new boolean[1];
+        index.computeIfPresent(key, (k, terms) -> {
+            removed[0] = terms.remove(term);
+            return terms.isEmpty() ? null : terms;
+        });
+        return removed[0];
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("FuzzyTermDictionary{terms=%d, grams=%d}", size(), termsByGram.size());
+    }
+}
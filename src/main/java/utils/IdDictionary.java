@@ -0,0 +1,161 @@
+// File location: src/main/java/utils/IdDictionary.java
+package utils;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Dictionary encoding entity string IDs as dense int codes
+ * Each service owns the dictionaries for the codes it keeps, so they are dropped with it
+ * Codes are handed out from 0 upwards and never reused, so a code stays valid once issued
+ *
+ * IDs are found through an open-addressing table of codes, about 16 bytes per ID on top of the
+ * string itself; lookups are lock-free unless they race with an insert
+ */
+public final class IdDictionary {
+    
+    /**
+     * Code of an ID that is null or not in the dictionary
+     */
+    public static final int NO_CODE = -1;
+    
+    private final String name;
+    private final StampedLock lock = new StampedLock();
+    
+    // Both arrays are only written under the write lock; slots is kept at most half full
+    private String[] ids = new String[64];
+    private int[] slots = new int[128]; // code + 1, 0 when empty
+    private volatile int size;
+    
+    public IdDictionary(String name) {
+        this.name = name;
+    }
+    
+    // ==================== ENCODING ====================
+    
+    /**
+     * Gets the code of an ID, adding the ID if it is new
+     */
+    public int intern(String id) {
+        int code = code(id);
+        if (code != NO_CODE || id == null) {
+            return code;
+        }
+        long stamp = lock.writeLock();
+        try {
+            code = find(id);
+            return code != NO_CODE ? code : add(id);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    /**
+     * Gets the code of an ID without adding it
+     */
+    public int code(String id) {
+        if (id == null) {
+            return NO_CODE;
+        }
+        long stamp = lock.tryOptimisticRead();
+        int code = find(id);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                code = find(id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return code;
+    }
+    
+    /**
+     * Gets the ID for a code, or null for NO_CODE and unknown codes
+     */
+    public String id(int code) {
+        long stamp = lock.tryOptimisticRead();
+        String id = idAt(code);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                id = idAt(code);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return id;
+    }
+    
+    /**
+     * Number of codes issued so far; every code is below this
+     */
+    public int size() {
+        return size;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    // ==================== TABLE ====================
+    
+    /**
+     * Probes for an ID; safe to run against a table being written, as slots only ever fill up
+     * and half of them stay empty, and the caller validates the result
+     */
+    private int find(String id) {
+        String[] currentIds = ids;
+        int[] currentSlots = slots;
+        int mask = currentSlots.length - 1;
+        for (int slot = home(id, mask); currentSlots[slot] != 0; slot = (slot + 1) & mask) {
+            int code = currentSlots[slot] - 1;
+            if (code < currentIds.length && id.equals(currentIds[code])) {
+                return code;
+            }
+        }
+        return NO_CODE;
+    }
+    
+    private String idAt(int code) {
+        String[] currentIds = ids;
+        return code >= 0 && code < currentIds.length ? currentIds[code] : null;
+    }
+    
+    private int add(String id) {
+        int code = size;
+        if (code == ids.length) {
+            ids = Arrays.copyOf(ids, code * 2);
+        }
+        if ((code + 1) * 2 > slots.length) {
+            int[] resized = new int[slots.length * 2];
+            for (int existing = 0; existing < code; existing++) {
+                place(resized, ids[existing], existing);
+            }
+            slots = resized;
+        }
+        ids[code] = id;
+        place(slots, id, code);
+        size = code + 1;
+        return code;
+    }
+    
+    private static void place(int[] table, String id, int code) {
+        int mask = table.length - 1;
+        int slot = home(id, mask);
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = code + 1;
+    }
+    
+    private static int home(String id, int mask) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("IdDictionary{name='%s', size=%d}", name, size);
+    }
+}
@@ -0,0 +1,189 @@
+// File location: src/main/java/utils/IntAdjacency.java
+package utils;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Adjacency lists between dictionary-encoded IDs, one int array per key
+ * Replaces maps of ID lists such as student -> enrollment IDs: a key with n neighbours costs one
+ * int array of at most 2n instead of a map entry, an ArrayList and n string references
+ * Rows keep insertion order; an append fills spare capacity and doubles the array when full, so
+ * it is amortized O(1), and publishes a new row header, so readers never lock and always see a
+ * whole row; removals copy the row; writers are serialized
+ */
+public final class IntAdjacency {
+    
+    private static final Row EMPTY = new Row(new int[0], 0);
+    
+    // Row headers are replaced through volatile slot writes; the table itself is replaced when it grows
+    private volatile AtomicReferenceArray<Row> rows = new AtomicReferenceArray<>(64);
+    private volatile long edgeCount;
+    
+    // ==================== WRITES ====================
+    
+    /**
+     * Appends a value to the row of a key
+     */
+    public synchronized void add(int key, int value) {
+        requireKey(key);
+        if (key >= rows.length()) {
+            grow(key + 1);
+        }
+        Row row = rows.get(key);
+        int[] values;
+        if (row == null) {
+            values = new int[2];
+        } else if (row.size == row.values.length) {
+            values = Arrays.copyOf(row.values, row.size * 2);
+        } else {
+            // Readers of the current header never look past its size, so the spare slot is free
+            values = row.values;
+        }
+        int size = row == null ? 0 : row.size;
+        values[size] = value;
+        rows.set(key, new Row(values, size + 1));
+        edgeCount++;
+    }
+    
+    /**
+     * Appends a value to the row of a key unless the row already holds it
+     */
+    public synchronized boolean addIfAbsent(int key, int value) {
+        if (contains(key, value)) {
+            return false;
+        }
+        add(key, value);
+        return true;
+    }
+    
+    /**
+     * Removes the first occurrence of a value from the row of a key
+     */
+    public synchronized boolean remove(int key, int value) {
+        Row row = row(key);
+        for (int i = 0; i < row.size; i++) {
+            if (row.values[i] == value) {
+                // Copied rather than shifted in place, as readers may hold the current array
+                int[] shrunk = new int[row.size - 1];
+                System.arraycopy(row.values, 0, shrunk, 0, i);
+                System.arraycopy(row.values, i + 1, shrunk, i, row.size - i - 1);
+                rows.set(key, shrunk.length == 0 ? null : new Row(shrunk, shrunk.length));
+                edgeCount--;
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Removes the whole row of a key
+     */
+    public synchronized void removeAll(int key) {
+        Row row = row(key);
+        if (row.size > 0) {
+            rows.set(key, null);
+            edgeCount -= row.size;
+        }
+    }
+    
+    // ==================== READS ====================
+    
+    /**
+     * Number of values in the row of a key
+     */
+    public int degree(int key) {
+        return row(key).size;
+    }
+    
+    /**
+     * Checks if the row of a key holds a value
+     */
+    public boolean contains(int key, int value) {
+        Row row = row(key);
+        for (int i = 0; i < row.size; i++) {
+            if (row.values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Values in the row of a key, in insertion order
+     */
+    public IntStream stream(int key) {
+        Row row = row(key);
+        return Arrays.stream(row.values, 0, row.size);
+    }
+    
+    /**
+     * Visits the values in the row of a key, in insertion order
+     */
+    public void forEach(int key, IntConsumer action) {
+        Row row = row(key);
+        for (int i = 0; i < row.size; i++) {
+            action.accept(row.values[i]);
+        }
+    }
+    
+    /**
+     * Copy of the row of a key
+     */
+    public int[] toArray(int key) {
+        Row row = row(key);
+        return Arrays.copyOf(row.values, row.size);
+    }
+    
+    /**
+     * Keys whose row is not empty, in ascending order
+     */
+    public IntStream keys() {
+        AtomicReferenceArray<Row> current = rows;
+        return IntStream.range(0, current.length()).filter(key -> current.get(key) != null);
+    }
+    
+    /**
+     * Total number of values over all rows
+     */
+    public long edgeCount() {
+        return edgeCount;
+    }
+    
+    private Row row(int key) {
+        AtomicReferenceArray<Row> current = rows;
+        Row row = key >= 0 && key < current.length() ? current.get(key) : null;
+        return row != null ? row : EMPTY;
+    }
+    
+    private void grow(int minimumLength) {
+        AtomicReferenceArray<Row> current = rows;
+        AtomicReferenceArray<Row> grown =
+            new AtomicReferenceArray<>(Math.max(minimumLength, current.length() * 2));
+        for (int key = 0; key < current.length(); key++) {
+            grown.set(key, current.get(key));
+        }
+        rows = grown;
+    }
+    
+    private static void requireKey(int key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Key must be a dictionary code, got " + key);
+        }
+    }
+    
+    /**
+     * Immutable view of a row: the first size values of an array that may have spare capacity
+     */
+    private static final class Row {
+        final int[] values;
+        final int size;
+        
+        Row(int[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,903 @@
+// File location: src/main/java/utils/InvertedIndex.java
+package utils;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over the search text of one entity type, ranked with BM25
+ * Text is tokenized on non-alphanumeric characters, lower-cased and stripped of accents; each
+ * term keeps a postings list of document numbers with term frequencies, sorted by document
+ * Every query token matches the terms it is a prefix of, so "comp" finds "computer", and a
+ * document must match all tokens of a query; top-k results come from a bounded heap
+ * Fuzzy queries look each token up in a FuzzyTermDictionary of the indexed terms instead, so
+ * their cost follows the number of distinct terms rather than documents times text length
+ * Facets, such as a department or a status, keep a CompressedBitmap of document numbers per
+ * value; facet counts intersect the document set of a query with each value's bitmap, and the
+ * sets of recent queries are cached so that a query typed one more character at a time narrows
+ * the set of the previous one instead of starting over
+ *
+ * Postings are immutable and the term dictionary is a concurrent skip list, so searches never lock
+ * Writers are serialized; put() and remove() apply one document's delta by swapping in copies of
+ * the affected postings only, so a search running alongside sees each term before or after the
+ * change and may briefly see a document under part of its new terms
+ * Document numbers are not reused, so a removed document leaves an empty slot behind
+ * Facet bitmaps are likewise replaced rather than changed, and every write invalidates the cache
+ */
+public final class InvertedIndex<T> {
+    
+    // BM25 parameters, the usual defaults
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    
+    private static final int QUERY_CACHE_SIZE = 256;
+    
+    private final Function<T, String> idFunction;
+    private final Function<T, String> textFunction;
+    private final Function<T, Map<String, String>> facetFunction;
+    
+    private final ConcurrentSkipListMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+    private final FuzzyTermDictionary dictionary = new FuzzyTermDictionary();
+    private final Map<String, Integer> documentNumbers = new HashMap<>();
+    private final Map<String, Map<String, CompressedBitmap>> facets = new ConcurrentHashMap<>();
+    
+    // Document sets of recent queries and of their leading tokens, tagged with the version they saw
+    private final CacheUtil.LRUCache<String, QueryDocuments> queryCache = new CacheUtil.LRUCache<>(QUERY_CACHE_SIZE);
+    private volatile long version;
+    
+    // Document table, indexed by document number; grown by copying and republished
+    private volatile Object[] documents = new Object[64];
+    private volatile int[] lengths = new int[64];
+    private volatile String[][] documentTerms = new String[64][]; // distinct terms, for removal
+    private volatile Object[] documentFacets = new Object[64]; // facet values, for removal
+    private int nextDocument;
+    private volatile int documentCount;
+    private volatile long totalLength;
+    
+    public InvertedIndex(Function<T, String> idFunction, Function<T, String> textFunction) {
+        this(idFunction, textFunction, document -> Collections.emptyMap());
+    }
+    
+    /**
+     * @param facetFunction Facet values of a document by facet name; null values are left out
+     */
+    public InvertedIndex(Function<T, String> idFunction, Function<T, String> textFunction,
+                         Function<T, Map<String, String>> facetFunction) {
+        this.idFunction = idFunction;
+        this.textFunction = textFunction;
+        this.facetFunction = facetFunction;
+    }
+    
+    // ==================== TOKENIZATION ====================
+    
+    /**
+     * Splits text into normalized terms, in order and with repeats
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+    
+    // ==================== INDEXING ====================
+    
+    /**
+     * Indexes a batch of documents, building each postings list once
+     * Documents whose ID is already indexed are skipped
+     */
+    public synchronized void addAll(Collection<? extends T> batch) {
+        Map<String, Postings.Builder> additions = new HashMap<>();
+        Map<String, Map<String, CompressedBitmap>> facetAdditions = new HashMap<>();
+        for (T document : batch) {
+            String id = idFunction.apply(document);
+            if (id == null || documentNumbers.containsKey(id)) {
+                continue;
+            }
+            int number = allocate(id, document);
+            List<String> tokens = tokenize(textFunction.apply(document));
+            Map<String, Integer> frequencies = termFrequencies(tokens);
+            lengths[number] = tokens.size();
+            documentTerms[number] = frequencies.keySet().toArray(new String[0]);
+            totalLength += tokens.size();
+            for (Map.Entry<String, Integer> term : frequencies.entrySet()) {
+                additions.computeIfAbsent(term.getKey(), key -> new Postings.Builder()).add(number, term.getValue());
+            }
+            Map<String, String> values = facetValues(document);
+            documentFacets[number] = values;
+            values.forEach((facet, value) -> facetAdditions.computeIfAbsent(facet, key -> new HashMap<>())
+                .computeIfAbsent(value, key -> new CompressedBitmap())
+                .add(number));
+        }
+        additions.forEach((term, builder) -> {
+            if (!terms.containsKey(term)) {
+                dictionary.add(term);
+            }
+            terms.merge(term, builder.build(), Postings::merge);
+        });
+        facetAdditions.forEach((facet, values) -> values.forEach((value, documents) ->
+            facets.computeIfAbsent(facet, key -> new ConcurrentHashMap<>()).merge(value, documents, CompressedBitmap::or)));
+        documentCount = documentNumbers.size();
+        version++;
+    }
+    
+    /**
+     * Indexes a new document or re-indexes a changed one under its current text
+     */
+    public synchronized void put(T document) {
+        String id = idFunction.apply(document);
+        if (id == null) {
+            return;
+        }
+        List<String> tokens = tokenize(textFunction.apply(document));
+        Map<String, Integer> frequencies = termFrequencies(tokens);
+        Map<String, String> values = facetValues(document);
+        Integer existing = documentNumbers.get(id);
+        int number;
+        Map<String, String> previousValues = Collections.emptyMap();
+        if (existing == null) {
+            number = allocate(id, document);
+        } else {
+            number = existing;
+            documents[number] = document;
+            previousValues = facetValues(number);
+            for (String term : documentTerms[number]) {
+                if (!frequencies.containsKey(term)) {
+                    removePosting(term, number);
+                }
+            }
+        }
+        for (Map.Entry<String, Integer> term : frequencies.entrySet()) {
+            if (!terms.containsKey(term.getKey())) {
+                dictionary.add(term.getKey());
+            }
+            Postings single = new Postings(new int[] {number}, new int[] {term.getValue()});
+            terms.merge(term.getKey(), single, (postings, added) -> postings.with(number, term.getValue()));
+        }
+        for (Map.Entry<String, String> facet : previousValues.entrySet()) {
+            if (!facet.getValue().equals(values.get(facet.getKey()))) {
+                removeFacetValue(facet.getKey(), facet.getValue(), number);
+            }
+        }
+        for (Map.Entry<String, String> facet : values.entrySet()) {
+            if (!facet.getValue().equals(previousValues.get(facet.getKey()))) {
+                facets.computeIfAbsent(facet.getKey(), key -> new ConcurrentHashMap<>())
+                    .merge(facet.getValue(), CompressedBitmap.of(number), CompressedBitmap::or);
+            }
+        }
+        totalLength += tokens.size() - lengths[number];
+        lengths[number] = tokens.size();
+        documentTerms[number] = frequencies.keySet().toArray(new String[0]);
+        documentFacets[number] = values;
+        documentCount = documentNumbers.size();
+        version++;
+    }
+    
+    /**
+     * Removes the document with an ID from every postings list it is in
+     */
+    public synchronized boolean remove(String id) {
+        Integer number = documentNumbers.remove(id);
+        if (number == null) {
+            return false;
+        }
+        for (String term : documentTerms[number]) {
+            removePosting(term, number);
+        }
+        facetValues(number).forEach((facet, value) -> removeFacetValue(facet, value, number));
+        documents[number] = null;
+        totalLength -= lengths[number];
+        lengths[number] = 0;
+        documentTerms[number] = null;
+        documentFacets[number] = null;
+        documentCount = documentNumbers.size();
+        version++;
+        return true;
+    }
+    
+    /**
+     * Drops a document from a term's postings, and the term itself once no document has it
+     */
+    private void removePosting(String term, int number) {
+        if (terms.computeIfPresent(term, (key, postings) -> postings.without(number)) == null) {
+            dictionary.remove(term);
+        }
+    }
+    
+    /**
+     * Drops a document from a facet value's bitmap, and the value itself once no document has it
+     */
+    private void removeFacetValue(String facet, String value, int number) {
+        Map<String, CompressedBitmap> values = facets.get(facet);
+        if (values != null) {
+            values.computeIfPresent(value, (key, documents) -> {
+                CompressedBitmap remaining = documents.copy();
+                remaining.remove(number);
+                return remaining.isEmpty() ? null : remaining;
+            });
+        }
+    }
+    
+    /**
+     * Checks if a document with an ID is indexed
+     */
+    public synchronized boolean contains(String id) {
+        return documentNumbers.containsKey(id);
+    }
+    
+    /**
+     * Number of indexed documents
+     */
+    public int size() {
+        return documentCount;
+    }
+    
+    /**
+     * Number of distinct terms
+     */
+    public int termCount() {
+        return terms.size();
+    }
+    
+    // ==================== SEARCH ====================
+    
+    /**
+     * Documents matching every token of the query, best BM25 score first
+     *
+     * @param query Free text; an empty query matches nothing
+     * @param limit Maximum number of documents returned
+     */
+    public List<T> search(String query, int limit) {
+        List<T> results = new ArrayList<>();
+        for (Hit<T> hit : searchScored(query, limit)) {
+            results.add(hit.getDocument());
+        }
+        return results;
+    }
+    
+    /**
+     * Like search(), with the BM25 score of each document
+     */
+    public List<Hit<T>> searchScored(String query, int limit) {
+        Matches matches = match(query);
+        if (matches == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        return hits(matches, limit);
+    }
+    
+    /**
+     * Documents with, for every query token, a term at least as similar to it as the threshold
+     * Similarity is one minus the edit distance over the longer length; a document scores the
+     * mean over the query tokens of its most similar term, best first
+     *
+     * @param threshold Minimum similarity of each token to a term, in (0, 1]
+     * @param limit Maximum number of documents returned
+     */
+    public List<Hit<T>> searchFuzzy(String query, double threshold, int limit) {
+        Set<String> tokens = new LinkedHashSet<>(tokenize(query));
+        if (tokens.isEmpty() || documentCount == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Matches result = null;
+        for (String token : tokens) {
+            Matches tokenMatches = matchFuzzy(token, threshold);
+            result = result == null ? tokenMatches : result.intersect(tokenMatches);
+            if (result.size == 0) {
+                return Collections.emptyList();
+            }
+        }
+        for (int i = 0; i < result.size; i++) {
+            result.scores[i] /= tokens.size();
+        }
+        return hits(result, limit);
+    }
+    
+    /**
+     * The k best matches as hits, best first
+     */
+    @SuppressWarnings("unchecked")
+    private List<Hit<T>> hits(Matches matches, int limit) {
+        TopK topK = new TopK(Math.min(limit, matches.size));
+        for (int i = 0; i < matches.size; i++) {
+            topK.offer(matches.docs[i], matches.scores[i]);
+        }
+        Object[] table = documents;
+        List<Hit<T>> hits = new ArrayList<>(topK.size);
+        for (int i : topK.descendingOrder()) {
+            // A document removed since its postings were read has an empty slot
+            T document = (T) table[topK.docs[i]];
+            if (document != null) {
+                hits.add(new Hit<>(document, topK.scores[i]));
+            }
+        }
+        return hits;
+    }
+    
+    /**
+     * Scores all documents matching the query, sorted by document number, or null if none can match
+     */
+    private Matches match(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || documentCount == 0) {
+            return null;
+        }
+        double averageLength = (double) totalLength / documentCount;
+        Matches result = null;
+        for (String token : new LinkedHashSet<>(tokens)) {
+            Matches tokenMatches = matchToken(token, averageLength);
+            result = result == null ? tokenMatches : result.intersect(tokenMatches);
+            if (result.size == 0) {
+                return null;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Documents holding a term the token is a prefix of, each scored by its best such term
+     */
+    private Matches matchToken(String token, double averageLength) {
+        List<Matches> scored = new ArrayList<>();
+        for (Postings postings : terms.subMap(token, token + Character.MAX_VALUE).values()) {
+            scored.add(score(postings, averageLength));
+        }
+        return best(scored);
+    }
+    
+    /**
+     * Documents holding a term similar enough to the token, each scored by its most similar term
+     */
+    private Matches matchFuzzy(String token, double threshold) {
+        // A term of length n is at least |n - m| edits from a token of length m, so a term reaching
+        // the threshold is at most m / threshold long and (1 - threshold) * m / threshold edits away
+        int maxDistance = threshold > 0
+            ? (int) Math.floor((1 - threshold) * token.length() / threshold + 1e-9)
+            : Integer.MAX_VALUE;
+        List<Matches> scored = new ArrayList<>();
+        for (Map.Entry<String, Integer> term : dictionary.lookup(token, maxDistance).entrySet()) {
+            double similarity = 1.0 - (double) term.getValue() / Math.max(token.length(), term.getKey().length());
+            Postings postings = terms.get(term.getKey());
+            if (similarity < threshold || postings == null) {
+                continue;
+            }
+            Matches matches = new Matches(postings.docs.length);
+            System.arraycopy(postings.docs, 0, matches.docs, 0, postings.docs.length);
+            Arrays.fill(matches.scores, similarity);
+            matches.size = postings.docs.length;
+            scored.add(matches);
+        }
+        return best(scored);
+    }
+    
+    /**
+     * Merges the matches of several terms, keeping one entry per document with its best score
+     */
+    private static Matches best(List<Matches> scored) {
+        if (scored.size() <= 1) {
+            return scored.isEmpty() ? new Matches(0) : scored.get(0);
+        }
+        int total = 0;
+        for (Matches matches : scored) {
+            total += matches.size;
+        }
+        long[] packed = new long[total];
+        int position = 0;
+        for (Matches matches : scored) {
+            for (int i = 0; i < matches.size; i++) {
+                packed[position++] = ((long) matches.docs[i] << 32)
+                                   | (Float.floatToIntBits((float) matches.scores[i]) & 0xFFFFFFFFL);
+            }
+        }
+        Arrays.sort(packed);
+        Matches merged = new Matches(total);
+        for (long entry : packed) {
+            int doc = (int) (entry >>> 32);
+            double score = Float.intBitsToFloat((int) entry);
+            if (merged.size > 0 && merged.docs[merged.size - 1] == doc) {
+                merged.scores[merged.size - 1] = Math.max(merged.scores[merged.size - 1], score);
+            } else {
+                merged.docs[merged.size] = doc;
+                merged.scores[merged.size++] = score;
+            }
+        }
+        return merged;
+    }
+    
+    private Matches score(Postings postings, double averageLength) {
+        // Read after the postings: a writer grows the table before publishing postings that need it
+        int[] table = lengths;
+        int documentFrequency = postings.docs.length;
+        double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        Matches matches = new Matches(documentFrequency);
+        for (int i = 0; i < documentFrequency; i++) {
+            int doc = postings.docs[i];
+            double frequency = postings.frequencies[i];
+            double norm = K1 * (1 - B + B * table[doc] / averageLength);
+            matches.docs[i] = doc;
+            matches.scores[i] = idf * frequency * (K1 + 1) / (frequency + norm);
+        }
+        matches.size = documentFrequency;
+        return matches;
+    }
+    
+    // ==================== FACETS ====================
+    
+    /**
+     * Number of documents matching the query under each value of each facet, by facet name
+     * Values no matching document has are left out; the counts are cached with the query
+     *
+     * @param query Free text, matched like search(); an empty query matches nothing
+     */
+    public Map<String, Map<String, Integer>> facetCounts(String query) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        QueryDocuments matching = matchingDocuments(tokens);
+        Map<String, Map<String, Integer>> counts = matching.facetCounts;
+        if (counts == null) {
+            counts = new TreeMap<>();
+            for (Map.Entry<String, Map<String, CompressedBitmap>> facet : facets.entrySet()) {
+                Map<String, Integer> valueCounts = new TreeMap<>();
+                facet.getValue().forEach((value, documents) -> {
+                    int count = matching.documents.andCardinality(documents);
+                    if (count > 0) {
+                        valueCounts.put(value, count);
+                    }
+                });
+                if (!valueCounts.isEmpty()) {
+                    counts.put(facet.getKey(), Collections.unmodifiableMap(valueCounts));
+                }
+            }
+            counts = Collections.unmodifiableMap(counts);
+            matching.facetCounts = counts;
+        }
+        return counts;
+    }
+    
+    /**
+     * Like search(), keeping only documents that have one of the listed values of every filtered facet
+     *
+     * @param filters Allowed values by facet name; a facet without values is not filtered on
+     */
+    public List<T> search(String query, Map<String, ? extends Collection<String>> filters, int limit) {
+        Matches matches = match(query);
+        if (matches == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        for (Map.Entry<String, ? extends Collection<String>> filter : filters.entrySet()) {
+            if (filter.getValue().isEmpty()) {
+                continue;
+            }
+            Map<String, CompressedBitmap> values = facets.getOrDefault(filter.getKey(), Collections.emptyMap());
+            CompressedBitmap allowed = new CompressedBitmap();
+            for (String value : filter.getValue()) {
+                CompressedBitmap documents = values.get(value);
+                if (documents != null) {
+                    allowed = allowed.or(documents);
+                }
+            }
+            matches = matches.within(allowed);
+        }
+        List<T> results = new ArrayList<>();
+        for (Hit<T> hit : hits(matches, limit)) {
+            results.add(hit.getDocument());
+        }
+        return results;
+    }
+    
+    /**
+     * Documents matching all of the distinct tokens, from the cache where it can help
+     */
+    private QueryDocuments matchingDocuments(List<String> tokens) {
+        long current = version;
+        String key = String.join(" ", tokens);
+        QueryDocuments cached = cached(key, current);
+        if (cached != null) {
+            return cached;
+        }
+        int last = tokens.size() - 1;
+        String token = tokens.get(last);
+        List<String> head = tokens.subList(0, last);
+        
+        // The same query one keystroke earlier matched a superset, so only its documents are checked
+        CompressedBitmap documents = null;
+        for (int length = token.length() - 1; length > 0 && documents == null; length--) {
+            List<String> shorter = new ArrayList<>(head);
+            shorter.add(token.substring(0, length));
+            QueryDocuments wider = cached(String.join(" ", shorter), current);
+            if (wider != null) {
+                documents = narrow(wider.documents, token);
+            }
+        }
+        if (documents == null) {
+            // Otherwise the documents of the leading tokens, cached in turn, are narrowed by the last one
+            documents = head.isEmpty() ? tokenDocuments(token) : narrow(matchingDocuments(head).documents, token);
+        }
+        QueryDocuments matching = new QueryDocuments(current, documents);
+        synchronized (queryCache) {
+            queryCache.put(key, matching);
+        }
+        return matching;
+    }
+    
+    private QueryDocuments cached(String key, long current) {
+        QueryDocuments cached;
+        synchronized (queryCache) {
+            cached = queryCache.get(key);
+        }
+        return cached != null && cached.version == current ? cached : null;
+    }
+    
+    /**
+     * Documents holding a term the token is a prefix of
+     */
+    private CompressedBitmap tokenDocuments(String token) {
+        Collection<Postings> matching = terms.subMap(token, token + Character.MAX_VALUE).values();
+        int[] docs = new int[0];
+        int size = 0;
+        for (Postings postings : matching) {
+            if (size + postings.docs.length > docs.length) {
+                docs = Arrays.copyOf(docs, Math.max(size + postings.docs.length, docs.length * 2));
+            }
+            System.arraycopy(postings.docs, 0, docs, size, postings.docs.length);
+            size += postings.docs.length;
+        }
+        // Added in order, each value lands at the end of its chunk
+        Arrays.sort(docs, 0, size);
+        CompressedBitmap documents = new CompressedBitmap();
+        for (int i = 0; i < size; i++) {
+            documents.add(docs[i]);
+        }
+        return documents;
+    }
+    
+    /**
+     * The candidates holding a term the token is a prefix of, found by checking the terms of each
+     * candidate once that is less work than reading the token's postings
+     */
+    private CompressedBitmap narrow(CompressedBitmap candidates, String token) {
+        double termsChecked = documentCount > 0 ? candidates.cardinality() * (double) totalLength / documentCount : 0;
+        long postingsRead = 0;
+        for (Postings postings : terms.subMap(token, token + Character.MAX_VALUE).values()) {
+            postingsRead += postings.docs.length;
+            if (postingsRead > termsChecked) {
+                return withTermPrefix(candidates, token);
+            }
+        }
+        return candidates.and(tokenDocuments(token));
+    }
+    
+    /**
+     * The given documents that hold a term the token is a prefix of
+     */
+    private CompressedBitmap withTermPrefix(CompressedBitmap candidates, String token) {
+        String[][] table = documentTerms;
+        CompressedBitmap documents = new CompressedBitmap();
+        candidates.forEach(doc -> {
+            String[] heldTerms = doc < table.length ? table[doc] : null;
+            if (heldTerms == null) {
+                return;
+            }
+            for (String term : heldTerms) {
+                if (term.startsWith(token)) {
+                    documents.add(doc);
+                    return;
+                }
+            }
+        });
+        return documents;
+    }
+    
+    // ==================== DOCUMENT TABLE ====================
+    
+    private int allocate(String id, T document) {
+        int number = nextDocument++;
+        if (number == documents.length) {
+            lengths = Arrays.copyOf(lengths, number * 2);
+            documentTerms = Arrays.copyOf(documentTerms, number * 2);
+            documentFacets = Arrays.copyOf(documentFacets, number * 2);
+            documents = Arrays.copyOf(documents, number * 2);
+        }
+        documents[number] = document;
+        documentNumbers.put(id, number);
+        return number;
+    }
+    
+    private Map<String, String> facetValues(T document) {
+        Map<String, String> values = new HashMap<>();
+        facetFunction.apply(document).forEach((facet, value) -> {
+            if (value != null) {
+                values.put(facet, value);
+            }
+        });
+        return values;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<String, String> facetValues(int number) {
+        Object values = documentFacets[number];
+        return values == null ? Collections.emptyMap() : (Map<String, String>) values;
+    }
+    
+    private static Map<String, Integer> termFrequencies(List<String> tokens) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+    
+    // ==================== NESTED TYPES ====================
+    
+    /**
+     * A matching document with its BM25 or similarity score
+     */
+    public static final class Hit<T> {
+        private final T document;
+        private final double score;
+        
+        Hit(T document, double score) {
+            this.document = document;
+            this.score = score;
+        }
+        
+        public T getDocument() { return document; }
+        public double getScore() { return score; }
+        
+        @Override
+        public String toString() {
+            return String.format("Hit{document=%s, score=%.3f}", document, score);
+        }
+    }
+    
+    /**
+     * Immutable postings list of one term, sorted by document number
+     */
+    private static final class Postings {
+        final int[] docs;
+        final int[] frequencies;
+        
+        Postings(int[] docs, int[] frequencies) {
+            this.docs = docs;
+            this.frequencies = frequencies;
+        }
+        
+        /**
+         * Copy with a document added, or its frequency replaced if already present
+         */
+        Postings with(int doc, int frequency) {
+            int index = Arrays.binarySearch(docs, doc);
+            if (index >= 0) {
+                int[] replaced = frequencies.clone();
+                replaced[index] = frequency;
+                return new Postings(docs, replaced);
+            }
+            index = -index - 1;
+            int[] grownDocs = new int[docs.length + 1];
+            int[] grownFrequencies = new int[docs.length + 1];
+            System.arraycopy(docs, 0, grownDocs, 0, index);
+            System.arraycopy(frequencies, 0, grownFrequencies, 0, index);
+            grownDocs[index] = doc;
+            grownFrequencies[index] = frequency;
+            System.arraycopy(docs, index, grownDocs, index + 1, docs.length - index);
+            System.arraycopy(frequencies, index, grownFrequencies, index + 1, docs.length - index);
+            return new Postings(grownDocs, grownFrequencies);
+        }
+        
+        /**
+         * Copy with a document removed, or null if none would be left
+         */
+        Postings without(int doc) {
+            int index = Arrays.binarySearch(docs, doc);
+            if (index < 0) {
+                return this;
+            }
+            if (docs.length == 1) {
+                return null;
+            }
+            int[] shrunkDocs = new int[docs.length - 1];
+            int[] shrunkFrequencies = new int[docs.length - 1];
+            System.arraycopy(docs, 0, shrunkDocs, 0, index);
+            System.arraycopy(frequencies, 0, shrunkFrequencies, 0, index);
+            System.arraycopy(docs, index + 1, shrunkDocs, index, docs.length - index - 1);
+            System.arraycopy(frequencies, index + 1, shrunkFrequencies, index, docs.length - index - 1);
+            return new Postings(shrunkDocs, shrunkFrequencies);
+        }
+        
+        /**
+         * Appends postings of documents numbered above all of this list's
+         */
+        static Postings merge(Postings existing, Postings added) {
+            int[] docs = Arrays.copyOf(existing.docs, existing.docs.length + added.docs.length);
+            int[] frequencies = Arrays.copyOf(existing.frequencies, docs.length);
+            System.arraycopy(added.docs, 0, docs, existing.docs.length, added.docs.length);
+            System.arraycopy(added.frequencies, 0, frequencies, existing.docs.length, added.docs.length);
+            return new Postings(docs, frequencies);
+        }
+        
+        static final class Builder {
+            private int[] docs = new int[4];
+            private int[] frequencies = new int[4];
+            private int size;
+            
+            void add(int doc, int frequency) {
+                if (size == docs.length) {
+                    docs = Arrays.copyOf(docs, size * 2);
+                    frequencies = Arrays.copyOf(frequencies, size * 2);
+                }
+                docs[size] = doc;
+                frequencies[size++] = frequency;
+            }
+            
+            Postings build() {
+                return new Postings(Arrays.copyOf(docs, size), Arrays.copyOf(frequencies, size));
+            }
+        }
+    }
+    
+    /**
+     * Scored documents of a query, sorted by document number
+     */
+    private static final class Matches {
+        final int[] docs;
+        final double[] scores;
+        int size;
+        
+        Matches(int capacity) {
+            docs = new int[capacity];
+            scores = new double[capacity];
+        }
+        
+        /**
+         * Documents in both, with their scores summed
+         */
+        Matches intersect(Matches other) {
+            Matches result = new Matches(Math.min(size, other.size));
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (docs[i] < other.docs[j]) {
+                    i++;
+                } else if (docs[i] > other.docs[j]) {
+                    j++;
+                } else {
+                    result.docs[result.size] = docs[i];
+                    result.scores[result.size++] = scores[i++] + other.scores[j++];
+                }
+            }
+            return result;
+        }
+        
+        /**
+         * The documents that are also in the bitmap, with their scores
+         */
+        Matches within(CompressedBitmap allowed) {
+            Matches result = new Matches(size);
+            for (int i = 0; i < size; i++) {
+                if (allowed.contains(docs[i])) {
+                    result.docs[result.size] = docs[i];
+                    result.scores[result.size++] = scores[i];
+                }
+            }
+            return result;
+        }
+    }
+    
+    /**
+     * Document set of a query as of an index version, and its facet counts once computed
+     */
+    private static final class QueryDocuments {
+        final long version;
+        final CompressedBitmap documents;
+        volatile Map<String, Map<String, Integer>> facetCounts;
+        
+        QueryDocuments(long version, CompressedBitmap documents) {
+            this.version = version;
+            this.documents = documents;
+        }
+    }
+    
+    /**
+     * Bounded min-heap keeping the k best scores; ties go to the lower document number
+     */
+    private static final class TopK {
+        final int[] docs;
+        final double[] scores;
+        int size;
+        
+        TopK(int capacity) {
+            docs = new int[capacity];
+            scores = new double[capacity];
+        }
+        
+        void offer(int doc, double score) {
+            if (size < docs.length) {
+                docs[size] = doc;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (worse(0, doc, score)) {
+                docs[0] = doc;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+        
+        /**
+         * Heap positions ordered best first
+         */
+        Integer[] descendingOrder() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> scores[a] != scores[b]
+                ? Double.compare(scores[b], scores[a])
+                : Integer.compare(docs[a], docs[b]));
+            return order;
+        }
+        
+        /**
+         * Checks if the entry at a heap position ranks below the given document
+         */
+        private boolean worse(int position, int doc, double score) {
+            return scores[position] < score || (scores[position] == score && docs[position] > doc);
+        }
+        
+        private void siftUp(int position) {
+            while (position > 0) {
+                int parent = (position - 1) / 2;
+                if (!worse(position, docs[parent], scores[parent])) {
+                    break;
+                }
+                swap(position, parent);
+                position = parent;
+            }
+        }
+        
+        private void siftDown(int position) {
+            while (true) {
+                int smallest = position;
+                for (int child = 2 * position + 1; child <= 2 * position + 2 && child < size; child++) {
+                    if (worse(child, docs[smallest], scores[smallest])) {
+                        smallest = child;
+                    }
+                }
+                if (smallest == position) {
+                    return;
+                }
+                swap(position, smallest);
+                position = smallest;
+            }
+        }
+        
+        private void swap(int a, int b) {
+            int doc = docs[a];
+            docs[a] = docs[b];
+            docs[b] = doc;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("InvertedIndex{documents=%d, terms=%d}", documentCount, terms.size());
+    }
+}
@@ -0,0 +1,303 @@
+// File location: src/test/java/integration/CachePerformanceTest.java
+
+package com.smartcampus.test.integration;
+
+import com.smartcampus.cache.CacheManager;
+import com.smartcampus.cache.CacheStrategy;
+import com.smartcampus.cache.ConcurrentLRUCache;
+import com.smartcampus.cache.LRUCache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * Performance tests for the cache implementations
+ * Compares throughput of the cache classes under concurrent load
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Cache Performance Tests")
+class CachePerformanceTest {
+
+    private static final int CAPACITY = 10_000;
+    private static final int KEY_SPACE = 20_000;
+    private static final int TOTAL_OPERATIONS = 2_000_000;
+
+    /**
+     * Minimal view over the cache under test so both implementations share one workload
+     */
+    private interface CacheHandle {
+        Integer get(Integer key);
+        void put(Integer key, Integer value);
+    }
+
+    @Nested
+    @DisplayName("LRU Contention Benchmark")
+    class LruContentionBenchmark {
+
+        @ParameterizedTest(name = "{0} thread(s)")
+        @ValueSource(ints = {1, 8, 32})
+        @DisplayName("Should compare LRUCache and ConcurrentLRUCache throughput")
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        void shouldCompareLruThroughput(int threads) throws Exception {
+            // Arrange
+            LRUCache<Integer, Integer> lruCache = new LRUCache<>(CAPACITY);
+            ConcurrentLRUCache<Integer, Integer> concurrentCache = new ConcurrentLRUCache<>(CAPACITY);
+            for (int i = 0; i < CAPACITY; i++) {
+                lruCache.put(i, i);
+                concurrentCache.put(i, i);
+            }
+
+            CacheHandle lruHandle = handle(lruCache::get, lruCache::put);
+            CacheHandle concurrentHandle = handle(concurrentCache::get, concurrentCache::put);
+
+            // Warm up both implementations before measuring
+            runWorkload(lruHandle, threads);
+            runWorkload(concurrentHandle, threads);
+
+            // Act
+            long lruOpsPerSecond = runWorkload(lruHandle, threads);
+            long concurrentOpsPerSecond = runWorkload(concurrentHandle, threads);
+
+            // Assert
+            System.out.printf("LRU contention benchmark, %d thread(s): LRUCache=%,d ops/s, " +
+                            "ConcurrentLRUCache=%,d ops/s (%.2fx)%n",
+                            threads, lruOpsPerSecond, concurrentOpsPerSecond,
+                            (double) concurrentOpsPerSecond / lruOpsPerSecond);
+
+            assertThat(lruOpsPerSecond).isPositive();
+            assertThat(concurrentOpsPerSecond).isPositive();
+            assertThat(concurrentCache.size()).isLessThanOrEqualTo(CAPACITY);
+            assertThat(lruCache.size()).isLessThanOrEqualTo(CAPACITY);
+        }
+    }
+
+    @Nested
+    @DisplayName("ConcurrentLRUCache Behaviour Tests")
+    class ConcurrentLruBehaviourTests {
+
+        @Test
+        @DisplayName("Should evict least recently used entry within a segment")
+        void shouldEvictLeastRecentlyUsedEntry() {
+            ConcurrentLRUCache<String, Integer> cache = new ConcurrentLRUCache<>(3, 0, 1);
+            cache.put("a", 1);
+            cache.put("b", 2);
+            cache.put("c", 3);
+
+            // Enough reads to guarantee the read buffer is drained at least once
+            for (int i = 0; i < 256; i++) {
+                cache.get("a");
+            }
+            cache.put("d", 4);
+
+            assertNull(cache.get("b"));
+            assertThat(cache.getKeysInAccessOrder()).containsExactly("d", "a", "c");
+        }
+
+        @Test
+        @DisplayName("Should keep existing value on putIfAbsent")
+        void shouldKeepExistingValueOnPutIfAbsent() {
+            ConcurrentLRUCache<String, Integer> cache = new ConcurrentLRUCache<>(10);
+
+            assertNull(cache.putIfAbsent("key", 1));
+            assertThat(cache.putIfAbsent("key", 2)).isEqualTo(1);
+            assertThat(cache.get("key")).isEqualTo(1);
+            assertThat(cache.remove("key")).isEqualTo(1);
+            assertTrue(cache.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should never exceed capacity under concurrent writes")
+        @Timeout(value = 30, unit = TimeUnit.SECONDS)
+        void shouldNeverExceedCapacityUnderConcurrentWrites() throws Exception {
+            ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(1_000);
+            CacheHandle handle = handle(cache::get, cache::put);
+
+            runWorkload(handle, 8);
+
+            assertThat(cache.size()).isLessThanOrEqualTo(1_000);
+            assertThat(cache.getStats().getHits() + cache.getStats().getMisses()).isPositive();
+        }
+
+        @Test
+        @DisplayName("Should not relink cleared entries when a read recorded before clear is drained")
+        @Timeout(value = 30, unit = TimeUnit.SECONDS)
+        void shouldNotRelinkClearedEntries() throws Exception {
+            ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(64, 0, 1);
+            AtomicBoolean running = new AtomicBoolean(true);
+            ExecutorService readers = Executors.newFixedThreadPool(4);
+            for (int t = 0; t < 4; t++) {
+                readers.submit(() -> {
+                    while (running.get()) {
+                        cache.get(ThreadLocalRandom.current().nextInt(64));
+                    }
+                });
+            }
+            for (int round = 0; round < 2_000; round++) {
+                for (int key = 0; key < 64; key++) {
+                    cache.put(key, key);
+                }
+                cache.clear();
+            }
+            running.set(false);
+            readers.shutdown();
+            assertTrue(readers.awaitTermination(10, TimeUnit.SECONDS));
+
+            cache.put(1, 1);
+            // Drains whatever reads are still buffered
+            for (int i = 0; i < 256; i++) {
+                cache.get(1);
+            }
+            assertThat(cache.getKeysInAccessOrder()).containsExactly(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Scan Resistance Hit Rate Tests")
+    class ScanResistanceHitRateTests {
+
+        @ParameterizedTest(name = "maxSize={0}")
+        @ValueSource(ints = {100, 500, 2000})
+        @DisplayName("Should beat LRU hit rate when report sweeps interleave hot lookups")
+        void shouldBeatLruHitRateOnReportSweepTrace(int maxSize) {
+            // Arrange
+            List<String> trace = recordReportSweepTrace();
+            CacheManager cacheManager = CacheManager.getInstance();
+
+            // Act
+            double lruHitRatio = replay(cacheManager, trace, CacheStrategy.LRU, maxSize);
+            double tinyLfuHitRatio = replay(cacheManager, trace, CacheStrategy.W_TINYLFU, maxSize);
+
+            // Assert
+            System.out.printf("Report sweep trace, maxSize=%d: LRU=%.2f%%, W-TinyLFU=%.2f%%%n",
+                            maxSize, lruHitRatio * 100, tinyLfuHitRatio * 100);
+
+            assertThat(tinyLfuHitRatio).isGreaterThan(lruHitRatio);
+        }
+
+        @Test
+        @DisplayName("Should be selectable by name from the Cacheable strategy")
+        void shouldBeSelectableByName() {
+            assertThat(CacheStrategy.fromString("W_TINYLFU")).isEqualTo(CacheStrategy.W_TINYLFU);
+            assertThat(CacheStrategy.fromString("tinylfu")).isEqualTo(CacheStrategy.W_TINYLFU);
+        }
+    }
+
+    // Helper methods
+
+    /**
+     * Seeded trace of Zipf-distributed student/course lookups, each burst followed by a
+     * one-off report sweep over keys that are never requested again
+     */
+    private static List<String> recordReportSweepTrace() {
+        Random random = new Random(42);
+        int hotKeys = 5_000;
+        double[] cumulative = new double[hotKeys];
+        double total = 0;
+        for (int i = 0; i < hotKeys; i++) {
+            total += 1.0 / Math.pow(i + 1, 0.9);
+            cumulative[i] = total;
+        }
+
+        List<String> trace = new ArrayList<>();
+        for (int night = 0; night < 20; night++) {
+            for (int i = 0; i < 20_000; i++) {
+                int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                int rank = index >= 0 ? index : -index - 1;
+                trace.add((i % 2 == 0 ? "student:" : "course:") + rank);
+            }
+            for (int i = 0; i < 3_000; i++) {
+                trace.add("report:" + night + ":" + i);
+            }
+        }
+        return trace;
+    }
+
+    private static double replay(CacheManager cacheManager, List<String> trace, CacheStrategy strategy, int maxSize) {
+        String cacheName = "trace_" + strategy.name() + "_" + maxSize;
+        cacheManager.createCache(cacheName, CacheManager.CacheConfig.defaultConfig()
+            .maxSize(maxSize)
+            .strategy(strategy));
+        try {
+            for (String key : trace) {
+                if (cacheManager.get(cacheName, key) == null) {
+                    cacheManager.put(cacheName, key, key);
+                }
+            }
+            return cacheManager.getCacheStats(cacheName).getHitRatio();
+        } finally {
+            cacheManager.removeCache(cacheName);
+        }
+    }
+
+    private static CacheHandle handle(IntFunction<Integer> getter, BiConsumer<Integer, Integer> putter) {
+        return new CacheHandle() {
+            @Override
+            public Integer get(Integer key) { return getter.apply(key); }
+
+            @Override
+            public void put(Integer key, Integer value) { putter.accept(key, value); }
+        };
+    }
+
+    /**
+     * Runs a 7:1 read/write mix over a uniform key space and returns operations per second
+     */
+    private static long runWorkload(CacheHandle cache, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        int operationsPerThread = TOTAL_OPERATIONS / threads;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        int key = random.nextInt(KEY_SPACE);
+                        if ((i & 7) == 0) {
+                            cache.put(key, key);
+                        } else {
+                            cache.get(key);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long startTime = System.nanoTime();
+            startLatch.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long duration = System.nanoTime() - startTime;
+
+            return (long) (operationsPerThread * (double) threads / (duration / 1_000_000_000.0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
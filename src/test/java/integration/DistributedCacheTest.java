@@ -0,0 +1,260 @@
+// File location: src/test/java/integration/DistributedCacheTest.java
+
+package com.smartcampus.test.integration;
+
+import com.smartcampus.cache.CacheClock;
+import com.smartcampus.cache.CacheKey;
+import com.smartcampus.cache.CacheManager;
+import com.smartcampus.cache.EvictionCause;
+import com.smartcampus.cache.InMemorySharedCacheTier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Integration tests for distributed caches with a near-cache per node
+ * Two cache managers share an in-process Redis stand-in, as two application nodes would
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Distributed Cache Tests")
+class DistributedCacheTest {
+
+    private static final String CACHE = "search";
+    private static final String TAG = "courses";
+
+    private InMemorySharedCacheTier redis;
+    private CacheManager nodeA;
+    private CacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        redis = new InMemorySharedCacheTier();
+        nodeA = CacheManager.createStandalone();
+        nodeB = CacheManager.createStandalone();
+        nodeA.setSharedTier(redis);
+        nodeB.setSharedTier(redis);
+
+        CacheManager.CacheConfig config = CacheManager.CacheConfig.defaultConfig()
+            .maxSize(100)
+            .distributed(true);
+        nodeA.createCache(CACHE, config);
+        nodeB.createCache(CACHE, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    static class Payload implements Serializable {
+        final String courseId;
+
+        Payload(String courseId) {
+            this.courseId = courseId;
+        }
+    }
+
+    private static CacheKey searchKey(String query) {
+        return CacheKey.of("SearchService.searchAll", query);
+    }
+
+    @Nested
+    @DisplayName("Shared Tier Tests")
+    class SharedTierTests {
+
+        @Test
+        @DisplayName("Should serve a value computed on another node")
+        void shouldServeValueFromPeer() {
+            nodeA.put(CACHE, searchKey("calculus"), new ArrayList<>(List.of("MATH101")));
+
+            List<String> result = nodeB.get(CACHE, searchKey("calculus"));
+
+            assertThat(result).containsExactly("MATH101");
+            assertThat(nodeB.getCacheMetrics(CACHE).getSharedHitCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should answer repeated reads from the near-cache")
+        void shouldFillNearCache() {
+            nodeA.put(CACHE, searchKey("calculus"), "MATH101");
+
+            nodeB.get(CACHE, searchKey("calculus"));
+            nodeB.get(CACHE, searchKey("calculus"));
+
+            assertThat(nodeB.getCacheMetrics(CACHE).getSharedHitCount()).isEqualTo(1);
+            assertThat(nodeB.getCacheMetrics(CACHE).getHitCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should keep values that cannot be serialized node-local")
+        void shouldKeepNonSerializableValuesLocal() {
+            nodeA.put(CACHE, "handle", new Object());
+
+            assertNotNull(nodeA.get(CACHE, "handle"));
+            assertNull(nodeB.get(CACHE, "handle"));
+        }
+
+        @Test
+        @DisplayName("Should refuse to deserialize classes outside the allowed packages")
+        void shouldRejectUnknownClasses() {
+            nodeA.put(CACHE, "payload", new Payload("MATH101"));
+
+            assertNotNull(nodeA.get(CACHE, "payload"));
+            assertNull(nodeB.get(CACHE, "payload"));
+            assertThat(nodeB.getCacheMetrics(CACHE).getSharedHitCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation Tests")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Should drop a peer's near copy when the value changes")
+        void shouldInvalidatePeerOnUpdate() {
+            nodeA.put(CACHE, searchKey("calculus"), "MATH101");
+            nodeB.get(CACHE, searchKey("calculus"));
+
+            nodeA.put(CACHE, searchKey("calculus"), "MATH102");
+
+            assertThat(nodeB.getCacheMetrics(CACHE).getRemovalCount(EvictionCause.INVALIDATED)).isEqualTo(1);
+            assertThat(nodeB.<String>get(CACHE, searchKey("calculus"))).isEqualTo("MATH102");
+        }
+
+        @Test
+        @DisplayName("Should propagate removals and clears")
+        void shouldPropagateRemovalsAndClears() {
+            nodeA.put(CACHE, "removed", "value");
+            nodeA.put(CACHE, "cleared", "value");
+            nodeB.get(CACHE, "removed");
+            nodeB.get(CACHE, "cleared");
+
+            nodeA.remove(CACHE, "removed");
+            assertNull(nodeB.get(CACHE, "removed"));
+
+            nodeA.clear(CACHE);
+            assertNull(nodeB.get(CACHE, "cleared"));
+            assertThat(redis.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should invalidate tagged entries on every node and in the shared tier")
+        void shouldInvalidateTagsEverywhere() {
+            nodeA.put(CACHE, searchKey("calculus"), "MATH101", TAG);
+            nodeB.get(CACHE, searchKey("calculus"));
+
+            nodeA.invalidateTag(TAG);
+
+            assertNull(nodeB.get(CACHE, searchKey("calculus")));
+            assertNull(nodeA.get(CACHE, searchKey("calculus")));
+        }
+
+        @Test
+        @DisplayName("Should drop removed and replaced entries from the shared tag index")
+        void shouldUnindexRemovedEntries() {
+            nodeA.put(CACHE, searchKey("calculus"), "MATH101", TAG);
+            nodeA.put(CACHE, searchKey("algebra"), "MATH201", TAG);
+            assertThat(redis.taggedSize(TAG)).isEqualTo(2);
+
+            nodeA.remove(CACHE, searchKey("calculus"));
+            nodeA.put(CACHE, searchKey("algebra"), "MATH202");
+
+            assertThat(redis.taggedSize(TAG)).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not keep a shared value whose tag is invalidated while it is read")
+        void shouldNotFillNearCacheAfterConcurrentTagInvalidation() {
+            AtomicReference<Runnable> duringRead = new AtomicReference<>();
+            InMemorySharedCacheTier tier = new InMemorySharedCacheTier() {
+                @Override
+                public byte[] get(String cacheName, String key) {
+                    byte[] payload = super.get(cacheName, key);
+                    Runnable action = duringRead.getAndSet(null);
+                    if (action != null) {
+                        action.run();
+                    }
+                    return payload;
+                }
+            };
+            CacheManager writer = CacheManager.createStandalone();
+            CacheManager reader = CacheManager.createStandalone();
+            writer.setSharedTier(tier);
+            reader.setSharedTier(tier);
+            CacheManager.CacheConfig config = CacheManager.CacheConfig.defaultConfig().distributed(true);
+            writer.createCache(CACHE, config);
+            reader.createCache(CACHE, config);
+
+            try {
+                writer.put(CACHE, searchKey("calculus"), "MATH101", TAG);
+                duringRead.set(() -> writer.invalidateTag(TAG));
+
+                assertThat(reader.<String>get(CACHE, searchKey("calculus"))).isEqualTo("MATH101");
+                assertNull(reader.get(CACHE, searchKey("calculus")));
+            } finally {
+                writer.shutdown();
+                reader.shutdown();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Outage Tests")
+    class OutageTests {
+
+        private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+
+        @BeforeEach
+        void installClock() {
+            CacheClock.useTimeSource(clock::get);
+        }
+
+        @AfterEach
+        void restoreClock() {
+            CacheClock.useSystemTime();
+        }
+
+        @Test
+        @DisplayName("Should stop reading from an unavailable shared tier for a while")
+        void shouldBackOffReadsDuringOutage() {
+            AtomicInteger reads = new AtomicInteger();
+            CacheManager node = CacheManager.createStandalone();
+            node.setSharedTier(new InMemorySharedCacheTier() {
+                @Override
+                public byte[] get(String cacheName, String key) {
+                    reads.incrementAndGet();
+                    throw new IllegalStateException("connection refused");
+                }
+            });
+            node.createCache(CACHE, CacheManager.CacheConfig.defaultConfig().distributed(true));
+
+            try {
+                assertNull(node.get(CACHE, "first"));
+                assertNull(node.get(CACHE, "second"));
+                assertThat(reads.get()).isEqualTo(1);
+
+                clock.addAndGet(60_000);
+                assertNull(node.get(CACHE, "third"));
+                assertThat(reads.get()).isEqualTo(2);
+            } finally {
+                node.shutdown();
+            }
+        }
+    }
+}
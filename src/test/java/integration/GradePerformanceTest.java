@@ -0,0 +1,221 @@
+// File location: src/test/java/integration/GradePerformanceTest.java
+
+package com.smartcampus.test.integration;
+
+import com.smartcampus.models.Grade;
+import com.smartcampus.models.Grade.GradeComponent;
+import com.smartcampus.models.Grade.GradeStatus;
+import com.smartcampus.services.GradeService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Performance tests for the columnar grade storage of GradeService
+ * Compares retained heap against the previous layout of Grade objects plus ID lists per student,
+ * course and enrollment, and checks that queries answer the same as streaming over Grade objects
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Grade Performance Tests")
+class GradePerformanceTest {
+
+    private static final int BENCHMARK_GRADES = 200_000;
+    private static final LocalDateTime TERM_START = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+    /**
+     * The layout GradeService used before: every grade as an object, plus ID lists per key
+     */
+    private static class ObjectGradeLayout {
+        final Map<String, Grade> grades = new ConcurrentHashMap<>();
+        final Map<String, List<String>> studentGrades = new ConcurrentHashMap<>();
+        final Map<String, List<String>> courseGrades = new ConcurrentHashMap<>();
+        final Map<String, List<String>> enrollmentGrades = new ConcurrentHashMap<>();
+
+        void add(Grade grade) {
+            grades.put(grade.getGradeId(), grade);
+            studentGrades.computeIfAbsent(grade.getStudentId(), k -> new ArrayList<>()).add(grade.getGradeId());
+            courseGrades.computeIfAbsent(grade.getCourseId(), k -> new ArrayList<>()).add(grade.getGradeId());
+            enrollmentGrades.computeIfAbsent(grade.getEnrollmentId(), k -> new ArrayList<>()).add(grade.getGradeId());
+        }
+    }
+
+    @Nested
+    @DisplayName("Grade Memory Benchmark")
+    class GradeMemoryBenchmark {
+
+        @Test
+        @DisplayName("Should retain much less heap than Grade objects with ID lists")
+        @Timeout(value = 120, unit = TimeUnit.SECONDS)
+        void shouldRetainLessHeapThanObjectLayout() {
+            // Arrange
+            long baseline = usedHeap();
+
+            // Act
+            ObjectGradeLayout objectLayout = new ObjectGradeLayout();
+            for (int i = 0; i < BENCHMARK_GRADES; i++) {
+                objectLayout.add(createGrade(i, new Random(i)));
+            }
+            long objectBytes = usedHeap() - baseline;
+            assertEquals(BENCHMARK_GRADES, objectLayout.grades.size());
+            objectLayout = null;
+
+            baseline = usedHeap();
+            GradeService gradeService = new GradeService();
+            for (int i = 0; i < BENCHMARK_GRADES; i++) {
+                gradeService.addGrade(createGrade(i, new Random(i)));
+            }
+            long columnarBytes = usedHeap() - baseline;
+
+            // Assert
+            System.out.printf("Grade memory benchmark, %,d grades: objects+ID lists=%,d bytes (%d/grade), " +
+                            "columnar=%,d bytes (%d/grade), %.1fx smaller%n",
+                            BENCHMARK_GRADES, objectBytes, objectBytes / BENCHMARK_GRADES,
+                            columnarBytes, columnarBytes / BENCHMARK_GRADES, (double) objectBytes / columnarBytes);
+
+            assertEquals(BENCHMARK_GRADES, gradeService.getSummaryStatistics().get("totalGrades"));
+            assertThat(columnarBytes).isLessThan(objectBytes / 2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Query Equivalence Tests")
+    class QueryEquivalenceTests {
+
+        private GradeService gradeService;
+        private List<Grade> reference;
+
+        @BeforeEach
+        void setUp() {
+            gradeService = new GradeService();
+            reference = new ArrayList<>();
+            for (int i = 0; i < 3_000; i++) {
+                Grade grade = createGrade(i, new Random(i));
+                reference.add(grade);
+                assertTrue(gradeService.addGrade(createGrade(i, new Random(i))));
+            }
+        }
+
+        @Test
+        @DisplayName("Should hand back grades equal to the ones stored")
+        void shouldRoundTripGrades() {
+            for (Grade expected : reference) {
+                Grade actual = gradeService.getGradeById(expected.getGradeId()).orElseThrow();
+                assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+            }
+            assertFalse(gradeService.addGrade(createGrade(0, new Random(0))));
+        }
+
+        @Test
+        @DisplayName("Should match stream computations over the same grades")
+        void shouldMatchObjectQueries() {
+            String courseId = reference.get(0).getCourseId();
+            String studentId = reference.get(0).getStudentId();
+
+            assertThat(ids(gradeService.getStudentGrades(studentId)))
+                .containsExactlyInAnyOrderElementsOf(ids(reference.stream()
+                    .filter(grade -> grade.getStudentId().equals(studentId))
+                    .collect(Collectors.toList())));
+            assertEquals(reference.stream()
+                    .filter(grade -> grade.getCourseId().equals(courseId))
+                    .filter(Grade::countsTowardFinalGrade)
+                    .mapToDouble(Grade::getPercentage)
+                    .average().orElseThrow(),
+                gradeService.calculateCourseAverage(courseId).orElseThrow(), 1e-9);
+            assertThat(gradeService.getOverallGradeDistribution()).isEqualTo(reference.stream()
+                .filter(Grade::countsTowardFinalGrade)
+                .collect(Collectors.groupingBy(Grade::getLetterGrade, Collectors.counting())));
+            assertThat(gradeService.getGradeStatisticsByStatus()).isEqualTo(reference.stream()
+                .collect(Collectors.groupingBy(Grade::getStatus, Collectors.counting())));
+            assertThat(ids(gradeService.getFailingGrades())).containsExactlyInAnyOrderElementsOf(ids(reference.stream()
+                .filter(grade -> grade.getPercentage() >= 0 && grade.getPercentage() < 60.0)
+                .collect(Collectors.toList())));
+            assertThat(ids(gradeService.search("quiz"))).containsExactlyInAnyOrderElementsOf(ids(reference.stream()
+                .filter(grade -> grade.getAssignmentName().toLowerCase().contains("quiz")
+                              || grade.getComponent().toString().toLowerCase().contains("quiz"))
+                .collect(Collectors.toList())));
+        }
+
+        @Test
+        @DisplayName("Should move grades between students and drop removed grades")
+        void shouldKeepListsInStepWithUpdatesAndRemovals() {
+            Grade moved = gradeService.getGradeById(reference.get(1).getGradeId()).orElseThrow();
+            String previousStudent = moved.getStudentId();
+            moved.setStudentId("S_TRANSFER");
+            assertTrue(gradeService.updateGrade(moved));
+            assertTrue(gradeService.removeGrade(reference.get(2).getGradeId()));
+            assertTrue(gradeService.updateGradePoints(reference.get(3).getGradeId(), 1.0, "P001", "Resubmitted"));
+
+            assertThat(ids(gradeService.getStudentGrades("S_TRANSFER"))).containsExactly(moved.getGradeId());
+            assertThat(ids(gradeService.getStudentGrades(previousStudent))).doesNotContain(moved.getGradeId());
+            assertThat(gradeService.getGradeById(reference.get(2).getGradeId())).isEmpty();
+            assertThat(ids(gradeService.getAllGrades())).hasSize(reference.size() - 1);
+            assertThat(gradeService.getGradeById(reference.get(3).getGradeId()).orElseThrow().getFeedback())
+                .isEqualTo("Resubmitted");
+
+            // Freed rows are reused by later grades
+            Grade replacement = createGrade(10_000, new Random(10_000));
+            assertTrue(gradeService.addGrade(replacement));
+            assertThat(gradeService.getGradeById(replacement.getGradeId()).orElseThrow())
+                .usingRecursiveComparison().isEqualTo(replacement);
+        }
+    }
+
+    // Helper methods
+
+    /**
+     * Deterministic grade for an index, with fresh strings as if read from storage
+     */
+    private static Grade createGrade(int index, Random random) {
+        int student = random.nextInt(5_000);
+        int course = random.nextInt(400);
+        GradeComponent component = GradeComponent.values()[random.nextInt(6)];
+        String assignmentName = component.getDisplayName() + " " + (1 + random.nextInt(12));
+        double pointsPossible = 10 * (1 + random.nextInt(10));
+        LocalDateTime assigned = TERM_START.plusDays(random.nextInt(100)).plusNanos(random.nextInt(1_000_000) * 1_000L);
+
+        Grade grade = new Grade("GRD_" + index, "ENR_" + student + "_" + course, "S" + student, "C" + course,
+                                "A_" + course + "_" + assignmentName.replace(' ', '_'), assignmentName, component,
+                                Math.floor(random.nextDouble() * pointsPossible), pointsPossible,
+                                assigned.plusDays(7), "P" + course % 50, "Spring", 2024);
+        grade.setDateAssigned(assigned);
+        grade.setStatus(GradeStatus.values()[random.nextInt(5)]);
+        if (grade.getStatus() == GradeStatus.GRADED || grade.getStatus() == GradeStatus.RETURNED) {
+            grade.setDateGraded(assigned.plusDays(10));
+            grade.setFeedback(random.nextInt(4) == 0 ? "Good work on " + assignmentName : null);
+        }
+        grade.setDropped(random.nextInt(50) == 0);
+        grade.setLastModified(assigned.plusDays(12));
+        return grade;
+    }
+
+    private static List<String> ids(List<Grade> grades) {
+        return grades.stream().map(Grade::getGradeId).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.yield();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
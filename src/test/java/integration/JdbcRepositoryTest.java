@@ -0,0 +1,275 @@
+// File location: src/test/java/integration/JdbcRepositoryTest.java
+
+package com.smartcampus.test.integration;
+
+import com.smartcampus.interfaces.Repository;
+import com.smartcampus.io.DatabaseManager;
+import com.smartcampus.models.Course;
+import com.smartcampus.models.Enrollment;
+import com.smartcampus.models.Grade;
+import com.smartcampus.models.Student;
+import com.smartcampus.repositories.JdbcCourseRepository;
+import com.smartcampus.repositories.JdbcEnrollmentRepository;
+import com.smartcampus.repositories.JdbcGradeRepository;
+import com.smartcampus.repositories.JdbcStudentRepository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Integration tests for the JDBC repositories against the in-memory H2 database
+ * Tests batched saves across several batches, multi-row lookups across several IN chunks,
+ * generated ids, and that batches join or roll back as one transaction
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("JDBC Repository Tests")
+class JdbcRepositoryTest {
+
+    // More than two batches and two IN chunks
+    private static final int ROWS = 1200;
+
+    private static DatabaseManager databaseManager;
+
+    private JdbcStudentRepository studentRepository;
+    private JdbcCourseRepository courseRepository;
+    private JdbcEnrollmentRepository enrollmentRepository;
+    private JdbcGradeRepository gradeRepository;
+
+    @BeforeAll
+    static void initializeSchema() throws Exception {
+        databaseManager = DatabaseManager.getInstance();
+        databaseManager.initializeSchema();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        studentRepository = new JdbcStudentRepository(databaseManager);
+        courseRepository = new JdbcCourseRepository(databaseManager);
+        enrollmentRepository = new JdbcEnrollmentRepository(databaseManager);
+        gradeRepository = new JdbcGradeRepository(databaseManager);
+
+        gradeRepository.deleteAll();
+        enrollmentRepository.deleteAll();
+        courseRepository.deleteAll();
+        studentRepository.deleteAll();
+    }
+
+    private static Student student(int number) {
+        return new Student("S" + number, "First" + number, "Last" + number, "s" + number + "@campus.edu",
+                           null, "N" + number, "Computer Science", Student.AcademicYear.FRESHMAN);
+    }
+
+    private static List<Student> students(int count) {
+        return IntStream.range(0, count).mapToObj(JdbcRepositoryTest::student).collect(Collectors.toList());
+    }
+
+    private static List<String> ids(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "S" + i).collect(Collectors.toList());
+    }
+
+    private Course saveCourse() throws Exception {
+        Course course = new Course("CS101", "CS101", "Intro to Programming", "Basics", 4, null);
+        course.setSemester("Fall");
+        course.setYear(2024);
+        course.setMaxEnrollment(30);
+        return courseRepository.save(course);
+    }
+
+    @Nested
+    @DisplayName("Batched Save Tests")
+    class BatchedSaveTests {
+
+        @Test
+        @DisplayName("Should save every entity across several batches")
+        void shouldSaveAcrossBatches() throws Exception {
+            studentRepository.saveAll(students(ROWS));
+
+            assertEquals(ROWS, studentRepository.count());
+            Student loaded = studentRepository.findById("S777").orElseThrow();
+            assertEquals("First777 Last777", loaded.getFullName());
+            assertEquals("s777@campus.edu", loaded.getEmail());
+        }
+
+        @Test
+        @DisplayName("Should update existing rows and insert new ones in one call")
+        void shouldUpsert() throws Exception {
+            studentRepository.saveAll(students(10));
+            Student renamed = student(3);
+            renamed.setLastName("Renamed");
+
+            studentRepository.saveAll(Arrays.asList(renamed, student(50)));
+
+            assertEquals(11, studentRepository.count());
+            assertEquals("Renamed", studentRepository.findById("S3").orElseThrow().getLastName());
+        }
+
+        @Test
+        @DisplayName("Should load a single-word name as a first name and write it back unchanged")
+        void shouldRoundTripSingleWordName() throws Exception {
+            studentRepository.save(student(8));
+            // Written by another system; User itself requires a last name
+            databaseManager.executeUpdate("UPDATE students SET name = ? WHERE id = ?", "Suharto", "S8");
+
+            Student loaded = studentRepository.findById("S8").orElseThrow();
+            assertEquals("Suharto", loaded.getFirstName());
+            assertNull(loaded.getLastName());
+
+            loaded.setEmail("suharto@campus.edu");
+            studentRepository.save(loaded);
+            Student reloaded = studentRepository.findById("S8").orElseThrow();
+            assertEquals("Suharto", reloaded.getFirstName());
+            assertNull(reloaded.getLastName());
+            assertEquals("suharto@campus.edu", reloaded.getEmail());
+        }
+
+        @Test
+        @DisplayName("Should roll back the whole batch when one row fails")
+        void shouldRollBackFailedBatch() throws Exception {
+            studentRepository.saveAll(students(5));
+            Student duplicateEmail = student(101);
+            duplicateEmail.setEmail("s1@campus.edu");
+
+            assertThrows(Repository.RepositoryException.class,
+                () -> studentRepository.saveAll(Arrays.asList(student(100), duplicateEmail)));
+
+            assertFalse(studentRepository.existsById("S100"));
+            assertEquals(5, studentRepository.count());
+        }
+
+        @Test
+        @DisplayName("Should leave every row unchanged when an update misses")
+        void shouldUpdateAllOrNothing() throws Exception {
+            studentRepository.saveAll(students(5));
+            Student renamed = student(4);
+            renamed.setLastName("Renamed");
+
+            assertThrows(Repository.RepositoryException.class,
+                () -> studentRepository.updateAll(Arrays.asList(renamed, student(99))));
+
+            assertEquals("Last4", studentRepository.findById("S4").orElseThrow().getLastName());
+        }
+
+        @Test
+        @DisplayName("Should join the caller's transaction")
+        void shouldJoinCallerTransaction() throws Exception {
+            databaseManager.beginTransaction();
+            try {
+                studentRepository.saveAll(students(3));
+                assertEquals(3, studentRepository.count());
+            } finally {
+                databaseManager.rollbackTransaction();
+            }
+
+            assertEquals(0, studentRepository.count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Multi-Row Lookup Tests")
+    class MultiRowLookupTests {
+
+        @Test
+        @DisplayName("Should find ids spread over several IN chunks and skip unknown ones")
+        void shouldFindAcrossChunks() throws Exception {
+            studentRepository.saveAll(students(ROWS));
+            List<String> wanted = ids(50, 1150);
+            wanted.add("UNKNOWN");
+
+            Map<String, Student> found = studentRepository.findByIds(wanted);
+
+            assertThat(found).hasSize(1100);
+            assertThat(found.keySet()).containsExactlyInAnyOrderElementsOf(ids(50, 1150));
+        }
+
+        @Test
+        @DisplayName("Should return findAllById results in the order of the ids")
+        void shouldKeepRequestedOrder() throws Exception {
+            studentRepository.saveAll(students(10));
+
+            List<Student> found = studentRepository.findAllById(Arrays.asList("S9", "S3", "UNKNOWN", "S5"));
+
+            assertThat(found).extracting(Student::getUserId).containsExactly("S9", "S3", "S5");
+        }
+
+        @Test
+        @DisplayName("Should delete ids spread over several IN chunks")
+        void shouldDeleteAcrossChunks() throws Exception {
+            studentRepository.saveAll(students(ROWS));
+
+            studentRepository.deleteAllById(ids(0, 1000));
+
+            assertEquals(ROWS - 1000, studentRepository.count());
+            assertTrue(studentRepository.findByIds(ids(0, 1000)).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should page in id order")
+        void shouldPageInIdOrder() throws Exception {
+            studentRepository.saveAll(students(25));
+
+            Repository.Page<Student> page = studentRepository.findAll(1, 10);
+
+            assertEquals(10, page.getNumberOfElements());
+            assertEquals(25, page.getTotalElements());
+            assertEquals(studentRepository.findAll().get(10).getUserId(), page.getContent().get(0).getUserId());
+        }
+    }
+
+    @Nested
+    @DisplayName("Generated Id Tests")
+    class GeneratedIdTests {
+
+        @Test
+        @DisplayName("Should assign generated ids to enrollments saved in batches")
+        void shouldAssignGeneratedIds() throws Exception {
+            studentRepository.saveAll(students(ROWS));
+            saveCourse();
+            List<Enrollment> enrollments = new ArrayList<>();
+            for (int i = 0; i < ROWS; i++) {
+                enrollments.add(Enrollment.createEnrollment("S" + i, "CS101", "Fall", 2024));
+            }
+
+            enrollmentRepository.saveAll(enrollments);
+
+            assertThat(enrollments).extracting(Enrollment::getEnrollmentId).doesNotHaveDuplicates()
+                .allMatch(id -> id.chars().allMatch(Character::isDigit));
+            Enrollment loaded = enrollmentRepository.findById(Long.valueOf(enrollments.get(10).getEnrollmentId())).orElseThrow();
+            assertEquals("S10", loaded.getStudentId());
+            assertEquals(2024, loaded.getYear());
+        }
+
+        @Test
+        @DisplayName("Should round-trip a grade's percentage, letter and feedback")
+        void shouldRoundTripGrade() throws Exception {
+            studentRepository.save(student(1));
+            saveCourse();
+            Grade grade = Grade.createGrade(null, "S1", "CS101", "Final", Grade.GradeComponent.EXAM, 50);
+            grade.setPointsEarned(45);
+            grade.setSemester("Fall");
+            grade.setYear(2024);
+            grade.setFeedback("Well done");
+
+            gradeRepository.save(grade);
+
+            Grade loaded = gradeRepository.findById(Long.valueOf(grade.getGradeId())).orElseThrow();
+            assertEquals(90.0, loaded.getPercentage(), 0.001);
+            assertEquals(grade.getLetterGrade(), loaded.getLetterGrade());
+            assertEquals("Well done", loaded.getFeedback());
+        }
+    }
+}
@@ -0,0 +1,336 @@
+// File location: src/test/java/integration/SearchIndexPerformanceTest.java
+
+package com.smartcampus.test.integration;
+
+import com.smartcampus.models.Course;
+import com.smartcampus.models.Student;
+import com.smartcampus.models.Student.AcademicYear;
+import com.smartcampus.utils.CompletionIndex;
+import com.smartcampus.utils.InvertedIndex;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Performance tests for the inverted indexes behind SearchService
+ * Indexes 100k students and 10k courses with the search text SearchService uses and compares
+ * ranked, fuzzy, autocomplete and facet index lookups with the scans over every entity or match
+ * they replaced
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Search Index Performance Tests")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchIndexPerformanceTest {
+
+    private static final int BENCHMARK_STUDENTS = 100_000;
+    private static final int BENCHMARK_COURSES = 10_000;
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen"
+    };
+    private static final String[] SUBJECTS = {
+        "Computer Science", "Mathematics", "Physics", "Biology", "Chemistry", "History", "Economics",
+        "Psychology", "English", "Philosophy", "Art", "Music", "Nursing", "Accounting", "Sociology"
+    };
+    private static final String[] TOPICS = {
+        "Introduction", "Advanced", "Seminar", "Theory", "Methods", "Laboratory", "Foundations", "Topics",
+        "Analysis", "Design", "Systems", "Applications", "Research", "Practice", "Principles"
+    };
+
+    private List<Student> students;
+    private List<Course> courses;
+    private InvertedIndex<Student> studentIndex;
+    private InvertedIndex<Course> courseIndex;
+
+    @BeforeAll
+    void setUp() {
+        Random random = new Random(21);
+        students = new ArrayList<>();
+        for (int i = 0; i < BENCHMARK_STUDENTS; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = "Surname" + random.nextInt(20_000);
+            students.add(new Student("U" + i, firstName, lastName,
+                                     firstName.toLowerCase() + "." + lastName.toLowerCase() + i + "@campus.edu",
+                                     "555-000-0000", "STU" + i, SUBJECTS[random.nextInt(SUBJECTS.length)],
+                                     AcademicYear.values()[random.nextInt(AcademicYear.values().length)]));
+        }
+        courses = new ArrayList<>();
+        for (int i = 0; i < BENCHMARK_COURSES; i++) {
+            String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+            String topic = TOPICS[random.nextInt(TOPICS.length)];
+            courses.add(new Course("CRS" + i, subject.substring(0, 3).toUpperCase() + (100 + i % 900),
+                                   topic + " in " + subject, topic + " course on " + subject.toLowerCase()
+                                   + " for year " + (1 + i % 4) + " students", 3, "DEPT" + i % 40));
+        }
+
+        studentIndex = new InvertedIndex<>(Student::getStudentId, SearchIndexPerformanceTest::studentText);
+        studentIndex.addAll(students);
+        courseIndex = new InvertedIndex<>(Course::getCourseId, SearchIndexPerformanceTest::courseText);
+        courseIndex.addAll(courses);
+    }
+
+    @Nested
+    @DisplayName("Query Equivalence Tests")
+    class QueryEquivalenceTests {
+
+        @Test
+        @DisplayName("Should find the same entities as a word-prefix scan")
+        void shouldMatchWordPrefixScan() {
+            for (String query : List.of("surname1234", "jennifer", "computer", "STU4242", "advanced physics")) {
+                assertThat(ids(studentIndex.search(query, Integer.MAX_VALUE), Student::getStudentId))
+                    .as(query)
+                    .containsExactlyInAnyOrderElementsOf(ids(scan(students, SearchIndexPerformanceTest::studentText, query),
+                                                             Student::getStudentId));
+                assertThat(ids(courseIndex.search(query, Integer.MAX_VALUE), Course::getCourseId))
+                    .as(query)
+                    .containsExactlyInAnyOrderElementsOf(ids(scan(courses, SearchIndexPerformanceTest::courseText, query),
+                                                             Course::getCourseId));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Search Benchmark")
+    class SearchBenchmark {
+
+        @Test
+        @DisplayName("Should answer ranked top-k queries in under a millisecond")
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        void shouldAnswerQueriesQuickly() {
+            List<String> queries = List.of("surname1234", "mary surname77", "computer science", "stu9999", "analysis");
+            Supplier<Integer> indexed = () -> queries.stream()
+                .mapToInt(query -> studentIndex.search(query, 20).size() + courseIndex.search(query, 20).size())
+                .sum();
+            Supplier<Integer> scanned = () -> queries.stream()
+                .mapToInt(query -> scan(students, SearchIndexPerformanceTest::studentText, query).size()
+                                 + scan(courses, SearchIndexPerformanceTest::courseText, query).size())
+                .sum();
+
+            long indexedNanos = averageNanos(indexed, 300) / queries.size();
+            long scanNanos = averageNanos(scanned, 5) / queries.size();
+
+            System.out.printf("Search index benchmark, %,d students + %,d courses: scan=%,d us/query, " +
+                            "index=%,d us/query%n", BENCHMARK_STUDENTS, BENCHMARK_COURSES,
+                            scanNanos / 1_000, indexedNanos / 1_000);
+
+            assertThat(indexedNanos).isLessThan(TimeUnit.MILLISECONDS.toNanos(1));
+            assertThat(indexedNanos).isLessThan(scanNanos / 10);
+        }
+    }
+
+    @Nested
+    @DisplayName("Fuzzy Search Benchmark")
+    class FuzzySearchBenchmark {
+
+        @Test
+        @DisplayName("Should answer fuzzy queries from the term dictionary faster than a full-matrix scan")
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        void shouldAnswerFuzzyQueriesQuickly() {
+            List<String> queries = List.of("jenifer", "surnme1234", "compter sciense", "phsyics", "analisys");
+            Supplier<Integer> indexed = () -> queries.stream()
+                .mapToInt(query -> studentIndex.searchFuzzy(query, 0.7, 250).size()
+                                 + courseIndex.searchFuzzy(query, 0.7, 250).size())
+                .sum();
+            // The replaced implementation: one full Levenshtein matrix per entity against its whole text
+            Supplier<Integer> scanned = () -> queries.stream()
+                .mapToInt(query -> (int) students.stream()
+                    .filter(student -> fullMatrixSimilarity(query, studentText(student)) >= 0.7)
+                    .count()
+                    + (int) courses.stream()
+                    .filter(course -> fullMatrixSimilarity(query, courseText(course)) >= 0.7)
+                    .count())
+                .sum();
+
+            assertThat(indexed.get()).isPositive();
+            long indexedNanos = averageNanos(indexed, 20) / queries.size();
+            long scanNanos = averageNanos(scanned, 1) / queries.size();
+
+            System.out.printf("Fuzzy search benchmark, %,d students + %,d courses: full-matrix scan=%,d us/query, " +
+                            "term dictionary=%,d us/query%n", BENCHMARK_STUDENTS, BENCHMARK_COURSES,
+                            scanNanos / 1_000, indexedNanos / 1_000);
+
+            assertThat(indexedNanos).isLessThan(scanNanos / 10);
+        }
+    }
+
+    @Nested
+    @DisplayName("Autocomplete Benchmark")
+    class AutocompleteBenchmark {
+
+        @Test
+        @DisplayName("Should complete each keystroke from the trie in under a millisecond")
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        void shouldCompleteKeystrokesQuickly() {
+            CompletionIndex<Student> completions = new CompletionIndex<>(Student::getStudentId,
+                student -> List.of(student.getFullName(), student.getStudentId(), student.getMajor()), student -> 1);
+            completions.addAll(students);
+
+            // Every keystroke of a few typed queries
+            List<String> keystrokes = new ArrayList<>();
+            for (String typed : List.of("jennifer sur", "surname12", "computer sci", "stu42")) {
+                for (int i = 1; i <= typed.length(); i++) {
+                    keystrokes.add(typed.substring(0, i));
+                }
+            }
+            Supplier<Integer> indexed = () -> keystrokes.stream()
+                .mapToInt(prefix -> completions.complete(prefix, 10).size())
+                .sum();
+            // The replaced suggestions: every field of every student checked on each keystroke
+            Supplier<Integer> scanned = () -> keystrokes.stream()
+                .mapToInt(prefix -> (int) students.stream()
+                    .flatMap(student -> Stream.of(student.getFirstName(), student.getLastName(), student.getEmail(),
+                                                  student.getStudentId(), student.getMajor()))
+                    .filter(field -> field.toLowerCase().contains(prefix.toLowerCase()))
+                    .distinct()
+                    .limit(10)
+                    .count())
+                .sum();
+
+            assertThat(completions.complete("computer sci", 10)).extracting(CompletionIndex.Completion::getPhrase)
+                .containsExactly("Computer Science");
+            long indexedNanos = averageNanos(indexed, 300) / keystrokes.size();
+            long scanNanos = averageNanos(scanned, 1) / keystrokes.size();
+
+            System.out.printf("Autocomplete benchmark, %,d students: scan=%,d us/keystroke, trie=%,d us/keystroke%n",
+                            BENCHMARK_STUDENTS, scanNanos / 1_000, indexedNanos / 1_000);
+
+            assertThat(indexedNanos).isLessThan(TimeUnit.MILLISECONDS.toNanos(1));
+            assertThat(indexedNanos).isLessThan(scanNanos / 10);
+        }
+    }
+
+    @Nested
+    @DisplayName("Facet Benchmark")
+    class FacetBenchmark {
+
+        @Test
+        @DisplayName("Should count facets of each keystroke from bitmaps faster than streaming the matches")
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        void shouldCountFacetsQuickly() {
+            InvertedIndex<Student> faceted = new InvertedIndex<>(Student::getStudentId, SearchIndexPerformanceTest::studentText,
+                student -> Map.of("major", student.getMajor(), "year", student.getAcademicYear().name()));
+            faceted.addAll(students);
+
+            List<String> keystrokes = new ArrayList<>();
+            for (String typed : List.of("jennifer sur", "computer sci", "mary surname1")) {
+                for (int i = 1; i <= typed.length(); i++) {
+                    keystrokes.add(typed.substring(0, i));
+                }
+            }
+            // Re-indexing a student empties the cache, so every run types the queries afresh
+            Supplier<Integer> indexed = () -> {
+                faceted.put(students.get(0));
+                return keystrokes.stream().mapToInt(prefix -> faceted.facetCounts(prefix).size()).sum();
+            };
+            // The replaced counting: every match of the query streamed and grouped per facet
+            Supplier<Integer> streamed = () -> keystrokes.stream()
+                .mapToInt(prefix -> streamedFacetCounts(faceted.search(prefix, Integer.MAX_VALUE)).size())
+                .sum();
+
+            for (String query : List.of("computer sci", "jennifer", "mary surname1")) {
+                assertEquals(streamedFacetCounts(faceted.search(query, Integer.MAX_VALUE)), faceted.facetCounts(query), query);
+            }
+            long indexedNanos = averageNanos(indexed, 10) / keystrokes.size();
+            long cachedNanos = averageNanos(() -> faceted.facetCounts("computer sci").size(), 1_000);
+            long streamNanos = averageNanos(streamed, 2) / keystrokes.size();
+
+            System.out.printf("Facet benchmark, %,d students: streamed=%,d us/keystroke, bitmaps=%,d us/keystroke, "
+                            + "cached=%,d us/query%n", BENCHMARK_STUDENTS, streamNanos / 1_000, indexedNanos / 1_000,
+                            cachedNanos / 1_000);
+
+            assertThat(indexedNanos).isLessThan(streamNanos / 4);
+            assertThat(cachedNanos).isLessThan(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+
+        private Map<String, Map<String, Integer>> streamedFacetCounts(List<Student> matches) {
+            Map<String, Map<String, Integer>> counts = new TreeMap<>();
+            if (!matches.isEmpty()) {
+                counts.put("major", matches.stream()
+                    .collect(Collectors.groupingBy(Student::getMajor, TreeMap::new, Collectors.summingInt(student -> 1))));
+                counts.put("year", matches.stream()
+                    .collect(Collectors.groupingBy(student -> student.getAcademicYear().name(), TreeMap::new,
+                                                   Collectors.summingInt(student -> 1))));
+            }
+            return counts;
+        }
+    }
+
+    // Helper methods
+
+    private static String studentText(Student student) {
+        return String.join(" ", student.getFirstName(), student.getLastName(), student.getEmail(),
+                           student.getStudentId(), student.getMajor(), student.getAcademicYear().toString());
+    }
+
+    private static String courseText(Course course) {
+        return String.join(" ", course.getCourseName(), course.getCourseCode(), course.getCourseId(),
+                           course.getDescription(), course.getDepartmentId());
+    }
+
+    /**
+     * Entities whose text has, for every query token, a token starting with it
+     */
+    private static <T> List<T> scan(List<T> entities, Function<T, String> text, String query) {
+        List<String> queryTokens = InvertedIndex.tokenize(query);
+        return entities.stream()
+            .filter(entity -> {
+                List<String> tokens = InvertedIndex.tokenize(text.apply(entity));
+                return queryTokens.stream().allMatch(queryToken -> tokens.stream().anyMatch(token -> token.startsWith(queryToken)));
+            })
+            .collect(Collectors.toList());
+    }
+
+    private static double fullMatrixSimilarity(String query, String text) {
+        String a = query.toLowerCase();
+        String b = text.toLowerCase();
+        int[][] dp = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            dp[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            dp[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                dp[i][j] = Math.min(dp[i - 1][j - 1] + cost, Math.min(dp[i - 1][j], dp[i][j - 1]) + 1);
+            }
+        }
+        return 1.0 - (double) dp[a.length()][b.length()] / Math.max(a.length(), b.length());
+    }
+
+    private static <T> List<String> ids(List<T> entities, Function<T, String> id) {
+        return entities.stream().map(id).collect(Collectors.toList());
+    }
+
+    private static long averageNanos(Supplier<Integer> query, int runs) {
+        for (int i = 0; i < runs; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - start) / runs;
+    }
+}
@@ -0,0 +1,173 @@
+// File location: src/test/java/integration/StudentFilterPerformanceTest.java
+
+package com.smartcampus.test.integration;
+
+import com.smartcampus.models.Enrollment;
+import com.smartcampus.models.Grade;
+import com.smartcampus.models.Grade.GradeComponent;
+import com.smartcampus.models.Grade.GradeStatus;
+import com.smartcampus.models.Student;
+import com.smartcampus.models.Student.AcademicYear;
+import com.smartcampus.services.StudentService;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Performance tests for the bitmap filter indexes of StudentService
+ * Runs the filter queries over 100k students and compares them, in results and in time, with
+ * the stream scans they replaced
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Student Filter Performance Tests")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StudentFilterPerformanceTest {
+
+    private static final int BENCHMARK_STUDENTS = 100_000;
+    private static final String[] MAJORS = {
+        "Computer Science", "Mathematics", "Physics", "Biology", "Chemistry", "History", "Economics",
+        "Psychology", "English", "Philosophy", "Art", "Music", "Nursing", "Accounting", "Sociology"
+    };
+
+    private StudentService studentService;
+    private List<Student> students;
+
+    @BeforeAll
+    void setUp() {
+        studentService = new StudentService();
+        students = new ArrayList<>();
+        Random random = new Random(100);
+        for (int i = 0; i < BENCHMARK_STUDENTS; i++) {
+            String studentId = "STU" + i;
+            Student student = new Student("U" + i, "First" + random.nextInt(500), "Last" + random.nextInt(2_000),
+                                          "student" + i + "@campus.edu", "555-000-0000", studentId,
+                                          MAJORS[random.nextInt(MAJORS.length)],
+                                          AcademicYear.values()[random.nextInt(AcademicYear.values().length)]);
+            students.add(student);
+            studentService.addStudent(student);
+            if (random.nextInt(3) > 0) {
+                studentService.addEnrollment(studentId, new Enrollment("E" + i, studentId, "C" + random.nextInt(300),
+                                                                       "Fall", 2024));
+            }
+            Grade grade = new Grade("G" + i, "E" + i, studentId, "C1", "A1", "Midterm", GradeComponent.MIDTERM,
+                                    random.nextInt(101), 100, LocalDateTime.of(2024, 10, 1, 9, 0), "P1", "Fall", 2024);
+            grade.setStatus(GradeStatus.GRADED);
+            studentService.addGrade(studentId, grade);
+        }
+    }
+
+    @Nested
+    @DisplayName("Query Equivalence Tests")
+    class QueryEquivalenceTests {
+
+        @Test
+        @DisplayName("Should answer attribute filters like a scan")
+        void shouldMatchScansForAttributes() {
+            assertThat(ids(studentService.getStudentsByMajor("computer SCIENCE"))).isEqualTo(ids(students.stream()
+                .filter(student -> student.getMajor().equalsIgnoreCase("Computer Science"))
+                .sorted(Comparator.comparing(Student::getLastName).thenComparing(Student::getFirstName))
+                .collect(Collectors.toList())));
+            assertThat(ids(studentService.getStudentsByAcademicYear(AcademicYear.JUNIOR)))
+                .containsExactlyInAnyOrderElementsOf(ids(scan(student -> student.getAcademicYear() == AcademicYear.JUNIOR)));
+            assertThat(ids(studentService.findStudentsByCriteria(Map.of("major", "Physics", "academicYear", AcademicYear.SENIOR,
+                                                                        "firstName", "First7"))))
+                .containsExactlyInAnyOrderElementsOf(ids(scan(student -> student.getMajor().equals("Physics")
+                    && student.getAcademicYear() == AcademicYear.SENIOR && student.getFirstName().equals("First7"))));
+            assertThat(ids(studentService.getStudentsByMajorsAndYears(Set.of("Art", "Music"), Set.of(AcademicYear.FRESHMAN))))
+                .containsExactlyInAnyOrderElementsOf(ids(scan(student -> Set.of("Art", "Music").contains(student.getMajor())
+                    && student.getAcademicYear() == AcademicYear.FRESHMAN)));
+            assertThat(ids(studentService.getStudentsByEnrollmentStatus(Enrollment.EnrollmentStatus.ENROLLED)))
+                .containsExactlyInAnyOrderElementsOf(ids(scan(student ->
+                    !studentService.getStudentEnrollments(student.getStudentId()).isEmpty())));
+        }
+
+        @Test
+        @DisplayName("Should follow GPA changes in the honors and probation lists")
+        void shouldTrackGpaChanges() {
+            assertThat(ids(studentService.getHonorsStudents())).containsExactlyInAnyOrderElementsOf(
+                ids(scan(student -> studentService.calculateGPA(student.getStudentId()) >= 3.5)));
+            assertThat(ids(studentService.getStudentsOnProbation())).containsExactlyInAnyOrderElementsOf(
+                ids(scan(student -> studentService.calculateGPA(student.getStudentId()) < 2.0)));
+
+            Student student = studentService.getStudentsOnProbation().get(0);
+            Grade grade = new Grade("G_EXTRA", "E_EXTRA", student.getStudentId(), "C2", "A2", "Final",
+                                    GradeComponent.FINAL, 100, 100, LocalDateTime.of(2024, 12, 1, 9, 0),
+                                    "P1", "Fall", 2024);
+            grade.setStatus(GradeStatus.GRADED);
+            for (int i = 0; i < 9; i++) {
+                studentService.addGrade(student.getStudentId(), grade);
+            }
+
+            assertThat(studentService.getHonorsStudents()).contains(student);
+            assertThat(studentService.getStudentsOnProbation()).doesNotContain(student);
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter Benchmark")
+    class FilterBenchmark {
+
+        @Test
+        @DisplayName("Should answer multi-criteria filters faster than a scan")
+        @Timeout(value = 60, unit = TimeUnit.SECONDS)
+        void shouldBeatScanForMultiCriteriaFilters() {
+            Map<String, Object> criteria = Map.of("major", "Mathematics", "academicYear", AcademicYear.SOPHOMORE);
+            Supplier<List<Student>> indexed = () -> studentService.findStudentsByCriteria(criteria);
+            Supplier<List<Student>> scanned = () -> studentService.filterStudents(student ->
+                "Mathematics".equals(student.getMajor()) && student.getAcademicYear() == AcademicYear.SOPHOMORE);
+
+            long indexedNanos = averageNanos(indexed);
+            long scanNanos = averageNanos(scanned);
+
+            System.out.printf("Student filter benchmark, %,d students: scan=%,d us, bitmap=%,d us, %.1fx faster%n",
+                            BENCHMARK_STUDENTS, scanNanos / 1_000, indexedNanos / 1_000,
+                            (double) scanNanos / indexedNanos);
+
+            assertThat(ids(indexed.get())).containsExactlyInAnyOrderElementsOf(ids(scanned.get()));
+            assertThat(indexedNanos).isLessThan(scanNanos);
+        }
+    }
+
+    // Helper methods
+
+    private List<Student> scan(Predicate<Student> predicate) {
+        return students.stream().filter(predicate).collect(Collectors.toList());
+    }
+
+    private static List<String> ids(List<Student> students) {
+        return students.stream().map(Student::getStudentId).collect(Collectors.toList());
+    }
+
+    private static long averageNanos(Supplier<List<Student>> query) {
+        // Enough warm-up runs for the JIT to compile the query path before timing it
+        for (int i = 0; i < 300; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - start) / 100;
+    }
+}
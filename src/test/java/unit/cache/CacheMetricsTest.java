@@ -0,0 +1,188 @@
+// File location: src/test/java/unit/cache/CacheMetricsTest.java
+
+package com.smartcampus.test.unit.cache;
+
+import com.smartcampus.cache.CacheManager;
+import com.smartcampus.cache.CacheMetrics;
+import com.smartcampus.cache.CacheStrategy;
+import com.smartcampus.cache.EvictionCause;
+import com.smartcampus.cache.LatencyHistogram;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for per-cache metrics
+ * Tests latency histograms, eviction cause breakdown, load timing and memory estimates
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Cache Metrics Tests")
+class CacheMetricsTest {
+
+    private static final String CACHE = "test_metrics";
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = CacheManager.getInstance();
+        cacheManager.createCache(CACHE, CacheManager.CacheConfig.defaultConfig()
+            .maxSize(10)
+            .strategy(CacheStrategy.LRU));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.removeCache(CACHE);
+    }
+
+    @Nested
+    @DisplayName("Latency Histogram Tests")
+    class LatencyHistogramTests {
+
+        @Test
+        @DisplayName("Should report percentiles within bucket precision")
+        void shouldReportPercentiles() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (long micros = 1; micros <= 1_000; micros++) {
+                histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+            }
+
+            assertThat(histogram.getCount()).isEqualTo(1_000);
+            assertThat((double) histogram.getValueAtPercentile(50)).isCloseTo(500_000, within(35_000.0));
+            assertThat((double) histogram.getValueAtPercentile(99)).isCloseTo(990_000, within(65_000.0));
+            assertThat(histogram.getValueAtPercentile(100)).isEqualTo(1_000_000);
+            assertThat(histogram.getMeanNanos()).isCloseTo(500_500, within(1.0));
+        }
+
+        @Test
+        @DisplayName("Should count every concurrent recording")
+        void shouldCountConcurrentRecordings() throws Exception {
+            LatencyHistogram histogram = new LatencyHistogram();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        histogram.record(i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            assertThat(histogram.getCount()).isEqualTo(80_000);
+            assertThat(histogram.snapshot().getCount()).isEqualTo(80_000);
+        }
+
+        @Test
+        @DisplayName("Should count weighted recordings as that many measurements")
+        void shouldWeightRecordings() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(1_000, 16);
+            histogram.record(3_000, 16);
+
+            assertThat(histogram.getCount()).isEqualTo(32);
+            assertThat(histogram.getTotalNanos()).isEqualTo(64_000);
+            assertThat(histogram.getMaxNanos()).isEqualTo(3_000);
+        }
+    }
+
+    @Nested
+    @DisplayName("Eviction Cause Tests")
+    class EvictionCauseTests {
+
+        @Test
+        @DisplayName("Should separate size evictions, tag invalidations and explicit removals")
+        void shouldBreakDownRemovalsByCause() {
+            for (int i = 0; i < 12; i++) {
+                cacheManager.put(CACHE, "key" + i, "value" + i);
+            }
+            cacheManager.put(CACHE, "tagged", "value", "test_metrics_tag");
+            cacheManager.invalidateTag("test_metrics_tag");
+            assertNull(cacheManager.get(CACHE, "tagged"));
+            cacheManager.remove(CACHE, "key11");
+
+            CacheMetrics metrics = cacheManager.getCacheMetrics(CACHE);
+            assertThat(metrics.getRemovalCount(EvictionCause.SIZE)).isEqualTo(3);
+            assertThat(metrics.getRemovalCount(EvictionCause.INVALIDATED)).isEqualTo(1);
+            assertThat(metrics.getRemovalCount(EvictionCause.EXPLICIT)).isEqualTo(1);
+            assertThat(metrics.getEvictionCount()).isEqualTo(4);
+            assertThat(cacheManager.getCacheStats(CACHE).getEvictions()).isEqualTo(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("Load Tests")
+    class LoadTests {
+
+        @Test
+        @DisplayName("Should time loads and cache their results")
+        void shouldTimeLoads() {
+            assertThat(cacheManager.<String>get(CACHE, "course", key -> "CS101")).isEqualTo("CS101");
+            assertThat(cacheManager.<String>get(CACHE, "course", key -> "reloaded")).isEqualTo("CS101");
+
+            CacheMetrics metrics = cacheManager.getCacheMetrics(CACHE);
+            assertThat(metrics.getLoadSuccessCount()).isEqualTo(1);
+            assertThat(metrics.getLoadLatency().getCount()).isEqualTo(1);
+            assertThat(metrics.getHitCount()).isEqualTo(1);
+            assertThat(metrics.getMissCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should sample get latency and weight the samples")
+        void shouldSampleGetLatency() {
+            cacheManager.put(CACHE, "course", "CS101");
+            for (int i = 0; i < 1_600; i++) {
+                cacheManager.get(CACHE, "course");
+            }
+
+            long count = cacheManager.getCacheMetrics(CACHE).getGetLatency().getCount();
+            assertThat(count % CacheMetrics.GET_SAMPLE_RATE).isZero();
+            assertThat(count).isBetween(800L, 2_400L);
+        }
+
+        @Test
+        @DisplayName("Should record failed loads and propagate the exception")
+        void shouldRecordFailedLoads() {
+            assertThrows(IllegalStateException.class, () -> cacheManager.get(CACHE, "course", key -> {
+                throw new IllegalStateException("database down");
+            }));
+
+            CacheMetrics metrics = cacheManager.getCacheMetrics(CACHE);
+            assertThat(metrics.getLoadFailureCount()).isEqualTo(1);
+            assertFalse(cacheManager.containsKey(CACHE, "course"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should estimate memory from cached contents")
+    void shouldEstimateMemory() {
+        long empty = cacheManager.getEstimatedMemoryUsage(CACHE);
+        cacheManager.put(CACHE, "small", "x");
+        long small = cacheManager.getEstimatedMemoryUsage(CACHE);
+        cacheManager.put(CACHE, "large", new byte[64 * 1024]);
+
+        assertThat(empty).isZero();
+        assertThat(small).isPositive();
+        assertThat(cacheManager.getEstimatedMemoryUsage(CACHE)).isGreaterThan(64 * 1024);
+    }
+}
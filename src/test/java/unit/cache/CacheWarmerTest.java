@@ -0,0 +1,143 @@
+// File location: src/test/java/unit/cache/CacheWarmerTest.java
+
+package com.smartcampus.test.unit.cache;
+
+import com.smartcampus.cache.CacheKey;
+import com.smartcampus.cache.CacheManager;
+import com.smartcampus.cache.CacheWarmer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Unit tests for the cache warm-up engine
+ * Tests hot key snapshots, parallel reload across a simulated restart and strategy parsing
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Cache Warmer Tests")
+class CacheWarmerTest {
+
+    private static final String CACHE = "test_warmup";
+    private static final String SCOPE = "CourseService.search";
+
+    @TempDir
+    Path snapshotDir;
+
+    private CacheManager cacheManager;
+    private AtomicInteger loads;
+    private CacheWarmer.Loader loader;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = CacheManager.getInstance();
+        cacheManager.createCache(CACHE, CacheManager.CacheConfig.defaultConfig().maxSize(100));
+        loads = new AtomicInteger();
+        loader = params -> {
+            loads.incrementAndGet();
+            cacheManager.put(CACHE, CacheKey.of(SCOPE, params), "result");
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.removeCache(CACHE);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    @DisplayName("Should reload the hottest keys after a restart")
+    void shouldReloadHottestKeysAfterRestart() throws Exception {
+        CacheWarmer beforeRestart = new CacheWarmer(cacheManager, snapshotDir, 2);
+        assertEquals(0, beforeRestart.register(CACHE, SCOPE, "hot:3", loader));
+
+        for (int i = 0; i < 10; i++) {
+            cacheManager.put(CACHE, CacheKey.of(SCOPE, "CS" + i, i), "result");
+            for (int reads = 0; reads < i; reads++) {
+                cacheManager.get(CACHE, CacheKey.of(SCOPE, "CS" + i, i));
+            }
+        }
+        // Keys of other methods are not part of this registration
+        cacheManager.put(CACHE, CacheKey.of("other", "CS0"), "result");
+
+        assertEquals(3, beforeRestart.snapshot());
+        cacheManager.clear(CACHE);
+
+        CacheWarmer afterRestart = new CacheWarmer(cacheManager, snapshotDir, 2);
+        assertEquals(3, afterRestart.register(CACHE, SCOPE, "hot:3", loader));
+        assertTrue(afterRestart.awaitWarmup(5, TimeUnit.SECONDS));
+
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(afterRestart.getWarmedKeys()).isEqualTo(3);
+        for (int i = 7; i < 10; i++) {
+            assertTrue(cacheManager.containsKey(CACHE, CacheKey.of(SCOPE, "CS" + i, i)));
+        }
+        assertFalse(cacheManager.containsKey(CACHE, CacheKey.of(SCOPE, "CS6", 6)));
+    }
+
+    @Test
+    @DisplayName("Should start cold when the snapshot is missing or unreadable")
+    void shouldIgnoreUnreadableSnapshots() throws Exception {
+        Files.write(snapshotDir.resolve(CACHE + ".warmup"), new byte[]{1, 2, 3});
+
+        CacheWarmer warmer = new CacheWarmer(cacheManager, snapshotDir, 1);
+
+        assertEquals(0, warmer.register(CACHE, SCOPE, "all", loader));
+        assertThat(loads.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip saved arguments of classes outside the allowlist")
+    void shouldSkipDisallowedArguments() throws Exception {
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(snapshot))) {
+            out.writeInt(0x43574D31);
+            out.writeInt(2);
+            for (Object[] params : new Object[][]{{new File("/etc/passwd")}, {"CS1", 1}}) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+                    objects.writeObject(params);
+                }
+                out.writeUTF(SCOPE);
+                out.writeInt(bytes.size());
+                bytes.writeTo(out);
+            }
+        }
+        Files.write(snapshotDir.resolve(CACHE + ".warmup"), snapshot.toByteArray());
+
+        CacheWarmer warmer = new CacheWarmer(cacheManager, snapshotDir, 1);
+
+        assertEquals(1, warmer.register(CACHE, SCOPE, "all", loader));
+        assertTrue(warmer.awaitWarmup(5, TimeUnit.SECONDS));
+        assertTrue(cacheManager.containsKey(CACHE, CacheKey.of(SCOPE, "CS1", 1)));
+    }
+
+    @Test
+    @DisplayName("Should parse warm-up strategies")
+    void shouldParseStrategies() {
+        assertNull(CacheWarmer.Strategy.parse(""));
+        assertThat(CacheWarmer.Strategy.parse("hot").getKeyLimit()).isEqualTo(1000);
+        assertThat(CacheWarmer.Strategy.parse("HOT:250").getKeyLimit()).isEqualTo(250);
+        assertThat(CacheWarmer.Strategy.parse("all").getKeyLimit()).isEqualTo(Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> CacheWarmer.Strategy.parse("hot:0"));
+        assertThrows(IllegalArgumentException.class, () -> CacheWarmer.Strategy.parse("lukewarm"));
+    }
+}
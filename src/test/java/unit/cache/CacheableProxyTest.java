@@ -0,0 +1,275 @@
+// File location: src/test/java/unit/cache/CacheableProxyTest.java
+
+package com.smartcampus.test.unit.cache;
+
+import com.smartcampus.annotations.Cacheable;
+import com.smartcampus.cache.CacheClock;
+import com.smartcampus.cache.CacheKey;
+import com.smartcampus.cache.CacheManager;
+import com.smartcampus.cache.CacheStrategy;
+import com.smartcampus.cache.KeyGenerator;
+import com.smartcampus.reflection.DynamicProxy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for annotation-driven caching through DynamicProxy
+ * Tests key generation, namespaces, tag invalidation, null caching and compression
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Cacheable Proxy Tests")
+class CacheableProxyTest {
+
+    public interface CourseLookup {
+        List<String> findCourses(String departmentId, int year);
+        String findByRequest(Map<String, String> request, String traceId);
+        String findMissing(String courseId);
+        List<String> findTranscript(int rows);
+        String findWithGenerator(String courseId);
+        String findPopular(String courseId);
+        String findSchedule(String courseId);
+        String findWhileInvalidated(String courseId);
+    }
+
+    public static class FixedKeyGenerator implements KeyGenerator {
+        @Override
+        public Object generate(Object target, Method method, Object... params) {
+            return "fixed";
+        }
+    }
+
+    public static class CourseLookupImpl implements CourseLookup {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        @Cacheable(namespace = "test_courses", tags = "test_courses", maxEntries = 100)
+        public List<String> findCourses(String departmentId, int year) {
+            calls.incrementAndGet();
+            return List.of(departmentId + "-" + year);
+        }
+
+        @Override
+        @Cacheable(namespace = "test_courses", key = "#p0.size, 'v1'")
+        public String findByRequest(Map<String, String> request, String traceId) {
+            calls.incrementAndGet();
+            return "size" + request.size();
+        }
+
+        @Override
+        @Cacheable(namespace = "test_misc", cacheNullValues = true)
+        public String findMissing(String courseId) {
+            calls.incrementAndGet();
+            return null;
+        }
+
+        @Override
+        @Cacheable(namespace = "test_misc", compress = true)
+        public List<String> findTranscript(int rows) {
+            calls.incrementAndGet();
+            List<String> transcript = new ArrayList<>();
+            for (int i = 0; i < rows; i++) {
+                transcript.add("CS10" + (i % 10) + ",A");
+            }
+            return transcript;
+        }
+
+        @Override
+        @Cacheable(namespace = "test_misc", keyGenerator = FixedKeyGenerator.class)
+        public String findWithGenerator(String courseId) {
+            calls.incrementAndGet();
+            return courseId;
+        }
+
+        @Override
+        @Cacheable(namespace = "test_popular", strategy = Cacheable.Strategy.W_TINYLFU)
+        public String findPopular(String courseId) {
+            calls.incrementAndGet();
+            return courseId;
+        }
+
+        @Override
+        @Cacheable(namespace = "test_courses", tags = "test_courses")
+        public String findWhileInvalidated(String courseId) {
+            calls.incrementAndGet();
+            // Stands in for an update committed while the lookup is still running
+            CacheManager.getInstance().invalidateTag("test_courses");
+            return courseId;
+        }
+
+        @Override
+        @Cacheable(namespace = "test_refresh", ttl = 10, refreshThreshold = 50)
+        public String findSchedule(String courseId) {
+            return courseId + "-v" + calls.incrementAndGet();
+        }
+    }
+
+    private CourseLookupImpl target;
+    private CourseLookup proxy;
+
+    @BeforeEach
+    void setUp() {
+        target = new CourseLookupImpl();
+        proxy = DynamicProxy.createProxy(CourseLookup.class, target);
+    }
+
+    @AfterEach
+    void tearDown() {
+        CacheManager.getInstance().removeCache("test_courses");
+        CacheManager.getInstance().removeCache("test_misc");
+        CacheManager.getInstance().removeCache("test_popular");
+        CacheManager.getInstance().removeCache("test_refresh");
+    }
+
+    @Nested
+    @DisplayName("Key Generation Tests")
+    class KeyGenerationTests {
+
+        @Test
+        @DisplayName("Should cache per distinct argument list")
+        void shouldCachePerArgumentList() {
+            proxy.findCourses("CS", 2024);
+            proxy.findCourses("CS", 2024);
+            proxy.findCourses("CS", 2025);
+
+            assertThat(target.calls.get()).isEqualTo(2);
+            assertTrue(CacheManager.getInstance().cacheExists("test_courses"));
+        }
+
+        @Test
+        @DisplayName("Should build keys from the key expression only")
+        void shouldUseKeyExpression() {
+            assertThat(proxy.findByRequest(Map.of("dept", "CS"), "trace-1")).isEqualTo("size1");
+            assertThat(proxy.findByRequest(Map.of("dept", "EE"), "trace-2")).isEqualTo("size1");
+
+            assertThat(target.calls.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should delegate to the configured key generator")
+        void shouldUseKeyGenerator() {
+            proxy.findWithGenerator("CS101");
+
+            assertThat(proxy.findWithGenerator("CS102")).isEqualTo("CS101");
+            assertThat(target.calls.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should create the cache with the annotated strategy")
+        void shouldHonorAnnotatedStrategy() {
+            proxy.findPopular("CS101");
+
+            assertThat(CacheManager.getInstance().getStrategy("test_popular")).isEqualTo(CacheStrategy.W_TINYLFU);
+            assertThat(CacheManager.getInstance().getStrategy("test_misc")).isNull();
+        }
+
+        @Test
+        @DisplayName("Should compare composite keys by value, including array arguments")
+        void shouldCompareCompositeKeysByValue() {
+            CacheKey first = CacheKey.of("scope", "CS", new int[]{1, 2});
+            CacheKey second = CacheKey.of("scope", "CS", new int[]{1, 2});
+
+            assertEquals(first, second);
+            assertEquals(first.hashCode(), second.hashCode());
+            assertNotEquals(first, CacheKey.of("other", "CS", new int[]{1, 2}));
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation Tests")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Should reload entries after their tag is invalidated")
+        void shouldReloadAfterTagInvalidation() {
+            proxy.findCourses("CS", 2024);
+            proxy.findByRequest(Map.of(), "trace");
+
+            CacheManager.getInstance().invalidateTag("test_courses");
+            proxy.findCourses("CS", 2024);
+            proxy.findByRequest(Map.of(), "trace");
+
+            // Only the tagged method is reloaded
+            assertThat(target.calls.get()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should not cache a result computed across an invalidation of its tag")
+        void shouldNotCacheAcrossInvalidation() {
+            proxy.findWhileInvalidated("CS101");
+            proxy.findWhileInvalidated("CS101");
+
+            assertThat(target.calls.get()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Value Handling Tests")
+    class ValueHandlingTests {
+
+        @Test
+        @DisplayName("Should cache null results when enabled")
+        void shouldCacheNullResults() {
+            assertNull(proxy.findMissing("CS999"));
+            assertNull(proxy.findMissing("CS999"));
+
+            assertThat(target.calls.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should return equal copies of compressed results")
+        void shouldRoundTripCompressedResults() {
+            List<String> first = proxy.findTranscript(5_000);
+            List<String> second = proxy.findTranscript(5_000);
+
+            assertThat(second).isEqualTo(first).isNotSameAs(first);
+            assertThat(target.calls.get()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Refresh Ahead Tests")
+    class RefreshAheadTests {
+
+        private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+
+        @BeforeEach
+        void installClock() {
+            CacheClock.useTimeSource(clock::get);
+        }
+
+        @AfterEach
+        void restoreClock() {
+            CacheClock.useSystemTime();
+        }
+
+        @Test
+        @DisplayName("Should reload an entry once it passes the refresh threshold of its TTL")
+        void shouldRefreshPastThreshold() {
+            assertThat(proxy.findSchedule("CS101")).isEqualTo("CS101-v1");
+
+            clock.addAndGet(4 * 60_000);
+            assertThat(proxy.findSchedule("CS101")).isEqualTo("CS101-v1");
+
+            clock.addAndGet(2 * 60_000);
+            assertThat(proxy.findSchedule("CS101")).isEqualTo("CS101-v2");
+            assertThat(proxy.findSchedule("CS101")).isEqualTo("CS101-v2");
+            assertThat(target.calls.get()).isEqualTo(2);
+        }
+    }
+}
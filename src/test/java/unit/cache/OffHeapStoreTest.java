@@ -0,0 +1,163 @@
+// File location: src/test/java/unit/cache/OffHeapStoreTest.java
+
+package com.smartcampus.test.unit.cache;
+
+import com.smartcampus.cache.CacheClock;
+import com.smartcampus.cache.CacheManager;
+import com.smartcampus.cache.OffHeapStore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the OffHeapStore class
+ * Tests page allocation, LRU eviction within the byte budget and CacheManager spill/promote
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Off-Heap Store Tests")
+class OffHeapStoreTest {
+
+    private static final int PAGE_SIZE = OffHeapStore.DEFAULT_PAGE_SIZE;
+
+    @Nested
+    @DisplayName("Store Tests")
+    class StoreTests {
+
+        @Test
+        @DisplayName("Should round-trip values spanning several pages")
+        void shouldRoundTripMultiPageValues() {
+            OffHeapStore<String, byte[]> store = new OffHeapStore<>(64L * PAGE_SIZE);
+            byte[] value = new byte[3 * PAGE_SIZE + 17];
+            Arrays.fill(value, (byte) 7);
+
+            assertTrue(store.put("report", value, 0));
+
+            assertThat(store.get("report")).isEqualTo(value);
+            assertThat(store.getStoredBytes()).isGreaterThan(value.length);
+            assertThat(store.getAllocatedBytes()).isLessThanOrEqualTo(store.getMaxBytes());
+        }
+
+        @Test
+        @DisplayName("Should evict least recently used values to stay within budget")
+        void shouldEvictLeastRecentlyUsedValues() {
+            OffHeapStore<String, byte[]> store = new OffHeapStore<>(8L * PAGE_SIZE);
+            for (int i = 0; i < 4; i++) {
+                store.put("r" + i, new byte[PAGE_SIZE], 0);
+            }
+            store.get("r0");
+
+            store.put("r4", new byte[PAGE_SIZE], 0);
+
+            assertTrue(store.containsKey("r0"));
+            assertFalse(store.containsKey("r1"));
+            assertThat(store.getEvictions()).isEqualTo(1);
+            assertThat(store.getAllocatedBytes()).isEqualTo(8L * PAGE_SIZE);
+        }
+
+        @Test
+        @DisplayName("Should reject values larger than the budget and unserializable values")
+        void shouldRejectOversizedAndUnserializableValues() {
+            OffHeapStore<String, Object> store = new OffHeapStore<>(2L * PAGE_SIZE);
+
+            assertFalse(store.put("huge", new byte[4 * PAGE_SIZE], 0));
+            assertFalse(store.put("plain", new Object(), 0));
+            assertTrue(store.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should drop the previous value without reading it back when a replacement cannot be serialized")
+        void shouldDropPreviousValueOnFailedReplace() {
+            AtomicInteger deserialized = new AtomicInteger();
+            OffHeapStore.Serializer<String> serializer = new OffHeapStore.Serializer<>() {
+                @Override
+                public byte[] serialize(String value) {
+                    if (value.isEmpty()) {
+                        throw new IllegalArgumentException("empty");
+                    }
+                    return value.getBytes(StandardCharsets.UTF_8);
+                }
+
+                @Override
+                public String deserialize(byte[] bytes) {
+                    deserialized.incrementAndGet();
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+            };
+            OffHeapStore<String, String> store = new OffHeapStore<>(4L * PAGE_SIZE, PAGE_SIZE, serializer);
+            store.put("course", "MATH101", 0);
+
+            assertFalse(store.put("course", "", 0));
+
+            assertFalse(store.containsKey("course"));
+            assertThat(store.getStoredBytes()).isZero();
+            assertThat(deserialized).hasValue(0);
+        }
+
+        @Test
+        @DisplayName("Should drop expired values")
+        void shouldDropExpiredValues() {
+            OffHeapStore<String, String> store = new OffHeapStore<>(4L * PAGE_SIZE);
+            store.put("old", "value", CacheClock.millis() - 1);
+            store.put("new", "value", 0);
+
+            assertNull(store.get("old"));
+            assertThat(store.removeExpired(CacheClock.millis())).isZero();
+            assertThat(store.keySet()).containsExactly("new");
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache Manager Tier Tests")
+    class CacheManagerTierTests {
+
+        private final CacheManager cacheManager = CacheManager.getInstance();
+        private final String cacheName = "offheap_test";
+
+        @AfterEach
+        void tearDown() {
+            cacheManager.removeCache(cacheName);
+        }
+
+        @Test
+        @DisplayName("Should spill evicted entries off-heap and promote them on access")
+        void shouldSpillAndPromote() {
+            cacheManager.createCache(cacheName, CacheManager.CacheConfig.defaultConfig()
+                .maxSize(2)
+                .offHeap(64L * PAGE_SIZE));
+            for (int i = 0; i < 5; i++) {
+                cacheManager.put(cacheName, "report" + i, "content" + i);
+            }
+
+            assertThat(cacheManager.size(cacheName)).isEqualTo(5);
+            assertThat(cacheManager.<String>get(cacheName, "report0")).isEqualTo("content0");
+            assertThat((Long) cacheManager.getGlobalStats().get("offHeapPromotions")).isPositive();
+        }
+
+        @Test
+        @DisplayName("Should not resurrect removed or overwritten entries")
+        void shouldNotResurrectStaleEntries() {
+            cacheManager.createCache(cacheName, CacheManager.CacheConfig.defaultConfig()
+                .maxSize(1)
+                .offHeap(64L * PAGE_SIZE));
+            cacheManager.put(cacheName, "a", "old");
+            cacheManager.put(cacheName, "b", "b");
+            cacheManager.put(cacheName, "a", "new");
+            cacheManager.put(cacheName, "c", "c");
+            cacheManager.remove(cacheName, "b");
+
+            assertThat(cacheManager.<String>get(cacheName, "a")).isEqualTo("new");
+            assertNull(cacheManager.get(cacheName, "b"));
+        }
+    }
+}
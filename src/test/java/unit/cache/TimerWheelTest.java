@@ -0,0 +1,238 @@
+// File location: src/test/java/unit/cache/TimerWheelTest.java
+
+package com.smartcampus.test.unit.cache;
+
+import com.smartcampus.cache.CacheClock;
+import com.smartcampus.cache.TimerWheel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for the TimerWheel class
+ * Tests scheduling, cascading between wheels, rescheduling and large clock jumps
+ * against a manual CacheClock time source
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Timer Wheel Tests")
+class TimerWheelTest {
+
+    private static final long START = 1L << 30;
+    private static final long SECOND = 1_000;
+    private static final long MINUTE = 60 * SECOND;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+
+    static class Timer extends TimerWheel.Node {
+        Timer(long expirationMillis) {
+            setExpirationMillis(expirationMillis);
+        }
+
+        void moveTo(long expirationMillis) {
+            setExpirationMillis(expirationMillis);
+        }
+    }
+
+    private final AtomicLong clock = new AtomicLong(START);
+    private final List<Timer> expired = new ArrayList<>();
+    private TimerWheel<Timer> wheel;
+
+    @BeforeEach
+    void setUp() {
+        CacheClock.useTimeSource(clock::get);
+        wheel = new TimerWheel<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        CacheClock.useSystemTime();
+    }
+
+    private int advanceBy(long millis) {
+        return wheel.advance(clock.addAndGet(millis), expired::add);
+    }
+
+    @Nested
+    @DisplayName("Scheduling Tests")
+    class SchedulingTests {
+
+        @Test
+        @DisplayName("Should start from the manual clock and expire nodes once their tick passes")
+        void shouldExpireAfterTick() {
+            Timer timer = new Timer(START + 500);
+            wheel.schedule(timer);
+
+            assertTrue(timer.isScheduled());
+            assertEquals(0, advanceBy(400));
+            assertThat(expired).isEmpty();
+
+            assertEquals(1, advanceBy(SECOND));
+            assertThat(expired).containsExactly(timer);
+            assertFalse(timer.isScheduled());
+            assertEquals(0, wheel.size());
+        }
+
+        @Test
+        @DisplayName("Should expire overdue nodes on the next tick")
+        void shouldExpireOverdueNodes() {
+            Timer timer = new Timer(START - MINUTE);
+            wheel.schedule(timer);
+
+            assertEquals(1, advanceBy(1_024));
+            assertThat(expired).containsExactly(timer);
+        }
+
+        @Test
+        @DisplayName("Should clear nodes without expiring them")
+        void shouldClearWithoutExpiring() {
+            Timer first = new Timer(START + SECOND);
+            Timer second = new Timer(START + DAY);
+            wheel.schedule(first);
+            wheel.schedule(second);
+
+            wheel.clear();
+
+            assertEquals(0, wheel.size());
+            assertFalse(first.isScheduled());
+            assertFalse(second.isScheduled());
+            assertEquals(0, advanceBy(2 * DAY));
+        }
+    }
+
+    @Nested
+    @DisplayName("Cascade Tests")
+    class CascadeTests {
+
+        @Test
+        @DisplayName("Should cascade a node from the hour wheel down to the second wheel")
+        void shouldCascadeAcrossLevels() {
+            Timer timer = new Timer(START + 2 * HOUR);
+            wheel.schedule(timer);
+
+            // Stepping a minute at a time visits the hour bucket before the node is due
+            while (clock.get() < START + 2 * HOUR - MINUTE) {
+                advanceBy(MINUTE);
+            }
+            assertThat(expired).isEmpty();
+            assertTrue(timer.isScheduled());
+            assertEquals(1, wheel.size());
+
+            advanceBy(MINUTE + SECOND);
+            assertThat(expired).containsExactly(timer);
+            assertEquals(0, wheel.size());
+        }
+
+        @Test
+        @DisplayName("Should expire nodes held in the overflow bucket")
+        void shouldExpireFromOverflow() {
+            Timer timer = new Timer(START + 10 * DAY);
+            wheel.schedule(timer);
+
+            assertEquals(0, advanceBy(9 * DAY));
+            assertTrue(timer.isScheduled());
+
+            assertEquals(1, advanceBy(2 * DAY));
+            assertThat(expired).containsExactly(timer);
+        }
+    }
+
+    @Nested
+    @DisplayName("Reschedule Tests")
+    class RescheduleTests {
+
+        @Test
+        @DisplayName("Should move a node to the bucket of its new expiration")
+        void shouldReschedule() {
+            Timer timer = new Timer(START + 500);
+            wheel.schedule(timer);
+
+            timer.moveTo(START + HOUR);
+            wheel.reschedule(timer);
+
+            assertEquals(1, wheel.size());
+            assertEquals(0, advanceBy(2 * SECOND));
+            assertTrue(timer.isScheduled());
+
+            assertEquals(1, advanceBy(HOUR));
+            assertThat(expired).containsExactly(timer);
+        }
+
+        @Test
+        @DisplayName("Should schedule an unscheduled node on reschedule")
+        void shouldScheduleOnReschedule() {
+            Timer timer = new Timer(START + 500);
+
+            wheel.reschedule(timer);
+
+            assertEquals(1, wheel.size());
+            assertEquals(1, advanceBy(2 * SECOND));
+        }
+
+        @Test
+        @DisplayName("Should never expire a cancelled node")
+        void shouldCancel() {
+            Timer kept = new Timer(START + 500);
+            Timer cancelled = new Timer(START + 500);
+            wheel.schedule(kept);
+            wheel.schedule(cancelled);
+
+            wheel.deschedule(cancelled);
+            wheel.deschedule(cancelled);
+
+            assertFalse(cancelled.isScheduled());
+            assertEquals(1, wheel.size());
+            assertEquals(1, advanceBy(2 * SECOND));
+            assertThat(expired).containsExactly(kept);
+        }
+    }
+
+    @Nested
+    @DisplayName("Large Advance Tests")
+    class LargeAdvanceTests {
+
+        @Test
+        @DisplayName("Should expire every node when the clock wraps the second wheel at once")
+        void shouldWrapSecondWheel() {
+            for (int i = 1; i <= 60; i++) {
+                wheel.schedule(new Timer(START + i * SECOND));
+            }
+
+            assertEquals(60, advanceBy(5 * MINUTE));
+            assertEquals(0, wheel.size());
+        }
+
+        @Test
+        @DisplayName("Should only expire due nodes when jumping over many ticks")
+        void shouldJumpOverManyTicks() {
+            Random random = new Random(42);
+            List<Timer> timers = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                Timer timer = new Timer(START + 1 + (long) (random.nextDouble() * 3 * DAY));
+                timers.add(timer);
+                wheel.schedule(timer);
+            }
+
+            int first = advanceBy(DAY + 7 * HOUR);
+            assertThat(expired).allMatch(timer -> timer.getExpirationMillis() <= clock.get());
+            assertEquals(1_000 - first, wheel.size());
+
+            int second = advanceBy(3 * DAY);
+            assertEquals(1_000, first + second);
+            assertEquals(0, wheel.size());
+            assertThat(expired).containsExactlyInAnyOrderElementsOf(timers);
+        }
+    }
+}
@@ -0,0 +1,410 @@
+// File location: src/test/java/unit/repositories/BaseRepositoryIndexTest.java
+
+package com.smartcampus.test.unit.repositories;
+
+import com.smartcampus.interfaces.Repository;
+import com.smartcampus.repositories.BaseRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for secondary hash and range indexes in BaseRepository
+ * Tests index maintenance across save, re-save, the delete variants and concurrent writers,
+ * cursor pagination over the ordered indexes, shared findAll snapshots, and count views
+ * checked against a full recompute
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Base Repository Index Tests")
+class BaseRepositoryIndexTest {
+
+    private MemberRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new MemberRepository();
+        repository.saveAll(List.of(
+            new Member("M1", "CS", "ada@campus.edu"),
+            new Member("M2", "CS", "alan@campus.edu"),
+            new Member("M3", "EE", null)
+        ));
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should find entities by indexed key")
+        void shouldFindByIndexedKey() {
+            assertThat(repository.findByGroup("CS")).extracting(Member::getId)
+                .containsExactlyInAnyOrder("M1", "M2");
+            assertThat(repository.findByEmail("alan@campus.edu")).map(Member::getId).contains("M2");
+            assertThat(repository.findByGroup("ME")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should not index null keys")
+        void shouldNotIndexNullKeys() {
+            assertTrue(repository.findByEmail(null).isEmpty());
+            assertThat(repository.countByGroup()).containsEntry("EE", 1L);
+        }
+
+        @Test
+        @DisplayName("Should index entities saved before the index was registered")
+        void shouldIndexExistingEntities() {
+            repository.registerIdLengthIndex();
+
+            assertThat(repository.findByIdLength(2)).hasSize(3);
+        }
+
+        @Test
+        @DisplayName("Should reject unknown and duplicate indexes")
+        void shouldRejectUnknownIndexes() {
+            assertThrows(IllegalArgumentException.class, () -> repository.findByIdLength(2));
+            repository.registerIdLengthIndex();
+            assertThrows(IllegalStateException.class, repository::registerIdLengthIndex);
+        }
+    }
+
+    @Nested
+    @DisplayName("Range Index Tests")
+    class RangeIndexTests {
+
+        @BeforeEach
+        void addMembers() {
+            for (int number = 4; number <= 20; number++) {
+                repository.save(new Member("M" + number, "ME", null));
+            }
+        }
+
+        @Test
+        @DisplayName("Should return entities within inclusive bounds in key order")
+        void shouldFindInclusiveRange() {
+            assertThat(repository.findByNumber(3, true, 6, true)).extracting(Member::getId)
+                .containsExactly("M3", "M4", "M5", "M6");
+        }
+
+        @Test
+        @DisplayName("Should honour exclusive and open bounds")
+        void shouldHonourExclusiveAndOpenBounds() {
+            assertThat(repository.findByNumber(18, false, null, false)).extracting(Member::getId)
+                .containsExactly("M19", "M20");
+            assertThat(repository.findByNumber(null, false, 3, false)).extracting(Member::getId)
+                .containsExactly("M1", "M2");
+            assertThat(repository.findByNumber(5, false, 5, true)).isEmpty();
+            assertThat(repository.findByNumber(9, true, 2, true)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reflect re-saves and deletes")
+        void shouldReflectWrites() {
+            repository.deleteById("M4");
+            repository.save(new Member("M5", "EE", null));
+
+            assertThat(repository.findByNumber(4, true, 5, true)).extracting(Member::getGroup)
+                .containsExactly("EE");
+        }
+
+        @Test
+        @DisplayName("Should reject range queries on hash indexes")
+        void shouldRejectRangeOnHashIndex() {
+            assertThrows(IllegalArgumentException.class, repository::findGroupRange);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cursor Pagination Tests")
+    class CursorPaginationTests {
+
+        @BeforeEach
+        void addMembers() {
+            for (int number = 4; number <= 10; number++) {
+                repository.save(new Member("M" + number, "ME", null));
+            }
+        }
+
+        @Test
+        @DisplayName("Should walk every entity once in id order")
+        void shouldWalkAllPages() {
+            List<String> ids = new ArrayList<>();
+            String cursor = null;
+            Repository.Page<Member> page;
+            do {
+                page = repository.findAfter(cursor, 4);
+                page.getContent().forEach(member -> ids.add(member.getId()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            assertThat(ids).containsExactly("M1", "M10", "M2", "M3", "M4", "M5", "M6", "M7", "M8", "M9");
+            assertTrue(page.isLast());
+            assertFalse(page.hasNext());
+        }
+
+        @Test
+        @DisplayName("Should continue after the cursor even when its entity is deleted")
+        void shouldSurviveDeletedCursorEntity() {
+            Repository.Page<Member> first = repository.findPageByNumber(null, 3);
+            repository.deleteById("M3");
+
+            Repository.Page<Member> second = repository.findPageByNumber(first.getNextCursor(), 3);
+
+            assertTrue(first.isFirst());
+            assertFalse(second.isFirst());
+            assertThat(second.getContent()).extracting(Member::getId).containsExactly("M4", "M5", "M6");
+        }
+
+        @Test
+        @DisplayName("Should reject cursors of another index and malformed cursors")
+        void shouldRejectForeignCursors() {
+            String idCursor = repository.findAfter(null, 1).getNextCursor();
+
+            assertThrows(IllegalArgumentException.class, () -> repository.findPageByNumber(idCursor, 1));
+            assertThrows(IllegalArgumentException.class, () -> repository.findAfter("not a cursor", 1));
+            assertThrows(IllegalArgumentException.class, () -> repository.findAfter(null, 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshot Read Tests")
+    class SnapshotReadTests {
+
+        @Test
+        @DisplayName("Should share one unmodifiable snapshot between writes")
+        void shouldShareSnapshot() {
+            List<Member> first = repository.findAll();
+
+            assertSame(first, repository.findAll());
+            assertThrows(UnsupportedOperationException.class, () -> first.add(new Member("M9", "ME", null)));
+        }
+
+        @Test
+        @DisplayName("Should rebuild the snapshot after a write and leave the old one intact")
+        void shouldRebuildAfterWrite() {
+            List<Member> before = repository.findAll();
+            repository.save(new Member("M4", "ME", null));
+            List<Member> afterSave = repository.findAll();
+            repository.deleteById("M1");
+
+            assertThat(before).hasSize(3);
+            assertThat(afterSave).hasSize(4);
+            assertThat(repository.findAll()).extracting(Member::getId)
+                .containsExactlyInAnyOrder("M2", "M3", "M4");
+        }
+    }
+
+    @Nested
+    @DisplayName("Count View Tests")
+    class CountViewTests {
+
+        private Map<String, Long> recomputeGroupCounts() {
+            return repository.findAll().stream()
+                .filter(member -> member.getGroup() != null)
+                .collect(Collectors.groupingBy(Member::getGroup, Collectors.counting()));
+        }
+
+        @Test
+        @DisplayName("Should match a full recompute after random saves, re-keys, deletes and clears")
+        void shouldMatchRecompute() {
+            Random random = new Random(42);
+            for (int i = 0; i < 20_000; i++) {
+                if (i > 0 && i % 4_000 == 0) {
+                    repository.deleteAll();
+                }
+                String id = "R" + random.nextInt(500);
+                if (random.nextInt(20) < 14) {
+                    String group = random.nextInt(10) == 0 ? null : "G" + random.nextInt(12);
+                    repository.save(new Member(id, group, null));
+                } else {
+                    repository.deleteById(id);
+                }
+            }
+
+            assertEquals(recomputeGroupCounts(), repository.groupCounts());
+        }
+
+        @Test
+        @DisplayName("Should expose a live read-only view that drops empty keys")
+        void shouldExposeLiveView() {
+            Map<String, Long> counts = repository.groupCounts();
+            repository.save(new Member("M4", "ME", null));
+            repository.deleteById("M3");
+
+            assertThat(counts).containsEntry("ME", 1L).containsEntry("CS", 2L).doesNotContainKey("EE");
+            assertThrows(UnsupportedOperationException.class, () -> counts.put("EE", 1L));
+            assertThrows(IllegalArgumentException.class, () -> repository.findInGroupCountView("CS"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Maintenance Tests")
+    class MaintenanceTests {
+
+        @Test
+        @DisplayName("Should move an entity when a re-save changes its key")
+        void shouldMoveEntityOnResave() {
+            Member member = repository.findById("M1").orElseThrow();
+            member.setGroup("EE");
+            repository.save(member);
+
+            assertThat(repository.findByGroup("CS")).extracting(Member::getId).containsExactly("M2");
+            assertThat(repository.findByGroup("EE")).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Should drop deleted entities from every index")
+        void shouldUnindexOnDelete() {
+            repository.deleteById("M2");
+            repository.deleteByPredicate(member -> "EE".equals(member.getGroup()));
+
+            assertTrue(repository.findByEmail("alan@campus.edu").isEmpty());
+            assertThat(repository.countByGroup()).isEqualTo(Map.of("CS", 1L));
+
+            repository.deleteAll();
+            assertThat(repository.findByGroup("CS")).isEmpty();
+        }
+
+        @Test
+        @Timeout(value = 10, unit = TimeUnit.SECONDS)
+        @DisplayName("Should stay consistent with storage under concurrent writers")
+        void shouldStayConsistentUnderConcurrency() throws Exception {
+            repository.deleteAll();
+            int entities = 100;
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                long seed = thread;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 10_000; i++) {
+                        String id = "C" + random.nextInt(entities);
+                        if (random.nextInt(10) == 0) {
+                            repository.deleteById(id);
+                        } else {
+                            repository.save(new Member(id, "G" + random.nextInt(5), null));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            long indexed = 0;
+            for (int group = 0; group < 5; group++) {
+                String key = "G" + group;
+                List<Member> members = repository.findByGroup(key);
+                assertThat(members).allMatch(member -> key.equals(member.getGroup()));
+                indexed += members.size();
+            }
+            assertEquals(repository.count(), indexed);
+            assertEquals(repository.count(), repository.findByNumber(null, false, null, false).size());
+            assertEquals(repository.count(), repository.findAll().size());
+            assertEquals(repository.count(), repository.groupCounts().values().stream().mapToLong(Long::longValue).sum());
+        }
+    }
+
+    // ==================== TEST FIXTURES ====================
+
+    static class Member {
+        private final String id;
+        private String group;
+        private final String email;
+
+        Member(String id, String group, String email) {
+            this.id = id;
+            this.group = group;
+            this.email = email;
+        }
+
+        String getId() { return id; }
+        String getGroup() { return group; }
+        void setGroup(String group) { this.group = group; }
+        String getEmail() { return email; }
+    }
+
+    static class MemberRepository extends BaseRepository<Member, String> {
+
+        MemberRepository() {
+            addIndex("group", Member::getGroup);
+            addIndex("email", Member::getEmail);
+            addRangeIndex("number", member -> Integer.parseInt(member.getId().substring(1)));
+            addCountView("groupCount", Member::getGroup);
+        }
+
+        List<Member> findByGroup(String group) {
+            return findByIndex("group", group);
+        }
+
+        Optional<Member> findByEmail(String email) {
+            return findFirstByIndex("email", email);
+        }
+
+        List<Member> findByNumber(Integer from, boolean fromInclusive, Integer to, boolean toInclusive) {
+            return findByRange("number", from, fromInclusive, to, toInclusive);
+        }
+
+        Repository.Page<Member> findPageByNumber(String cursor, int size) {
+            return findAfter("number", cursor, size);
+        }
+
+        List<Member> findGroupRange() {
+            return findByRange("group", "A", "Z");
+        }
+
+        List<Member> findInGroupCountView(String group) {
+            return findByIndex("groupCount", group);
+        }
+
+        Map<String, Long> groupCounts() {
+            return getCountView("groupCount");
+        }
+
+        Map<String, Long> countByGroup() {
+            return countByIndex("group");
+        }
+
+        void registerIdLengthIndex() {
+            addIndex("idLength", member -> member.getId().length());
+        }
+
+        List<Member> findByIdLength(int length) {
+            return findByIndex("idLength", length);
+        }
+
+        @Override
+        protected String extractId(Member member) {
+            return member.getId();
+        }
+
+        @Override
+        protected void setId(Member member, String id) {
+        }
+
+        @Override
+        protected String generateId() {
+            return UUID.randomUUID().toString();
+        }
+    }
+}
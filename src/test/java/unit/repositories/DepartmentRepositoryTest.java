@@ -0,0 +1,57 @@
+// File location: src/test/java/unit/repositories/DepartmentRepositoryTest.java
+
+package com.smartcampus.test.unit.repositories;
+
+import com.smartcampus.models.Department;
+import com.smartcampus.repositories.DepartmentRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the DepartmentRepository class
+ * Tests the indexed name lookups, including missing and null names
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Department Repository Tests")
+class DepartmentRepositoryTest {
+
+    private DepartmentRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new DepartmentRepository();
+        repository.save(new Department("DEPT1", "SCI", "Science", "Sciences", "North Hall"));
+        repository.save(new Department("DEPT2", "ART", "Arts", "Arts", "South Hall"));
+    }
+
+    @Nested
+    @DisplayName("Name Lookup Tests")
+    class NameLookupTests {
+
+        @Test
+        @DisplayName("Should find a department by name ignoring case")
+        void shouldFindByNameIgnoringCase() {
+            assertThat(repository.findByName("science"))
+                .hasValueSatisfying(department -> assertThat(department.getDepartmentId()).isEqualTo("DEPT1"));
+        }
+
+        @Test
+        @DisplayName("Should return empty for an unknown name")
+        void shouldReturnEmptyForUnknownName() {
+            assertThat(repository.findByName("History")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should return empty for a null name")
+        void shouldReturnEmptyForNullName() {
+            assertThat(repository.findByName(null)).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+// File location: src/test/java/unit/repositories/EnrollmentRepositoryTest.java
+
+package com.smartcampus.test.unit.repositories;
+
+import com.smartcampus.models.Course;
+import com.smartcampus.models.Department;
+import com.smartcampus.models.Enrollment;
+import com.smartcampus.models.Student;
+import com.smartcampus.models.Student.AcademicYear;
+import com.smartcampus.repositories.CourseRepository;
+import com.smartcampus.repositories.EnrollmentRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for the EnrollmentRepository class
+ * Tests the dashboard aggregates kept by its count views against a full recompute, including
+ * the department roll-up after a course moves to another department
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Enrollment Repository Tests")
+class EnrollmentRepositoryTest {
+
+    private final Department science = new Department("DEPT1", "SCI", "Science", "Sciences", "North Hall");
+    private final Department arts = new Department("DEPT2", "ART", "Arts", "Arts", "South Hall");
+
+    private CourseRepository courseRepository;
+    private EnrollmentRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository = new CourseRepository();
+        repository = new EnrollmentRepository(courseRepository);
+    }
+
+    private Course course(String code, Department department) {
+        Course course = new Course("ID-" + code, code, "Course " + code, "Test course", 3, department.getDepartmentId());
+        course.setDepartment(department);
+        return courseRepository.save(course);
+    }
+
+    private static Student student(String id) {
+        return new Student("U" + id, "Ada", "Lovelace", id.toLowerCase() + "@campus.edu",
+                           "555-000-0000", id, "Physics", AcademicYear.SOPHOMORE);
+    }
+
+    private Enrollment enroll(Student student, Course course, String semester) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+        enrollment.setSemester(semester);
+        return repository.save(enrollment);
+    }
+
+    private Map<Department, Long> recomputeDepartmentCounts() {
+        return repository.findAll().stream()
+            .filter(enrollment -> enrollment.getCourse() != null)
+            .map(enrollment -> courseRepository.findByCourseCode(enrollment.getCourse().getCourseCode())
+                .orElse(enrollment.getCourse()).getDepartment())
+            .filter(department -> department != null)
+            .collect(Collectors.groupingBy(department -> department, Collectors.counting()));
+    }
+
+    @Nested
+    @DisplayName("Department Count Tests")
+    class DepartmentCountTests {
+
+        @Test
+        @DisplayName("Should count a course that moves department under its new department")
+        void shouldFollowMovedCourse() {
+            Course physics = course("PHY101", science);
+            Course poetry = course("LIT201", arts);
+            enroll(student("S1"), physics, "Fall");
+            enroll(student("S2"), physics, "Fall");
+            enroll(student("S3"), poetry, "Fall");
+
+            // A fresh record for the same course code, as an update from the course service saves it
+            Course moved = new Course("ID-PHY101", "PHY101", "Course PHY101", "Test course", 3, arts.getDepartmentId());
+            moved.setDepartment(arts);
+            courseRepository.save(moved);
+
+            assertThat(repository.getEnrollmentCountByDepartment())
+                .isEqualTo(recomputeDepartmentCounts())
+                .containsEntry(arts, 3L)
+                .doesNotContainKey(science);
+        }
+    }
+
+    @Nested
+    @DisplayName("Count View Tests")
+    class CountViewTests {
+
+        @Test
+        @DisplayName("Should match a full recompute after random enrollments, drops, moves and clears")
+        void shouldMatchRecompute() {
+            Random random = new Random(42);
+            List<Course> courses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                courses.add(course("C" + i, i % 2 == 0 ? science : arts));
+            }
+            List<Enrollment> enrolled = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                if (i > 0 && i % 1_000 == 0) {
+                    repository.deleteAll();
+                    enrolled.clear();
+                }
+                int operation = random.nextInt(20);
+                if (operation < 12 || enrolled.isEmpty()) {
+                    String semester = random.nextInt(10) == 0 ? null : "S" + random.nextInt(3);
+                    enrolled.add(enroll(student("STU" + random.nextInt(40)),
+                                        courses.get(random.nextInt(courses.size())), semester));
+                } else if (operation < 19) {
+                    Enrollment dropped = enrolled.remove(random.nextInt(enrolled.size()));
+                    repository.deleteByPredicate(enrollment -> enrollment == dropped);
+                } else {
+                    String code = "C" + random.nextInt(courses.size());
+                    Department department = random.nextBoolean() ? science : arts;
+                    Course moved = new Course("ID-" + code, code, "Course " + code, "Test course", 3,
+                                              department.getDepartmentId());
+                    moved.setDepartment(department);
+                    courseRepository.save(moved);
+                }
+            }
+
+            List<Enrollment> all = repository.findAll();
+            assertThat(all).hasSameSizeAs(enrolled);
+            assertThat(repository.getEnrollmentCountByCourse()).isEqualTo(all.stream()
+                .collect(Collectors.groupingBy(Enrollment::getCourse, Collectors.counting())));
+            assertThat(repository.getStudentCourseCount()).isEqualTo(all.stream()
+                .collect(Collectors.groupingBy(Enrollment::getStudent, Collectors.counting())));
+            assertThat(repository.getEnrollmentCountBySemester()).isEqualTo(all.stream()
+                .filter(enrollment -> enrollment.getSemester() != null)
+                .collect(Collectors.groupingBy(Enrollment::getSemester, Collectors.counting())));
+            assertThat(repository.getEnrollmentCountByDepartment()).isEqualTo(recomputeDepartmentCounts());
+        }
+    }
+}
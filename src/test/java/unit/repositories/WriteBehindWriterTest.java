@@ -0,0 +1,333 @@
+// File location: src/test/java/unit/repositories/WriteBehindWriterTest.java
+
+package com.smartcampus.test.unit.repositories;
+
+import com.smartcampus.repositories.BaseRepository;
+import com.smartcampus.repositories.WriteBehindWriter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for write-behind persistence of BaseRepository
+ * Tests that the sink converges on the repository under concurrent writers, coalescing per id,
+ * backpressure on a full queue, retries, flush on close, failed journal writes leaving memory
+ * untouched, and replay of a crashed writer's journal
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Write-Behind Writer Tests")
+class WriteBehindWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private RecordingSink sink;
+    private CardRepository repository;
+    private WriteBehindWriter<Card, String> writer;
+
+    @BeforeEach
+    void setUp() {
+        sink = new RecordingSink();
+        repository = new CardRepository();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            sink.release();
+            writer.close();
+        }
+    }
+
+    private WriteBehindWriter<Card, String> start(WriteBehindWriter.Config config) {
+        writer = new WriteBehindWriter<>(sink, WriteBehindWriter.JournalCodec.javaSerialization(),
+                                         tempDir.resolve("cards.journal"), config);
+        repository.enable(writer);
+        return writer;
+    }
+
+    private static Map<String, String> contents(CardRepository repository) {
+        return repository.findAll().stream().collect(Collectors.toMap(Card::getId, Card::getHolder));
+    }
+
+    @Nested
+    @DisplayName("Flush Tests")
+    class FlushTests {
+
+        @Test
+        @DisplayName("Should leave the sink equal to the repository after concurrent writes")
+        @Timeout(30)
+        void shouldConvergeUnderConcurrentWrites() throws Exception {
+            start(WriteBehindWriter.Config.defaultConfig().flushInterval(20));
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                Random random = new Random(thread);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        String id = "C" + random.nextInt(500);
+                        if (random.nextInt(10) == 0) {
+                            repository.deleteById(id);
+                        } else {
+                            repository.save(new Card(id, "H" + random.nextInt(50)));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            assertTrue(writer.flush(10, TimeUnit.SECONDS));
+            assertThat(sink.rows).isEqualTo(contents(repository));
+            assertThat(sink.rowsWritten.get()).isLessThan(40_000);
+            assertThat(Files.size(tempDir.resolve("cards.journal"))).isZero();
+        }
+
+        @Test
+        @DisplayName("Should write every pending change on close")
+        void shouldFlushOnClose() {
+            start(WriteBehindWriter.Config.defaultConfig().flushInterval(60_000));
+            for (int i = 0; i < 1_234; i++) {
+                repository.save(new Card("C" + i, "H"));
+            }
+
+            writer.close();
+
+            assertThat(sink.rows).hasSize(1_234);
+            assertThrows(IllegalStateException.class, () -> repository.save(new Card("late", "H")));
+        }
+
+        @Test
+        @DisplayName("Should retry a failed batch until it is written")
+        void shouldRetryFailedBatches() throws Exception {
+            sink.failures.set(3);
+            start(WriteBehindWriter.Config.defaultConfig().flushInterval(5).retryBackoff(10));
+            for (int i = 0; i < 50; i++) {
+                repository.save(new Card("C" + i, "H" + i));
+            }
+
+            assertTrue(writer.flush(5, TimeUnit.SECONDS));
+            assertThat(sink.rows).isEqualTo(contents(repository));
+            assertEquals(3, writer.getFailedFlushCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Backpressure Tests")
+    class BackpressureTests {
+
+        @Test
+        @DisplayName("Should block writers on a full queue and reject them after the timeout")
+        void shouldRejectWritesOnFullQueue() throws Exception {
+            sink.hold();
+            start(WriteBehindWriter.Config.defaultConfig().capacity(100).batchSize(10).flushInterval(1).maxBlock(200));
+
+            int saved = 0;
+            IllegalStateException rejection = null;
+            while (rejection == null && saved < 1_000) {
+                try {
+                    repository.save(new Card("C" + saved, "H"));
+                    saved++;
+                } catch (IllegalStateException e) {
+                    rejection = e;
+                }
+            }
+
+            assertNotNull(rejection);
+            assertThat(saved).isBetween(100, 110);
+            assertFalse(repository.existsById("C" + saved));
+
+            sink.release();
+            repository.save(new Card("C" + saved, "H"));
+            assertTrue(writer.flush(5, TimeUnit.SECONDS));
+            assertThat(sink.rows).isEqualTo(contents(repository));
+        }
+    }
+
+    @Nested
+    @DisplayName("Journal Failure Tests")
+    class JournalFailureTests {
+
+        @Test
+        @DisplayName("Should leave the repository unchanged when the journal write fails")
+        void shouldNotChangeMemoryOnJournalFailure() throws Exception {
+            writer = new WriteBehindWriter<>(sink, new FailingCodec(), tempDir.resolve("cards.journal"),
+                                             WriteBehindWriter.Config.defaultConfig().flushInterval(5));
+            repository.enable(writer);
+            repository.save(new Card("C1", "H1"));
+
+            assertThrows(UncheckedIOException.class, () -> repository.save(new Card("C1", FailingCodec.UNWRITABLE)));
+            assertThrows(UncheckedIOException.class, () -> repository.save(new Card("C2", FailingCodec.UNWRITABLE)));
+
+            assertEquals("H1", repository.findById("C1").orElseThrow().getHolder());
+            assertFalse(repository.existsById("C2"));
+            assertTrue(writer.flush(5, TimeUnit.SECONDS));
+            assertThat(sink.rows).isEqualTo(contents(repository));
+        }
+    }
+
+    @Nested
+    @DisplayName("Recovery Tests")
+    class RecoveryTests {
+
+        @Test
+        @DisplayName("Should replay a crashed writer's journal, ignoring a torn last record")
+        void shouldReplayJournal() throws Exception {
+            sink.failures.set(Integer.MAX_VALUE);
+            start(WriteBehindWriter.Config.defaultConfig().flushInterval(5).retryBackoff(5).shutdownTimeout(50));
+            for (int i = 0; i < 200; i++) {
+                repository.save(new Card("C" + (i % 80), "H" + i));
+            }
+            for (int i = 0; i < 10; i++) {
+                repository.deleteById("C" + i);
+            }
+
+            // The journal as a crash would leave it, with half a record at the end
+            assertTrue(writer.syncJournal(5, TimeUnit.SECONDS));
+            Path crashed = tempDir.resolve("crashed.journal");
+            Files.copy(tempDir.resolve("cards.journal"), crashed);
+            try (OutputStream out = Files.newOutputStream(crashed, StandardOpenOption.APPEND)) {
+                out.write(new byte[] {0, 0, 0, 50, 1, 2, 3});
+            }
+
+            RecordingSink database = new RecordingSink();
+            WriteBehindWriter<Card, String> restarted = new WriteBehindWriter<>(
+                database, WriteBehindWriter.JournalCodec.javaSerialization(), crashed);
+            new CardRepository().enable(restarted);
+            restarted.close();
+
+            assertThat(database.rows).isEqualTo(contents(repository));
+            assertEquals(80, restarted.getRecoveredCount());
+        }
+    }
+
+    static class Card implements Serializable {
+        private final String id;
+        private final String holder;
+
+        Card(String id, String holder) {
+            this.id = id;
+            this.holder = holder;
+        }
+
+        String getId() { return id; }
+        String getHolder() { return holder; }
+    }
+
+    static class CardRepository extends BaseRepository<Card, String> {
+
+        void enable(WriteBehindWriter<Card, String> writer) {
+            enableWriteBehind(writer);
+        }
+
+        @Override
+        protected String extractId(Card card) {
+            return card.getId();
+        }
+
+        @Override
+        protected void setId(Card card, String id) {
+        }
+
+        @Override
+        protected String generateId() {
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    /**
+     * Journal codec that cannot write cards held by UNWRITABLE
+     */
+    static class FailingCodec implements WriteBehindWriter.JournalCodec<Card, String> {
+        static final String UNWRITABLE = "unwritable";
+        private final WriteBehindWriter.JournalCodec<Card, String> delegate =
+            WriteBehindWriter.JournalCodec.javaSerialization();
+
+        @Override
+        public void writeId(DataOutput out, String id) throws IOException {
+            delegate.writeId(out, id);
+        }
+
+        @Override
+        public String readId(DataInput in) throws IOException {
+            return delegate.readId(in);
+        }
+
+        @Override
+        public void writeEntity(DataOutput out, Card card) throws IOException {
+            if (UNWRITABLE.equals(card.getHolder())) {
+                throw new IOException("Disk full");
+            }
+            delegate.writeEntity(out, card);
+        }
+
+        @Override
+        public Card readEntity(DataInput in) throws IOException {
+            return delegate.readEntity(in);
+        }
+    }
+
+    /**
+     * Sink standing in for the database, which can fail or hold writes
+     */
+    static class RecordingSink implements WriteBehindWriter.Sink<Card, String> {
+        final Map<String, String> rows = new ConcurrentHashMap<>();
+        final AtomicInteger rowsWritten = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        void hold() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public void write(List<Card> saves, List<String> deletes) throws Exception {
+            gate.await();
+            if (failures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            saves.forEach(card -> rows.put(card.getId(), card.getHolder()));
+            deletes.forEach(rows::remove);
+            rowsWritten.addAndGet(saves.size() + deletes.size());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+// File location: src/test/java/unit/services/SearchServiceTest.java
+
+package com.smartcampus.test.unit.services;
+
+import com.smartcampus.models.Course;
+import com.smartcampus.models.Student;
+import com.smartcampus.models.Student.AcademicYear;
+import com.smartcampus.patterns.EventManager;
+import com.smartcampus.services.CourseService;
+import com.smartcampus.services.DepartmentService;
+import com.smartcampus.services.EnrollmentService;
+import com.smartcampus.services.GradeService;
+import com.smartcampus.services.ProfessorService;
+import com.smartcampus.services.SearchService;
+import com.smartcampus.services.StudentService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for the SearchService class
+ * Tests that the search indexes follow service changes through the change listeners and
+ * domain events through the event manager, without a full rebuild, until the service is closed
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Search Service Tests")
+class SearchServiceTest {
+
+    private StudentService studentService;
+    private CourseService courseService;
+    private EventManager eventManager;
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        studentService = new StudentService();
+        courseService = new CourseService();
+        eventManager = EventManager.EventManagerFactory.createTestEventManager();
+        searchService = new SearchService(studentService, new ProfessorService(), courseService,
+                                          new DepartmentService(), new EnrollmentService(), new GradeService(),
+                                          eventManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchService.close();
+        eventManager.shutdown();
+    }
+
+    private static Student student(String id, String major) {
+        return new Student("U" + id, "Ada", "Lovelace", id.toLowerCase() + "@campus.edu",
+                           "555-000-0000", id, major, AcademicYear.SOPHOMORE);
+    }
+
+    private List<String> studentsFound(String query) {
+        return searchService.searchAll(query).getResultsForType("students", Student.class).stream()
+                .map(Student::getStudentId)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> coursesFound(String query) {
+        return searchService.searchAll(query).getResultsForType("courses", Course.class).stream()
+                .map(Course::getCourseId)
+                .collect(Collectors.toList());
+    }
+
+    @Nested
+    @DisplayName("Change Listener Tests")
+    class ChangeListenerTests {
+
+        @Test
+        @DisplayName("Should index students as the service adds, updates and removes them")
+        void shouldFollowServiceChanges() {
+            studentService.addStudent(student("STU1", "Astronomy"));
+            assertThat(studentsFound("astronomy")).containsExactly("STU1");
+
+            studentService.updateStudent(student("STU1", "Geology"));
+            assertThat(studentsFound("geology")).containsExactly("STU1");
+            assertThat(studentsFound("astronomy")).isEmpty();
+
+            studentService.removeStudent("STU1");
+            assertThat(studentsFound("geology")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should only index changes from the services it was built with")
+        void shouldIgnoreOtherServices() {
+            StudentService otherService = new StudentService();
+
+            otherService.addStudent(student("STU2", "Astronomy"));
+
+            assertThat(studentsFound("astronomy")).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Event Tests")
+    class EventTests {
+
+        @Test
+        @DisplayName("Should re-index an enrolled student and course from their services")
+        void shouldReindexOnStudentEnrolled() {
+            Student student = student("STU3", "Astronomy");
+            Course course = new Course("CRS1", "AST101", "Stellar Physics", "Stars", 3, "DEPT1");
+            studentService.addStudent(student);
+            courseService.addCourse(course);
+
+            // Changed without going through the services, so only the event can reveal it
+            student.setMajor("Cosmology");
+            course.setDescription("Galaxies");
+            assertThat(studentsFound("cosmology")).isEmpty();
+
+            eventManager.publish(new EventManager.StudentEnrolledEvent(student, course, new Date()));
+
+            assertThat(studentsFound("cosmology")).containsExactly("STU3");
+            assertThat(coursesFound("galaxies")).containsExactly("CRS1");
+        }
+
+        @Test
+        @DisplayName("Should drop an entity the service no longer holds when an event names it")
+        void shouldDropRemovedEntityOnEvent() {
+            Course course = new Course("CRS2", "AST201", "Planetary Science", "Planets", 3, "DEPT1");
+            courseService.addCourse(course);
+            courseService.removeCourse("CRS2");
+
+            eventManager.publish(new EventManager.CourseCreatedEvent(course, null));
+
+            assertThat(coursesFound("planetary")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should stop following services and events once closed")
+        void shouldStopFollowingWhenClosed() {
+            Student student = student("STU4", "Astronomy");
+            Course course = new Course("CRS3", "AST301", "Observational Astronomy", "Telescopes", 3, "DEPT1");
+            studentService.addStudent(student);
+            courseService.addCourse(course);
+
+            searchService.close();
+            studentService.addStudent(student("STU5", "Geology"));
+            student.setMajor("Cosmology");
+            eventManager.publish(new EventManager.StudentEnrolledEvent(student, course, new Date()));
+
+            assertThat(studentsFound("geology")).isEmpty();
+            assertThat(studentsFound("cosmology")).isEmpty();
+            assertThat(studentsFound("astronomy")).containsExactly("STU4");
+        }
+    }
+}
@@ -0,0 +1,247 @@
+// File location: src/test/java/unit/utils/CacheUtilTest.java
+
+package com.smartcampus.test.unit.utils;
+
+import com.smartcampus.cache.CacheClock;
+import com.smartcampus.utils.CacheUtil;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for the CacheUtil class
+ * Tests SimpleCache expiry, single-flight loading and refresh-ahead against a manual CacheClock
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Cache Util Tests")
+class CacheUtilTest {
+
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+
+    @BeforeEach
+    void setUp() {
+        CacheClock.useTimeSource(clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        CacheClock.useSystemTime();
+    }
+
+    @Nested
+    @DisplayName("Expiry Tests")
+    class ExpiryTests {
+
+        @Test
+        @DisplayName("Should expire entries after their TTL")
+        void shouldExpireEntriesAfterTtl() {
+            CacheUtil.SimpleCache<String, Integer> cache = new CacheUtil.SimpleCache<>(100, Duration.ofMillis(200));
+            cache.put("short", 1);
+            cache.put("long", 2, Duration.ofMinutes(5));
+
+            clock.addAndGet(1_500);
+
+            assertNull(cache.get("short"));
+            assertThat(cache.get("long")).isEqualTo(2);
+            assertThat(cache.keySet()).containsExactly("long");
+        }
+
+        @Test
+        @DisplayName("Should not evict another entry when overwriting a key at capacity")
+        void shouldNotEvictWhenOverwriting() {
+            CacheUtil.SimpleCache<String, Integer> cache = new CacheUtil.SimpleCache<>(2, Duration.ofMinutes(5));
+            cache.put("a", 1);
+            cache.put("b", 2);
+            cache.put("a", 3);
+
+            assertThat(cache.get("a")).isEqualTo(3);
+            assertThat(cache.get("b")).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Loading Tests")
+    class LoadingTests {
+
+        @Test
+        @DisplayName("Should share one in-flight load between concurrent callers")
+        @Timeout(value = 10, unit = TimeUnit.SECONDS)
+        void shouldShareInFlightLoad() throws Exception {
+            CacheUtil.SimpleCache<String, Integer> cache = new CacheUtil.SimpleCache<>();
+            AtomicInteger loads = new AtomicInteger();
+            CountDownLatch startLatch = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(16);
+
+            try {
+                List<Future<Integer>> futures = new ArrayList<>();
+                for (int i = 0; i < 16; i++) {
+                    futures.add(executor.submit(() -> {
+                        startLatch.await();
+                        return cache.get("student", key -> {
+                            loads.incrementAndGet();
+                            sleep(200);
+                            return 42;
+                        });
+                    }));
+                }
+                startLatch.countDown();
+
+                for (Future<Integer> future : futures) {
+                    assertThat(future.get()).isEqualTo(42);
+                }
+                assertThat(loads.get()).isEqualTo(1);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Should not block other keys while a slow load runs")
+        @Timeout(value = 10, unit = TimeUnit.SECONDS)
+        void shouldNotBlockOtherKeys() throws Exception {
+            CacheUtil.SimpleCache<String, Integer> cache = new CacheUtil.SimpleCache<>();
+            CountDownLatch slowLoadStarted = new CountDownLatch(1);
+            CountDownLatch releaseSlowLoad = new CountDownLatch(1);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+
+            try {
+                Future<Integer> slow = executor.submit(() -> cache.get("slow", key -> {
+                    slowLoadStarted.countDown();
+                    await(releaseSlowLoad);
+                    return 1;
+                }));
+                slowLoadStarted.await();
+
+                assertThat(cache.get("fast", key -> 2)).isEqualTo(2);
+
+                releaseSlowLoad.countDown();
+                assertThat(slow.get()).isEqualTo(1);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Should propagate loader failure to every waiting caller")
+        void shouldPropagateLoaderFailure() {
+            CacheUtil.SimpleCache<String, Integer> cache = new CacheUtil.SimpleCache<>();
+
+            assertThatThrownBy(() -> cache.get("broken", key -> {
+                throw new IllegalStateException("database unavailable");
+            })).isInstanceOf(IllegalStateException.class);
+
+            assertThat(cache.get("broken", key -> 7)).isEqualTo(7);
+        }
+
+        @Test
+        @DisplayName("Should fail fast when a loader reads its own key")
+        @Timeout(value = 10, unit = TimeUnit.SECONDS)
+        void shouldFailFastOnRecursiveLoad() {
+            CacheUtil.SimpleCache<String, Integer> cache = new CacheUtil.SimpleCache<>();
+
+            assertThatThrownBy(() -> cache.get("course", key -> cache.get(key, inner -> 1) + 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("course");
+
+            assertThat(cache.get("course", key -> 2)).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Refresh Ahead Tests")
+    class RefreshAheadTests {
+
+        @Test
+        @DisplayName("Should serve current value while refreshing in the background")
+        void shouldRefreshInBackground() {
+            List<Runnable> pending = new ArrayList<>();
+            CacheUtil.SimpleCache<String, Integer> cache = CacheUtil.<String, Integer>newBuilder()
+                .defaultTtl(Duration.ofSeconds(2))
+                .refreshThreshold(50)
+                .asyncRefresh(true)
+                .refreshExecutor(pending::add)
+                .build();
+            AtomicInteger version = new AtomicInteger();
+
+            assertThat(cache.get("course", key -> version.incrementAndGet())).isEqualTo(1);
+            clock.addAndGet(1_200);
+
+            // Past the threshold: the old value is returned and a reload is queued once
+            assertThat(cache.get("course", key -> version.incrementAndGet())).isEqualTo(1);
+            assertThat(cache.get("course", key -> version.incrementAndGet())).isEqualTo(1);
+            assertThat(pending).hasSize(1);
+
+            pending.get(0).run();
+            assertThat(cache.get("course")).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should reload on the calling thread when refresh is synchronous")
+        void shouldRefreshOnCallingThread() {
+            CacheUtil.SimpleCache<String, Integer> cache = CacheUtil.<String, Integer>newBuilder()
+                .defaultTtl(Duration.ofSeconds(2))
+                .refreshThreshold(50)
+                .build();
+            AtomicInteger version = new AtomicInteger();
+
+            cache.get("course", key -> version.incrementAndGet());
+            clock.addAndGet(900);
+            assertThat(cache.get("course", key -> version.incrementAndGet())).isEqualTo(1);
+
+            clock.addAndGet(300);
+            assertThat(cache.get("course", key -> version.incrementAndGet())).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should leave refresh disabled by default")
+        void shouldLeaveRefreshDisabledByDefault() {
+            CacheUtil.SimpleCache<String, Integer> cache = new CacheUtil.SimpleCache<>(10, Duration.ofSeconds(2));
+            AtomicInteger loads = new AtomicInteger();
+
+            cache.get("key", key -> loads.incrementAndGet());
+            clock.addAndGet(1_800);
+            cache.get("key", key -> loads.incrementAndGet());
+
+            assertThat(loads.get()).isEqualTo(1);
+        }
+    }
+
+    // Helper methods
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+// File location: src/test/java/unit/utils/CompletionIndexTest.java
+
+package com.smartcampus.test.unit.utils;
+
+import com.smartcampus.utils.CompletionIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for the CompletionIndex class
+ * Tests word-prefix completion, popularity ordering, top-k limits and incremental changes
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Completion Index Tests")
+class CompletionIndexTest {
+
+    // id, phrases separated by '|', weight
+    private CompletionIndex<String[]> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CompletionIndex<>(entity -> entity[0], entity -> List.of(entity[1].split("\\|")),
+                                      entity -> Long.parseLong(entity[2]));
+        index.addAll(List.of(
+            new String[] {"C1", "Introduction to Computer Science|CS101", "120"},
+            new String[] {"C2", "Computer Architecture|CS210", "45"},
+            new String[] {"C3", "Data Science Methods|DS300", "80"},
+            new String[] {"C4", "Computational Biology|BIO330", "10"},
+            new String[] {"C5", "Science Fiction Writing|ENG250", "0"}
+        ));
+    }
+
+    @Nested
+    @DisplayName("Completion Tests")
+    class CompletionTests {
+
+        @Test
+        @DisplayName("Should complete any word of a phrase by prefix")
+        void shouldCompleteWordPrefixes() {
+            assertThat(phrases(index.complete("comp", 10)))
+                .containsExactly("Introduction to Computer Science", "Computer Architecture", "Computational Biology");
+            assertThat(phrases(index.complete("SCI", 10)))
+                .containsExactly("Introduction to Computer Science", "Data Science Methods", "Science Fiction Writing");
+            assertThat(phrases(index.complete("cs1", 10))).containsExactly("CS101");
+            assertThat(phrases(index.complete("computer sc", 10))).containsExactly("Introduction to Computer Science");
+            assertThat(index.complete("zebra", 10)).isEmpty();
+            assertThat(index.complete("  ", 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should treat a trailing separator as a finished word")
+        void shouldHonorFinishedWords() {
+            assertThat(phrases(index.complete("computer ", 10)))
+                .containsExactly("Introduction to Computer Science", "Computer Architecture");
+            assertThat(phrases(index.complete("computer", 10))).hasSize(2);
+            assertThat(phrases(index.complete("comput", 10))).hasSize(3);
+        }
+
+        @Test
+        @DisplayName("Should return the k most popular completions with their weights")
+        void shouldReturnTopK() {
+            List<CompletionIndex.Completion> completions = index.complete("c", 2);
+
+            // Equal weights come out alphabetically
+            assertThat(phrases(completions)).containsExactly("CS101", "Introduction to Computer Science");
+            assertEquals(120, completions.get(0).getWeight());
+            // Zero popularity still counts once
+            assertEquals(1, index.complete("fiction", 1).get(0).getWeight());
+        }
+
+        @Test
+        @DisplayName("Should sum the popularity of entities sharing a phrase")
+        void shouldSumSharedPhrases() {
+            index.put(new String[] {"C6", "Computational Biology|BIO331", "115"});
+
+            assertThat(phrases(index.complete("comp", 1))).containsExactly("Computational Biology");
+            assertEquals(125, index.complete("comp", 1).get(0).getWeight());
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental Update Tests")
+    class IncrementalUpdateTests {
+
+        @Test
+        @DisplayName("Should replace the phrases and weight of a changed entity")
+        void shouldReplaceChangedEntity() {
+            index.put(new String[] {"C2", "Computer Organization|CS211", "200"});
+
+            assertEquals(5, index.size());
+            assertThat(phrases(index.complete("computer", 10)))
+                .containsExactly("Computer Organization", "Introduction to Computer Science");
+            assertThat(index.complete("architecture", 10)).isEmpty();
+            assertThat(index.complete("cs210", 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should take back what a removed entity contributed")
+        void shouldRemoveEntity() {
+            assertTrue(index.remove("C1"));
+            assertFalse(index.remove("C1"));
+
+            assertEquals(4, index.size());
+            assertThat(phrases(index.complete("comp", 10))).containsExactly("Computer Architecture", "Computational Biology");
+            assertThat(index.complete("intro", 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should agree with sorting every matching phrase after random changes")
+        void shouldMatchBruteForce() {
+            Random random = new Random(24);
+            String[] words = {"alpha", "alps", "beta", "bet", "gamma", "gam", "delta", "del", "omega"};
+            Map<String, String[]> entities = new HashMap<>();
+            CompletionIndex<String[]> large = new CompletionIndex<>(entity -> entity[0], entity -> List.of(entity[1]),
+                                                                   entity -> Long.parseLong(entity[2]));
+            for (int i = 0; i < 5_000; i++) {
+                String id = "E" + random.nextInt(1_000);
+                if (random.nextInt(5) == 0) {
+                    large.remove(id);
+                    entities.remove(id);
+                } else {
+                    String[] entity = {id, words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)],
+                                       String.valueOf(1 + random.nextInt(50))};
+                    large.put(entity);
+                    entities.put(id, entity);
+                }
+            }
+
+            for (String prefix : List.of("a", "al", "alp", "b", "gam", "del", "omega", "beta g")) {
+                Map<String, Long> weights = new HashMap<>();
+                for (String[] entity : entities.values()) {
+                    boolean matches = entity[1].startsWith(prefix) || entity[1].contains(" " + prefix);
+                    if (matches) {
+                        weights.merge(entity[1], Long.parseLong(entity[2]), Long::sum);
+                    }
+                }
+                List<CompletionIndex.Completion> completions = large.complete(prefix, 5);
+                List<Long> expected = weights.values().stream()
+                    .sorted(Comparator.reverseOrder())
+                    .limit(5)
+                    .collect(Collectors.toList());
+
+                assertThat(completions).extracting(CompletionIndex.Completion::getWeight).as(prefix).isEqualTo(expected);
+                completions.forEach(completion ->
+                    assertEquals(weights.get(completion.getPhrase()), completion.getWeight(), completion.getPhrase()));
+            }
+        }
+    }
+
+    private static List<String> phrases(List<CompletionIndex.Completion> completions) {
+        List<String> phrases = new ArrayList<>();
+        completions.forEach(completion -> phrases.add(completion.getPhrase()));
+        return phrases;
+    }
+}
@@ -0,0 +1,103 @@
+// File location: src/test/java/unit/utils/CompressedBitmapTest.java
+
+package com.smartcampus.test.unit.utils;
+
+import com.smartcampus.utils.CompressedBitmap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Unit tests for the CompressedBitmap class
+ * Tests updates and set operations against java.util.BitSet across sparse and dense chunks
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Compressed Bitmap Tests")
+class CompressedBitmapTest {
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should switch chunks between arrays and bitmaps as they fill and drain")
+        void shouldTrackValuesAcrossContainerChanges() {
+            CompressedBitmap bitmap = new CompressedBitmap();
+
+            for (int value = 0; value < 10_000; value++) {
+                assertTrue(bitmap.add(value * 3));
+            }
+            assertFalse(bitmap.add(300));
+            assertEquals(10_000, bitmap.cardinality());
+            assertTrue(bitmap.contains(29_997));
+            assertFalse(bitmap.contains(29_998));
+
+            for (int value = 0; value < 9_000; value++) {
+                assertTrue(bitmap.remove(value * 3));
+            }
+            assertFalse(bitmap.remove(0));
+            assertEquals(1_000, bitmap.cardinality());
+            assertThat(bitmap.toArray()).startsWith(27_000, 27_003).endsWith(29_997);
+
+            bitmap.add(200_000);
+            assertThat(bitmap.stream().max().getAsInt()).isEqualTo(200_000);
+            assertThatThrownBy(() -> bitmap.add(-1)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Set Operation Tests")
+    class SetOperationTests {
+
+        @Test
+        @DisplayName("Should match BitSet for AND, OR, AND NOT and AND cardinality")
+        void shouldMatchBitSet() {
+            Random random = new Random(20);
+            // Densities chosen so some chunks are arrays and some are bitmaps on each side
+            double[][] densities = {{0.01, 0.02}, {0.01, 0.5}, {0.5, 0.9}, {0.06, 0.07}};
+
+            for (double[] density : densities) {
+                BitSet leftBits = new BitSet();
+                BitSet rightBits = new BitSet();
+                CompressedBitmap left = new CompressedBitmap();
+                CompressedBitmap right = new CompressedBitmap();
+                for (int value = 0; value < 300_000; value++) {
+                    if (random.nextDouble() < density[0] * (value < 150_000 ? 1 : 0.1)) {
+                        leftBits.set(value);
+                        left.add(value);
+                    }
+                    if (random.nextDouble() < density[1]) {
+                        rightBits.set(value);
+                        right.add(value);
+                    }
+                }
+
+                BitSet and = (BitSet) leftBits.clone();
+                and.and(rightBits);
+                BitSet or = (BitSet) leftBits.clone();
+                or.or(rightBits);
+                BitSet andNot = (BitSet) leftBits.clone();
+                andNot.andNot(rightBits);
+
+                assertArrayEquals(and.stream().toArray(), left.and(right).toArray());
+                assertArrayEquals(or.stream().toArray(), left.or(right).toArray());
+                assertArrayEquals(andNot.stream().toArray(), left.andNot(right).toArray());
+                assertEquals(and.cardinality(), left.andCardinality(right));
+                assertEquals(and.cardinality(), right.andCardinality(left));
+                assertArrayEquals(leftBits.stream().toArray(), left.toArray());
+                assertEquals(or.cardinality(), right.or(left).cardinality());
+                assertEquals(left, left.copy());
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+// File location: src/test/java/unit/utils/FuzzyTermDictionaryTest.java
+
+package com.smartcampus.test.unit.utils;
+
+import com.smartcampus.utils.FuzzyTermDictionary;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for the FuzzyTermDictionary class
+ * Tests the banded edit distance against the full matrix and lookups against a brute-force scan
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Fuzzy Term Dictionary Tests")
+class FuzzyTermDictionaryTest {
+
+    private FuzzyTermDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new FuzzyTermDictionary();
+        for (String term : List.of("computer", "compute", "commuter", "computing", "science", "sciences",
+                                   "cs101", "cs", "a", "math", "myth", "path")) {
+            dictionary.add(term);
+        }
+    }
+
+    @Nested
+    @DisplayName("Edit Distance Tests")
+    class EditDistanceTests {
+
+        @Test
+        @DisplayName("Should compute Levenshtein distance")
+        void shouldComputeDistance() {
+            assertEquals(3, FuzzyTermDictionary.distance("kitten", "sitting", 10));
+            assertEquals(0, FuzzyTermDictionary.distance("same", "same", 0));
+            assertEquals(4, FuzzyTermDictionary.distance("", "four", 4));
+            assertEquals(1, FuzzyTermDictionary.distance("math", "myth", 1));
+        }
+
+        @Test
+        @DisplayName("Should stop at maxDistance + 1 once the bound is exceeded")
+        void shouldStopAtBound() {
+            assertEquals(3, FuzzyTermDictionary.distance("kitten", "sitting", 2));
+            assertEquals(2, FuzzyTermDictionary.distance("a", "abcdefgh", 1));
+            assertEquals(1, FuzzyTermDictionary.distance("abc", "xyz", 0));
+        }
+
+        @Test
+        @DisplayName("Should agree with the full matrix on random strings")
+        void shouldMatchFullMatrix() {
+            Random random = new Random(23);
+            for (int i = 0; i < 2_000; i++) {
+                String a = randomWord(random);
+                String b = randomWord(random);
+                int expected = fullMatrixDistance(a, b);
+                int bound = random.nextInt(6);
+                assertEquals(Math.min(expected, bound + 1), FuzzyTermDictionary.distance(a, b, bound), a + " / " + b);
+            }
+        }
+
+        @Test
+        @DisplayName("Should score similarity over the longer length")
+        void shouldScoreSimilarity() {
+            assertEquals(0.75, FuzzyTermDictionary.similarity("math", "myth"), 1e-9);
+            assertEquals(1.0, FuzzyTermDictionary.similarity("cs101", "cs101"), 1e-9);
+            assertEquals(0.0, FuzzyTermDictionary.similarity("", ""), 1e-9);
+        }
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should find terms within the edit distance")
+        void shouldFindCloseTerms() {
+            assertThat(dictionary.lookup("compter", 1)).containsOnlyKeys("computer");
+            assertThat(dictionary.lookup("compter", 2)).containsOnlyKeys("computer", "compute", "commuter");
+            assertThat(dictionary.lookup("computr", 2)).containsOnlyKeys("computer", "compute", "commuter");
+            assertThat(dictionary.lookup("mth", 1)).containsOnlyKeys("math", "myth");
+            assertThat(dictionary.lookup("science", 0)).containsExactly(Map.entry("science", 0));
+            assertThat(dictionary.lookup("zzzzzz", 2)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should agree with a scan of every term")
+        void shouldMatchBruteForce() {
+            Random random = new Random(7);
+            List<String> terms = new ArrayList<>();
+            FuzzyTermDictionary large = new FuzzyTermDictionary();
+            for (int i = 0; i < 3_000; i++) {
+                String term = randomWord(random);
+                terms.add(term);
+                large.add(term);
+            }
+            for (int i = 0; i < 200; i++) {
+                String token = randomWord(random);
+                int maxDistance = random.nextInt(4);
+                Map<String, Integer> expected = new HashMap<>();
+                for (String term : terms) {
+                    int distance = fullMatrixDistance(token, term);
+                    if (distance <= maxDistance) {
+                        expected.put(term, distance);
+                    }
+                }
+                assertEquals(expected, large.lookup(token, maxDistance), token + " within " + maxDistance);
+            }
+        }
+
+        @Test
+        @DisplayName("Should forget removed terms")
+        void shouldRemoveTerms() {
+            dictionary.remove("compute");
+            dictionary.remove("compute");
+            dictionary.add("math");
+
+            assertEquals(11, dictionary.size());
+            assertThat(dictionary.lookup("compter", 2)).containsOnlyKeys("computer", "commuter");
+        }
+    }
+
+    // Helper methods
+
+    private static String randomWord(Random random) {
+        // A small alphabet so that random words are often close to each other
+        StringBuilder word = new StringBuilder();
+        int length = random.nextInt(9);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+
+    private static int fullMatrixDistance(String a, String b) {
+        int[][] dp = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            dp[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            dp[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                dp[i][j] = Math.min(dp[i - 1][j - 1] + cost, Math.min(dp[i - 1][j], dp[i][j - 1]) + 1);
+            }
+        }
+        return dp[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,146 @@
+// File location: src/test/java/unit/utils/IdDictionaryTest.java
+
+package com.smartcampus.test.unit.utils;
+
+import com.smartcampus.utils.IdDictionary;
+import com.smartcampus.utils.IntAdjacency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for the IdDictionary and IntAdjacency classes
+ * Tests code assignment, growth under concurrent interning, and adjacency row updates and growth
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Id Dictionary Tests")
+class IdDictionaryTest {
+
+    @Nested
+    @DisplayName("Encoding Tests")
+    class EncodingTests {
+
+        @Test
+        @DisplayName("Should hand out dense codes that round-trip")
+        void shouldRoundTripCodes() {
+            IdDictionary dictionary = new IdDictionary("test");
+
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals(i, dictionary.intern("S" + i));
+            }
+
+            assertEquals(1_000, dictionary.size());
+            assertEquals(42, dictionary.intern(new String("S42")));
+            assertEquals(999, dictionary.code("S999"));
+            assertEquals("S500", dictionary.id(500));
+            assertEquals(IdDictionary.NO_CODE, dictionary.code("S1000"));
+            assertEquals(IdDictionary.NO_CODE, dictionary.intern(null));
+            assertNull(dictionary.id(IdDictionary.NO_CODE));
+            assertNull(dictionary.id(1_000));
+        }
+
+        @Test
+        @DisplayName("Should give one code per ID when interned concurrently")
+        @Timeout(value = 30, unit = TimeUnit.SECONDS)
+        void shouldInternConcurrently() throws Exception {
+            IdDictionary dictionary = new IdDictionary("concurrent");
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            List<Future<int[]>> futures = new ArrayList<>();
+
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    int[] codes = new int[20_000];
+                    for (int i = 0; i < codes.length; i++) {
+                        codes[i] = dictionary.intern("C" + i);
+                    }
+                    return codes;
+                }));
+            }
+
+            int[] first = futures.get(0).get();
+            for (Future<int[]> future : futures) {
+                assertArrayEquals(first, future.get());
+            }
+            executor.shutdown();
+
+            Set<Integer> distinct = ConcurrentHashMap.newKeySet();
+            for (int i = 0; i < first.length; i++) {
+                distinct.add(first[i]);
+                assertEquals("C" + i, dictionary.id(first[i]));
+            }
+            assertEquals(20_000, distinct.size());
+            assertEquals(20_000, dictionary.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Adjacency Tests")
+    class AdjacencyTests {
+
+        @Test
+        @DisplayName("Should keep rows in insertion order through adds and removals")
+        void shouldMaintainRows() {
+            IntAdjacency adjacency = new IntAdjacency();
+
+            adjacency.add(3, 10);
+            adjacency.add(3, 11);
+            adjacency.add(3, 12);
+            adjacency.add(500, 7);
+            assertFalse(adjacency.addIfAbsent(3, 11));
+
+            assertTrue(adjacency.remove(3, 11));
+            assertFalse(adjacency.remove(3, 11));
+            assertArrayEquals(new int[] {10, 12}, adjacency.toArray(3));
+            assertEquals(3, adjacency.edgeCount());
+            assertThat(adjacency.keys().toArray()).containsExactly(3, 500);
+
+            adjacency.removeAll(3);
+            assertEquals(0, adjacency.degree(3));
+            assertEquals(1, adjacency.edgeCount());
+            assertEquals(0, adjacency.stream(IdDictionary.NO_CODE).count());
+            assertThatThrownBy(() -> adjacency.add(IdDictionary.NO_CODE, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Should keep earlier reads intact while a row grows past its capacity")
+        void shouldGrowRowsWithoutDisturbingReaders() {
+            IntAdjacency adjacency = new IntAdjacency();
+            for (int value = 0; value < 5; value++) {
+                adjacency.add(1, value);
+            }
+            IntStream before = adjacency.stream(1);
+
+            for (int value = 5; value < 1_000; value++) {
+                adjacency.add(1, value);
+            }
+            adjacency.remove(1, 2);
+            adjacency.add(1, 2);
+
+            assertThat(before.toArray()).containsExactly(0, 1, 2, 3, 4);
+            assertEquals(1_000, adjacency.degree(1));
+            assertEquals(1_000, adjacency.edgeCount());
+            assertEquals(2, adjacency.toArray(1)[999]);
+            assertTrue(adjacency.contains(1, 999));
+            assertEquals(IntStream.range(0, 1_000).sum(), adjacency.stream(1).sum());
+        }
+    }
+}
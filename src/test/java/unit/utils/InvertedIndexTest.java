@@ -0,0 +1,339 @@
+// File location: src/test/java/unit/utils/InvertedIndexTest.java
+
+package com.smartcampus.test.unit.utils;
+
+import com.smartcampus.utils.InvertedIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for the InvertedIndex class
+ * Tests tokenization, prefix and multi-token matching, BM25 ordering, top-k limits, fuzzy
+ * matching, facet counts and filters, and delta updates, including puts alongside searches
+ *
+ * @author Smart Campus Development Team
+ * @version 1.0
+ */
+@DisplayName("Inverted Index Tests")
+class InvertedIndexTest {
+
+    private InvertedIndex<String[]> index;
+
+    @BeforeEach
+    void setUp() {
+        index = indexOf(List.of(
+            new String[] {"C1", "Introduction to Computer Science CS101"},
+            new String[] {"C2", "Computer Architecture and Computer Systems CS210"},
+            new String[] {"C3", "Data Structures in Computing CS201"},
+            new String[] {"C4", "Café Culture of Paris, a Computer-free Course FR150"},
+            new String[] {"C5", "Linear Algebra MATH220"}
+        ));
+    }
+
+    @Nested
+    @DisplayName("Tokenization Tests")
+    class TokenizationTests {
+
+        @Test
+        @DisplayName("Should split, lower-case and strip accents")
+        void shouldNormalizeTokens() {
+            assertThat(InvertedIndex.tokenize("Café au-lait, JOHN.Smith@campus.edu  CS101"))
+                .containsExactly("cafe", "au", "lait", "john", "smith", "campus", "edu", "cs101");
+            assertThat(InvertedIndex.tokenize("  --  ")).isEmpty();
+            assertThat(InvertedIndex.tokenize(null)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Search Tests")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should match every token, each as a prefix of a term")
+        void shouldMatchAllTokensByPrefix() {
+            assertThat(ids(index.search("comput", 10))).containsExactlyInAnyOrder("C1", "C2", "C3", "C4");
+            assertThat(ids(index.search("computer science", 10))).containsExactly("C1");
+            assertThat(ids(index.search("CAFE", 10))).containsExactly("C4");
+            assertThat(ids(index.search("algebra history", 10))).isEmpty();
+            assertThat(index.search("", 10)).isEmpty();
+            assertThat(index.search("???", 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should rank by BM25 and keep only the best k")
+        void shouldRankAndLimit() {
+            List<InvertedIndex.Hit<String[]>> hits = index.searchScored("computer", 10);
+
+            // C2 mentions computer twice; C3 only has "computing" and does not match the whole token
+            assertEquals("C2", hits.get(0).getDocument()[0]);
+            assertThat(hits).extracting(hit -> hit.getDocument()[0]).doesNotContain("C3");
+            assertThat(hits).extracting(InvertedIndex.Hit::getScore).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+            assertThat(ids(index.search("comput", 2))).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Should skip documents already indexed")
+        void shouldIgnoreDuplicateIds() {
+            index.addAll(List.<String[]>of(new String[] {"C5", "Replaced Title"}, new String[] {"C6", "Linear Models"}));
+
+            assertEquals(6, index.size());
+            assertThat(ids(index.search("linear", 10))).containsExactlyInAnyOrder("C5", "C6");
+            assertThat(index.search("replaced", 10)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Fuzzy Search Tests")
+    class FuzzySearchTests {
+
+        @Test
+        @DisplayName("Should match misspelled tokens within the threshold")
+        void shouldMatchMisspellings() {
+            assertThat(hitIds(index.searchFuzzy("compter sciense", 0.7, 10))).containsExactly("C1");
+            assertThat(hitIds(index.searchFuzzy("algebre", 0.8, 10))).containsExactly("C5");
+            assertThat(hitIds(index.searchFuzzy("cafe", 1.0, 10))).containsExactly("C4");
+            assertThat(index.searchFuzzy("algebre", 0.9, 10)).isEmpty();
+            assertThat(index.searchFuzzy("", 0.7, 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should score the mean similarity of the tokens, best first")
+        void shouldScoreBySimilarity() {
+            List<InvertedIndex.Hit<String[]>> hits = index.searchFuzzy("computer", 0.6, 10);
+
+            assertThat(hits).extracting(hit -> hit.getDocument()[0]).startsWith("C1").contains("C3");
+            assertEquals(1.0, hits.get(0).getScore(), 1e-6);
+            assertThat(hits).extracting(InvertedIndex.Hit::getScore)
+                .allMatch(score -> score >= 0.6)
+                .isSortedAccordingTo((a, b) -> Double.compare(b, a));
+            assertEquals((1.0 + 6.0 / 7) / 2, index.searchFuzzy("linear algebre", 0.7, 10).get(0).getScore(), 1e-6);
+        }
+
+        @Test
+        @DisplayName("Should follow delta updates of the term dictionary")
+        void shouldFollowDeltas() {
+            index.put(new String[] {"C5", "Linear Programming MATH320"});
+
+            assertThat(index.searchFuzzy("algebre", 0.8, 10)).isEmpty();
+            assertThat(hitIds(index.searchFuzzy("programing", 0.8, 10))).containsExactly("C5");
+        }
+    }
+
+    @Nested
+    @DisplayName("Facet Tests")
+    class FacetTests {
+
+        private InvertedIndex<String[]> faceted;
+
+        @BeforeEach
+        void setUp() {
+            // id, text, department, credits
+            faceted = new InvertedIndex<>(document -> document[0], document -> document[1],
+                                          document -> facets(document[2], document[3]));
+            faceted.addAll(List.of(
+                new String[] {"C1", "Introduction to Computer Science", "CS", "3"},
+                new String[] {"C2", "Computer Architecture", "CS", "4"},
+                new String[] {"C3", "Computational Biology", "BIO", "4"},
+                new String[] {"C4", "Computer Music", "MUS", null},
+                new String[] {"C5", "Linear Algebra", "MATH", "3"}
+            ));
+        }
+
+        @Test
+        @DisplayName("Should count matching documents under each facet value")
+        void shouldCountFacetValues() {
+            Map<String, Map<String, Integer>> counts = faceted.facetCounts("comput");
+
+            assertEquals(Map.of("CS", 2, "BIO", 1, "MUS", 1), counts.get("department"));
+            assertEquals(Map.of("3", 1, "4", 2), counts.get("credits"));
+            assertEquals(Map.of("department", Map.of("CS", 2, "MUS", 1), "credits", Map.of("3", 1, "4", 1)),
+                         faceted.facetCounts("computer"));
+            assertThat(faceted.facetCounts("history")).isEmpty();
+            assertThat(faceted.facetCounts("")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should narrow cached counts keystroke by keystroke")
+        void shouldReuseQueryPrefixes() {
+            for (String typed : List.of("c", "co", "com", "comput", "computer", "computer s", "computer sc")) {
+                faceted.facetCounts(typed);
+            }
+
+            assertEquals(Map.of("department", Map.of("CS", 1), "credits", Map.of("3", 1)),
+                         faceted.facetCounts("computer sci"));
+            assertEquals(Map.of("CS", 2, "MUS", 1), faceted.facetCounts("computer").get("department"));
+            assertEquals(Map.of("CS", 2, "BIO", 1, "MUS", 1), faceted.facetCounts("comp").get("department"));
+        }
+
+        @Test
+        @DisplayName("Should keep documents with a listed value of every filtered facet")
+        void shouldFilterByFacets() {
+            assertThat(ids(faceted.search("comput", Map.of("department", Set.of("CS", "BIO")), 10)))
+                .containsExactlyInAnyOrder("C1", "C2", "C3");
+            assertThat(ids(faceted.search("comput", Map.of("department", Set.of("CS", "BIO"),
+                                                          "credits", Set.of("4")), 10)))
+                .containsExactlyInAnyOrder("C2", "C3");
+            assertThat(ids(faceted.search("comput", Map.of("department", Set.of()), 10))).hasSize(4);
+            assertThat(faceted.search("comput", Map.of("credits", Set.of("5")), 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should follow delta updates of facet values")
+        void shouldFollowDeltas() {
+            assertEquals(Map.of("CS", 2, "MUS", 1), faceted.facetCounts("computer").get("department"));
+
+            faceted.put(new String[] {"C4", "Computer Music", "CS", "2"});
+            faceted.remove("C1");
+
+            assertEquals(Map.of("department", Map.of("CS", 2), "credits", Map.of("2", 1, "4", 1)),
+                         faceted.facetCounts("computer"));
+            assertThat(ids(faceted.search("computer", Map.of("department", Set.of("MUS")), 10))).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Delta Update Tests")
+    class DeltaUpdateTests {
+
+        @Test
+        @DisplayName("Should index a new document without a rebuild")
+        void shouldPutNewDocument() {
+            index.put(new String[] {"C6", "Computer Graphics CS330"});
+
+            assertEquals(6, index.size());
+            assertTrue(index.contains("C6"));
+            assertThat(ids(index.search("graphics", 10))).containsExactly("C6");
+            assertThat(ids(index.search("comput", 10))).contains("C6");
+        }
+
+        @Test
+        @DisplayName("Should replace the terms of a re-indexed document")
+        void shouldReindexChangedDocument() {
+            index.put(new String[] {"C5", "Linear Programming MATH320"});
+
+            assertEquals(5, index.size());
+            assertThat(ids(index.search("linear", 10))).containsExactly("C5");
+            assertThat(ids(index.search("programming", 10))).containsExactly("C5");
+            assertThat(index.search("algebra", 10)).isEmpty();
+            assertThat(index.search("math220", 10)).isEmpty();
+            assertThat(index.termCount()).isEqualTo(indexOf(List.of(
+                new String[] {"C1", "Introduction to Computer Science CS101"},
+                new String[] {"C2", "Computer Architecture and Computer Systems CS210"},
+                new String[] {"C3", "Data Structures in Computing CS201"},
+                new String[] {"C4", "Café Culture of Paris, a Computer-free Course FR150"},
+                new String[] {"C5", "Linear Programming MATH320"}
+            )).termCount());
+        }
+
+        @Test
+        @DisplayName("Should remove a document from every term it was under")
+        void shouldRemoveDocument() {
+            assertTrue(index.remove("C2"));
+            assertFalse(index.remove("C2"));
+
+            assertEquals(4, index.size());
+            assertFalse(index.contains("C2"));
+            assertThat(ids(index.search("comput", 10))).containsExactlyInAnyOrder("C1", "C3", "C4");
+            assertThat(index.search("architecture", 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should score like an index built from scratch after deltas")
+        void shouldMatchRebuiltScores() {
+            index.put(new String[] {"C5", "Computer Algebra Systems MATH220"});
+            index.remove("C3");
+            index.put(new String[] {"C3", "Data Structures in Computer Science CS201"});
+
+            InvertedIndex<String[]> rebuilt = indexOf(List.of(
+                new String[] {"C1", "Introduction to Computer Science CS101"},
+                new String[] {"C2", "Computer Architecture and Computer Systems CS210"},
+                new String[] {"C3", "Data Structures in Computer Science CS201"},
+                new String[] {"C4", "Café Culture of Paris, a Computer-free Course FR150"},
+                new String[] {"C5", "Computer Algebra Systems MATH220"}
+            ));
+            for (String query : List.of("computer", "systems", "science cs201", "alg")) {
+                assertThat(scores(index.searchScored(query, 10)))
+                    .as(query)
+                    .isEqualTo(scores(rebuilt.searchScored(query, 10)));
+            }
+        }
+
+        @Test
+        @DisplayName("Should search without failing while puts grow the document table")
+        void shouldSearchDuringPuts() throws Exception {
+            int added = 5_000;
+            AtomicBoolean writing = new AtomicBoolean(true);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            List<Thread> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Thread reader = new Thread(() -> {
+                    try {
+                        while (writing.get()) {
+                            index.searchScored("computer topic", 10);
+                            index.search("comp", 10);
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                });
+                reader.start();
+                readers.add(reader);
+            }
+
+            try {
+                for (int i = 0; i < added; i++) {
+                    index.put(new String[] {"N" + i, "Computer Topic " + i});
+                }
+            } finally {
+                writing.set(false);
+                for (Thread reader : readers) {
+                    reader.join();
+                }
+            }
+
+            assertNull(failure.get());
+            assertEquals(5 + added, index.size());
+            assertThat(index.search("topic", added + 1)).hasSize(added);
+        }
+    }
+
+    private static InvertedIndex<String[]> indexOf(List<String[]> documents) {
+        InvertedIndex<String[]> index = new InvertedIndex<>(document -> document[0], document -> document[1]);
+        index.addAll(documents);
+        return index;
+    }
+
+    private static Map<String, String> facets(String department, String credits) {
+        Map<String, String> facets = new HashMap<>();
+        facets.put("department", department);
+        facets.put("credits", credits);
+        return facets;
+    }
+
+    private static Map<String, Double> scores(List<InvertedIndex.Hit<String[]>> hits) {
+        return hits.stream().collect(Collectors.toMap(hit -> hit.getDocument()[0], InvertedIndex.Hit::getScore));
+    }
+
+    private static List<String> ids(List<String[]> documents) {
+        return documents.stream().map(document -> document[0]).collect(Collectors.toList());
+    }
+
+    private static List<String> hitIds(List<InvertedIndex.Hit<String[]>> hits) {
+        return hits.stream().map(hit -> hit.getDocument()[0]).collect(Collectors.toList());
+    }
+}